@@ -9,6 +9,17 @@ repositories {
     mavenCentral()
 }
 
+val jmhVersion = "1.23"
+
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets["main"].output
+        runtimeClasspath += sourceSets["main"].output
+    }
+}
+
+configurations["jmhImplementation"].extendsFrom(configurations["implementation"])
+
 dependencies {
     implementation("javax.validation:validation-api:2.0.1.Final")
 
@@ -16,12 +27,33 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter:5.6.1")
     testImplementation("org.mockito:mockito-all:1.10.19")
     testImplementation("org.assertj:assertj-core:3.15.0")
+
+    // JMH
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
 }
 
 tasks.test {
     useJUnitPlatform()
 }
 
+// ./gradlew jmh -Pjmh.includes=ImmutableMapBenchmark
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs JMH benchmarks and writes results to build/reports/jmh/results.json"
+    dependsOn("jmhClasses")
+    classpath = sourceSets["jmh"].runtimeClasspath
+    main = "org.openjdk.jmh.Main"
+    val resultsFile = file("$buildDir/reports/jmh/results.json")
+    args("-rf", "json", "-rff", resultsFile.absolutePath, "-prof", "gc")
+    if (project.hasProperty("jmh.includes")) {
+        args(project.property("jmh.includes").toString())
+    }
+    doFirst {
+        resultsFile.parentFile.mkdirs()
+    }
+}
+
 configure<JavaPluginConvention> {
     sourceCompatibility = JavaVersion.VERSION_1_8
 }
\ No newline at end of file
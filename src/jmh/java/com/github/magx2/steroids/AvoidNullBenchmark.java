@@ -0,0 +1,93 @@
+package com.github.magx2.steroids;
+
+import com.github.magx2.steroids.collections.maps.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cost (and allocations) of {@link AvoidNull} methods compared to plain Java. Run it with GC profiler:
+ * fixed-arity <code>firstNonNull</code> and <code>orEmpty</code> should allocate nothing, varargs calls and
+ * <code>orDefault</code> allocate on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AvoidNullBenchmark {
+    // not final, so JIT cannot fold them
+    private String nullValue = null;
+    private String first = "first";
+    private String second = "second";
+    private List<String> nullList = null;
+    private Map<String, String> nullMap = null;
+    private ImmutableMap<String, String> nullImmutableMap = null;
+
+    @Benchmark
+    public String firstNonNullTwoArgs() {
+        return AvoidNull.firstNonNull(nullValue, first);
+    }
+
+    @Benchmark
+    public String firstNonNullFiveArgs() {
+        return AvoidNull.firstNonNull(nullValue, nullValue, nullValue, nullValue, second);
+    }
+
+    @Benchmark
+    public String firstNonNullSixArgsVarargs() {
+        return AvoidNull.firstNonNull(nullValue, nullValue, nullValue, nullValue, nullValue, second);
+    }
+
+    @Benchmark
+    public Optional<String> tryFirstNonNullTwoArgs() {
+        return AvoidNull.tryFirstNonNull(nullValue, first);
+    }
+
+    @Benchmark
+    public String ternaryTwoArgs() {
+        return nullValue != null ? nullValue : first;
+    }
+
+    @Benchmark
+    public String optionalOrElseTwoArgs() {
+        return Optional.ofNullable(nullValue).orElse(first);
+    }
+
+    @Benchmark
+    public Optional<String> tryFirstNonNullAllNull() {
+        return AvoidNull.tryFirstNonNull(nullValue, nullValue, nullValue);
+    }
+
+    @Benchmark
+    public List<String> orDefaultList() {
+        return AvoidNull.orDefault(nullList);
+    }
+
+    @Benchmark
+    public List<String> orEmptyList() {
+        return AvoidNull.orEmpty(nullList);
+    }
+
+    @Benchmark
+    public Map<String, String> orDefaultMap() {
+        return AvoidNull.orDefault(nullMap);
+    }
+
+    @Benchmark
+    public Map<String, String> orEmptyImmutableMap() {
+        return AvoidNull.orEmpty(nullImmutableMap);
+    }
+}
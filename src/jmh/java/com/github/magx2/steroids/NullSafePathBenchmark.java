@@ -0,0 +1,109 @@
+package com.github.magx2.steroids;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Null safe navigation through 3 getters: {@link AvoidNull#get} and {@link NullSafePath} compared to chain of
+ * {@link Optional#map} calls and plain <code>if</code>s. Run it with GC profiler to see allocations of
+ * {@link Optional} chain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NullSafePathBenchmark {
+    private static final NullSafePath<Order, String> CITY =
+            NullSafePath.of(Order::getCustomer).then(Customer::getAddress).then(Address::getCity);
+
+    /**
+     * <code>true</code> if every object on the path is present, <code>false</code> if address is <code>null</code>.
+     */
+    @Param({"true", "false"})
+    private boolean complete;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = new Order(new Customer(complete ? new Address("Krakow") : null));
+    }
+
+    @Benchmark
+    public String avoidNullGet() {
+        return AvoidNull.get(order, Order::getCustomer, Customer::getAddress, Address::getCity, "unknown");
+    }
+
+    @Benchmark
+    public String nullSafePath() {
+        return CITY.getOrDefault(order, "unknown");
+    }
+
+    @Benchmark
+    public String optionalChain() {
+        return Optional.ofNullable(order)
+                       .map(Order::getCustomer)
+                       .map(Customer::getAddress)
+                       .map(Address::getCity)
+                       .orElse("unknown");
+    }
+
+    @Benchmark
+    public String plainIfs() {
+        if (order != null && order.getCustomer() != null && order.getCustomer().getAddress() != null
+                && order.getCustomer().getAddress().getCity() != null) {
+            return order.getCustomer().getAddress().getCity();
+        }
+        return "unknown";
+    }
+
+    public static final class Order {
+        private final Customer customer;
+
+        Order(final Customer customer) {
+            this.customer = customer;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+    }
+
+    public static final class Customer {
+        private final Address address;
+
+        Customer(final Address address) {
+            this.address = address;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+    }
+
+    public static final class Address {
+        private final String city;
+
+        Address(final String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+    }
+}
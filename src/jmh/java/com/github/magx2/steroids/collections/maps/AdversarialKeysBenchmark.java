@@ -0,0 +1,64 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in maps built from keys chosen by an attacker: strings made of <code>"Aa"</code> and <code>"BB"</code>
+ * blocks, which all have the same {@link String#hashCode()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdversarialKeysBenchmark {
+    /**
+     * Number of "Aa"/"BB" blocks in every key; map has <code>2^blocks</code> keys.
+     */
+    @Param({"6", "10", "13"})
+    private int blocks;
+    @Param({"HASH_MAP", "HASH_TRIE_IMMUTABLE_MAP", "COMPACT_IMMUTABLE_MAP", "SEEDED_HASH_IMMUTABLE_MAP"})
+    private MapImplementation implementation;
+
+    private Map<Object, Object> map;
+    private Object[] lookupKeys;
+    private int lookupIndex;
+
+    @Setup
+    public void setUp() {
+        final int size = 1 << blocks;
+        final Map<Object, Object> source = new HashMap<>();
+        lookupKeys = new Object[size];
+        for (int i = 0; i < size; i++) {
+            final StringBuilder key = new StringBuilder();
+            for (int block = 0; block < blocks; block++) {
+                key.append((i >>> block & 1) == 0 ? "Aa" : "BB");
+            }
+            source.put(key.toString(), i);
+            lookupKeys[i] = key.toString();
+        }
+        map = implementation.create(source);
+    }
+
+    @Benchmark
+    public Object get() {
+        final int index = lookupIndex;
+        lookupIndex = index + 1 == lookupKeys.length ? 0 : index + 1;
+        return map.get(lookupKeys[index]);
+    }
+}
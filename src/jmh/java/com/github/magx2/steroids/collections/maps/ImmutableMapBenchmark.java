@@ -0,0 +1,86 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares construction, lookups, single changes and iteration of {@link ImmutableMap} implementations with
+ * {@link HashMap} and {@link java.util.Collections#unmodifiableMap(Map)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImmutableMapBenchmark {
+    @Param({"4", "100", "10000"})
+    private int size;
+    @Param
+    private KeyType keyType;
+    @Param
+    private MapImplementation implementation;
+
+    private Map<Object, Object> source;
+    private Map<Object, Object> map;
+    private Object[] lookupKeys;
+    private Object newKey;
+    private int lookupIndex;
+
+    @Setup
+    public void setUp() {
+        source = new HashMap<>();
+        lookupKeys = new Object[size];
+        for (int i = 0; i < size; i++) {
+            final Object key = keyType.key(i);
+            source.put(key, i);
+            lookupKeys[i] = keyType.copyOf(key);
+        }
+        map = implementation.create(source);
+        newKey = keyType.key(size);
+    }
+
+    @Benchmark
+    public Map<Object, Object> construct() {
+        return implementation.create(source);
+    }
+
+    @Benchmark
+    public Object get() {
+        final int index = lookupIndex;
+        lookupIndex = index + 1 == lookupKeys.length ? 0 : index + 1;
+        return map.get(lookupKeys[index]);
+    }
+
+    @Benchmark
+    public Map<Object, Object> putToNewNewKey() {
+        return implementation.putToNew(map, newKey, -1);
+    }
+
+    @Benchmark
+    public Map<Object, Object> putToNewExistingKey() {
+        return implementation.putToNew(map, lookupKeys[0], -1);
+    }
+
+    @Benchmark
+    public void iterateEntrySet(final Blackhole blackhole) {
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            blackhole.consume(entry.getKey());
+            blackhole.consume(entry.getValue());
+        }
+    }
+}
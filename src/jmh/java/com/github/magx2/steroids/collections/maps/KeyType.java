@@ -0,0 +1,35 @@
+package com.github.magx2.steroids.collections.maps;
+
+/**
+ * Types of keys used in benchmarks.
+ */
+public enum KeyType {
+    STRING {
+        @Override
+        Object key(final int index) {
+            return "key-" + index;
+        }
+
+        @Override
+        Object copyOf(final Object key) {
+            // new instance, so lookups cannot end on reference equality
+            return new String((String) key);
+        }
+    },
+    INTEGER {
+        @Override
+        Object key(final int index) {
+            return index;
+        }
+
+        @SuppressWarnings("deprecation")
+        @Override
+        Object copyOf(final Object key) {
+            return new Integer((Integer) key);
+        }
+    };
+
+    abstract Object key(int index);
+
+    abstract Object copyOf(Object key);
+}
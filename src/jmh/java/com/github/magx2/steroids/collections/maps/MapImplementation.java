@@ -0,0 +1,84 @@
+package com.github.magx2.steroids.collections.maps;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Map implementations compared in benchmarks. Mutable maps are changed the way they are changed without
+ * {@link ImmutableMap}: by copying them.
+ */
+public enum MapImplementation {
+    HASH_MAP {
+        @Override
+        Map<Object, Object> create(final Map<Object, Object> source) {
+            return new HashMap<>(source);
+        }
+
+        @Override
+        Map<Object, Object> putToNew(final Map<Object, Object> map, final Object key, final Object value) {
+            final Map<Object, Object> newMap = new HashMap<>(map);
+            newMap.put(key, value);
+            return newMap;
+        }
+    },
+    UNMODIFIABLE_MAP {
+        @Override
+        Map<Object, Object> create(final Map<Object, Object> source) {
+            return Collections.unmodifiableMap(new HashMap<>(source));
+        }
+
+        @Override
+        Map<Object, Object> putToNew(final Map<Object, Object> map, final Object key, final Object value) {
+            final Map<Object, Object> newMap = new HashMap<>(map);
+            newMap.put(key, value);
+            return Collections.unmodifiableMap(newMap);
+        }
+    },
+    SIMPLE_IMMUTABLE_MAP {
+        @Override
+        Map<Object, Object> create(final Map<Object, Object> source) {
+            return SimpleImmutableMap.from(source);
+        }
+    },
+    HASH_TRIE_IMMUTABLE_MAP {
+        @Override
+        Map<Object, Object> create(final Map<Object, Object> source) {
+            return HashTrieImmutableMap.from(source);
+        }
+    },
+    COMPACT_IMMUTABLE_MAP {
+        @Override
+        Map<Object, Object> create(final Map<Object, Object> source) {
+            return CompactImmutableMap.from(source);
+        }
+    },
+    PERFECT_HASH_IMMUTABLE_MAP {
+        @Override
+        Map<Object, Object> create(final Map<Object, Object> source) {
+            return PerfectHashImmutableMap.from(source);
+        }
+    },
+    SEEDED_HASH_IMMUTABLE_MAP {
+        @Override
+        Map<Object, Object> create(final Map<Object, Object> source) {
+            return SeededHashImmutableMap.from(source);
+        }
+    },
+    /**
+     * {@link ImmutableMap#of()} maps for up to 8 entries, {@link HashTrieImmutableMap} for bigger ones.
+     */
+    SMALL_IMMUTABLE_MAP {
+        @Override
+        Map<Object, Object> create(final Map<Object, Object> source) {
+            return SmallImmutableMaps.copyOf(source);
+        }
+    };
+
+    abstract Map<Object, Object> create(Map<Object, Object> source);
+
+    @SuppressWarnings("unchecked")
+    Map<Object, Object> putToNew(final Map<Object, Object> map, final Object key, final Object value) {
+        return ((ImmutableMap<Object, Object>) map).putToNew(key, value);
+    }
+}
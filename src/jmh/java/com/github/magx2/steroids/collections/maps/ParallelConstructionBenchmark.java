@@ -0,0 +1,71 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copying big {@link HashMap} with {@link ImmutableMap#parallelFrom(Map, ForkJoinPool)} compared to single threaded
+ * <code>from</code> methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelConstructionBenchmark {
+    @Param({"100000", "1000000"})
+    private int size;
+    /**
+     * Parallelism of the pool used by {@link #parallelFrom()}.
+     */
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private Map<String, Integer> source;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        source = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            source.put("key-" + i, i);
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Map<String, Integer> simpleFrom() {
+        return SimpleImmutableMap.from(source);
+    }
+
+    @Benchmark
+    public Map<String, Integer> hashTrieFrom() {
+        return HashTrieImmutableMap.from(source);
+    }
+
+    @Benchmark
+    public Map<String, Integer> parallelFrom() {
+        return ImmutableMap.parallelFrom(source, pool);
+    }
+}
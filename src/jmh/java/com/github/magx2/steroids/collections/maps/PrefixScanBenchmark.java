@@ -0,0 +1,76 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading all entries under a prefix of hierarchical keys like <code>service.7.db.pool.size</code>:
+ * {@link ImmutableStringMap#prefixMap(String)} compared to scanning all entries with {@link String#startsWith}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrefixScanBenchmark {
+    private static final String[] PROPERTIES = {"db.pool.size", "db.url", "db.user", "http.port", "http.timeout"};
+
+    /**
+     * Number of services; every service has {@link #PROPERTIES}.
+     */
+    @Param({"10", "1000", "100000"})
+    private int services;
+
+    private ImmutableStringMap<Integer> stringMap;
+    private SimpleImmutableMap<String, Integer> simpleMap;
+    private String prefix;
+
+    @Setup
+    public void setUp() {
+        final Map<String, Integer> source = new HashMap<>();
+        for (int service = 0; service < services; service++) {
+            for (String property : PROPERTIES) {
+                source.put("service." + service + "." + property, source.size());
+            }
+        }
+        stringMap = ImmutableStringMap.from(source);
+        simpleMap = SimpleImmutableMap.from(source);
+        prefix = "service." + services / 2 + ".db.";
+    }
+
+    @Benchmark
+    public void prefixMap(final Blackhole blackhole) {
+        for (Map.Entry<String, Integer> entry : stringMap.prefixMap(prefix).entrySet()) {
+            blackhole.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void startsWithScan(final Blackhole blackhole) {
+        for (Map.Entry<String, Integer> entry : simpleMap.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                blackhole.consume(entry);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        return stringMap.get(prefix + "url");
+    }
+}
@@ -1,8 +1,16 @@
 package com.github.magx2.steroids;
 
+import com.github.magx2.steroids.collections.lists.ImmutableList;
+import com.github.magx2.steroids.collections.maps.ImmutableMap;
+import com.github.magx2.steroids.collections.maps.ImmutableSortedMap;
+import com.github.magx2.steroids.collections.maps.TreeImmutableSortedMap;
+import com.github.magx2.steroids.collections.sets.ImmutableSet;
+
 import javax.validation.constraints.NotNull;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -13,8 +21,15 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * Utils class that helps you to avoid {@link NullPointerException}.
  */
@@ -54,6 +69,110 @@ public final class AvoidNull {
         throw new NullPointerException("Everything was null!");
     }
 
+    /**
+     * Same as {@link #firstNonNull(Object[])}, but does not allocate varargs array.
+     *
+     * @param first  first candidate
+     * @param second second candidate
+     * @param <T>    return type
+     * @return first non null argument
+     * @throws NullPointerException if every argument was null
+     */
+    @NotNull
+    public static <T> T firstNonNull(final T first, final T second) {
+        if (first != null) {
+            return first;
+        }
+        if (second != null) {
+            return second;
+        }
+        throw new NullPointerException("Everything was null!");
+    }
+
+    /**
+     * Same as {@link #firstNonNull(Object[])}, but does not allocate varargs array.
+     *
+     * @param first  first candidate
+     * @param second second candidate
+     * @param third  third candidate
+     * @param <T>    return type
+     * @return first non null argument
+     * @throws NullPointerException if every argument was null
+     */
+    @NotNull
+    public static <T> T firstNonNull(final T first, final T second, final T third) {
+        if (first != null) {
+            return first;
+        }
+        if (second != null) {
+            return second;
+        }
+        if (third != null) {
+            return third;
+        }
+        throw new NullPointerException("Everything was null!");
+    }
+
+    /**
+     * Same as {@link #firstNonNull(Object[])}, but does not allocate varargs array.
+     *
+     * @param first  first candidate
+     * @param second second candidate
+     * @param third  third candidate
+     * @param fourth fourth candidate
+     * @param <T>    return type
+     * @return first non null argument
+     * @throws NullPointerException if every argument was null
+     */
+    @NotNull
+    public static <T> T firstNonNull(final T first, final T second, final T third, final T fourth) {
+        if (first != null) {
+            return first;
+        }
+        if (second != null) {
+            return second;
+        }
+        if (third != null) {
+            return third;
+        }
+        if (fourth != null) {
+            return fourth;
+        }
+        throw new NullPointerException("Everything was null!");
+    }
+
+    /**
+     * Same as {@link #firstNonNull(Object[])}, but does not allocate varargs array.
+     *
+     * @param first  first candidate
+     * @param second second candidate
+     * @param third  third candidate
+     * @param fourth fourth candidate
+     * @param fifth  fifth candidate
+     * @param <T>    return type
+     * @return first non null argument
+     * @throws NullPointerException if every argument was null
+     */
+    @NotNull
+    public static <T> T firstNonNull(final T first, final T second, final T third, final T fourth, final T fifth) {
+        if (first != null) {
+            return first;
+        }
+        if (second != null) {
+            return second;
+        }
+        if (third != null) {
+            return third;
+        }
+        if (fourth != null) {
+            return fourth;
+        }
+        if (fifth != null) {
+            return fifth;
+        }
+        throw new NullPointerException("Everything was null!");
+    }
+
     /**
      * Return {@link Optional} of first non null object or {@link Optional#empty()}.
      * <p>
@@ -81,6 +200,377 @@ public final class AvoidNull {
         return Optional.empty();
     }
 
+    /**
+     * Same as {@link #tryFirstNonNull(Object[])}, but does not allocate varargs array.
+     *
+     * @param first  first candidate
+     * @param second second candidate
+     * @param <T>    return type
+     * @return Optional of first non null argument or Optional.empty() if every argument was null
+     */
+    public static <T> Optional<T> tryFirstNonNull(final T first, final T second) {
+        if (first != null) {
+            return Optional.of(first);
+        }
+        return Optional.ofNullable(second);
+    }
+
+    /**
+     * Same as {@link #tryFirstNonNull(Object[])}, but does not allocate varargs array.
+     *
+     * @param first  first candidate
+     * @param second second candidate
+     * @param third  third candidate
+     * @param <T>    return type
+     * @return Optional of first non null argument or Optional.empty() if every argument was null
+     */
+    public static <T> Optional<T> tryFirstNonNull(final T first, final T second, final T third) {
+        if (first != null) {
+            return Optional.of(first);
+        }
+        if (second != null) {
+            return Optional.of(second);
+        }
+        return Optional.ofNullable(third);
+    }
+
+    /**
+     * Same as {@link #tryFirstNonNull(Object[])}, but does not allocate varargs array.
+     *
+     * @param first  first candidate
+     * @param second second candidate
+     * @param third  third candidate
+     * @param fourth fourth candidate
+     * @param <T>    return type
+     * @return Optional of first non null argument or Optional.empty() if every argument was null
+     */
+    public static <T> Optional<T> tryFirstNonNull(final T first, final T second, final T third, final T fourth) {
+        if (first != null) {
+            return Optional.of(first);
+        }
+        if (second != null) {
+            return Optional.of(second);
+        }
+        if (third != null) {
+            return Optional.of(third);
+        }
+        return Optional.ofNullable(fourth);
+    }
+
+    /**
+     * Same as {@link #tryFirstNonNull(Object[])}, but does not allocate varargs array.
+     *
+     * @param first  first candidate
+     * @param second second candidate
+     * @param third  third candidate
+     * @param fourth fourth candidate
+     * @param fifth  fifth candidate
+     * @param <T>    return type
+     * @return Optional of first non null argument or Optional.empty() if every argument was null
+     */
+    public static <T> Optional<T> tryFirstNonNull(final T first,
+                                                 final T second,
+                                                 final T third,
+                                                 final T fourth,
+                                                 final T fifth) {
+        if (first != null) {
+            return Optional.of(first);
+        }
+        if (second != null) {
+            return Optional.of(second);
+        }
+        if (third != null) {
+            return Optional.of(third);
+        }
+        if (fourth != null) {
+            return Optional.of(fourth);
+        }
+        return Optional.ofNullable(fifth);
+    }
+
+    /**
+     * Return first non null value from given suppliers. Suppliers are called one by one and the ones after the first
+     * non null value are never called, so expensive fallbacks are computed only when they are needed.
+     * <code>null</code> suppliers are skipped.
+     * <p>
+     * Example:
+     * <p>
+     * <code>firstNonNullLazy(localCache::get, remoteCache::get, database::load);</code>
+     *
+     * @param suppliers suppliers of candidates
+     * @param <T>       return type
+     * @return first non null value from given suppliers
+     * @throws NullPointerException if every supplier returned null or suppliers was null
+     */
+    @SafeVarargs
+    @NotNull
+    public static <T> T firstNonNullLazy(final Supplier<? extends T>... suppliers) {
+        if (suppliers != null) {
+            for (Supplier<? extends T> supplier : suppliers) {
+                final T object = supplier != null ? supplier.get() : null;
+                if (object != null) {
+                    return object;
+                }
+            }
+        }
+        throw new NullPointerException("Everything was null!");
+    }
+
+    /**
+     * Return {@link Optional} of first non null value from given suppliers or {@link Optional#empty()}. Suppliers are
+     * called like in {@link #firstNonNullLazy(Supplier[])}.
+     *
+     * @param suppliers suppliers of candidates
+     * @param <T>       return type
+     * @return Optional of first non null value from given suppliers or Optional.empty() if everything was null
+     */
+    @SafeVarargs
+    public static <T> Optional<T> tryFirstNonNullLazy(final Supplier<? extends T>... suppliers) {
+        if (suppliers != null) {
+            for (Supplier<? extends T> supplier : suppliers) {
+                final T object = supplier != null ? supplier.get() : null;
+                if (object != null) {
+                    return Optional.of(object);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Asynchronous version of {@link #firstNonNullLazy(Supplier[])}. Sources are asked one after another: next source
+     * is asked only when the previous one completed with <code>null</code> or failed.
+     * <p>
+     * Returned future completes with the first non null value. If every source completed with <code>null</code> or
+     * failed, it completes with {@link NullPointerException} that has failures of the sources as suppressed
+     * exceptions. Cancelling returned future cancels running source.
+     *
+     * @param sources suppliers that start asynchronous computations of candidates
+     * @param <T>     return type
+     * @return future of first non null value
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // FirstNonNullAsync only reads sources, so nothing can be stored in the array
+    @NotNull
+    public static <T> CompletableFuture<T> firstNonNullAsync(
+            @NotNull final Supplier<? extends CompletionStage<? extends T>>... sources) {
+        requireNonNull(sources, "sources cannot be null!");
+        return FirstNonNullAsync.start(sources, null, null);
+    }
+
+    /**
+     * Hedged version of {@link #firstNonNullAsync(Supplier[])}. Next source is asked also when the previous one did
+     * not complete within <code>hedgeDelay</code>. Then all asked sources keep running and the first non null value,
+     * no matter from which source, completes returned future. Other sources are cancelled.
+     * <p>
+     * This cuts tail latency: slow answer of the first source costs at most <code>hedgeDelay</code>, while backends
+     * after it are not loaded when the first source answers in time.
+     *
+     * @param hedgeDelay how long to wait for a source before asking the next one
+     * @param scheduler  scheduler that asks next sources after <code>hedgeDelay</code>
+     * @param sources    suppliers that start asynchronous computations of candidates
+     * @param <T>        return type
+     * @return future of first non null value
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // FirstNonNullAsync only reads sources, so nothing can be stored in the array
+    @NotNull
+    public static <T> CompletableFuture<T> firstNonNullAsync(
+            @NotNull final Duration hedgeDelay,
+            @NotNull final ScheduledExecutorService scheduler,
+            @NotNull final Supplier<? extends CompletionStage<? extends T>>... sources) {
+        requireNonNull(hedgeDelay, "hedgeDelay cannot be null!");
+        requireNonNull(scheduler, "scheduler cannot be null!");
+        requireNonNull(sources, "sources cannot be null!");
+        if (hedgeDelay.isNegative()) {
+            throw new IllegalArgumentException("hedgeDelay cannot be negative! hedgeDelay=" + hedgeDelay);
+        }
+        return FirstNonNullAsync.start(sources, hedgeDelay, scheduler);
+    }
+
+    /**
+     * Return result of given getter applied to <code>root</code> or <code>defaultValue</code> if root or result was
+     * <code>null</code>.
+     * <p>
+     * <code>get</code> methods are null safe versions of <code>root.getA().getB()</code>. Unlike chain of
+     * {@link Optional#map} calls they do not allocate anything. Use {@link NullSafePath} for paths with more than 5
+     * getters or for paths that are used in many places.
+     * <p>
+     * Example:
+     * <p>
+     * <code>get(order, Order::getCustomer, Customer::getAddress, Address::getCity, "unknown");</code>
+     *
+     * @param root         object to start from
+     * @param getter1      getter applied to root
+     * @param defaultValue value returned if any object on the path was <code>null</code>
+     * @param <T>          type of root
+     * @param <R>          type of result
+     * @return result of the last getter or <code>defaultValue</code> if any object on the path was <code>null</code>
+     */
+    public static <T, R> R get(final T root,
+                               final Function<? super T, ? extends R> getter1,
+                               final R defaultValue) {
+        if (root == null) {
+            return defaultValue;
+        }
+        final R result = getter1.apply(root);
+        return result != null ? result : defaultValue;
+    }
+
+    /**
+     * Return result of given getters applied one after another to <code>root</code> or <code>defaultValue</code>
+     * if any object on the path was <code>null</code>. Getters after <code>null</code> are not called.
+     *
+     * @param root         object to start from
+     * @param getter1      getter applied to root
+     * @param getter2      getter applied to result of getter1
+     * @param defaultValue value returned if any object on the path was <code>null</code>
+     * @param <T>          type of root
+     * @param <A>          type of result of getter1
+     * @param <R>          type of result
+     * @return result of the last getter or <code>defaultValue</code> if any object on the path was <code>null</code>
+     */
+    public static <T, A, R> R get(final T root,
+                                  final Function<? super T, ? extends A> getter1,
+                                  final Function<? super A, ? extends R> getter2,
+                                  final R defaultValue) {
+        if (root == null) {
+            return defaultValue;
+        }
+        final A a = getter1.apply(root);
+        if (a == null) {
+            return defaultValue;
+        }
+        final R result = getter2.apply(a);
+        return result != null ? result : defaultValue;
+    }
+
+    /**
+     * Return result of given getters applied one after another to <code>root</code> or <code>defaultValue</code>
+     * if any object on the path was <code>null</code>. Getters after <code>null</code> are not called.
+     *
+     * @param root         object to start from
+     * @param getter1      getter applied to root
+     * @param getter2      getter applied to result of getter1
+     * @param getter3      getter applied to result of getter2
+     * @param defaultValue value returned if any object on the path was <code>null</code>
+     * @param <T>          type of root
+     * @param <A>          type of result of getter1
+     * @param <B>          type of result of getter2
+     * @param <R>          type of result
+     * @return result of the last getter or <code>defaultValue</code> if any object on the path was <code>null</code>
+     */
+    public static <T, A, B, R> R get(final T root,
+                                     final Function<? super T, ? extends A> getter1,
+                                     final Function<? super A, ? extends B> getter2,
+                                     final Function<? super B, ? extends R> getter3,
+                                     final R defaultValue) {
+        if (root == null) {
+            return defaultValue;
+        }
+        final A a = getter1.apply(root);
+        if (a == null) {
+            return defaultValue;
+        }
+        final B b = getter2.apply(a);
+        if (b == null) {
+            return defaultValue;
+        }
+        final R result = getter3.apply(b);
+        return result != null ? result : defaultValue;
+    }
+
+    /**
+     * Return result of given getters applied one after another to <code>root</code> or <code>defaultValue</code>
+     * if any object on the path was <code>null</code>. Getters after <code>null</code> are not called.
+     *
+     * @param root         object to start from
+     * @param getter1      getter applied to root
+     * @param getter2      getter applied to result of getter1
+     * @param getter3      getter applied to result of getter2
+     * @param getter4      getter applied to result of getter3
+     * @param defaultValue value returned if any object on the path was <code>null</code>
+     * @param <T>          type of root
+     * @param <A>          type of result of getter1
+     * @param <B>          type of result of getter2
+     * @param <C>          type of result of getter3
+     * @param <R>          type of result
+     * @return result of the last getter or <code>defaultValue</code> if any object on the path was <code>null</code>
+     */
+    public static <T, A, B, C, R> R get(final T root,
+                                        final Function<? super T, ? extends A> getter1,
+                                        final Function<? super A, ? extends B> getter2,
+                                        final Function<? super B, ? extends C> getter3,
+                                        final Function<? super C, ? extends R> getter4,
+                                        final R defaultValue) {
+        if (root == null) {
+            return defaultValue;
+        }
+        final A a = getter1.apply(root);
+        if (a == null) {
+            return defaultValue;
+        }
+        final B b = getter2.apply(a);
+        if (b == null) {
+            return defaultValue;
+        }
+        final C c = getter3.apply(b);
+        if (c == null) {
+            return defaultValue;
+        }
+        final R result = getter4.apply(c);
+        return result != null ? result : defaultValue;
+    }
+
+    /**
+     * Return result of given getters applied one after another to <code>root</code> or <code>defaultValue</code>
+     * if any object on the path was <code>null</code>. Getters after <code>null</code> are not called.
+     *
+     * @param root         object to start from
+     * @param getter1      getter applied to root
+     * @param getter2      getter applied to result of getter1
+     * @param getter3      getter applied to result of getter2
+     * @param getter4      getter applied to result of getter3
+     * @param getter5      getter applied to result of getter4
+     * @param defaultValue value returned if any object on the path was <code>null</code>
+     * @param <T>          type of root
+     * @param <A>          type of result of getter1
+     * @param <B>          type of result of getter2
+     * @param <C>          type of result of getter3
+     * @param <D>          type of result of getter4
+     * @param <R>          type of result
+     * @return result of the last getter or <code>defaultValue</code> if any object on the path was <code>null</code>
+     */
+    public static <T, A, B, C, D, R> R get(final T root,
+                                           final Function<? super T, ? extends A> getter1,
+                                           final Function<? super A, ? extends B> getter2,
+                                           final Function<? super B, ? extends C> getter3,
+                                           final Function<? super C, ? extends D> getter4,
+                                           final Function<? super D, ? extends R> getter5,
+                                           final R defaultValue) {
+        if (root == null) {
+            return defaultValue;
+        }
+        final A a = getter1.apply(root);
+        if (a == null) {
+            return defaultValue;
+        }
+        final B b = getter2.apply(a);
+        if (b == null) {
+            return defaultValue;
+        }
+        final C c = getter3.apply(b);
+        if (c == null) {
+            return defaultValue;
+        }
+        final D d = getter4.apply(c);
+        if (d == null) {
+            return defaultValue;
+        }
+        final R result = getter5.apply(d);
+        return result != null ? result : defaultValue;
+    }
+
     /**
      * Return given collection or new empty collection if given was <code>null</code>.
      *
@@ -194,4 +684,148 @@ public final class AvoidNull {
             return Stream.empty();
         }
     }
+
+    /**
+     * Return given collection or {@link Collections#emptyList()} if given was <code>null</code>.
+     * <p>
+     * Unlike <code>orDefault</code> it does not allocate new collection, but returned one cannot be modified.
+     *
+     * @param collection to test nullability
+     * @param <T>        type of elements in collection
+     * @return given collection or shared empty collection if given was <code>null</code>
+     */
+    @NotNull
+    public static <T> Collection<T> orEmpty(final Collection<T> collection) {
+        return collection != null ? collection : Collections.emptyList();
+    }
+
+    /**
+     * Return given list or {@link Collections#emptyList()} if given was <code>null</code>.
+     * <p>
+     * Unlike <code>orDefault</code> it does not allocate new list, but returned one cannot be modified.
+     *
+     * @param list to test nullability
+     * @param <T>  type of elements in list
+     * @return given list or shared empty list if given was <code>null</code>
+     */
+    @NotNull
+    public static <T> List<T> orEmpty(final List<T> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+
+    /**
+     * Return given set or {@link Collections#emptySet()} if given was <code>null</code>.
+     * <p>
+     * Unlike <code>orDefault</code> it does not allocate new set, but returned one cannot be modified.
+     *
+     * @param set to test nullability
+     * @param <T> type of elements in set
+     * @return given set or shared empty set if given was <code>null</code>
+     */
+    @NotNull
+    public static <T> Set<T> orEmpty(final Set<T> set) {
+        return set != null ? set : Collections.emptySet();
+    }
+
+    /**
+     * Return given sorted set or {@link Collections#emptySortedSet()} if given was <code>null</code>.
+     * <p>
+     * Unlike <code>orDefault</code> it does not allocate new sorted set, but returned one cannot be modified.
+     *
+     * @param sortedSet to test nullability
+     * @param <T>       type of elements in sorted set
+     * @return given sorted set or shared empty sorted set if given was <code>null</code>
+     */
+    @NotNull
+    public static <T> SortedSet<T> orEmpty(final SortedSet<T> sortedSet) {
+        return sortedSet != null ? sortedSet : Collections.emptySortedSet();
+    }
+
+    /**
+     * Return given map or {@link Collections#emptyMap()} if given was <code>null</code>.
+     * <p>
+     * Unlike <code>orDefault</code> it does not allocate new map, but returned one cannot be modified.
+     *
+     * @param map to test nullability
+     * @param <K> type of keys in map
+     * @param <V> type of values in map
+     * @return given map or shared empty map if given was <code>null</code>
+     */
+    @NotNull
+    public static <K, V> Map<K, V> orEmpty(final Map<K, V> map) {
+        return map != null ? map : Collections.emptyMap();
+    }
+
+    /**
+     * Return given sorted map or {@link Collections#emptySortedMap()} if given was <code>null</code>.
+     * <p>
+     * Unlike <code>orDefault</code> it does not allocate new sorted map, but returned one cannot be modified.
+     *
+     * @param sortedMap to test nullability
+     * @param <K>       type of keys in map
+     * @param <V>       type of values in map
+     * @return given sorted map or shared empty sorted map if given was <code>null</code>
+     */
+    @NotNull
+    public static <K, V> SortedMap<K, V> orEmpty(final SortedMap<K, V> sortedMap) {
+        return sortedMap != null ? sortedMap : Collections.emptySortedMap();
+    }
+
+    /**
+     * Return given immutable list or {@link ImmutableList#of()} if given was <code>null</code>.
+     *
+     * @param list to test nullability
+     * @param <T>  type of elements in list
+     * @return given immutable list or shared empty immutable list if given was <code>null</code>
+     */
+    @NotNull
+    public static <T> ImmutableList<T> orEmpty(final ImmutableList<T> list) {
+        return list != null ? list : ImmutableList.of();
+    }
+
+    /**
+     * Return given immutable set or {@link ImmutableSet#of()} if given was <code>null</code>.
+     *
+     * @param set to test nullability
+     * @param <T> type of elements in set
+     * @return given immutable set or shared empty immutable set if given was <code>null</code>
+     */
+    @NotNull
+    public static <T> ImmutableSet<T> orEmpty(final ImmutableSet<T> set) {
+        return set != null ? set : ImmutableSet.of();
+    }
+
+    /**
+     * Return given immutable map or {@link ImmutableMap#of()} if given was <code>null</code>.
+     *
+     * @param map to test nullability
+     * @param <K> type of keys in map
+     * @param <V> type of values in map
+     * @return given immutable map or shared empty immutable map if given was <code>null</code>
+     */
+    @NotNull
+    public static <K, V> ImmutableMap<K, V> orEmpty(final ImmutableMap<K, V> map) {
+        return map != null ? map : ImmutableMap.of();
+    }
+
+    /**
+     * Return given immutable sorted map or {@link TreeImmutableSortedMap#empty()} if given was <code>null</code>.
+     * <p>
+     * Keys do not have to be {@link Comparable}, but the returned empty map uses natural ordering, so keys put to it
+     * have to be.
+     *
+     * @param sortedMap to test nullability
+     * @param <K>       type of keys in map
+     * @param <V>       type of values in map
+     * @return given immutable sorted map or shared empty immutable sorted map if given was <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K, V> ImmutableSortedMap<K, V> orEmpty(final ImmutableSortedMap<K, V> sortedMap) {
+        if (sortedMap != null) {
+            return sortedMap;
+        }
+        final ImmutableSortedMap<?, ?> empty = TreeImmutableSortedMap.<String, Object>empty();
+        return (ImmutableSortedMap<K, V>) empty;
+    }
 }
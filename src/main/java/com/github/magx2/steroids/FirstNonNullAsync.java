@@ -0,0 +1,141 @@
+package com.github.magx2.steroids;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Asks sources one after another for a value and completes {@link #result} with the first non <code>null</code> one.
+ * <p>
+ * Next source is asked when the previous one returns <code>null</code> or fails. With hedging it is also asked when
+ * the previous one does not answer within the hedge delay; then both of them keep running and the first non
+ * <code>null</code> value wins. When {@link #result} is completed (or cancelled by the caller), all running sources
+ * and scheduled hedges are cancelled.
+ *
+ * @param <T> type of value
+ */
+final class FirstNonNullAsync<T> {
+    private final Supplier<? extends CompletionStage<? extends T>>[] sources;
+    /**
+     * <code>null</code> means that sources are asked only one after another.
+     */
+    private final Duration hedgeDelay;
+    private final ScheduledExecutorService scheduler;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    /**
+     * Index of the next source to ask.
+     */
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+    private final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    private final Queue<Future<?>> running = new ConcurrentLinkedQueue<>();
+
+    private FirstNonNullAsync(final Supplier<? extends CompletionStage<? extends T>>[] sources,
+                              final Duration hedgeDelay,
+                              final ScheduledExecutorService scheduler) {
+        this.sources = sources;
+        this.hedgeDelay = hedgeDelay;
+        this.scheduler = scheduler;
+    }
+
+    static <T> CompletableFuture<T> start(final Supplier<? extends CompletionStage<? extends T>>[] sources,
+                                          final Duration hedgeDelay,
+                                          final ScheduledExecutorService scheduler) {
+        final FirstNonNullAsync<T> firstNonNull = new FirstNonNullAsync<>(sources, hedgeDelay, scheduler);
+        firstNonNull.result.whenComplete((value, error) -> firstNonNull.cancelRunning());
+        if (sources.length == 0) {
+            firstNonNull.fail();
+        } else {
+            firstNonNull.askNext();
+        }
+        return firstNonNull.result;
+    }
+
+    private void askNext() {
+        for (int index = next.get(); index < sources.length; index = next.get()) {
+            if (next.compareAndSet(index, index + 1)) {
+                ask(index);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Asks next source only if no other source was asked since source with given index.
+     */
+    private void hedge(final int index) {
+        if (!result.isDone() && next.compareAndSet(index + 1, index + 2)) {
+            ask(index + 1);
+        }
+    }
+
+    private void ask(final int index) {
+        if (result.isDone()) {
+            return;
+        }
+        final CompletionStage<? extends T> stage;
+        try {
+            stage = sources[index] != null ? sources[index].get() : null;
+        } catch (RuntimeException ex) {
+            answered(null, ex);
+            return;
+        }
+        if (stage == null) {
+            answered(null, null);
+            return;
+        }
+        if (hedgeDelay != null && index + 1 < sources.length) {
+            scheduleHedge(index);
+        }
+        if (stage instanceof Future) {
+            running.add((Future<?>) stage);
+            if (result.isDone()) {
+                cancelRunning();
+            }
+        }
+        stage.whenComplete(this::answered);
+    }
+
+    private void scheduleHedge(final int index) {
+        try {
+            running.add(scheduler.schedule(() -> hedge(index), hedgeDelay.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (RejectedExecutionException ex) {
+            // scheduler is shut down, so next source is asked only when this one does not give a value
+        }
+    }
+
+    private void answered(final T value, final Throwable error) {
+        if (value != null) {
+            result.complete(value);
+            return;
+        }
+        if (error != null) {
+            errors.add(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        }
+        askNext();
+        if (finished.incrementAndGet() == sources.length) {
+            fail();
+        }
+    }
+
+    private void fail() {
+        final NullPointerException exception = new NullPointerException("Everything was null!");
+        errors.forEach(exception::addSuppressed);
+        result.completeExceptionally(exception);
+    }
+
+    private void cancelRunning() {
+        for (Future<?> future = running.poll(); future != null; future = running.poll()) {
+            future.cancel(false);
+        }
+    }
+}
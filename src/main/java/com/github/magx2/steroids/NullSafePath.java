@@ -0,0 +1,103 @@
+package com.github.magx2.steroids;
+
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Precompiled chain of getters that stops at the first <code>null</code>, like
+ * {@link AvoidNull#get(Object, Function, Function, Object)}, but with any number of getters.
+ * <p>
+ * Path is immutable and can be kept in a constant and shared between threads. Creating a path allocates, walking it
+ * with {@link #get(Object)} or {@link #getOrDefault(Object, Object)} does not.
+ * <p>
+ * Example:
+ * <p>
+ * <code>
+ * private static final NullSafePath&lt;Order, String&gt; CITY =
+ * NullSafePath.of(Order::getCustomer).then(Customer::getAddress).then(Address::getCity);
+ * </code>
+ *
+ * @param <T> type of root
+ * @param <R> type of result
+ */
+public final class NullSafePath<T, R> {
+    private final Function<Object, Object>[] getters;
+
+    private NullSafePath(final Function<Object, Object>[] getters) {
+        this.getters = getters;
+    }
+
+    /**
+     * Create path with one getter.
+     *
+     * @param getter getter applied to root
+     * @param <T>    type of root
+     * @param <R>    type of result
+     * @return new path
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @NotNull
+    public static <T, R> NullSafePath<T, R> of(@NotNull final Function<? super T, ? extends R> getter) {
+        requireNonNull(getter, "getter cannot be null!");
+        return new NullSafePath<>(new Function[]{getter});
+    }
+
+    /**
+     * Create new path that applies given getter to the result of this path. This path is not changed.
+     *
+     * @param getter getter applied to result of this path
+     * @param <N>    type of result of new path
+     * @return new path
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public <N> NullSafePath<T, N> then(@NotNull final Function<? super R, ? extends N> getter) {
+        requireNonNull(getter, "getter cannot be null!");
+        final Function<Object, Object>[] newGetters = Arrays.copyOf(getters, getters.length + 1);
+        newGetters[getters.length] = (Function<Object, Object>) getter;
+        return new NullSafePath<>(newGetters);
+    }
+
+    /**
+     * @param root object to start from
+     * @return result of the last getter or <code>null</code> if any object on the path was <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public R get(final T root) {
+        Object current = root;
+        for (int i = 0; i < getters.length && current != null; i++) {
+            current = getters[i].apply(current);
+        }
+        return (R) current;
+    }
+
+    /**
+     * @param root         object to start from
+     * @param defaultValue value returned if any object on the path was <code>null</code>
+     * @return result of the last getter or <code>defaultValue</code> if any object on the path was <code>null</code>
+     */
+    public R getOrDefault(final T root, final R defaultValue) {
+        final R result = get(root);
+        return result != null ? result : defaultValue;
+    }
+
+    /**
+     * @param root object to start from
+     * @return {@link Optional} of result of the last getter or {@link Optional#empty()} if any object on the path was
+     * <code>null</code>
+     */
+    public Optional<R> tryGet(final T root) {
+        return Optional.ofNullable(get(root));
+    }
+
+    /**
+     * @return number of getters in this path
+     */
+    public int length() {
+        return getters.length;
+    }
+}
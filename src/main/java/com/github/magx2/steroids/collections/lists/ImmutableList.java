@@ -0,0 +1,157 @@
+package com.github.magx2.steroids.collections.lists;
+
+import javax.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A list that cannot be modified after creation.
+ *
+ * @param <T> Element type
+ */
+public interface ImmutableList<T> extends List<T> {
+    /**
+     * Coverts to List that is mutable.
+     * <p>
+     * Original list still cannot be changed.
+     *
+     * @return new list that is mutable.
+     */
+    @NotNull
+    List<T> toMutableList();
+
+    /**
+     * Create new {@link ImmutableList} from this one with given element at the end.
+     *
+     * @param element element to add
+     * @return new {@link ImmutableList} that has given element
+     */
+    @NotNull
+    ImmutableList<T> addToNew(final T element);
+
+    /**
+     * Create new {@link ImmutableList} from this one with all given elements at the end.
+     *
+     * @param elements elements to add
+     * @return new {@link ImmutableList} that has given elements
+     */
+    @NotNull
+    ImmutableList<T> addAllToNew(@NotNull Collection<? extends T> elements);
+
+    /**
+     * Create new {@link ImmutableList} from this one with given element at given index.
+     *
+     * @param index   index of element to replace
+     * @param element new element
+     * @return new {@link ImmutableList} that has given element at given index
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    @NotNull
+    ImmutableList<T> setToNew(final int index, final T element);
+
+    /**
+     * Create new {@link ImmutableList} from this one without element at given index.
+     *
+     * @param index index of element to remove
+     * @return new {@link ImmutableList} that has not element at given index
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    @NotNull
+    ImmutableList<T> removeFromNew(final int index);
+
+    /**
+     * @param <T> Element type
+     * @return empty list
+     */
+    @NotNull
+    static <T> ImmutableList<T> of() {
+        return VectorImmutableList.empty();
+    }
+
+    /**
+     * @param elements elements of new list
+     * @param <T>      Element type
+     * @return list with given elements
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // elements are only read, so nothing can be stored in the array
+    @NotNull
+    static <T> ImmutableList<T> of(final T... elements) {
+        return VectorImmutableList.of(elements);
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     * @see ImmutableList#addToNew
+     */
+    @Override
+    default boolean add(final T element) {
+        throw new UnsupportedOperationException("This is immutable list! Adds are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    default void add(final int index, final T element) {
+        throw new UnsupportedOperationException("This is immutable list! Adds are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     * @see ImmutableList#addAllToNew
+     */
+    @Override
+    default boolean addAll(final Collection<? extends T> elements) {
+        throw new UnsupportedOperationException("This is immutable list! Add all are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     * @see ImmutableList#setToNew
+     */
+    @Override
+    default T set(final int index, final T element) {
+        throw new UnsupportedOperationException("This is immutable list! Sets are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     * @see ImmutableList#removeFromNew
+     */
+    @Override
+    default T remove(final int index) {
+        throw new UnsupportedOperationException("This is immutable list! Removes are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     * @see ImmutableList#removeFromNew
+     */
+    @Override
+    default boolean remove(final Object element) {
+        throw new UnsupportedOperationException("This is immutable list! Removes are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    default void clear() {
+        throw new UnsupportedOperationException("This is immutable list! Clear is not supported!");
+    }
+}
@@ -0,0 +1,367 @@
+package com.github.magx2.steroids.collections.lists;
+
+import javax.validation.constraints.NotNull;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ImmutableList} backed by persistent vector (32-way trie of arrays).
+ * <p>
+ * Elements are kept in leaves of 32 elements. The last, not yet full leaf (the tail) is kept outside of the trie, so
+ * most of {@link #addToNew(Object)} calls copy only the tail. {@link #addToNew(Object)} and
+ * {@link #setToNew(int, Object)} copy at most one path from root to leaf (<code>O(log32 n)</code>) and share all other
+ * nodes with this list. {@link #get(int)} walks the same path, which for lists smaller than 2^30 elements is at most
+ * 6 arrays.
+ * <p>
+ * {@link #removeFromNew(int)} of the last element takes <code>O(log32 n)</code>; removing any other element copies the
+ * whole list (<code>O(n)</code>).
+ *
+ * @param <T> Element type
+ */
+public final class VectorImmutableList<T> extends AbstractList<T> implements ImmutableList<T> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final VectorImmutableList<?> EMPTY = new VectorImmutableList<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <T> VectorImmutableList<T> empty() {
+        return (VectorImmutableList<T>) EMPTY;
+    }
+
+    @NotNull
+    public static <T> VectorImmutableList<T> from(@NotNull final Collection<? extends T> elements) {
+        requireNonNull(elements, "Given collection cannot be null!");
+        return VectorImmutableList.<T>empty().appendAll(elements.toArray());
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs") // elements are only read, so nothing can be stored in the array
+    @NotNull
+    public static <T> VectorImmutableList<T> of(@NotNull final T... elements) {
+        requireNonNull(elements, "Given elements cannot be null!");
+        return VectorImmutableList.<T>empty().appendAll(Arrays.copyOf(elements, elements.length, Object[].class));
+    }
+
+    private VectorImmutableList(final int size, final int shift, final Object[] root, final Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @Override
+    @NotNull
+    public List<T> toMutableList() {
+        return new ArrayList<>(this);
+    }
+
+    @Override
+    @NotNull
+    public VectorImmutableList<T> addToNew(final T element) {
+        if (tail.length < WIDTH) {
+            final Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new VectorImmutableList<>(size + 1, shift, root, newTail);
+        }
+        final int newShift = isRootFull(size, shift) ? shift + BITS : shift;
+        return new VectorImmutableList<>(size + 1, newShift, pushTail(size, shift, root, tail), new Object[]{element});
+    }
+
+    @Override
+    @NotNull
+    public VectorImmutableList<T> addAllToNew(@NotNull final Collection<? extends T> elements) {
+        requireNonNull(elements, "Given collection cannot be null!");
+        return appendAll(elements.toArray());
+    }
+
+    /**
+     * Fills the tail and pushes it to the trie once per every 32 elements.
+     */
+    private VectorImmutableList<T> appendAll(final Object[] elements) {
+        if (elements.length == 0) {
+            return this;
+        }
+        int newSize = size;
+        int newShift = shift;
+        Object[] newRoot = root;
+        Object[] newTail = tail;
+        int index = 0;
+        while (index < elements.length) {
+            if (newTail.length == WIDTH) {
+                final boolean rootFull = isRootFull(newSize, newShift);
+                newRoot = pushTail(newSize, newShift, newRoot, newTail);
+                newShift = rootFull ? newShift + BITS : newShift;
+                newTail = new Object[0];
+            }
+            final int length = Math.min(WIDTH - newTail.length, elements.length - index);
+            final Object[] filledTail = Arrays.copyOf(newTail, newTail.length + length);
+            System.arraycopy(elements, index, filledTail, newTail.length, length);
+            newTail = filledTail;
+            index += length;
+            newSize += length;
+        }
+        return new VectorImmutableList<>(newSize, newShift, newRoot, newTail);
+    }
+
+    @Override
+    @NotNull
+    public VectorImmutableList<T> setToNew(final int index, final T element) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            final Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new VectorImmutableList<>(size, shift, root, newTail);
+        }
+        return new VectorImmutableList<>(size, shift, setInNode(shift, root, index, element), tail);
+    }
+
+    @Override
+    @NotNull
+    public VectorImmutableList<T> removeFromNew(final int index) {
+        checkIndex(index);
+        if (index == size - 1) {
+            return removeLast();
+        }
+        final Object[] elements = toArray();
+        final Object[] newElements = new Object[size - 1];
+        System.arraycopy(elements, 0, newElements, 0, index);
+        System.arraycopy(elements, index + 1, newElements, index, size - index - 1);
+        return VectorImmutableList.<T>empty().appendAll(newElements);
+    }
+
+    private VectorImmutableList<T> removeLast() {
+        if (size == 1) {
+            return empty();
+        }
+        if (tail.length > 1) {
+            return new VectorImmutableList<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        final Object[] newTail = leafFor(size - 2);
+        Object[] newRoot = popTail(size, shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new VectorImmutableList<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(final int index) {
+        checkIndex(index);
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @NotNull
+    public Iterator<T> iterator() {
+        return new LeafIterator();
+    }
+
+    @Override
+    @NotNull
+    public Object[] toArray() {
+        final Object[] array = new Object[size];
+        final int tailOffset = tailOffset();
+        for (int index = 0; index < tailOffset; index += WIDTH) {
+            System.arraycopy(leafFor(index), 0, array, index, WIDTH);
+        }
+        System.arraycopy(tail, 0, array, tailOffset, tail.length);
+        return array;
+    }
+
+    @Override
+    public boolean add(final T element) {
+        return ImmutableList.super.add(element);
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        ImmutableList.super.add(index, element);
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> elements) {
+        return ImmutableList.super.addAll(elements);
+    }
+
+    @Override
+    public T set(final int index, final T element) {
+        return ImmutableList.super.set(index, element);
+    }
+
+    @Override
+    public T remove(final int index) {
+        return ImmutableList.super.remove(index);
+    }
+
+    @Override
+    public boolean remove(final Object element) {
+        return ImmutableList.super.remove(element);
+    }
+
+    @Override
+    public void clear() {
+        ImmutableList.super.clear();
+    }
+
+    @Override
+    public String toString() {
+        return VectorImmutableList.class.getSimpleName() + super.toString();
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private int tailOffset() {
+        return size - tail.length;
+    }
+
+    private Object[] leafFor(final int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    /**
+     * @return <code>true</code> if trie with given shift has no place for one more leaf
+     */
+    private static boolean isRootFull(final int size, final int shift) {
+        return (size >>> BITS) > (1 << shift);
+    }
+
+    /**
+     * Puts full tail as the last leaf of the trie. If the trie is full, new root is created on top of the old one.
+     *
+     * @param size number of elements including the tail
+     */
+    private static Object[] pushTail(final int size, final int shift, final Object[] root, final Object[] tail) {
+        if (isRootFull(size, shift)) {
+            final Object[] newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            return newRoot;
+        }
+        return pushTailToNode(size, shift, root, tail);
+    }
+
+    private static Object[] pushTailToNode(final int size,
+                                           final int level,
+                                           final Object[] parent,
+                                           final Object[] tail) {
+        final int childIndex = ((size - 1) >>> level) & MASK;
+        final Object[] newParent = parent.clone();
+        final Object[] child;
+        if (level == BITS) {
+            child = tail;
+        } else if (parent[childIndex] != null) {
+            child = pushTailToNode(size, level - BITS, (Object[]) parent[childIndex], tail);
+        } else {
+            child = newPath(level - BITS, tail);
+        }
+        newParent[childIndex] = child;
+        return newParent;
+    }
+
+    private static Object[] newPath(final int level, final Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        final Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    /**
+     * Removes the last leaf from the trie.
+     *
+     * @param size number of elements including the tail
+     * @return new node or <code>null</code> if node became empty
+     */
+    private static Object[] popTail(final int size, final int level, final Object[] node) {
+        final int childIndex = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            final Object[] newChild = popTail(size, level - BITS, (Object[]) node[childIndex]);
+            if (newChild == null && childIndex == 0) {
+                return null;
+            }
+            final Object[] newNode = node.clone();
+            newNode[childIndex] = newChild;
+            return newNode;
+        }
+        if (childIndex == 0) {
+            return null;
+        }
+        final Object[] newNode = node.clone();
+        newNode[childIndex] = null;
+        return newNode;
+    }
+
+    private static Object[] setInNode(final int level, final Object[] node, final int index, final Object element) {
+        final Object[] newNode = node.clone();
+        if (level == 0) {
+            newNode[index & MASK] = element;
+        } else {
+            final int childIndex = (index >>> level) & MASK;
+            newNode[childIndex] = setInNode(level - BITS, (Object[]) node[childIndex], index, element);
+        }
+        return newNode;
+    }
+
+    /**
+     * Iterator that looks up leaf only once per 32 elements.
+     */
+    private final class LeafIterator implements Iterator<T> {
+        private int index;
+        private Object[] leaf;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            if ((index & MASK) == 0) {
+                leaf = leafFor(index);
+            }
+            return (T) leaf[index++ & MASK];
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Base class for {@link ImmutableMap} implementations that are not backed by other {@link Map}.
+ * <p>
+ * Subclasses needs to provide {@link #entrySet()}, {@link #get(Object)}, {@link #containsKey(Object)} and all
+ * <code>*ToNew</code> methods.
+ * <p>
+ * All subclasses are serialized as {@link ImmutableMapSerialization.SerializationProxy}, so their fields are never
+ * part of serialized form.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ */
+abstract class AbstractImmutableMap<KeyT, ValueT> extends AbstractMap<KeyT, ValueT>
+        implements ImmutableMap<KeyT, ValueT>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Override
+    public Map<KeyT, ValueT> toMutableMap() {
+        return new HashMap<>(this);
+    }
+
+    @Override
+    public abstract ValueT get(final Object key);
+
+    @Override
+    public abstract boolean containsKey(final Object key);
+
+    @Override
+    public final ValueT put(final KeyT key, final ValueT value) {
+        return ImmutableMap.super.put(key, value);
+    }
+
+    @Override
+    public final ValueT remove(final Object key) {
+        return ImmutableMap.super.remove(key);
+    }
+
+    @Override
+    public final void putAll(final Map<? extends KeyT, ? extends ValueT> m) {
+        ImmutableMap.super.putAll(m);
+    }
+
+    @Override
+    public final void clear() {
+        ImmutableMap.super.clear();
+    }
+
+    /**
+     * Computes hash code as described in {@link Map#hashCode()}.
+     * <p>
+     * It does not rely on {@link Entry#hashCode()} because {@link ImmutableMapEntry} uses only a key to compute it.
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (Entry<KeyT, ValueT> entry : entrySet()) {
+            hashCode += Objects.hashCode(entry.getKey()) ^ Objects.hashCode(entry.getValue());
+        }
+        return hashCode;
+    }
+
+    Object writeReplace() {
+        return new ImmutableMapSerialization.SerializationProxy(this);
+    }
+
+    private void readObject(final ObjectInputStream input) throws InvalidObjectException {
+        throw new InvalidObjectException("ImmutableMap can be deserialized only from its serialization proxy!");
+    }
+
+    /**
+     * @return name of the map used in {@link #toString()}
+     */
+    String name() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public String toString() {
+        final StringJoiner joiner = new StringJoiner(", ", name() + "[", "]");
+        for (Entry<KeyT, ValueT> entry : entrySet()) {
+            joiner.add(entry.getKey() + "=" + entry.getValue());
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,271 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Holder of {@link ImmutableMap} that can be shared between many threads.
+ * <p>
+ * Readers get current snapshot with {@link #get()}, which is a single volatile read and never waits for writers.
+ * Writers change the map with functions that create new map from the current one. A writer first tries to swap the
+ * map with a single compare-and-set. If other writer was faster, its function is put into a queue and one of waiting
+ * writers applies all queued functions and publishes the result at once, so writers under contention do not keep
+ * recomputing their maps. Other writers are parked until their functions are applied.
+ * <p>
+ * Methods that change the map return the map that was published with the change. When functions of many writers are
+ * applied at once, it also contains changes of the other writers from the same batch.
+ * <p>
+ * Functions can be invoked more than once, so they have to be free of side effects.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ */
+public final class AtomicImmutableMap<KeyT, ValueT> {
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private final AtomicReference<ImmutableMap<KeyT, ValueT>> reference;
+    private final Queue<Update<KeyT, ValueT>> updates = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock combinerLock = new ReentrantLock();
+
+    @NotNull
+    public static <K, V> AtomicImmutableMap<K, V> empty() {
+        return new AtomicImmutableMap<>(ImmutableMap.of());
+    }
+
+    @NotNull
+    public static <K, V> AtomicImmutableMap<K, V> of(@NotNull final ImmutableMap<K, V> map) {
+        return new AtomicImmutableMap<>(map);
+    }
+
+    private AtomicImmutableMap(@NotNull final ImmutableMap<KeyT, ValueT> map) {
+        this.reference = new AtomicReference<>(requireNonNull(map, "Given map cannot be null!"));
+    }
+
+    /**
+     * @return current snapshot of the map
+     */
+    @NotNull
+    public ImmutableMap<KeyT, ValueT> get() {
+        return reference.get();
+    }
+
+    /**
+     * Replaces current map with given one.
+     *
+     * @param map new map
+     */
+    public void set(@NotNull final ImmutableMap<KeyT, ValueT> map) {
+        reference.set(requireNonNull(map, "Given map cannot be null!"));
+    }
+
+    /**
+     * Replaces current map with <code>newMap</code> only if current map is <code>expectedMap</code>.
+     *
+     * @param expectedMap expected current map
+     * @param newMap      new map
+     * @return <code>true</code> if map was replaced
+     */
+    public boolean compareAndSet(final ImmutableMap<KeyT, ValueT> expectedMap,
+                                 @NotNull final ImmutableMap<KeyT, ValueT> newMap) {
+        return reference.compareAndSet(expectedMap, requireNonNull(newMap, "Given map cannot be null!"));
+    }
+
+    /**
+     * Replaces current map with the one returned from given function.
+     *
+     * @param function function that creates new map from the current one; it can be invoked more than once
+     * @return published map that contains result of the function
+     */
+    @NotNull
+    public ImmutableMap<KeyT, ValueT> update(@NotNull final UnaryOperator<ImmutableMap<KeyT, ValueT>> function) {
+        requireNonNull(function, "function cannot be null!");
+        final ImmutableMap<KeyT, ValueT> current = reference.get();
+        final ImmutableMap<KeyT, ValueT> newMap = requireNonNull(function.apply(current), "New map cannot be null!");
+        if (newMap == current || reference.compareAndSet(current, newMap)) {
+            return newMap;
+        }
+        return updateInBatch(function);
+    }
+
+    /**
+     * Puts given entry to the map.
+     *
+     * @param key   entry key
+     * @param value entry value
+     * @return published map with given entry
+     */
+    @NotNull
+    public ImmutableMap<KeyT, ValueT> putAndGet(final KeyT key, final ValueT value) {
+        return update(map -> map.putToNew(key, value));
+    }
+
+    /**
+     * Removes given key from the map.
+     *
+     * @param key key to remove
+     * @return published map without given key
+     */
+    @NotNull
+    public ImmutableMap<KeyT, ValueT> removeAndGet(final KeyT key) {
+        return update(map -> map.removeFromNew(key));
+    }
+
+    /**
+     * Computes new value for given key like {@link java.util.Map#compute}. If function returns <code>null</code>, the
+     * key is removed.
+     *
+     * @param key               key to compute value for
+     * @param remappingFunction function that gets key and its current value (or <code>null</code>) and returns new
+     *                          value; it can be invoked more than once
+     * @return published map with computed value
+     */
+    @NotNull
+    public ImmutableMap<KeyT, ValueT> computeToNew(
+            final KeyT key,
+            @NotNull final BiFunction<? super KeyT, ? super ValueT, ? extends ValueT> remappingFunction) {
+        requireNonNull(remappingFunction, "remappingFunction cannot be null!");
+        return update(map -> {
+            final ValueT oldValue = map.get(key);
+            final ValueT newValue = remappingFunction.apply(key, oldValue);
+            if (newValue == null) {
+                return oldValue != null || map.containsKey(key) ? map.removeFromNew(key) : map;
+            }
+            return newValue == oldValue ? map : map.putToNew(key, newValue);
+        });
+    }
+
+    /**
+     * Queues given function and waits until it is applied. Waiting writers take turns in applying all queued
+     * functions (flat combining). Writer that cannot become the combiner is parked; the combiner unparks writers of the
+     * applied functions and then the writer of the first function left in the queue, which becomes the next combiner.
+     */
+    private ImmutableMap<KeyT, ValueT> updateInBatch(final UnaryOperator<ImmutableMap<KeyT, ValueT>> function) {
+        final Update<KeyT, ValueT> update = new Update<>(function, Thread.currentThread());
+        updates.add(update);
+        // park returns at once while thread is interrupted, so the flag is cleared and set again when update is done
+        boolean interrupted = false;
+        while (!update.done) {
+            if (combinerLock.tryLock()) {
+                try {
+                    applyBatch();
+                } finally {
+                    combinerLock.unlock();
+                    unparkNextCombiner();
+                }
+            } else {
+                LockSupport.park(this);
+                interrupted |= Thread.interrupted();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (update.failure instanceof RuntimeException) {
+            throw (RuntimeException) update.failure;
+        }
+        if (update.failure instanceof Error) {
+            throw (Error) update.failure;
+        }
+        return update.result;
+    }
+
+    private void applyBatch() {
+        final List<Update<KeyT, ValueT>> batch = new ArrayList<>();
+        Update<KeyT, ValueT> update;
+        while (batch.size() < MAX_BATCH_SIZE && (update = updates.poll()) != null) {
+            batch.add(update);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        ImmutableMap<KeyT, ValueT> newMap;
+        int applying = 0;
+        try {
+            while (true) {
+                final ImmutableMap<KeyT, ValueT> current = reference.get();
+                newMap = current;
+                for (applying = 0; applying < batch.size(); applying++) {
+                    newMap = batch.get(applying).apply(newMap);
+                }
+                // writers that did not wait in the queue could have changed the map in the meantime
+                if (newMap == current || reference.compareAndSet(current, newMap)) {
+                    break;
+                }
+            }
+        } catch (Error e) {
+            // nothing was published: the writer of the function that threw gets the error, others are queued again
+            final Update<KeyT, ValueT> failed = batch.remove(applying);
+            updates.addAll(batch);
+            failed.complete(null, e);
+            return;
+        }
+        for (Update<KeyT, ValueT> applied : batch) {
+            applied.complete(applied.failure == null ? newMap : null, applied.failure);
+        }
+    }
+
+    private void unparkNextCombiner() {
+        final Update<KeyT, ValueT> next = updates.peek();
+        if (next != null) {
+            LockSupport.unpark(next.writer);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return AtomicImmutableMap.class.getSimpleName() + "[" + get() + "]";
+    }
+
+    /**
+     * Function queued by a writer and its result.
+     */
+    private static final class Update<K, V> {
+        private final UnaryOperator<ImmutableMap<K, V>> function;
+        private final Thread writer;
+        /**
+         * Map published by the batch of this function.
+         */
+        private ImmutableMap<K, V> result;
+        private Throwable failure;
+        /**
+         * Written after <code>result</code> and <code>failure</code>, so they are visible to the writer that reads it.
+         */
+        private volatile boolean done;
+
+        private Update(final UnaryOperator<ImmutableMap<K, V>> function, final Thread writer) {
+            this.function = function;
+            this.writer = writer;
+        }
+
+        /**
+         * Applies function to given map. If function fails, the failure is remembered and given map is returned.
+         */
+        private ImmutableMap<K, V> apply(final ImmutableMap<K, V> map) {
+            try {
+                final ImmutableMap<K, V> newMap = requireNonNull(function.apply(map), "New map cannot be null!");
+                failure = null;
+                return newMap;
+            } catch (RuntimeException e) {
+                failure = e;
+                return map;
+            }
+        }
+
+        private void complete(final ImmutableMap<K, V> result, final Throwable failure) {
+            this.result = result;
+            this.failure = failure;
+            done = true;
+            LockSupport.unpark(writer);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts values to bytes and back.
+ * <p>
+ * Decoded value has to be equal to encoded one and has to have the same {@link Object#hashCode()}. Codecs are never
+ * called with <code>null</code> values.
+ *
+ * @param <T> Type of encoded values
+ * @see Codecs
+ */
+public interface Codec<T> {
+    /**
+     * @param value value to encode
+     * @return bytes of given value
+     */
+    @NotNull
+    byte[] encode(@NotNull T value);
+
+    /**
+     * @param buffer buffer whose remaining bytes are exactly bytes returned from {@link #encode(Object)}
+     * @return decoded value
+     */
+    @NotNull
+    T decode(@NotNull ByteBuffer buffer);
+}
@@ -0,0 +1,82 @@
+package com.github.magx2.steroids.collections.maps;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link Codec}s for common types. They are serializable, so {@link OffHeapImmutableMap}s that use them can be
+ * serialized.
+ */
+public final class Codecs {
+    /**
+     * Encodes strings as UTF-8.
+     */
+    public static final Codec<String> STRING = new StringCodec();
+
+    public static final Codec<Integer> INTEGER = new IntegerCodec();
+
+    public static final Codec<Long> LONG = new LongCodec();
+
+    /**
+     * This is an utils class. Never instantiate it.
+     */
+    private Codecs() {
+    }
+
+    private static final class StringCodec implements Codec<String>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public byte[] encode(final String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(final ByteBuffer buffer) {
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private Object readResolve() {
+            return STRING;
+        }
+    }
+
+    private static final class IntegerCodec implements Codec<Integer>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public byte[] encode(final Integer value) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+
+        private Object readResolve() {
+            return INTEGER;
+        }
+    }
+
+    private static final class LongCodec implements Codec<Long>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public byte[] encode(final Long value) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+        }
+
+        @Override
+        public Long decode(final ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+
+        private Object readResolve() {
+            return LONG;
+        }
+    }
+}
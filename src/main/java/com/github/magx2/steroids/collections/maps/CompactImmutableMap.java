@@ -0,0 +1,456 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implementation of {@link ImmutableMap} that keeps keys and values interleaved in a single array
+ * (<code>[key0, value0, key1, value1, ...]</code>) and uses open addressing with linear probing.
+ * <p>
+ * There are no objects per entry. {@link Map.Entry} objects are created only when iterating over
+ * {@link #entrySet()}. Use it for maps that are read often and changed rarely, because every
+ * <code>*ToNew</code> method copies the whole array.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ */
+public final class CompactImmutableMap<KeyT, ValueT> extends AbstractImmutableMap<KeyT, ValueT> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Marks <code>null</code> key, because <code>null</code> in the table means an empty slot.
+     */
+    private static final Object NULL_KEY = new Object();
+    private static final int MIN_CAPACITY = 2;
+    private static final CompactImmutableMap<?, ?> EMPTY = new CompactImmutableMap<>(new Object[2 * MIN_CAPACITY], 0);
+
+    private final Object[] table;
+    private final int size;
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K, V> CompactImmutableMap<K, V> empty() {
+        return (CompactImmutableMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K, V> CompactImmutableMap<K, V> from(@NotNull Map<K, V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map instanceof CompactImmutableMap) {
+            return (CompactImmutableMap<K, V>) map;
+        }
+        if (map.isEmpty()) {
+            return empty();
+        }
+        final Object[] table = new Object[2 * capacityFor(map.size())];
+        int size = 0;
+        for (Entry<K, V> entry : map.entrySet()) {
+            if (insert(table, entry.getKey(), entry.getValue())) {
+                size++;
+            }
+        }
+        return new CompactImmutableMap<>(table, size);
+    }
+
+    @NotNull
+    public static <K, V> CompactImmutableMap<K, V> from(@NotNull Class<K> keyClass,
+                                                        @NotNull Class<V> valueClass,
+                                                        @NotNull Object... keyValues) {
+        requireNonNull(keyValues, "keyValues cannot be null!");
+        final Object[] table = new Object[2 * capacityFor(keyValues.length / 2)];
+        final int[] size = {0};
+        KeyValues.forEachPair(keyClass, valueClass, keyValues, (key, value) -> {
+            if (insert(table, key, value)) {
+                size[0]++;
+            }
+        });
+        return new CompactImmutableMap<>(table, size[0]);
+    }
+
+    /**
+     * Create new empty {@link ImmutableMap.Builder} that builds {@link CompactImmutableMap}.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return new empty builder
+     */
+    @NotNull
+    public static <K, V> ImmutableMap.Builder<K, V> builder() {
+        return new HashMapBuilder<>(empty(), CompactImmutableMap::from);
+    }
+
+    /**
+     * Reads entries straight into a table that grows while they are read.
+     */
+    static <K, V> CompactImmutableMap<K, V> read(final ImmutableMapSerialization.EntryReader<K, V> reader)
+            throws IOException, ClassNotFoundException {
+        if (reader.size() == 0) {
+            return empty();
+        }
+        Object[] table = new Object[2 * capacityFor(ImmutableMapSerialization.initialCapacity(reader.size()))];
+        int size = 0;
+        for (int i = 0; i < reader.size(); i++) {
+            final K key = reader.readKey();
+            if (capacityFor(size + 1) > table.length / 2) {
+                table = new CompactImmutableMap<>(table, size).rehash(capacityFor(size + 1));
+            }
+            if (insert(table, key, reader.readValue())) {
+                size++;
+            }
+        }
+        return new CompactImmutableMap<>(table, size);
+    }
+
+    private CompactImmutableMap(@NotNull final Object[] table, final int size) {
+        this.table = requireNonNull(table);
+        this.size = size;
+    }
+
+    /**
+     * Returns smallest power of 2 that keeps load factor below <code>2/3</code>.
+     */
+    private static int capacityFor(final int size) {
+        final int minCapacity = Math.max(MIN_CAPACITY, size + (size >> 1) + 1);
+        return Integer.highestOneBit(minCapacity - 1) << 1;
+    }
+
+    private static Object maskNull(final Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static Object unmaskNull(final Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    private static int slot(final Object maskedKey, final int tableLength) {
+        int hash = maskedKey.hashCode() * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return (hash << 1) & (tableLength - 1);
+    }
+
+    /**
+     * Returns index of given key in the table or index of first empty slot where it can be inserted.
+     */
+    private static int indexOf(final Object[] table, final Object maskedKey) {
+        final int mask = table.length - 1;
+        int index = slot(maskedKey, table.length);
+        Object current;
+        while ((current = table[index]) != null) {
+            if (current == maskedKey || current.equals(maskedKey)) {
+                return index;
+            }
+            index = (index + 2) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Inserts given entry to the table.
+     *
+     * @return <code>true</code> if new key was inserted, <code>false</code> if value of existing key was replaced
+     */
+    private static boolean insert(final Object[] table, final Object key, final Object value) {
+        final Object maskedKey = maskNull(key);
+        final int index = indexOf(table, maskedKey);
+        final boolean newKey = table[index] == null;
+        table[index] = maskedKey;
+        table[index + 1] = value;
+        return newKey;
+    }
+
+    private int indexOf(final Object key) {
+        return indexOf(table, maskNull(key));
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<KeyT, ValueT> toBuilder() {
+        return new HashMapBuilder<>(this, CompactImmutableMap::from);
+    }
+
+    @NotNull
+    @Override
+    public CompactImmutableMap<KeyT, ValueT> putToNew(final KeyT key, final ValueT value) {
+        final int index = indexOf(key);
+        if (table[index] != null) {
+            if (table[index + 1] == value) {
+                return this;
+            }
+            final Object[] newTable = table.clone();
+            newTable[index + 1] = value;
+            return new CompactImmutableMap<>(newTable, size);
+        }
+        if (capacityFor(size + 1) * 2 <= table.length) {
+            final Object[] newTable = table.clone();
+            newTable[index] = maskNull(key);
+            newTable[index + 1] = value;
+            return new CompactImmutableMap<>(newTable, size + 1);
+        }
+        final Object[] newTable = rehash(capacityFor(size + 1));
+        insert(newTable, key, value);
+        return new CompactImmutableMap<>(newTable, size + 1);
+    }
+
+    @NotNull
+    @Override
+    public CompactImmutableMap<KeyT, ValueT> putAllToNew(@NotNull final Map<KeyT, ValueT> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map.isEmpty()) {
+            return this;
+        }
+        final Object[] newTable = rehash(capacityFor(size + map.size()));
+        int newSize = size;
+        for (Entry<KeyT, ValueT> entry : map.entrySet()) {
+            if (insert(newTable, entry.getKey(), entry.getValue())) {
+                newSize++;
+            }
+        }
+        return new CompactImmutableMap<>(newTable, newSize);
+    }
+
+    @NotNull
+    @Override
+    public CompactImmutableMap<KeyT, ValueT> removeFromNew(final KeyT key) {
+        int index = indexOf(key);
+        if (table[index] == null) {
+            return this;
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (capacityFor(size - 1) * 2 * 4 <= table.length) {
+            // map shrank a lot, so do not keep too big table
+            return new CompactImmutableMap<>(rehash(capacityFor(size - 1), index), size - 1);
+        }
+        final Object[] newTable = table.clone();
+        final int mask = newTable.length - 1;
+        // backward shift deletion: move following entries of the cluster into the freed slot when they are allowed
+        int next = index;
+        while (true) {
+            newTable[index] = null;
+            newTable[index + 1] = null;
+            Object nextKey;
+            do {
+                next = (next + 2) & mask;
+                nextKey = newTable[next];
+                if (nextKey == null) {
+                    return new CompactImmutableMap<>(newTable, size - 1);
+                }
+            } while (!canMove(slot(nextKey, newTable.length), index, next));
+            newTable[index] = nextKey;
+            newTable[index + 1] = newTable[next + 1];
+            index = next;
+        }
+    }
+
+    /**
+     * Checks if entry that wants to be at <code>home</code> slot and that is at <code>from</code> slot can be moved to
+     * <code>to</code> slot.
+     */
+    private static boolean canMove(final int home, final int to, final int from) {
+        if (to <= from) {
+            return home <= to || home > from;
+        }
+        return home <= to && home > from;
+    }
+
+    private Object[] rehash(final int capacity) {
+        return rehash(capacity, -1);
+    }
+
+    /**
+     * Copies all entries to new table with given capacity, except entry at <code>skipIndex</code>.
+     */
+    private Object[] rehash(final int capacity, final int skipIndex) {
+        final Object[] newTable = new Object[2 * capacity];
+        for (int i = 0; i < table.length; i += 2) {
+            final Object key = table[i];
+            if (key != null && i != skipIndex) {
+                final int index = indexOf(newTable, key);
+                newTable[index] = key;
+                newTable[index + 1] = table[i + 1];
+            }
+        }
+        return newTable;
+    }
+
+    @NotNull
+    @Override
+    public MapStatistics stats() {
+        final MapStatistics.Accumulator accumulator = new MapStatistics.Accumulator(this)
+                .size(size)
+                .capacity(table.length / 2)
+                .node()
+                .entries(0, size)
+                .bytes(MapStatistics.objectBytes(1, Integer.BYTES)
+                               + MapStatistics.arrayBytes(table.length, MapStatistics.REFERENCE_BYTES));
+        final int mask = table.length - 1;
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null) {
+                // number of slots from the slot where the key wants to be to the slot where it is
+                accumulator.chain((((i - slot(table[i], table.length)) & mask) >> 1) + 1);
+            }
+        }
+        return accumulator.build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return table[indexOf(key)] != null;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null && Objects.equals(table[i + 1], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ValueT get(final Object key) {
+        return (ValueT) table[indexOf(key) + 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ValueT getOrDefault(final Object key, final ValueT defaultValue) {
+        final int index = indexOf(key);
+        return table[index] != null ? (ValueT) table[index + 1] : defaultValue;
+    }
+
+    @Override
+    public Set<KeyT> keySet() {
+        return new AbstractSet<KeyT>() {
+            @Override
+            public Iterator<KeyT> iterator() {
+                return new TableIterator<KeyT>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    KeyT current(final int index) {
+                        return (KeyT) unmaskNull(table[index]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<ValueT> values() {
+        return new AbstractCollection<ValueT>() {
+            @Override
+            public Iterator<ValueT> iterator() {
+                return new TableIterator<ValueT>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    ValueT current(final int index) {
+                        return (ValueT) table[index + 1];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<KeyT, ValueT>> entrySet() {
+        return new AbstractSet<Entry<KeyT, ValueT>>() {
+            @Override
+            public Iterator<Entry<KeyT, ValueT>> iterator() {
+                return new TableIterator<Entry<KeyT, ValueT>>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    Entry<KeyT, ValueT> current(final int index) {
+                        return new ImmutableMapEntry<>((KeyT) unmaskNull(table[index]), (ValueT) table[index + 1]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                final Entry<?, ?> entry = (Entry<?, ?>) o;
+                final int index = indexOf(entry.getKey());
+                return table[index] != null && Objects.equals(table[index + 1], entry.getValue());
+            }
+        };
+    }
+
+    /**
+     * Iterates over all not empty slots of the table.
+     *
+     * @param <T> type of returned elements
+     */
+    private abstract class TableIterator<T> implements Iterator<T> {
+        private int index = nextIndex(0);
+
+        private int nextIndex(int from) {
+            while (from < table.length && table[from] == null) {
+                from += 2;
+            }
+            return from;
+        }
+
+        abstract T current(int index);
+
+        @Override
+        public boolean hasNext() {
+            return index < table.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T current = current(index);
+            index = nextIndex(index + 2);
+            return current;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implementation of {@link ImmutableMap} for enum keys, like {@link java.util.EnumMap}.
+ * <p>
+ * Values are kept in an array indexed by {@link Enum#ordinal()} and a bitmask marks which keys are present (values can
+ * be <code>null</code>). {@link #get(Object)} is a single array read, <code>*ToNew</code> methods copy arrays that are
+ * as long as the number of enum constants. Iteration follows the order in which enum constants are declared.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ */
+public final class EnumImmutableMap<KeyT extends Enum<KeyT>, ValueT> extends AbstractImmutableMap<KeyT, ValueT> {
+    private static final long serialVersionUID = 1L;
+
+    private final Class<KeyT> keyClass;
+    /**
+     * All constants of {@link #keyClass}, shared by all maps created from this one.
+     */
+    private final KeyT[] keys;
+    private final Object[] values;
+    private final long[] present;
+    private final int size;
+
+    @NotNull
+    public static <K extends Enum<K>, V> EnumImmutableMap<K, V> empty(@NotNull final Class<K> keyClass) {
+        requireNonNull(keyClass, "keyClass cannot be null!");
+        final K[] keys = keyClass.getEnumConstants();
+        return new EnumImmutableMap<>(keyClass, keys, new Object[keys.length], new long[(keys.length + 63) >>> 6], 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K extends Enum<K>, V> EnumImmutableMap<K, V> from(@NotNull final Class<K> keyClass,
+                                                                     @NotNull final Map<K, V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map instanceof EnumImmutableMap && ((EnumImmutableMap<?, ?>) map).keyClass == keyClass) {
+            return (EnumImmutableMap<K, V>) map;
+        }
+        return EnumImmutableMap.<K, V>empty(keyClass).putAllToNew(map);
+    }
+
+    @NotNull
+    public static <K extends Enum<K>, V> EnumImmutableMap<K, V> from(@NotNull Class<K> keyClass,
+                                                                     @NotNull Class<V> valueClass,
+                                                                     @NotNull Object... keyValues) {
+        final EnumImmutableMap<K, V> empty = empty(keyClass);
+        final Object[] values = new Object[empty.values.length];
+        final long[] present = new long[empty.present.length];
+        KeyValues.forEachPair(keyClass, valueClass, keyValues, (key, value) -> set(values, present, key, value));
+        return new EnumImmutableMap<>(keyClass, empty.keys, values, present, count(present));
+    }
+
+    /**
+     * Create new empty {@link ImmutableMap.Builder} that builds {@link EnumImmutableMap}.
+     *
+     * @param keyClass class of enum keys
+     * @param <K>      Key type
+     * @param <V>      Value type
+     * @return new empty builder
+     */
+    @NotNull
+    public static <K extends Enum<K>, V> ImmutableMap.Builder<K, V> builder(@NotNull final Class<K> keyClass) {
+        return EnumImmutableMap.<K, V>empty(keyClass).toBuilder();
+    }
+
+    /**
+     * Reads entries straight into array of values.
+     *
+     * @throws InvalidObjectException if given class is not an enum or key is not its constant
+     */
+    static <K extends Enum<K>, V> EnumImmutableMap<K, V> read(final Class<K> keyClass,
+                                                              final ImmutableMapSerialization.EntryReader<K, V> reader)
+            throws IOException, ClassNotFoundException {
+        if (keyClass == null || !keyClass.isEnum()) {
+            throw new InvalidObjectException("Class of keys is not an enum! Class=" + keyClass);
+        }
+        final EnumImmutableMap<K, V> empty = empty(keyClass);
+        final Object[] values = new Object[empty.values.length];
+        final long[] present = new long[empty.present.length];
+        for (int i = 0; i < reader.size(); i++) {
+            final Object key = reader.readKey();
+            if (!keyClass.isInstance(key)) {
+                throw new InvalidObjectException("Key is not a constant of " + keyClass.getName() + "! Key=" + key);
+            }
+            set(values, present, (Enum<?>) key, reader.readValue());
+        }
+        return new EnumImmutableMap<>(keyClass, empty.keys, values, present, count(present));
+    }
+
+    private EnumImmutableMap(final Class<KeyT> keyClass,
+                             final KeyT[] keys,
+                             final Object[] values,
+                             final long[] present,
+                             final int size) {
+        this.keyClass = keyClass;
+        this.keys = keys;
+        this.values = values;
+        this.present = present;
+        this.size = size;
+    }
+
+    Class<KeyT> keyClass() {
+        return keyClass;
+    }
+
+    private static void set(final Object[] values, final long[] present, final Enum<?> key, final Object value) {
+        requireNonNull(key, "Key cannot be null!");
+        final int ordinal = key.ordinal();
+        values[ordinal] = value;
+        present[ordinal >>> 6] |= 1L << ordinal;
+    }
+
+    private static int count(final long[] present) {
+        int count = 0;
+        for (long word : present) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return ordinal of given key or <code>-1</code> if it is not present in this map
+     */
+    private int indexOf(final Object key) {
+        if (!keyClass.isInstance(key)) {
+            return -1;
+        }
+        final int ordinal = ((Enum<?>) key).ordinal();
+        return (present[ordinal >>> 6] & 1L << ordinal) != 0 ? ordinal : -1;
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<KeyT, ValueT> toBuilder() {
+        return new HashMapBuilder<>(this, map -> from(keyClass, map));
+    }
+
+    @NotNull
+    @Override
+    public EnumImmutableMap<KeyT, ValueT> putToNew(final KeyT key, final ValueT value) {
+        requireNonNull(key, "Key cannot be null!");
+        final int index = indexOf(key);
+        if (index >= 0 && values[index] == value) {
+            return this;
+        }
+        final Object[] newValues = values.clone();
+        final long[] newPresent = present.clone();
+        set(newValues, newPresent, key, value);
+        return new EnumImmutableMap<>(keyClass, keys, newValues, newPresent, index >= 0 ? size : size + 1);
+    }
+
+    @NotNull
+    @Override
+    public EnumImmutableMap<KeyT, ValueT> putAllToNew(@NotNull final Map<KeyT, ValueT> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map.isEmpty()) {
+            return this;
+        }
+        final Object[] newValues = values.clone();
+        final long[] newPresent = present.clone();
+        for (Entry<KeyT, ValueT> entry : map.entrySet()) {
+            set(newValues, newPresent, keyClass.cast(entry.getKey()), entry.getValue());
+        }
+        return new EnumImmutableMap<>(keyClass, keys, newValues, newPresent, count(newPresent));
+    }
+
+    @NotNull
+    @Override
+    public EnumImmutableMap<KeyT, ValueT> removeFromNew(final KeyT key) {
+        final int index = indexOf(key);
+        if (index < 0) {
+            return this;
+        }
+        final Object[] newValues = values.clone();
+        final long[] newPresent = present.clone();
+        newValues[index] = null;
+        newPresent[index >>> 6] &= ~(1L << index);
+        return new EnumImmutableMap<>(keyClass, keys, newValues, newPresent, size - 1);
+    }
+
+    @NotNull
+    @Override
+    public MapStatistics stats() {
+        return new MapStatistics.Accumulator(this)
+                .size(size)
+                .capacity(keys.length)
+                .node()
+                .chain(size > 0 ? 1 : 0)
+                .entries(0, size)
+                .bytes(MapStatistics.objectBytes(4, Integer.BYTES)
+                               + MapStatistics.arrayBytes(values.length, MapStatistics.REFERENCE_BYTES)
+                               + MapStatistics.arrayBytes(present.length, Long.BYTES))
+                .build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (int index = nextIndex(0); index >= 0; index = nextIndex(index + 1)) {
+            if (Objects.equals(values[index], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ValueT get(final Object key) {
+        // absent keys have null values, so there is no need to check the bitmask
+        return keyClass.isInstance(key) ? (ValueT) values[((Enum<?>) key).ordinal()] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ValueT getOrDefault(final Object key, final ValueT defaultValue) {
+        final int index = indexOf(key);
+        return index >= 0 ? (ValueT) values[index] : defaultValue;
+    }
+
+    /**
+     * @return ordinal of the first present key that is not smaller than <code>from</code> or <code>-1</code>
+     */
+    private int nextIndex(final int from) {
+        int wordIndex = from >>> 6;
+        if (wordIndex >= present.length) {
+            return -1;
+        }
+        long word = present[wordIndex] & -1L << from;
+        while (word == 0) {
+            if (++wordIndex == present.length) {
+                return -1;
+            }
+            word = present[wordIndex];
+        }
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    @Override
+    public Set<KeyT> keySet() {
+        return new AbstractSet<KeyT>() {
+            @Override
+            public Iterator<KeyT> iterator() {
+                return new OrdinalIterator<KeyT>() {
+                    @Override
+                    KeyT current(final int index) {
+                        return keys[index];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<ValueT> values() {
+        return new AbstractCollection<ValueT>() {
+            @Override
+            public Iterator<ValueT> iterator() {
+                return new OrdinalIterator<ValueT>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    ValueT current(final int index) {
+                        return (ValueT) values[index];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<KeyT, ValueT>> entrySet() {
+        return new AbstractSet<Entry<KeyT, ValueT>>() {
+            @Override
+            public Iterator<Entry<KeyT, ValueT>> iterator() {
+                return new OrdinalIterator<Entry<KeyT, ValueT>>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    Entry<KeyT, ValueT> current(final int index) {
+                        return new ImmutableMapEntry<>(keys[index], (ValueT) values[index]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                final Entry<?, ?> entry = (Entry<?, ?>) o;
+                final int index = indexOf(entry.getKey());
+                return index >= 0 && Objects.equals(values[index], entry.getValue());
+            }
+        };
+    }
+
+    /**
+     * Iterates over ordinals of present keys in ascending order.
+     *
+     * @param <T> type of returned elements
+     */
+    private abstract class OrdinalIterator<T> implements Iterator<T> {
+        private int index = nextIndex(0);
+
+        abstract T current(int index);
+
+        @Override
+        public boolean hasNext() {
+            return index >= 0;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T current = current(index);
+            index = nextIndex(index + 1);
+            return current;
+        }
+    }
+}
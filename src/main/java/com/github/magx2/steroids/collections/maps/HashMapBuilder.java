@@ -0,0 +1,68 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ImmutableMap.Builder} that collects entries in a {@link HashMap} and copies them with given factory on every
+ * {@link #build()}.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+final class HashMapBuilder<K, V> implements ImmutableMap.Builder<K, V> {
+    private final Map<K, V> map;
+    private final Function<Map<K, V>, ImmutableMap<K, V>> factory;
+
+    HashMapBuilder(@NotNull final Map<K, V> map, @NotNull final Function<Map<K, V>, ImmutableMap<K, V>> factory) {
+        this.map = new HashMap<>(requireNonNull(map));
+        this.factory = requireNonNull(factory);
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<K, V> put(final K key, final V value) {
+        map.put(key, value);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<K, V> putAll(@NotNull final Map<? extends K, ? extends V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        this.map.putAll(map);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<K, V> remove(final K key) {
+        map.remove(key);
+        return this;
+    }
+
+    @Override
+    public V get(final Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap<K, V> build() {
+        return factory.apply(map);
+    }
+}
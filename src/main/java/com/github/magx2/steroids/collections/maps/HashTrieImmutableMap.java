@@ -0,0 +1,690 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+import static com.github.magx2.steroids.collections.maps.HashTrieNode.NOT_FOUND;
+import static com.github.magx2.steroids.collections.maps.HashTrieNode.hash;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implementation of {@link ImmutableMap} that is backed by persistent hash trie (CHAMP).
+ * <p>
+ * {@link #putToNew(Object, Object)} and {@link #removeFromNew(Object)} copy only <code>O(log32 n)</code> nodes
+ * on the path to changed entry. All other nodes are shared between old and new map.
+ * <p>
+ * Use {@link #toBuilder()} or {@link #withMutations} to make many changes at once. Builder changes in place all
+ * nodes that it has already copied, so every node is copied at most once.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ */
+public final class HashTrieImmutableMap<KeyT, ValueT> extends AbstractImmutableMap<KeyT, ValueT> {
+    private static final long serialVersionUID = 1L;
+
+    private static final HashTrieImmutableMap<?, ?> EMPTY = new HashTrieImmutableMap<>(HashTrieNode.emptyNode(), 0);
+
+    private final HashTrieNode<KeyT, ValueT> root;
+    private final int size;
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K, V> HashTrieImmutableMap<K, V> empty() {
+        return (HashTrieImmutableMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K, V> HashTrieImmutableMap<K, V> from(@NotNull Map<K, V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map instanceof HashTrieImmutableMap) {
+            return (HashTrieImmutableMap<K, V>) map;
+        }
+        return HashTrieImmutableMap.<K, V>empty().putAllToNew(map);
+    }
+
+    @NotNull
+    public static <K, V> HashTrieImmutableMap<K, V> from(@NotNull Class<K> keyClass,
+                                                         @NotNull Class<V> valueClass,
+                                                         @NotNull Object... keyValues) {
+        final TrieBuilder<K, V> builder = new TrieBuilder<>(HashTrieNode.emptyNode(), 0);
+        KeyValues.forEachPair(keyClass, valueClass, keyValues, builder::put);
+        return builder.build();
+    }
+
+    /**
+     * Create new empty {@link ImmutableMap.Builder} that builds {@link HashTrieImmutableMap}.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return new empty builder
+     */
+    @NotNull
+    public static <K, V> ImmutableMap.Builder<K, V> builder() {
+        return new TrieBuilder<>(HashTrieNode.emptyNode(), 0);
+    }
+
+    /**
+     * Reads entries straight into a trie.
+     */
+    static <K, V> HashTrieImmutableMap<K, V> read(final ImmutableMapSerialization.EntryReader<K, V> reader)
+            throws IOException, ClassNotFoundException {
+        final TrieBuilder<K, V> builder = new TrieBuilder<>(HashTrieNode.emptyNode(), 0);
+        for (int i = 0; i < reader.size(); i++) {
+            final K key = reader.readKey();
+            builder.put(key, reader.readValue());
+        }
+        return builder.build();
+    }
+
+    private HashTrieImmutableMap(@NotNull final HashTrieNode<KeyT, ValueT> root, final int size) {
+        this.root = requireNonNull(root);
+        this.size = size;
+    }
+
+    HashTrieNode<KeyT, ValueT> root() {
+        return root;
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<KeyT, ValueT> toBuilder() {
+        return new TrieBuilder<>(root, size);
+    }
+
+    @NotNull
+    @Override
+    public HashTrieImmutableMap<KeyT, ValueT> putToNew(final KeyT key, final ValueT value) {
+        final HashTrieNode.Details<ValueT> details = new HashTrieNode.Details<>();
+        final HashTrieNode<KeyT, ValueT> newRoot = root.updated(null, key, value, hash(key), 0, details);
+        if (!details.isModified()) {
+            return this;
+        }
+        return new HashTrieImmutableMap<>(newRoot, details.isReplaced() ? size : size + 1);
+    }
+
+    @NotNull
+    @Override
+    public HashTrieImmutableMap<KeyT, ValueT> putAllToNew(@NotNull final Map<KeyT, ValueT> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map instanceof HashTrieImmutableMap) {
+            return mergeToNew(map, (oldValue, newValue) -> newValue);
+        }
+        final TrieBuilder<KeyT, ValueT> builder = new TrieBuilder<>(root, size);
+        builder.putAll(map);
+        return builder.root == root ? this : builder.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If given map is also {@link HashTrieImmutableMap}, both tries are merged node by node. Sub tries that are only in
+     * one of the maps are reused without copying them and without hashing their keys again.
+     */
+    @NotNull
+    @Override
+    public HashTrieImmutableMap<KeyT, ValueT> mergeToNew(@NotNull final Map<KeyT, ValueT> map,
+                                                         @NotNull final BinaryOperator<ValueT> conflictResolver) {
+        requireNonNull(map, "Given map cannot be null!");
+        requireNonNull(conflictResolver, "conflictResolver cannot be null!");
+        if (!(map instanceof HashTrieImmutableMap)) {
+            final TrieBuilder<KeyT, ValueT> builder = new TrieBuilder<>(root, size);
+            for (Entry<KeyT, ValueT> entry : map.entrySet()) {
+                builder.merge(entry.getKey(), entry.getValue(), conflictResolver);
+            }
+            return builder.root == root ? this : builder.build();
+        }
+        final HashTrieImmutableMap<KeyT, ValueT> other = (HashTrieImmutableMap<KeyT, ValueT>) map;
+        if (isEmpty()) {
+            return other;
+        }
+        final HashTrieNode.UnionDetails details = new HashTrieNode.UnionDetails();
+        final HashTrieNode<KeyT, ValueT> newRoot = HashTrieNode.union(root, other.root, 0, conflictResolver, details);
+        if (newRoot == root) {
+            return this;
+        }
+        return new HashTrieImmutableMap<>(newRoot, size + other.size - details.getDuplicates());
+    }
+
+    @NotNull
+    @Override
+    public HashTrieImmutableMap<KeyT, ValueT> removeFromNew(final KeyT key) {
+        final HashTrieNode.Details<ValueT> details = new HashTrieNode.Details<>();
+        final HashTrieNode<KeyT, ValueT> newRoot = root.removed(null, key, hash(key), 0, details);
+        if (!details.isModified()) {
+            return this;
+        }
+        return new HashTrieImmutableMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If given map is also {@link HashTrieImmutableMap}, sub tries shared by both maps are skipped, so when one map was
+     * created from the other one it takes time proportional to the number of changes.
+     */
+    @NotNull
+    @Override
+    public MapDiff<KeyT, ValueT> diff(@NotNull final ImmutableMap<KeyT, ValueT> other) {
+        requireNonNull(other, "other cannot be null!");
+        if (!(other instanceof HashTrieImmutableMap)) {
+            return MapDiff.between(this, other);
+        }
+        final MapDiff.Accumulator<KeyT, ValueT> accumulator = new MapDiff.Accumulator<>();
+        HashTrieNode.diff(root, ((HashTrieImmutableMap<KeyT, ValueT>) other).root, 0, accumulator);
+        return accumulator.build();
+    }
+
+    @NotNull
+    @Override
+    public MapStatistics stats() {
+        final MapStatistics.Accumulator accumulator = new MapStatistics.Accumulator(this).size(size);
+        accumulator.bytes(MapStatistics.objectBytes(1, Integer.BYTES));
+        root.collectStatistics(accumulator, 0);
+        return accumulator.build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return root.find(key, hash(key), 0) != NOT_FOUND;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (ValueT v : values()) {
+            if (Objects.equals(v, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ValueT get(final Object key) {
+        final Object value = root.find(key, hash(key), 0);
+        return value == NOT_FOUND ? null : (ValueT) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ValueT getOrDefault(final Object key, final ValueT defaultValue) {
+        final Object value = root.find(key, hash(key), 0);
+        return value == NOT_FOUND ? defaultValue : (ValueT) value;
+    }
+
+    @Override
+    public Set<KeyT> keySet() {
+        return new AbstractSet<KeyT>() {
+            @Override
+            public Iterator<KeyT> iterator() {
+                return new TrieIterator<KeyT>(root) {
+                    @Override
+                    KeyT current(final HashTrieNode<?, ?> node, final int index) {
+                        return keyOf(node, index);
+                    }
+                };
+            }
+
+            @Override
+            public Spliterator<KeyT> spliterator() {
+                return new TrieSpliterator<>(root, size, Spliterator.DISTINCT, HashTrieImmutableMap.this::keyOf);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<ValueT> values() {
+        return new AbstractCollection<ValueT>() {
+            @Override
+            public Iterator<ValueT> iterator() {
+                return new TrieIterator<ValueT>(root) {
+                    @Override
+                    ValueT current(final HashTrieNode<?, ?> node, final int index) {
+                        return valueOf(node, index);
+                    }
+                };
+            }
+
+            @Override
+            public Spliterator<ValueT> spliterator() {
+                return new TrieSpliterator<>(root, size, 0, HashTrieImmutableMap.this::valueOf);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<KeyT, ValueT>> entrySet() {
+        return new AbstractSet<Entry<KeyT, ValueT>>() {
+            @Override
+            public Iterator<Entry<KeyT, ValueT>> iterator() {
+                return new TrieIterator<Entry<KeyT, ValueT>>(root) {
+                    @Override
+                    Entry<KeyT, ValueT> current(final HashTrieNode<?, ?> node, final int index) {
+                        return new ImmutableMapEntry<>(keyOf(node, index), valueOf(node, index));
+                    }
+                };
+            }
+
+            @Override
+            public Spliterator<Entry<KeyT, ValueT>> spliterator() {
+                return new TrieSpliterator<>(root, size, Spliterator.DISTINCT,
+                        (node, index) -> new ImmutableMapEntry<>(keyOf(node, index), valueOf(node, index)));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                final Entry<?, ?> entry = (Entry<?, ?>) o;
+                final Object value = root.find(entry.getKey(), hash(entry.getKey()), 0);
+                return value != NOT_FOUND && Objects.equals(value, entry.getValue());
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private KeyT keyOf(final HashTrieNode<?, ?> node, final int index) {
+        return (KeyT) node.getKey(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ValueT valueOf(final HashTrieNode<?, ?> node, final int index) {
+        return (ValueT) node.getValue(index);
+    }
+
+    /**
+     * Transient builder. Nodes created by builder are owned by it and can be changed in place until
+     * {@link #build()} is called.
+     */
+    static final class TrieBuilder<K, V> implements ImmutableMap.Builder<K, V> {
+        private Object owner = new Object();
+        private HashTrieNode<K, V> root;
+        private int size;
+
+        TrieBuilder(final HashTrieNode<K, V> root, final int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap.Builder<K, V> put(final K key, final V value) {
+            final HashTrieNode.Details<V> details = new HashTrieNode.Details<>();
+            root = root.updated(owner, key, value, hash(key), 0, details);
+            if (details.isModified() && !details.isReplaced()) {
+                size++;
+            }
+            return this;
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap.Builder<K, V> remove(final K key) {
+            final HashTrieNode.Details<V> details = new HashTrieNode.Details<>();
+            root = root.removed(owner, key, hash(key), 0, details);
+            if (details.isModified()) {
+                size--;
+            }
+            return this;
+        }
+
+        /**
+         * Puts given entry into builder. If builder already has given key, value is replaced with the result of
+         * <code>mergeFunction.apply(oldValue, value)</code>.
+         *
+         * @param mergeFunction function that merges values of duplicated keys; if it is <code>null</code> duplicated
+         *                      keys are not allowed
+         * @throws IllegalStateException if <code>mergeFunction</code> is <code>null</code> and key is duplicated
+         */
+        void merge(final K key, final V value, final BinaryOperator<V> mergeFunction) {
+            final HashTrieNode.Details<V> details = new HashTrieNode.Details<>();
+            final int hash = hash(key);
+            root = root.updated(owner, key, value, hash, 0, details);
+            if (details.isModified() && !details.isReplaced()) {
+                size++;
+                return;
+            }
+            // not modified means that builder already has the same value
+            final V oldValue = details.isReplaced() ? details.getOldValue() : value;
+            if (mergeFunction == null) {
+                throw new IllegalStateException("Duplicate key `" + key + "`! Values=" + oldValue + ", " + value);
+            }
+            final V mergedValue = mergeFunction.apply(oldValue, value);
+            if (mergedValue != value) {
+                root = root.updated(owner, key, mergedValue, hash, 0, new HashTrieNode.Details<>());
+            }
+        }
+
+        /**
+         * Puts all entries of other builder into this one. Tries are merged node by node (see
+         * {@link HashTrieNode#union}), so entries are not inserted one by one. Other builder cannot be used anymore.
+         * Values of duplicated keys are merged with <code>mergeFunction</code>, with value from this builder as the
+         * first argument.
+         *
+         * @return this builder
+         * @throws IllegalStateException if <code>mergeFunction</code> is <code>null</code> and key is duplicated
+         */
+        TrieBuilder<K, V> mergeAll(final TrieBuilder<K, V> other, final BinaryOperator<V> mergeFunction) {
+            final HashTrieNode.UnionDetails details = new HashTrieNode.UnionDetails();
+            root = HashTrieNode.union(root, other.root, 0, mergeFunction, details);
+            size += other.size - details.getDuplicates();
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V get(final Object key) {
+            final Object value = root.find(key, hash(key), 0);
+            return value == NOT_FOUND ? null : (V) value;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return root.find(key, hash(key), 0) != NOT_FOUND;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @NotNull
+        @Override
+        public HashTrieImmutableMap<K, V> build() {
+            // nodes owned by the old owner are now part of the map, so they cannot be changed anymore
+            owner = new Object();
+            return size == 0 ? empty() : new HashTrieImmutableMap<>(root, size);
+        }
+    }
+
+    /**
+     * Depth first iterator over all entries in the trie. First it returns entries inlined in the node, then it
+     * descends into sub nodes.
+     *
+     * @param <T> type of returned elements
+     */
+    abstract static class TrieIterator<T> implements Iterator<T> {
+        private final HashTrieNode<?, ?>[] nodes = new HashTrieNode<?, ?>[HashTrieNode.MAX_DEPTH];
+        private final int[] nodeCursors = new int[HashTrieNode.MAX_DEPTH];
+        private int depth = -1;
+        private HashTrieNode<?, ?> payloadNode;
+        private int payloadCursor;
+        private int payloadLength;
+
+        TrieIterator(final HashTrieNode<?, ?> root) {
+            if (root.hasNodes()) {
+                push(root);
+            }
+            if (root.hasPayload()) {
+                payloadNode = root;
+                payloadLength = root.payloadArity();
+            }
+        }
+
+        abstract T current(HashTrieNode<?, ?> node, int index);
+
+        private void push(final HashTrieNode<?, ?> node) {
+            depth++;
+            nodes[depth] = node;
+            nodeCursors[depth] = 0;
+        }
+
+        private boolean searchNextPayloadNode() {
+            while (depth >= 0) {
+                final HashTrieNode<?, ?> node = nodes[depth];
+                final int cursor = nodeCursors[depth];
+                if (cursor < node.nodeArity()) {
+                    nodeCursors[depth]++;
+                    final HashTrieNode<?, ?> child = node.getNode(cursor);
+                    if (child.hasNodes()) {
+                        push(child);
+                    }
+                    if (child.hasPayload()) {
+                        payloadNode = child;
+                        payloadCursor = 0;
+                        payloadLength = child.payloadArity();
+                        return true;
+                    }
+                } else {
+                    nodes[depth] = null;
+                    depth--;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return payloadCursor < payloadLength || searchNextPayloadNode();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current(payloadNode, payloadCursor++);
+        }
+    }
+
+    /**
+     * Creates element of a collection from the entry at given index of the node.
+     *
+     * @param <T> type of created elements
+     */
+    @FunctionalInterface
+    interface NodeElement<T> {
+        T at(HashTrieNode<?, ?> node, int index);
+    }
+
+    /**
+     * Spliterator over sub tries. It splits its sub tries in half; if it has only one sub trie left, it first replaces
+     * it with entries inlined in its root and with its sub nodes. Hashes spread entries evenly among sub nodes, so
+     * both halves have similar sizes. Exact size of the split part is counted from arities of its nodes, without
+     * touching any key or value.
+     *
+     * @param <T> type of returned elements
+     */
+    static final class TrieSpliterator<T> implements Spliterator<T> {
+        private final int characteristics;
+        private final NodeElement<T> element;
+        /**
+         * Entries <code>[payloadFrom, payloadTo)</code> inlined in this node belong to this spliterator.
+         */
+        private HashTrieNode<?, ?> payloadNode;
+        private int payloadFrom;
+        private int payloadTo;
+        /**
+         * Whole sub tries <code>[nodesFrom, nodesTo)</code> belong to this spliterator.
+         */
+        private HashTrieNode<?, ?>[] nodes;
+        private int nodesFrom;
+        private int nodesTo;
+        private Iterator<T> iterator;
+        private long size;
+
+        TrieSpliterator(final HashTrieNode<?, ?> root,
+                        final int size,
+                        final int characteristics,
+                        final NodeElement<T> element) {
+            this(characteristics, element, null, 0, 0, new HashTrieNode<?, ?>[]{root}, 0, 1, size);
+        }
+
+        private TrieSpliterator(final int characteristics,
+                                final NodeElement<T> element,
+                                final HashTrieNode<?, ?> payloadNode,
+                                final int payloadFrom,
+                                final int payloadTo,
+                                final HashTrieNode<?, ?>[] nodes,
+                                final int nodesFrom,
+                                final int nodesTo,
+                                final long size) {
+            this.characteristics = characteristics | SIZED | SUBSIZED | IMMUTABLE;
+            this.element = element;
+            this.payloadNode = payloadNode;
+            this.payloadFrom = payloadFrom;
+            this.payloadTo = payloadTo;
+            this.nodes = nodes;
+            this.nodesFrom = nodesFrom;
+            this.nodesTo = nodesTo;
+            this.size = size;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            requireNonNull(action, "action cannot be null!");
+            if (payloadFrom < payloadTo) {
+                size--;
+                action.accept(element.at(payloadNode, payloadFrom++));
+                return true;
+            }
+            while (iterator == null || !iterator.hasNext()) {
+                if (nodesFrom >= nodesTo) {
+                    return false;
+                }
+                iterator = new TrieIterator<T>(nodes[nodesFrom++]) {
+                    @Override
+                    T current(final HashTrieNode<?, ?> node, final int index) {
+                        return element.at(node, index);
+                    }
+                };
+            }
+            size--;
+            action.accept(iterator.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            requireNonNull(action, "action cannot be null!");
+            while (payloadFrom < payloadTo) {
+                action.accept(element.at(payloadNode, payloadFrom++));
+            }
+            if (iterator != null) {
+                iterator.forEachRemaining(action);
+            }
+            while (nodesFrom < nodesTo) {
+                forEach(nodes[nodesFrom++], action);
+            }
+            size = 0;
+        }
+
+        private void forEach(final HashTrieNode<?, ?> node, final Consumer<? super T> action) {
+            for (int i = 0; i < node.payloadArity(); i++) {
+                action.accept(element.at(node, i));
+            }
+            for (int i = 0; i < node.nodeArity(); i++) {
+                forEach(node.getNode(i), action);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (iterator != null) {
+                return null;
+            }
+            while (payloadFrom >= payloadTo && nodesTo - nodesFrom == 1) {
+                final HashTrieNode<?, ?> node = nodes[nodesFrom];
+                payloadNode = node;
+                payloadFrom = 0;
+                payloadTo = node.payloadArity();
+                nodes = subNodes(node);
+                nodesFrom = 0;
+                nodesTo = nodes.length;
+            }
+            final TrieSpliterator<T> prefix;
+            if (nodesTo - nodesFrom >= 2) {
+                final int middle = (nodesFrom + nodesTo) >>> 1;
+                long prefixSize = 0;
+                for (int i = nodesFrom; i < middle; i++) {
+                    prefixSize += count(nodes[i]);
+                }
+                prefix = new TrieSpliterator<>(
+                        characteristics, element, null, 0, 0, nodes, nodesFrom, middle, prefixSize);
+                nodesFrom = middle;
+            } else if (nodesTo - nodesFrom == 1) {
+                prefix = new TrieSpliterator<>(characteristics, element, payloadNode, payloadFrom, payloadTo,
+                        nodes, 0, 0, payloadTo - payloadFrom);
+                payloadFrom = payloadTo;
+            } else if (payloadTo - payloadFrom >= 2) {
+                final int middle = (payloadFrom + payloadTo) >>> 1;
+                prefix = new TrieSpliterator<>(characteristics, element, payloadNode, payloadFrom, middle,
+                        nodes, 0, 0, middle - payloadFrom);
+                payloadFrom = middle;
+            } else {
+                return null;
+            }
+            size -= prefix.size;
+            return prefix;
+        }
+
+        private static HashTrieNode<?, ?>[] subNodes(final HashTrieNode<?, ?> node) {
+            final HashTrieNode<?, ?>[] subNodes = new HashTrieNode<?, ?>[node.nodeArity()];
+            for (int i = 0; i < subNodes.length; i++) {
+                subNodes[i] = node.getNode(i);
+            }
+            return subNodes;
+        }
+
+        private static long count(final HashTrieNode<?, ?> node) {
+            long count = node.payloadArity();
+            for (int i = 0; i < node.nodeArity(); i++) {
+                count += count(node.getNode(i));
+            }
+            return count;
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+    }
+}
@@ -0,0 +1,847 @@
+package com.github.magx2.steroids.collections.maps;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+
+import static java.lang.Integer.bitCount;
+
+/**
+ * Node of a Compressed Hash-Array Mapped Prefix-tree (CHAMP) used by {@link HashTrieImmutableMap}.
+ * <p>
+ * Every node consumes {@value #BIT_PARTITION_SIZE} bits of the key hash. Nodes are never changed after they are
+ * published, so any update copies only the path from the root to the changed entry and shares all other nodes with
+ * the previous version.
+ * <p>
+ * Every node remembers its <code>owner</code>. Operations invoked with the same, non <code>null</code> owner are
+ * allowed to change such node in place instead of copying it. This is used by transient builders that are the only
+ * ones that can see nodes that they own. Maps are always passing <code>null</code> as an owner.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+abstract class HashTrieNode<K, V> {
+    static final int BIT_PARTITION_SIZE = 5;
+    static final int BIT_PARTITION_MASK = 0b11111;
+    static final int HASH_CODE_LENGTH = 32;
+    /**
+     * Maximal number of bitmap indexed nodes on a path from the root (7 levels of 5 bits cover whole hash).
+     */
+    static final int MAX_DEPTH = 7;
+    static final Object NOT_FOUND = new Object();
+
+    static final int SIZE_EMPTY = 0;
+    static final int SIZE_ONE = 1;
+    static final int SIZE_MORE_THAN_ONE = 2;
+
+    private static final BitmapIndexedNode<?, ?> EMPTY_NODE = new BitmapIndexedNode<>(null, 0, 0, new Object[0]);
+
+    @SuppressWarnings("unchecked")
+    static <K, V> BitmapIndexedNode<K, V> emptyNode() {
+        return (BitmapIndexedNode<K, V>) EMPTY_NODE;
+    }
+
+    static int hash(final Object key) {
+        if (key == null) {
+            return 0;
+        }
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    static int mask(final int hash, final int shift) {
+        return (hash >>> shift) & BIT_PARTITION_MASK;
+    }
+
+    static int bitpos(final int mask) {
+        return 1 << mask;
+    }
+
+    /**
+     * Returns value for given key or {@link #NOT_FOUND} if there is no such key.
+     */
+    abstract Object find(Object key, int hash, int shift);
+
+    abstract HashTrieNode<K, V> updated(Object owner, K key, V value, int hash, int shift, Details<V> details);
+
+    abstract HashTrieNode<K, V> removed(Object owner, Object key, int hash, int shift, Details<V> details);
+
+    abstract boolean hasNodes();
+
+    abstract int nodeArity();
+
+    abstract HashTrieNode<K, V> getNode(int index);
+
+    abstract boolean hasPayload();
+
+    abstract int payloadArity();
+
+    abstract K getKey(int index);
+
+    abstract V getValue(int index);
+
+    abstract int sizePredicate();
+
+    /**
+     * @return estimated size of this node without sub nodes, see {@link MapStatistics#getEstimatedBytes()}
+     */
+    abstract long estimatedBytes();
+
+    /**
+     * @return number of keys that are compared with looked up key in this node
+     */
+    int chainLength() {
+        return payloadArity() > 0 ? 1 : 0;
+    }
+
+    /**
+     * Adds this node and its sub nodes to given statistics.
+     */
+    void collectStatistics(final MapStatistics.Accumulator accumulator, final int depth) {
+        accumulator.node()
+                .entries(depth, payloadArity())
+                .chain(chainLength())
+                .bytes(estimatedBytes());
+        for (int i = 0; i < nodeArity(); i++) {
+            getNode(i).collectStatistics(accumulator, depth + 1);
+        }
+    }
+
+    static <K, V> HashTrieNode<K, V> mergeTwoKeyValuePairs(final Object owner,
+                                                          final K key0, final V value0, final int hash0,
+                                                          final K key1, final V value1, final int hash1,
+                                                          final int shift) {
+        if (shift >= HASH_CODE_LENGTH) {
+            return new CollisionNode<>(owner, hash0, new Object[]{key0, value0, key1, value1});
+        }
+        final int mask0 = mask(hash0, shift);
+        final int mask1 = mask(hash1, shift);
+        if (mask0 != mask1) {
+            final int dataMap = bitpos(mask0) | bitpos(mask1);
+            if (mask0 < mask1) {
+                return new BitmapIndexedNode<>(owner, dataMap, 0, new Object[]{key0, value0, key1, value1});
+            } else {
+                return new BitmapIndexedNode<>(owner, dataMap, 0, new Object[]{key1, value1, key0, value0});
+            }
+        }
+        final HashTrieNode<K, V> node = mergeTwoKeyValuePairs(
+                owner, key0, value0, hash0, key1, value1, hash1, shift + BIT_PARTITION_SIZE);
+        return new BitmapIndexedNode<>(owner, 0, bitpos(mask0), new Object[]{node});
+    }
+
+    /**
+     * Finds changes between two tries. Nodes that are the same object in both tries are skipped, so for tries that
+     * share structure it takes time proportional to the number of changed nodes.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> void diff(final HashTrieNode<K, V> oldNode,
+                            final HashTrieNode<K, V> newNode,
+                            final int shift,
+                            final MapDiff.Accumulator<K, V> accumulator) {
+        if (oldNode == newNode) {
+            return;
+        }
+        if (!(oldNode instanceof BitmapIndexedNode) || !(newNode instanceof BitmapIndexedNode)) {
+            diffEntries(oldNode, newNode, shift, accumulator);
+            return;
+        }
+        final BitmapIndexedNode<K, V> oldBitmapNode = (BitmapIndexedNode<K, V>) oldNode;
+        final BitmapIndexedNode<K, V> newBitmapNode = (BitmapIndexedNode<K, V>) newNode;
+        int bitmap = oldBitmapNode.dataMap() | oldBitmapNode.nodeMap()
+                             | newBitmapNode.dataMap() | newBitmapNode.nodeMap();
+        while (bitmap != 0) {
+            final int bitpos = Integer.lowestOneBit(bitmap);
+            bitmap ^= bitpos;
+            if ((oldBitmapNode.nodeMap() & bitpos) != 0 && (newBitmapNode.nodeMap() & bitpos) != 0) {
+                diff(oldBitmapNode.nodeAt(bitpos), newBitmapNode.nodeAt(bitpos), shift + BIT_PARTITION_SIZE,
+                        accumulator);
+            } else if ((oldBitmapNode.dataMap() & bitpos) != 0 && (newBitmapNode.dataMap() & bitpos) != 0) {
+                final K oldKey = oldBitmapNode.keyAt(bitpos);
+                final K newKey = newBitmapNode.keyAt(bitpos);
+                if (Objects.equals(oldKey, newKey)) {
+                    accumulator.changed(oldKey, oldBitmapNode.valueAt(bitpos), newBitmapNode.valueAt(bitpos));
+                } else {
+                    accumulator.removed(oldKey, oldBitmapNode.valueAt(bitpos));
+                    accumulator.added(newKey, newBitmapNode.valueAt(bitpos));
+                }
+            } else {
+                // entry in one trie and sub node in the other one (or nothing)
+                diffEntries(oldBitmapNode.slotAt(bitpos), newBitmapNode.slotAt(bitpos), shift + BIT_PARTITION_SIZE,
+                        accumulator);
+            }
+        }
+    }
+
+    /**
+     * Compares every entry of given nodes by looking it up in the other node.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> void diffEntries(final HashTrieNode<K, V> oldNode,
+                                           final HashTrieNode<K, V> newNode,
+                                           final int shift,
+                                           final MapDiff.Accumulator<K, V> accumulator) {
+        oldNode.forEachEntry((key, value) -> {
+            final Object newValue = newNode.find(key, hash(key), shift);
+            if (newValue == NOT_FOUND) {
+                accumulator.removed(key, value);
+            } else {
+                accumulator.changed(key, value, (V) newValue);
+            }
+        });
+        newNode.forEachEntry((key, value) -> {
+            if (oldNode.find(key, hash(key), shift) == NOT_FOUND) {
+                accumulator.added(key, value);
+            }
+        });
+    }
+
+    /**
+     * Creates trie with entries from both tries. Slots that are only in one of the tries are reused as they are, so
+     * sub tries that exist only on one side are not copied and their keys are not hashed again.
+     *
+     * @param conflictResolver function that gets values from left and right trie for keys that are in both of them;
+     *                         if it is <code>null</code> such keys are not allowed
+     * @param details          counts keys that are in both tries
+     * @return <code>left</code> if it already has all entries, otherwise new node
+     * @throws IllegalStateException if <code>conflictResolver</code> is <code>null</code> and key is in both tries
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> HashTrieNode<K, V> union(final HashTrieNode<K, V> left,
+                                           final HashTrieNode<K, V> right,
+                                           final int shift,
+                                           final BinaryOperator<V> conflictResolver,
+                                           final UnionDetails details) {
+        if (!(left instanceof BitmapIndexedNode) || !(right instanceof BitmapIndexedNode)) {
+            HashTrieNode<K, V> node = left;
+            for (int i = 0; i < right.payloadArity(); i++) {
+                node = unionEntry(node, right.getKey(i), right.getValue(i), false, shift, conflictResolver, details);
+            }
+            return node;
+        }
+        final BitmapIndexedNode<K, V> leftNode = (BitmapIndexedNode<K, V>) left;
+        final BitmapIndexedNode<K, V> rightNode = (BitmapIndexedNode<K, V>) right;
+        final int bitmap = leftNode.dataMap() | leftNode.nodeMap() | rightNode.dataMap() | rightNode.nodeMap();
+        final Object[] entries = new Object[2 * bitCount(bitmap)];
+        final Object[] nodes = new Object[bitCount(bitmap)];
+        int entriesLength = 0;
+        int nodesLength = 0;
+        int dataMap = 0;
+        int nodeMap = 0;
+        boolean changed = false;
+        for (int bits = bitmap; bits != 0; ) {
+            final int bitpos = Integer.lowestOneBit(bits);
+            bits ^= bitpos;
+            final boolean leftData = (leftNode.dataMap() & bitpos) != 0;
+            final boolean rightData = (rightNode.dataMap() & bitpos) != 0;
+            final boolean inLeft = leftData || (leftNode.nodeMap() & bitpos) != 0;
+            final boolean inRight = rightData || (rightNode.nodeMap() & bitpos) != 0;
+            final BitmapIndexedNode<K, V> source = inRight && !inLeft ? rightNode : leftNode;
+            Object key = null;
+            Object value = null;
+            Object subNode = null;
+            if (!inLeft || !inRight) {
+                if ((source.dataMap() & bitpos) != 0) {
+                    key = source.keyAt(bitpos);
+                    value = source.valueAt(bitpos);
+                } else {
+                    subNode = source.nodeAt(bitpos);
+                }
+                changed |= source == rightNode;
+            } else if (leftData && rightData) {
+                final K leftKey = leftNode.keyAt(bitpos);
+                final K rightKey = rightNode.keyAt(bitpos);
+                final V leftValue = leftNode.valueAt(bitpos);
+                final V rightValue = rightNode.valueAt(bitpos);
+                if (Objects.equals(leftKey, rightKey)) {
+                    key = leftKey;
+                    value = resolve(leftKey, leftValue, rightValue, conflictResolver, details);
+                    changed |= value != leftValue;
+                } else {
+                    subNode = mergeTwoKeyValuePairs(null, leftKey, leftValue, hash(leftKey),
+                            rightKey, rightValue, hash(rightKey), shift + BIT_PARTITION_SIZE);
+                    changed = true;
+                }
+            } else if (leftData) {
+                subNode = unionEntry(rightNode.nodeAt(bitpos), leftNode.keyAt(bitpos), leftNode.valueAt(bitpos), true,
+                        shift + BIT_PARTITION_SIZE, conflictResolver, details);
+                changed = true;
+            } else if (rightData) {
+                final HashTrieNode<K, V> leftSubNode = leftNode.nodeAt(bitpos);
+                subNode = unionEntry(leftSubNode, rightNode.keyAt(bitpos), rightNode.valueAt(bitpos), false,
+                        shift + BIT_PARTITION_SIZE, conflictResolver, details);
+                changed |= subNode != leftSubNode;
+            } else {
+                final HashTrieNode<K, V> leftSubNode = leftNode.nodeAt(bitpos);
+                subNode = union(leftSubNode, rightNode.nodeAt(bitpos),
+                        shift + BIT_PARTITION_SIZE, conflictResolver, details);
+                changed |= subNode != leftSubNode;
+            }
+            if (subNode == null) {
+                dataMap |= bitpos;
+                entries[entriesLength++] = key;
+                entries[entriesLength++] = value;
+            } else {
+                nodeMap |= bitpos;
+                nodes[nodesLength++] = subNode;
+            }
+        }
+        if (!changed) {
+            return left;
+        }
+        // entries go first, nodes are kept at the end in reversed order
+        final Object[] content = new Object[entriesLength + nodesLength];
+        System.arraycopy(entries, 0, content, 0, entriesLength);
+        for (int i = 0; i < nodesLength; i++) {
+            content[content.length - 1 - i] = nodes[i];
+        }
+        return new BitmapIndexedNode<>(null, dataMap, nodeMap, content);
+    }
+
+    /**
+     * Puts single entry into the trie. If the trie already has its key, values are resolved with
+     * <code>conflictResolver</code>.
+     *
+     * @param entryFromLeft <code>true</code> if the entry is from the left trie and given node is from the right one
+     */
+    private static <K, V> HashTrieNode<K, V> unionEntry(final HashTrieNode<K, V> node,
+                                                        final K key,
+                                                        final V value,
+                                                        final boolean entryFromLeft,
+                                                        final int shift,
+                                                        final BinaryOperator<V> conflictResolver,
+                                                        final UnionDetails details) {
+        final int hash = hash(key);
+        final Object current = node.find(key, hash, shift);
+        if (current == NOT_FOUND) {
+            return node.updated(null, key, value, hash, shift, new Details<>());
+        }
+        @SuppressWarnings("unchecked") final V currentValue = (V) current;
+        final V newValue = entryFromLeft
+                ? resolve(key, value, currentValue, conflictResolver, details)
+                : resolve(key, currentValue, value, conflictResolver, details);
+        return node.updated(null, key, newValue, hash, shift, new Details<>());
+    }
+
+    private static <K, V> V resolve(final K key,
+                                    final V leftValue,
+                                    final V rightValue,
+                                    final BinaryOperator<V> conflictResolver,
+                                    final UnionDetails details) {
+        details.duplicate();
+        if (conflictResolver == null) {
+            throw new IllegalStateException("Duplicate key `" + key + "`! Values=" + leftValue + ", " + rightValue);
+        }
+        return conflictResolver.apply(leftValue, rightValue);
+    }
+
+    /**
+     * Passes all entries of this node and its sub nodes to given consumer.
+     */
+    void forEachEntry(final BiConsumer<K, V> consumer) {
+        for (int i = 0; i < payloadArity(); i++) {
+            consumer.accept(getKey(i), getValue(i));
+        }
+        for (int i = 0; i < nodeArity(); i++) {
+            getNode(i).forEachEntry(consumer);
+        }
+    }
+
+    /**
+     * Collects information about changes made by {@link #updated} and {@link #removed}.
+     *
+     * @param <V> Value type
+     */
+    static final class Details<V> {
+        private boolean modified;
+        private boolean replaced;
+        private V oldValue;
+
+        void modified() {
+            this.modified = true;
+        }
+
+        void replaced(final V oldValue) {
+            this.modified = true;
+            this.replaced = true;
+            this.oldValue = oldValue;
+        }
+
+        void removed(final V oldValue) {
+            this.modified = true;
+            this.oldValue = oldValue;
+        }
+
+        boolean isModified() {
+            return modified;
+        }
+
+        boolean isReplaced() {
+            return replaced;
+        }
+
+        V getOldValue() {
+            return oldValue;
+        }
+    }
+
+    /**
+     * Counts keys that were in both tries merged by {@link #union}.
+     */
+    static final class UnionDetails {
+        private int duplicates;
+
+        void duplicate() {
+            duplicates++;
+        }
+
+        int getDuplicates() {
+            return duplicates;
+        }
+    }
+
+    /**
+     * Node that keeps entries and sub nodes in one array.
+     * <p>
+     * Layout of {@link #content} is <code>[key0, value0, key1, value1, ..., nodeN, ..., node1, node0]</code>.
+     * Positions are computed from {@link #dataMap} and {@link #nodeMap} bitmaps.
+     */
+    static final class BitmapIndexedNode<K, V> extends HashTrieNode<K, V> {
+        private final Object owner;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+
+        BitmapIndexedNode(final Object owner, final int dataMap, final int nodeMap, final Object[] content) {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        private boolean isAllowedToEdit(final Object owner) {
+            return owner != null && this.owner == owner;
+        }
+
+        int dataMap() {
+            return dataMap;
+        }
+
+        int nodeMap() {
+            return nodeMap;
+        }
+
+        private int dataIndex(final int bitpos) {
+            return bitCount(dataMap & (bitpos - 1));
+        }
+
+        private int nodeIndex(final int bitpos) {
+            return bitCount(nodeMap & (bitpos - 1));
+        }
+
+        @SuppressWarnings("unchecked")
+        HashTrieNode<K, V> nodeAt(final int bitpos) {
+            return (HashTrieNode<K, V>) content[content.length - 1 - nodeIndex(bitpos)];
+        }
+
+        @SuppressWarnings("unchecked")
+        K keyAt(final int bitpos) {
+            return (K) content[2 * dataIndex(bitpos)];
+        }
+
+        @SuppressWarnings("unchecked")
+        V valueAt(final int bitpos) {
+            return (V) content[2 * dataIndex(bitpos) + 1];
+        }
+
+        /**
+         * Returns content of given slot as a node one level deeper: a sub node, a node with one entry or an empty node.
+         */
+        HashTrieNode<K, V> slotAt(final int bitpos) {
+            if ((nodeMap & bitpos) != 0) {
+                return nodeAt(bitpos);
+            }
+            if ((dataMap & bitpos) != 0) {
+                return new CollisionNode<>(null, hash(keyAt(bitpos)), new Object[]{keyAt(bitpos), valueAt(bitpos)});
+            }
+            return emptyNode();
+        }
+
+        @Override
+        Object find(final Object key, final int hash, final int shift) {
+            final int bitpos = bitpos(mask(hash, shift));
+            if ((dataMap & bitpos) != 0) {
+                final int index = dataIndex(bitpos);
+                if (Objects.equals(content[2 * index], key)) {
+                    return content[2 * index + 1];
+                }
+                return NOT_FOUND;
+            }
+            if ((nodeMap & bitpos) != 0) {
+                return nodeAt(bitpos).find(key, hash, shift + BIT_PARTITION_SIZE);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        HashTrieNode<K, V> updated(final Object owner, final K key, final V value, final int hash, final int shift,
+                                   final Details<V> details) {
+            final int bitpos = bitpos(mask(hash, shift));
+            if ((dataMap & bitpos) != 0) {
+                final K currentKey = keyAt(bitpos);
+                final V currentValue = valueAt(bitpos);
+                if (Objects.equals(currentKey, key)) {
+                    if (currentValue == value) {
+                        return this;
+                    }
+                    details.replaced(currentValue);
+                    return copyAndSetValue(owner, bitpos, value);
+                }
+                final HashTrieNode<K, V> subNode = mergeTwoKeyValuePairs(
+                        owner,
+                        currentKey, currentValue, hash(currentKey),
+                        key, value, hash,
+                        shift + BIT_PARTITION_SIZE);
+                details.modified();
+                return copyAndMigrateFromInlineToNode(owner, bitpos, subNode);
+            }
+            if ((nodeMap & bitpos) != 0) {
+                final HashTrieNode<K, V> subNode = nodeAt(bitpos);
+                final HashTrieNode<K, V> newSubNode = subNode.updated(
+                        owner, key, value, hash, shift + BIT_PARTITION_SIZE, details);
+                if (newSubNode == subNode) {
+                    return this;
+                }
+                return copyAndSetNode(owner, bitpos, newSubNode);
+            }
+            details.modified();
+            return copyAndInsertValue(owner, bitpos, key, value);
+        }
+
+        @Override
+        HashTrieNode<K, V> removed(final Object owner, final Object key, final int hash, final int shift,
+                                   final Details<V> details) {
+            final int bitpos = bitpos(mask(hash, shift));
+            if ((dataMap & bitpos) != 0) {
+                final int index = dataIndex(bitpos);
+                if (!Objects.equals(content[2 * index], key)) {
+                    return this;
+                }
+                details.removed(valueAt(bitpos));
+                if (payloadArity() == 2 && nodeArity() == 0) {
+                    // Remaining entry will be either inlined by parent or it will become new root,
+                    // so it has to be positioned as on the first level.
+                    final int newDataMap = shift == 0 ? dataMap ^ bitpos : bitpos(mask(hash, 0));
+                    final int remaining = index == 0 ? 2 : 0;
+                    return new BitmapIndexedNode<>(
+                            owner, newDataMap, 0, new Object[]{content[remaining], content[remaining + 1]});
+                }
+                return copyAndRemoveValue(owner, bitpos);
+            }
+            if ((nodeMap & bitpos) != 0) {
+                final HashTrieNode<K, V> subNode = nodeAt(bitpos);
+                final HashTrieNode<K, V> newSubNode = subNode.removed(
+                        owner, key, hash, shift + BIT_PARTITION_SIZE, details);
+                if (!details.isModified()) {
+                    return this;
+                }
+                if (newSubNode.sizePredicate() == SIZE_ONE) {
+                    if (payloadArity() == 0 && nodeArity() == 1) {
+                        return newSubNode;
+                    }
+                    return copyAndMigrateFromNodeToInline(owner, bitpos, newSubNode);
+                }
+                if (newSubNode == subNode) {
+                    return this;
+                }
+                return copyAndSetNode(owner, bitpos, newSubNode);
+            }
+            return this;
+        }
+
+        private HashTrieNode<K, V> copyAndSetValue(final Object owner, final int bitpos, final V value) {
+            final int index = 2 * dataIndex(bitpos) + 1;
+            if (isAllowedToEdit(owner)) {
+                content[index] = value;
+                return this;
+            }
+            final Object[] newContent = content.clone();
+            newContent[index] = value;
+            return new BitmapIndexedNode<>(owner, dataMap, nodeMap, newContent);
+        }
+
+        private HashTrieNode<K, V> copyAndSetNode(final Object owner, final int bitpos, final HashTrieNode<K, V> node) {
+            final int index = content.length - 1 - nodeIndex(bitpos);
+            if (isAllowedToEdit(owner)) {
+                content[index] = node;
+                return this;
+            }
+            final Object[] newContent = content.clone();
+            newContent[index] = node;
+            return new BitmapIndexedNode<>(owner, dataMap, nodeMap, newContent);
+        }
+
+        /**
+         * Puts new content into this node if it is allowed to edit it, otherwise creates new node.
+         */
+        private HashTrieNode<K, V> withContent(final Object owner,
+                                               final int newDataMap,
+                                               final int newNodeMap,
+                                               final Object[] newContent) {
+            if (isAllowedToEdit(owner)) {
+                this.dataMap = newDataMap;
+                this.nodeMap = newNodeMap;
+                this.content = newContent;
+                return this;
+            }
+            return new BitmapIndexedNode<>(owner, newDataMap, newNodeMap, newContent);
+        }
+
+        private HashTrieNode<K, V> copyAndInsertValue(final Object owner,
+                                                      final int bitpos,
+                                                      final K key,
+                                                      final V value) {
+            final int index = 2 * dataIndex(bitpos);
+            final Object[] newContent = new Object[content.length + 2];
+            System.arraycopy(content, 0, newContent, 0, index);
+            newContent[index] = key;
+            newContent[index + 1] = value;
+            System.arraycopy(content, index, newContent, index + 2, content.length - index);
+            return withContent(owner, dataMap | bitpos, nodeMap, newContent);
+        }
+
+        private HashTrieNode<K, V> copyAndRemoveValue(final Object owner, final int bitpos) {
+            final int index = 2 * dataIndex(bitpos);
+            final Object[] newContent = new Object[content.length - 2];
+            System.arraycopy(content, 0, newContent, 0, index);
+            System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+            return withContent(owner, dataMap ^ bitpos, nodeMap, newContent);
+        }
+
+        private HashTrieNode<K, V> copyAndMigrateFromInlineToNode(final Object owner,
+                                                                  final int bitpos,
+                                                                  final HashTrieNode<K, V> node) {
+            final int oldIndex = 2 * dataIndex(bitpos);
+            final int newIndex = content.length - 2 - nodeIndex(bitpos);
+            final Object[] newContent = new Object[content.length - 1];
+            // copy entries before removed one, entries and nodes between, and nodes after inserted one
+            System.arraycopy(content, 0, newContent, 0, oldIndex);
+            System.arraycopy(content, oldIndex + 2, newContent, oldIndex, newIndex - oldIndex);
+            newContent[newIndex] = node;
+            System.arraycopy(content, newIndex + 2, newContent, newIndex + 1, content.length - newIndex - 2);
+            return withContent(owner, dataMap ^ bitpos, nodeMap | bitpos, newContent);
+        }
+
+        private HashTrieNode<K, V> copyAndMigrateFromNodeToInline(final Object owner,
+                                                                  final int bitpos,
+                                                                  final HashTrieNode<K, V> node) {
+            final int oldIndex = content.length - 1 - nodeIndex(bitpos);
+            final int newIndex = 2 * dataIndex(bitpos);
+            final Object[] newContent = new Object[content.length + 1];
+            // copy entries before inserted one, entries and nodes between, and nodes after removed one
+            System.arraycopy(content, 0, newContent, 0, newIndex);
+            newContent[newIndex] = node.getKey(0);
+            newContent[newIndex + 1] = node.getValue(0);
+            System.arraycopy(content, newIndex, newContent, newIndex + 2, oldIndex - newIndex);
+            System.arraycopy(content, oldIndex + 1, newContent, oldIndex + 2, content.length - oldIndex - 1);
+            return withContent(owner, dataMap | bitpos, nodeMap ^ bitpos, newContent);
+        }
+
+        @Override
+        boolean hasNodes() {
+            return nodeMap != 0;
+        }
+
+        @Override
+        int nodeArity() {
+            return bitCount(nodeMap);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        HashTrieNode<K, V> getNode(final int index) {
+            return (HashTrieNode<K, V>) content[content.length - 1 - index];
+        }
+
+        @Override
+        boolean hasPayload() {
+            return dataMap != 0;
+        }
+
+        @Override
+        int payloadArity() {
+            return bitCount(dataMap);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        K getKey(final int index) {
+            return (K) content[2 * index];
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        V getValue(final int index) {
+            return (V) content[2 * index + 1];
+        }
+
+        @Override
+        int sizePredicate() {
+            if (nodeMap != 0) {
+                return SIZE_MORE_THAN_ONE;
+            }
+            final int payloadArity = payloadArity();
+            if (payloadArity == 0) {
+                return SIZE_EMPTY;
+            }
+            return payloadArity == 1 ? SIZE_ONE : SIZE_MORE_THAN_ONE;
+        }
+
+        @Override
+        long estimatedBytes() {
+            return MapStatistics.objectBytes(2, 2 * Integer.BYTES)
+                           + MapStatistics.arrayBytes(content.length, MapStatistics.REFERENCE_BYTES);
+        }
+    }
+
+    /**
+     * Node for keys that have exactly the same hash. It is always placed below the deepest bitmap indexed node.
+     */
+    static final class CollisionNode<K, V> extends HashTrieNode<K, V> {
+        private final Object owner;
+        private final int hash;
+        private Object[] content;
+
+        CollisionNode(final Object owner, final int hash, final Object[] content) {
+            this.owner = owner;
+            this.hash = hash;
+            this.content = content;
+        }
+
+        private HashTrieNode<K, V> withContent(final Object owner, final Object[] newContent) {
+            if (owner != null && this.owner == owner) {
+                this.content = newContent;
+                return this;
+            }
+            return new CollisionNode<>(owner, hash, newContent);
+        }
+
+        int hash() {
+            return hash;
+        }
+
+        private int indexOf(final Object key) {
+            for (int i = 0; i < content.length; i += 2) {
+                if (Objects.equals(content[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(final Object key, final int hash, final int shift) {
+            if (this.hash != hash) {
+                return NOT_FOUND;
+            }
+            final int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : content[index + 1];
+        }
+
+        @Override
+        HashTrieNode<K, V> updated(final Object owner, final K key, final V value, final int hash, final int shift,
+                                   final Details<V> details) {
+            final int index = indexOf(key);
+            if (index >= 0) {
+                @SuppressWarnings("unchecked") final V currentValue = (V) content[index + 1];
+                if (currentValue == value) {
+                    return this;
+                }
+                details.replaced(currentValue);
+                final Object[] newContent = content.clone();
+                newContent[index + 1] = value;
+                return withContent(owner, newContent);
+            }
+            details.modified();
+            final Object[] newContent = new Object[content.length + 2];
+            System.arraycopy(content, 0, newContent, 0, content.length);
+            newContent[content.length] = key;
+            newContent[content.length + 1] = value;
+            return withContent(owner, newContent);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        HashTrieNode<K, V> removed(final Object owner, final Object key, final int hash, final int shift,
+                                   final Details<V> details) {
+            final int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            details.removed((V) content[index + 1]);
+            if (content.length == 4) {
+                // Remaining entry will be inlined by parent, so it has to be positioned as on the first level
+                final int remaining = index == 0 ? 2 : 0;
+                return new BitmapIndexedNode<>(
+                        owner, bitpos(mask(hash, 0)), 0, new Object[]{content[remaining], content[remaining + 1]});
+            }
+            final Object[] newContent = new Object[content.length - 2];
+            System.arraycopy(content, 0, newContent, 0, index);
+            System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+            return withContent(owner, newContent);
+        }
+
+        @Override
+        boolean hasNodes() {
+            return false;
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        HashTrieNode<K, V> getNode(final int index) {
+            throw new NoSuchElementException("Collision node does not have sub nodes!");
+        }
+
+        @Override
+        boolean hasPayload() {
+            return true;
+        }
+
+        @Override
+        int payloadArity() {
+            return content.length / 2;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        K getKey(final int index) {
+            return (K) content[2 * index];
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        V getValue(final int index) {
+            return (V) content[2 * index + 1];
+        }
+
+        @Override
+        int sizePredicate() {
+            return SIZE_MORE_THAN_ONE;
+        }
+
+        @Override
+        long estimatedBytes() {
+            return MapStatistics.objectBytes(2, Integer.BYTES)
+                           + MapStatistics.arrayBytes(content.length, MapStatistics.REFERENCE_BYTES);
+        }
+
+        @Override
+        int chainLength() {
+            return payloadArity();
+        }
+    }
+}
@@ -1,7 +1,17 @@
 package com.github.magx2.steroids.collections.maps;
 
 import javax.validation.constraints.NotNull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * A map that cannot be modified after creation.
@@ -39,6 +49,30 @@ public interface ImmutableMap<KeyT, ValueT> extends Map<KeyT, ValueT> {
     @NotNull
     ImmutableMap<KeyT, ValueT> putAllToNew(@NotNull Map<KeyT, ValueT> map);
 
+    /**
+     * Create new {@link ImmutableMap} from this one that will contains all entries from given map. If both maps have
+     * the same key, its value in new map is <code>conflictResolver.apply(valueFromThisMap, valueFromGivenMap)</code>.
+     *
+     * @param map              a map to merge with this map
+     * @param conflictResolver function that computes value for keys that are in both maps
+     * @return new {@link ImmutableMap} that has entries from both maps
+     */
+    @NotNull
+    default ImmutableMap<KeyT, ValueT> mergeToNew(@NotNull final Map<KeyT, ValueT> map,
+                                                  @NotNull final BinaryOperator<ValueT> conflictResolver) {
+        requireNonNull(map, "Given map cannot be null!");
+        requireNonNull(conflictResolver, "conflictResolver cannot be null!");
+        return withMutations(builder -> {
+            for (Entry<KeyT, ValueT> entry : map.entrySet()) {
+                final KeyT key = entry.getKey();
+                final ValueT value = builder.containsKey(key)
+                        ? conflictResolver.apply(builder.get(key), entry.getValue())
+                        : entry.getValue();
+                builder.put(key, value);
+            }
+        });
+    }
+
     /**
      * Create new {@link ImmutableMap} from this one that will not contains given key.
      *
@@ -48,6 +82,228 @@ public interface ImmutableMap<KeyT, ValueT> extends Map<KeyT, ValueT> {
     @NotNull
     ImmutableMap<KeyT, ValueT> removeFromNew(final KeyT key);
 
+    /**
+     * Create new {@link Builder} that is filled with all entries from this map.
+     * <p>
+     * Changes made in builder are not visible in this map.
+     *
+     * @return new builder with all entries from this map
+     */
+    @NotNull
+    default Builder<KeyT, ValueT> toBuilder() {
+        return SimpleImmutableMap.<KeyT, ValueT>builder().putAll(this);
+    }
+
+    /**
+     * Create new {@link ImmutableMap} from this one with all changes done by given consumer.
+     * <p>
+     * Use it instead of chaining <code>putToNew</code> and <code>removeFromNew</code>, because it creates only one
+     * new map instead of a map for every change.
+     *
+     * @param mutations consumer that changes given builder
+     * @return new {@link ImmutableMap} with all changes
+     */
+    @NotNull
+    default ImmutableMap<KeyT, ValueT> withMutations(@NotNull final Consumer<Builder<KeyT, ValueT>> mutations) {
+        requireNonNull(mutations, "mutations cannot be null!");
+        final Builder<KeyT, ValueT> builder = toBuilder();
+        mutations.accept(builder);
+        return builder.build();
+    }
+
+    /**
+     * Finds changes between this map and given one.
+     * <p>
+     * It compares all entries, but implementations can do it faster. For example {@link HashTrieImmutableMap} skips
+     * parts of maps that are shared because one map was created from the other one.
+     *
+     * @param other new version of this map
+     * @return changes that need to be done to this map to get given one
+     */
+    @NotNull
+    default MapDiff<KeyT, ValueT> diff(@NotNull final ImmutableMap<KeyT, ValueT> other) {
+        return MapDiff.between(this, other);
+    }
+
+    /**
+     * Describes internal structure of this map.
+     * <p>
+     * Default implementation does not know the structure, so it assumes one entry object per every entry.
+     * Implementations from this package describe their real structure.
+     *
+     * @return statistics of this map
+     */
+    @NotNull
+    default MapStatistics stats() {
+        final int size = size();
+        return new MapStatistics.Accumulator(this)
+                       .size(size)
+                       .nodes(size)
+                       .chain(size > 0 ? 1 : 0)
+                       .entries(0, size)
+                       .bytes(size * MapStatistics.objectBytes(2, 0))
+                       .build();
+    }
+
+    /**
+     * Writes this map to given output. Keys and values are encoded with given codecs (they are never called with
+     * <code>null</code>s). Read it with {@link #readFrom(DataInput, Codec, Codec)}.
+     * <p>
+     * Implementations from this package are read back as the same implementation. Other implementations are read
+     * back as {@link SimpleImmutableMap}.
+     *
+     * @param output     output to write to
+     * @param keyCodec   codec of keys
+     * @param valueCodec codec of values
+     * @throws IOException              if output throws it
+     * @throws IllegalArgumentException if this is {@link TreeImmutableSortedMap} with a comparator
+     */
+    default void writeTo(@NotNull final DataOutput output,
+                         @NotNull final Codec<KeyT> keyCodec,
+                         @NotNull final Codec<ValueT> valueCodec) throws IOException {
+        requireNonNull(output, "output cannot be null!");
+        requireNonNull(keyCodec, "keyCodec cannot be null!");
+        requireNonNull(valueCodec, "valueCodec cannot be null!");
+        ImmutableMapSerialization.write(this, output, keyCodec, valueCodec);
+    }
+
+    /**
+     * Reads map written by {@link #writeTo(DataOutput, Codec, Codec)}. Entries are read straight into the map, without
+     * any intermediate map.
+     *
+     * @param input      input to read from
+     * @param keyCodec   codec of keys
+     * @param valueCodec codec of values
+     * @param <K>        Key type
+     * @param <V>        Value type
+     * @return map that was written to the input
+     * @throws IOException if input throws it or it does not contain a map
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> readFrom(@NotNull final DataInput input,
+                                             @NotNull final Codec<K> keyCodec,
+                                             @NotNull final Codec<V> valueCodec) throws IOException {
+        requireNonNull(input, "input cannot be null!");
+        requireNonNull(keyCodec, "keyCodec cannot be null!");
+        requireNonNull(valueCodec, "valueCodec cannot be null!");
+        return ImmutableMapSerialization.read(input, keyCodec, valueCodec);
+    }
+
+    /**
+     * Same as {@link #parallelFrom(Map, ForkJoinPool)} with {@link ForkJoinPool#commonPool()}.
+     *
+     * @param map map to copy
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return map with all entries of given map
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> parallelFrom(@NotNull final Map<? extends K, ? extends V> map) {
+        return parallelFrom(map, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Copies given map into {@link HashTrieImmutableMap} using threads of given pool.
+     * <p>
+     * Entries are split into 32 partitions by the first 5 bits of key hash and every partition is built as a separate
+     * sub trie of the root node. The root node is assembled from those sub tries, without hashing keys again. Maps
+     * smaller than 8192 entries, or any map when the pool has only one thread, are built on the calling thread.
+     *
+     * @param map  map to copy
+     * @param pool pool that builds the map
+     * @param <K>  Key type
+     * @param <V>  Value type
+     * @return map with all entries of given map
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> parallelFrom(@NotNull final Map<? extends K, ? extends V> map,
+                                                 @NotNull final ForkJoinPool pool) {
+        requireNonNull(map, "Given map cannot be null!");
+        requireNonNull(pool, "pool cannot be null!");
+        return ParallelTrieBuilder.build(map.entrySet().toArray(), pool);
+    }
+
+    /**
+     * Same as {@link #parallelFrom(Collection, ForkJoinPool)} with {@link ForkJoinPool#commonPool()}.
+     *
+     * @param entries entries of the map
+     * @param <K>     Key type
+     * @param <V>     Value type
+     * @return map with given entries
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> parallelFrom(
+            @NotNull final Collection<? extends Entry<? extends K, ? extends V>> entries) {
+        return parallelFrom(entries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates {@link HashTrieImmutableMap} from given entries using threads of given pool (see
+     * {@link #parallelFrom(Map, ForkJoinPool)}). If key is duplicated, the value of its last entry wins.
+     *
+     * @param entries entries of the map
+     * @param pool    pool that builds the map
+     * @param <K>     Key type
+     * @param <V>     Value type
+     * @return map with given entries
+     * @throws NullPointerException if any entry is <code>null</code>
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> parallelFrom(
+            @NotNull final Collection<? extends Entry<? extends K, ? extends V>> entries,
+            @NotNull final ForkJoinPool pool) {
+        requireNonNull(entries, "entries cannot be null!");
+        requireNonNull(pool, "pool cannot be null!");
+        return ParallelTrieBuilder.build(ParallelTrieBuilder.requireNonNullEntries(entries.toArray()), pool);
+    }
+
+    /**
+     * Same as {@link #parallelFrom(Stream, ForkJoinPool)} with {@link ForkJoinPool#commonPool()}.
+     *
+     * @param entries entries of the map
+     * @param <K>     Key type
+     * @param <V>     Value type
+     * @return map with given entries
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> parallelFrom(
+            @NotNull final Stream<? extends Entry<? extends K, ? extends V>> entries) {
+        return parallelFrom(entries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates {@link HashTrieImmutableMap} from given entries using threads of given pool (see
+     * {@link #parallelFrom(Map, ForkJoinPool)}). If key is duplicated, the value of its last entry in encounter order
+     * wins. Stream is collected into an array first, so parallel stream is collected in parallel too.
+     *
+     * @param entries entries of the map
+     * @param pool    pool that builds the map
+     * @param <K>     Key type
+     * @param <V>     Value type
+     * @return map with given entries
+     * @throws NullPointerException if any entry is <code>null</code>
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> parallelFrom(
+            @NotNull final Stream<? extends Entry<? extends K, ? extends V>> entries,
+            @NotNull final ForkJoinPool pool) {
+        requireNonNull(entries, "entries cannot be null!");
+        requireNonNull(pool, "pool cannot be null!");
+        return ParallelTrieBuilder.build(ParallelTrieBuilder.requireNonNullEntries(entries.toArray()), pool);
+    }
+
+    /**
+     * Create new empty {@link Builder}.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return new empty builder
+     */
+    @NotNull
+    static <K, V> Builder<K, V> builder() {
+        return HashTrieImmutableMap.builder();
+    }
+
     /**
      * This method is unsupported.
      *
@@ -91,4 +347,298 @@ public interface ImmutableMap<KeyT, ValueT> extends Map<KeyT, ValueT> {
         throw new UnsupportedOperationException("This is immutable map! Clear is not supported!");
     }
 
+    /**
+     * Returns empty {@link ImmutableMap}.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return empty map
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> of() {
+        return SmallImmutableMaps.empty();
+    }
+
+    /**
+     * Returns {@link ImmutableMap} with 1 entry. Entries are kept in fields and iterated in given order.
+     *
+     * @param k1  key of 1. entry
+     * @param v1  value of 1. entry
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return map with given entry
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> of(final K k1, final V v1) {
+        return new SmallImmutableMaps.Map1<>(k1, v1);
+    }
+
+    /**
+     * Returns {@link ImmutableMap} with 2 entries. Entries are kept in fields and iterated in given order.
+     *
+     * @param k1  key of 1. entry
+     * @param v1  value of 1. entry
+     * @param k2  key of 2. entry
+     * @param v2  value of 2. entry
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return map with given entries
+     * @throws IllegalArgumentException if any key is duplicated
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> of(final K k1, final V v1,
+                                        final K k2, final V v2) {
+        return new SmallImmutableMaps.Map2<>(k1, v1, k2, v2).requireDistinctKeys();
+    }
+
+    /**
+     * Returns {@link ImmutableMap} with 3 entries. Entries are kept in fields and iterated in given order.
+     *
+     * @param k1  key of 1. entry
+     * @param v1  value of 1. entry
+     * @param k2  key of 2. entry
+     * @param v2  value of 2. entry
+     * @param k3  key of 3. entry
+     * @param v3  value of 3. entry
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return map with given entries
+     * @throws IllegalArgumentException if any key is duplicated
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> of(final K k1, final V v1,
+                                        final K k2, final V v2,
+                                        final K k3, final V v3) {
+        return new SmallImmutableMaps.Map3<>(k1, v1, k2, v2, k3, v3).requireDistinctKeys();
+    }
+
+    /**
+     * Returns {@link ImmutableMap} with 4 entries. Entries are kept in fields and iterated in given order.
+     *
+     * @param k1  key of 1. entry
+     * @param v1  value of 1. entry
+     * @param k2  key of 2. entry
+     * @param v2  value of 2. entry
+     * @param k3  key of 3. entry
+     * @param v3  value of 3. entry
+     * @param k4  key of 4. entry
+     * @param v4  value of 4. entry
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return map with given entries
+     * @throws IllegalArgumentException if any key is duplicated
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> of(final K k1, final V v1,
+                                        final K k2, final V v2,
+                                        final K k3, final V v3,
+                                        final K k4, final V v4) {
+        return new SmallImmutableMaps.Map4<>(k1, v1, k2, v2, k3, v3, k4, v4).requireDistinctKeys();
+    }
+
+    /**
+     * Returns {@link ImmutableMap} with 5 entries. Entries are kept in fields and iterated in given order.
+     *
+     * @param k1  key of 1. entry
+     * @param v1  value of 1. entry
+     * @param k2  key of 2. entry
+     * @param v2  value of 2. entry
+     * @param k3  key of 3. entry
+     * @param v3  value of 3. entry
+     * @param k4  key of 4. entry
+     * @param v4  value of 4. entry
+     * @param k5  key of 5. entry
+     * @param v5  value of 5. entry
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return map with given entries
+     * @throws IllegalArgumentException if any key is duplicated
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> of(final K k1, final V v1,
+                                        final K k2, final V v2,
+                                        final K k3, final V v3,
+                                        final K k4, final V v4,
+                                        final K k5, final V v5) {
+        return new SmallImmutableMaps.Map5<>(
+                k1, v1, k2, v2, k3, v3, k4, v4, k5, v5)
+                .requireDistinctKeys();
+    }
+
+    /**
+     * Returns {@link ImmutableMap} with 6 entries. Entries are kept in fields and iterated in given order.
+     *
+     * @param k1  key of 1. entry
+     * @param v1  value of 1. entry
+     * @param k2  key of 2. entry
+     * @param v2  value of 2. entry
+     * @param k3  key of 3. entry
+     * @param v3  value of 3. entry
+     * @param k4  key of 4. entry
+     * @param v4  value of 4. entry
+     * @param k5  key of 5. entry
+     * @param v5  value of 5. entry
+     * @param k6  key of 6. entry
+     * @param v6  value of 6. entry
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return map with given entries
+     * @throws IllegalArgumentException if any key is duplicated
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> of(final K k1, final V v1,
+                                        final K k2, final V v2,
+                                        final K k3, final V v3,
+                                        final K k4, final V v4,
+                                        final K k5, final V v5,
+                                        final K k6, final V v6) {
+        return new SmallImmutableMaps.Map6<>(
+                k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6)
+                .requireDistinctKeys();
+    }
+
+    /**
+     * Returns {@link ImmutableMap} with 7 entries. Entries are kept in fields and iterated in given order.
+     *
+     * @param k1  key of 1. entry
+     * @param v1  value of 1. entry
+     * @param k2  key of 2. entry
+     * @param v2  value of 2. entry
+     * @param k3  key of 3. entry
+     * @param v3  value of 3. entry
+     * @param k4  key of 4. entry
+     * @param v4  value of 4. entry
+     * @param k5  key of 5. entry
+     * @param v5  value of 5. entry
+     * @param k6  key of 6. entry
+     * @param v6  value of 6. entry
+     * @param k7  key of 7. entry
+     * @param v7  value of 7. entry
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return map with given entries
+     * @throws IllegalArgumentException if any key is duplicated
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> of(final K k1, final V v1,
+                                        final K k2, final V v2,
+                                        final K k3, final V v3,
+                                        final K k4, final V v4,
+                                        final K k5, final V v5,
+                                        final K k6, final V v6,
+                                        final K k7, final V v7) {
+        return new SmallImmutableMaps.Map7<>(
+                k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7)
+                .requireDistinctKeys();
+    }
+
+    /**
+     * Returns {@link ImmutableMap} with 8 entries. Entries are kept in fields and iterated in given order.
+     *
+     * @param k1  key of 1. entry
+     * @param v1  value of 1. entry
+     * @param k2  key of 2. entry
+     * @param v2  value of 2. entry
+     * @param k3  key of 3. entry
+     * @param v3  value of 3. entry
+     * @param k4  key of 4. entry
+     * @param v4  value of 4. entry
+     * @param k5  key of 5. entry
+     * @param v5  value of 5. entry
+     * @param k6  key of 6. entry
+     * @param v6  value of 6. entry
+     * @param k7  key of 7. entry
+     * @param v7  value of 7. entry
+     * @param k8  key of 8. entry
+     * @param v8  value of 8. entry
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return map with given entries
+     * @throws IllegalArgumentException if any key is duplicated
+     */
+    @NotNull
+    static <K, V> ImmutableMap<K, V> of(final K k1, final V v1,
+                                        final K k2, final V v2,
+                                        final K k3, final V v3,
+                                        final K k4, final V v4,
+                                        final K k5, final V v5,
+                                        final K k6, final V v6,
+                                        final K k7, final V v7,
+                                        final K k8, final V v8) {
+        return new SmallImmutableMaps.Map8<>(
+                k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7, k8, v8)
+                .requireDistinctKeys();
+    }
+
+    /**
+     * Mutable builder of {@link ImmutableMap}.
+     * <p>
+     * It changes its state in place, so many changes can be done without creating intermediate maps. Builder is not
+     * thread safe.
+     *
+     * @param <KeyT>   Key type
+     * @param <ValueT> Value type
+     */
+    interface Builder<KeyT, ValueT> {
+        /**
+         * Puts given entry into builder.
+         *
+         * @param key   entry key
+         * @param value entry value
+         * @return this builder
+         */
+        @NotNull
+        Builder<KeyT, ValueT> put(KeyT key, ValueT value);
+
+        /**
+         * Puts all entries from given map into builder.
+         *
+         * @param map entries to put
+         * @return this builder
+         */
+        @NotNull
+        default Builder<KeyT, ValueT> putAll(@NotNull Map<? extends KeyT, ? extends ValueT> map) {
+            requireNonNull(map, "Given map cannot be null!");
+            for (Map.Entry<? extends KeyT, ? extends ValueT> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+            return this;
+        }
+
+        /**
+         * Removes entry with given key from builder.
+         *
+         * @param key key to remove
+         * @return this builder
+         */
+        @NotNull
+        Builder<KeyT, ValueT> remove(KeyT key);
+
+        /**
+         * @param key key to look for
+         * @return value for given key or <code>null</code> if there is no such key
+         */
+        ValueT get(Object key);
+
+        /**
+         * @param key key to look for
+         * @return <code>true</code> if builder contains given key
+         */
+        boolean containsKey(Object key);
+
+        /**
+         * @return number of entries in builder
+         */
+        int size();
+
+        /**
+         * Creates {@link ImmutableMap} with all entries from this builder.
+         * <p>
+         * Builder can be used after this call. Following changes will not be visible in the returned map.
+         *
+         * @return new {@link ImmutableMap}
+         */
+        @NotNull
+        ImmutableMap<KeyT, ValueT> build();
+    }
 }
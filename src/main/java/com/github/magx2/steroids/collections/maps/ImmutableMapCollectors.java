@@ -0,0 +1,75 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link Collector}s that collect streams into {@link ImmutableMap}.
+ * <p>
+ * Entries are put straight into builder of {@link HashTrieImmutableMap}, so the map is not copied after collecting.
+ * Parallel streams merge partial results node by node, without inserting their entries again.
+ */
+public final class ImmutableMapCollectors {
+    /**
+     * This is an utils class. Never instantiate it.
+     */
+    private ImmutableMapCollectors() {
+    }
+
+    /**
+     * Collects elements into {@link ImmutableMap} like {@link java.util.stream.Collectors#toMap(Function, Function)}.
+     *
+     * @param keyMapper   function that creates keys
+     * @param valueMapper function that creates values
+     * @param <T>         Element type
+     * @param <K>         Key type
+     * @param <V>         Value type
+     * @return collector that collects elements into {@link ImmutableMap}
+     * @throws IllegalStateException when collecting, if two elements have the same key
+     */
+    @NotNull
+    public static <T, K, V> Collector<T, ?, ImmutableMap<K, V>> toImmutableMap(
+            @NotNull final Function<? super T, ? extends K> keyMapper,
+            @NotNull final Function<? super T, ? extends V> valueMapper) {
+        return collector(keyMapper, valueMapper, null);
+    }
+
+    /**
+     * Collects elements into {@link ImmutableMap} like
+     * {@link java.util.stream.Collectors#toMap(Function, Function, BinaryOperator)}.
+     *
+     * @param keyMapper     function that creates keys
+     * @param valueMapper   function that creates values
+     * @param mergeFunction function that merges values of elements with the same key
+     * @param <T>           Element type
+     * @param <K>           Key type
+     * @param <V>           Value type
+     * @return collector that collects elements into {@link ImmutableMap}
+     */
+    @NotNull
+    public static <T, K, V> Collector<T, ?, ImmutableMap<K, V>> toImmutableMap(
+            @NotNull final Function<? super T, ? extends K> keyMapper,
+            @NotNull final Function<? super T, ? extends V> valueMapper,
+            @NotNull final BinaryOperator<V> mergeFunction) {
+        requireNonNull(mergeFunction, "mergeFunction cannot be null!");
+        return collector(keyMapper, valueMapper, mergeFunction);
+    }
+
+    private static <T, K, V> Collector<T, ?, ImmutableMap<K, V>> collector(
+            final Function<? super T, ? extends K> keyMapper,
+            final Function<? super T, ? extends V> valueMapper,
+            final BinaryOperator<V> mergeFunction) {
+        requireNonNull(keyMapper, "keyMapper cannot be null!");
+        requireNonNull(valueMapper, "valueMapper cannot be null!");
+        return Collector.<T, HashTrieImmutableMap.TrieBuilder<K, V>, ImmutableMap<K, V>>of(
+                () -> new HashTrieImmutableMap.TrieBuilder<>(HashTrieNode.emptyNode(), 0),
+                (builder, element) -> builder.merge(
+                        keyMapper.apply(element), valueMapper.apply(element), mergeFunction),
+                (left, right) -> left.mergeAll(right, mergeFunction),
+                HashTrieImmutableMap.TrieBuilder::build);
+    }
+}
@@ -1,16 +1,21 @@
 package com.github.magx2.steroids.collections.maps;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
 
 /**
  * A Map Entry that cannot be changed.
+ * <p>
+ * It is serializable if its key and value are.
  *
  * @param <K> Key type
  * @param <V> Value type
  */
-public final class ImmutableMapEntry<K, V> implements Map.Entry<K, V> {
+public final class ImmutableMapEntry<K, V> implements Map.Entry<K, V>, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final K key;
     private final V value;
 
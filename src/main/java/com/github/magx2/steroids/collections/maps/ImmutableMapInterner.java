@@ -0,0 +1,230 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Returns one shared instance for all equal {@link ImmutableMap}s.
+ * <p>
+ * Canonical maps are held by weak references, so a map that is no longer used anywhere else is garbage collected and
+ * removed from the interner. Maps that went through the same interner are equal only if they are the same instance,
+ * so they can be compared with <code>==</code>.
+ * <p>
+ * Interner created with {@link #withValues()} also replaces values of every new canonical map with canonical values,
+ * so equal values are shared between different maps.
+ * <p>
+ * Maps are looked up by {@link Map#hashCode()} and {@link Map#equals(Object)}, so interning takes <code>O(n)</code>. It
+ * is worth it for small maps that are kept for a long time. Equal maps of different implementations are also
+ * replaced by one instance.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ImmutableMapInterner {
+    private final WeakInterner<ImmutableMap<?, ?>> maps = new WeakInterner<>();
+    /**
+     * Interner of values or <code>null</code> if values are not interned.
+     */
+    private final WeakInterner<Object> values;
+
+    /**
+     * @return new interner that interns only maps
+     */
+    @NotNull
+    public static ImmutableMapInterner create() {
+        return new ImmutableMapInterner(null);
+    }
+
+    /**
+     * @return new interner that interns maps and their values
+     */
+    @NotNull
+    public static ImmutableMapInterner withValues() {
+        return new ImmutableMapInterner(new WeakInterner<>());
+    }
+
+    private ImmutableMapInterner(final WeakInterner<Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns canonical instance of given map. If there is no map equal to given one in this interner, given map (or
+     * its copy with canonical values) becomes the canonical instance.
+     *
+     * @param map map to intern
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return map equal to given one that is shared by all callers
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public <K, V> ImmutableMap<K, V> intern(@NotNull final ImmutableMap<K, V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        final Lookup lookup = new Lookup(map);
+        final ImmutableMap<?, ?> canonical = maps.find(lookup);
+        if (canonical != null) {
+            return (ImmutableMap<K, V>) canonical;
+        }
+        // map with canonical values is equal to given map, so it has the same hash code
+        return (ImmutableMap<K, V>) maps.intern(values != null ? internValues(map) : map, lookup.hash);
+    }
+
+    /**
+     * Returns canonical instance of given value. It works only for interner created with {@link #withValues()}.
+     *
+     * @param value value to intern
+     * @param <V>   Value type
+     * @return value equal to given one that is shared by all maps of this interner
+     * @throws IllegalStateException if this interner does not intern values
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V internValue(final V value) {
+        if (values == null) {
+            throw new IllegalStateException("This interner does not intern values!");
+        }
+        return value != null ? (V) values.intern(value) : null;
+    }
+
+    /**
+     * @return number of canonical maps that were not garbage collected yet
+     */
+    public int size() {
+        return maps.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> ImmutableMap<K, V> internValues(final ImmutableMap<K, V> map) {
+        ImmutableMap.Builder<K, V> builder = null;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            final V value = entry.getValue();
+            final V canonicalValue = value != null ? (V) values.intern(value) : null;
+            if (canonicalValue != value) {
+                if (builder == null) {
+                    builder = map.toBuilder();
+                }
+                builder.put(entry.getKey(), canonicalValue);
+            }
+        }
+        return builder != null ? builder.build() : map;
+    }
+
+    /**
+     * Concurrent set of weakly referenced canonical objects.
+     *
+     * @param <T> type of interned objects
+     */
+    private static final class WeakInterner<T> {
+        private final ConcurrentMap<Object, Canonical<T>> table = new ConcurrentHashMap<>();
+        private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+        /**
+         * @return canonical object equal to given one or <code>null</code> if there is no such object
+         */
+        T find(final Lookup lookup) {
+            final Canonical<T> canonical = table.get(lookup);
+            return canonical != null ? canonical.get() : null;
+        }
+
+        T intern(final T object) {
+            final Lookup lookup = new Lookup(object);
+            final T canonical = find(lookup);
+            return canonical != null ? canonical : intern(object, lookup.hash);
+        }
+
+        T intern(final T object, final int hash) {
+            removeCollected();
+            final Canonical<T> newCanonical = new Canonical<>(object, hash, queue);
+            while (true) {
+                final Canonical<T> canonical = table.putIfAbsent(newCanonical, newCanonical);
+                if (canonical == null) {
+                    return object;
+                }
+                final T current = canonical.get();
+                if (current != null) {
+                    return current;
+                }
+                // object was collected, but its reference is not in the queue yet
+                table.remove(canonical, canonical);
+            }
+        }
+
+        int size() {
+            removeCollected();
+            return table.size();
+        }
+
+        private void removeCollected() {
+            Reference<? extends T> reference;
+            while ((reference = queue.poll()) != null) {
+                table.remove(reference, reference);
+            }
+        }
+    }
+
+    /**
+     * Weak reference to canonical object. It is equal to other references and to {@link Lookup}s of equal objects.
+     */
+    private static final class Canonical<T> extends WeakReference<T> {
+        private final int hash;
+
+        private Canonical(final T object, final int hash, final ReferenceQueue<T> queue) {
+            super(object, queue);
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            final Object other;
+            if (o instanceof Canonical) {
+                other = ((Canonical<?>) o).get();
+            } else if (o instanceof Lookup) {
+                other = ((Lookup) o).object;
+            } else {
+                return false;
+            }
+            final T object = get();
+            return object != null && object.equals(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Strong key used to look up canonical objects without creating weak references.
+     */
+    private static final class Lookup {
+        private final Object object;
+        private final int hash;
+
+        private Lookup(final Object object) {
+            this.object = object;
+            this.hash = object.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Canonical)) {
+                return false;
+            }
+            final Object canonical = ((Canonical<?>) o).get();
+            return canonical != null && canonical.equals(object);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.github.magx2.steroids.collections.maps;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Binary format of {@link ImmutableMap}s used by Java serialization and by
+ * {@link ImmutableMap#writeTo(DataOutput, Codec, Codec)}.
+ * <p>
+ * The format is <code>[version, kind, kind header, size, key0, value0, key1, value1, ...]</code>. Kind tells which
+ * implementation was written, so the same implementation is read back. Entries are read straight into the structure
+ * of that implementation, without building any intermediate map.
+ * <p>
+ * Java serialization writes keys, values and kind headers with {@link ObjectOutputStream#writeObject(Object)}.
+ * {@link DataOutput} gets keys and values encoded by {@link Codec}s and prefixed with their length
+ * (<code>-1</code> for <code>null</code>).
+ */
+final class ImmutableMapSerialization {
+    private static final int VERSION = 1;
+    private static final int NULL_LENGTH = -1;
+    /**
+     * Sizes and lengths are read from the stream, so they are not trusted: at most this number of entries (or bytes of
+     * encoded value) is allocated up front and structures grow while data really arrives.
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 13;
+
+    /**
+     * This is an utils class. Never instantiate it.
+     */
+    private ImmutableMapSerialization() {
+    }
+
+    /**
+     * Implementations of {@link ImmutableMap} that can be written. Tags are written to the stream, so never change
+     * them.
+     */
+    enum Kind {
+        HASH_TRIE(1),
+        COMPACT(2),
+        SEEDED_HASH(3),
+        SIMPLE(4),
+        SMALL(5),
+        /**
+         * Header is the class of enum keys.
+         */
+        ENUM(6),
+        /**
+         * Header is the comparator; entries are written in its order.
+         */
+        TREE(7),
+        /**
+         * Header are key and value codecs.
+         */
+        OFF_HEAP(8),
+        PERFECT_HASH(9),
+        STRING_TRIE(10);
+
+        private final int tag;
+
+        Kind(final int tag) {
+            this.tag = tag;
+        }
+
+        static Kind of(final ImmutableMap<?, ?> map) {
+            if (map instanceof HashTrieImmutableMap) {
+                return HASH_TRIE;
+            }
+            if (map instanceof CompactImmutableMap) {
+                return COMPACT;
+            }
+            if (map instanceof SeededHashImmutableMap) {
+                return SEEDED_HASH;
+            }
+            if (map instanceof SmallImmutableMaps.SmallMap) {
+                return SMALL;
+            }
+            if (map instanceof EnumImmutableMap) {
+                return ENUM;
+            }
+            if (map instanceof TreeImmutableSortedMap) {
+                return TREE;
+            }
+            if (map instanceof OffHeapImmutableMap) {
+                return OFF_HEAP;
+            }
+            if (map instanceof PerfectHashImmutableMap) {
+                return PERFECT_HASH;
+            }
+            if (map instanceof ImmutableStringMap) {
+                return STRING_TRIE;
+            }
+            // other implementations are read back as SimpleImmutableMap
+            return SIMPLE;
+        }
+
+        static Kind ofTag(final int tag) throws StreamCorruptedException {
+            for (Kind kind : values()) {
+                if (kind.tag == tag) {
+                    return kind;
+                }
+            }
+            throw new StreamCorruptedException("Unknown kind of ImmutableMap: " + tag);
+        }
+    }
+
+    /**
+     * Source of entries that are read one by one: key, value, key, value...
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     */
+    interface EntryReader<K, V> {
+        /**
+         * @return number of entries to read
+         */
+        int size();
+
+        K readKey() throws IOException, ClassNotFoundException;
+
+        V readValue() throws IOException, ClassNotFoundException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> ImmutableMap<K, V> read(final Kind kind,
+                                                  final Object header,
+                                                  final EntryReader<K, V> reader)
+            throws IOException, ClassNotFoundException {
+        switch (kind) {
+            case HASH_TRIE:
+                return HashTrieImmutableMap.read(reader);
+            case COMPACT:
+                return CompactImmutableMap.read(reader);
+            case SEEDED_HASH:
+                return SeededHashImmutableMap.read(reader);
+            case SMALL:
+                return SmallImmutableMaps.read(reader);
+            case ENUM:
+                return (ImmutableMap<K, V>) EnumImmutableMap.read((Class) header, (EntryReader) reader);
+            case TREE:
+                return TreeImmutableSortedMap.read((Comparator<? super K>) header, reader);
+            case OFF_HEAP:
+                final Codec<?>[] codecs = (Codec<?>[]) header;
+                return OffHeapImmutableMap.read((Codec<K>) codecs[0], (Codec<V>) codecs[1], reader);
+            case PERFECT_HASH:
+                return PerfectHashImmutableMap.read(reader);
+            case STRING_TRIE:
+                return (ImmutableMap<K, V>) ImmutableStringMap.read((EntryReader<String, V>) reader);
+            default:
+                return SimpleImmutableMap.read(reader);
+        }
+    }
+
+    /**
+     * @param size number of entries read from the stream
+     * @return number of entries that can be allocated before they are read
+     */
+    static int initialCapacity(final int size) {
+        return Math.min(size, MAX_INITIAL_CAPACITY);
+    }
+
+    private static int readSize(final int size) throws StreamCorruptedException {
+        if (size < 0) {
+            throw new StreamCorruptedException("Size of ImmutableMap cannot be negative! Size=" + size);
+        }
+        return size;
+    }
+
+    /**
+     * Checks header of given kind before any entry is read.
+     */
+    private static void checkHeader(final Kind kind, final Object header) throws InvalidObjectException {
+        switch (kind) {
+            case ENUM:
+                if (!(header instanceof Class) || !((Class<?>) header).isEnum()) {
+                    throw new InvalidObjectException("Class of keys is not an enum! Class=" + header);
+                }
+                break;
+            case TREE:
+                if (header != null && !(header instanceof Comparator)) {
+                    throw new InvalidObjectException("Header of TreeImmutableSortedMap is not a comparator! Header="
+                                                             + header);
+                }
+                break;
+            case OFF_HEAP:
+                if (!(header instanceof Codec<?>[]) || !isCodecPair((Codec<?>[]) header)) {
+                    throw new InvalidObjectException("Header of OffHeapImmutableMap is not a pair of codecs! Header="
+                                                             + header);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static boolean isCodecPair(final Codec<?>[] codecs) {
+        return codecs.length == 2 && codecs[0] != null && codecs[1] != null;
+    }
+
+    private static void checkVersion(final int version) throws StreamCorruptedException {
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported version of ImmutableMap format: " + version);
+        }
+    }
+
+    // ---- DataOutput ----
+
+    static <K, V> void write(final ImmutableMap<K, V> map,
+                             final DataOutput output,
+                             final Codec<K> keyCodec,
+                             final Codec<V> valueCodec) throws IOException {
+        final Kind kind = Kind.of(map);
+        output.writeByte(VERSION);
+        output.writeByte(kind.tag);
+        if (kind == Kind.ENUM) {
+            output.writeUTF(((EnumImmutableMap<?, ?>) map).keyClass().getName());
+        } else if (kind == Kind.TREE && ((TreeImmutableSortedMap<K, V>) map).comparator() != null) {
+            throw new IllegalArgumentException(
+                    "Comparator of TreeImmutableSortedMap cannot be written to DataOutput! Use natural ordering.");
+        }
+        output.writeInt(map.size());
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            writeEncoded(output, entry.getKey(), keyCodec);
+            writeEncoded(output, entry.getValue(), valueCodec);
+        }
+    }
+
+    private static <T> void writeEncoded(final DataOutput output, final T value, final Codec<T> codec)
+            throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+        final byte[] bytes = codec.encode(value);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    static <K, V> ImmutableMap<K, V> read(final DataInput input, final Codec<K> keyCodec, final Codec<V> valueCodec)
+            throws IOException {
+        checkVersion(input.readUnsignedByte());
+        final Kind kind = Kind.ofTag(input.readUnsignedByte());
+        final Object header;
+        if (kind == Kind.ENUM) {
+            header = loadClass(input.readUTF());
+            checkHeader(kind, header);
+        } else if (kind == Kind.OFF_HEAP) {
+            header = new Codec<?>[]{keyCodec, valueCodec};
+        } else {
+            header = null;
+        }
+        final int size = readSize(input.readInt());
+        try {
+            return read(kind, header, new EntryReader<K, V>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public K readKey() throws IOException {
+                    return readEncoded(input, keyCodec);
+                }
+
+                @Override
+                public V readValue() throws IOException {
+                    return readEncoded(input, valueCodec);
+                }
+            });
+        } catch (ClassNotFoundException e) {
+            // entries are decoded by codecs, so classes are never looked up
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Loads class without initializing it, so no code of a class named by the stream is run before it is checked.
+     */
+    private static Class<?> loadClass(final String name) throws InvalidObjectException {
+        final ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+        final ClassLoader loader = contextLoader != null
+                                           ? contextLoader
+                                           : ImmutableMapSerialization.class.getClassLoader();
+        try {
+            return Class.forName(name, false, loader);
+        } catch (ClassNotFoundException e) {
+            throw new InvalidObjectException("Cannot find class of enum keys `" + name + "`!");
+        }
+    }
+
+    private static <T> T readEncoded(final DataInput input, final Codec<T> codec) throws IOException {
+        final int length = input.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0) {
+            throw new StreamCorruptedException("Length of encoded value cannot be negative! Length=" + length);
+        }
+        // buffer grows only with bytes that were really read, so wrong length ends with EOFException
+        byte[] bytes = new byte[Math.min(length, MAX_INITIAL_CAPACITY)];
+        int read = 0;
+        while (read < length) {
+            if (read == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+            }
+            input.readFully(bytes, read, bytes.length - read);
+            read = bytes.length;
+        }
+        return codec.decode(ByteBuffer.wrap(bytes));
+    }
+
+    // ---- Java serialization ----
+
+    /**
+     * Serialized form of all {@link ImmutableMap}s from this package.
+     */
+    static final class SerializationProxy implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private transient ImmutableMap<?, ?> map;
+
+        SerializationProxy(final ImmutableMap<?, ?> map) {
+            this.map = map;
+        }
+
+        private void writeObject(final ObjectOutputStream output) throws IOException {
+            final Kind kind = Kind.of(map);
+            output.writeByte(VERSION);
+            output.writeByte(kind.tag);
+            switch (kind) {
+                case ENUM:
+                    output.writeObject(((EnumImmutableMap<?, ?>) map).keyClass());
+                    break;
+                case TREE:
+                    output.writeObject(((TreeImmutableSortedMap<?, ?>) map).comparator());
+                    break;
+                case OFF_HEAP:
+                    final Codec<?>[] codecs = ((OffHeapImmutableMap<?, ?>) map).codecs();
+                    if (!(codecs[0] instanceof Serializable) || !(codecs[1] instanceof Serializable)) {
+                        throw new NotSerializableException(
+                                "Codecs of OffHeapImmutableMap are not serializable! Use writeTo(DataOutput) instead.");
+                    }
+                    output.writeObject(codecs);
+                    break;
+                default:
+                    break;
+            }
+            output.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                output.writeObject(entry.getKey());
+                output.writeObject(entry.getValue());
+            }
+        }
+
+        private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+            checkVersion(input.readUnsignedByte());
+            final Kind kind = Kind.ofTag(input.readUnsignedByte());
+            final Object header = kind == Kind.ENUM || kind == Kind.TREE || kind == Kind.OFF_HEAP
+                                          ? input.readObject()
+                                          : null;
+            checkHeader(kind, header);
+            final int size = readSize(input.readInt());
+            map = read(kind, header, new EntryReader<Object, Object>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Object readKey() throws IOException, ClassNotFoundException {
+                    return input.readObject();
+                }
+
+                @Override
+                public Object readValue() throws IOException, ClassNotFoundException {
+                    return input.readObject();
+                }
+            });
+        }
+
+        private Object readResolve() {
+            return map;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * A {@link NavigableMap} that cannot be modified after creation.
+ * <p>
+ * All views returned from this map ({@link #subMap}, {@link #headMap}, {@link #tailMap}, {@link #descendingMap()}) are
+ * also immutable.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ */
+public interface ImmutableSortedMap<KeyT, ValueT> extends ImmutableMap<KeyT, ValueT>, NavigableMap<KeyT, ValueT> {
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if this map is a view and key is outside of its range
+     */
+    @NotNull
+    @Override
+    ImmutableSortedMap<KeyT, ValueT> putToNew(final KeyT key, final ValueT value);
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if this map is a view and any key is outside of its range
+     */
+    @NotNull
+    @Override
+    ImmutableSortedMap<KeyT, ValueT> putAllToNew(@NotNull Map<KeyT, ValueT> map);
+
+    @NotNull
+    @Override
+    ImmutableSortedMap<KeyT, ValueT> removeFromNew(final KeyT key);
+
+    @NotNull
+    @Override
+    ImmutableSortedMap<KeyT, ValueT> descendingMap();
+
+    @NotNull
+    @Override
+    ImmutableSortedMap<KeyT, ValueT> subMap(KeyT fromKey, boolean fromInclusive, KeyT toKey, boolean toInclusive);
+
+    @NotNull
+    @Override
+    ImmutableSortedMap<KeyT, ValueT> headMap(KeyT toKey, boolean inclusive);
+
+    @NotNull
+    @Override
+    ImmutableSortedMap<KeyT, ValueT> tailMap(KeyT fromKey, boolean inclusive);
+
+    @NotNull
+    @Override
+    default ImmutableSortedMap<KeyT, ValueT> subMap(final KeyT fromKey, final KeyT toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @NotNull
+    @Override
+    default ImmutableSortedMap<KeyT, ValueT> headMap(final KeyT toKey) {
+        return headMap(toKey, false);
+    }
+
+    @NotNull
+    @Override
+    default ImmutableSortedMap<KeyT, ValueT> tailMap(final KeyT fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     * @see ImmutableMap#removeFromNew
+     */
+    @Override
+    default Entry<KeyT, ValueT> pollFirstEntry() {
+        throw new UnsupportedOperationException("This is immutable map! Polls are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     * @see ImmutableMap#removeFromNew
+     */
+    @Override
+    default Entry<KeyT, ValueT> pollLastEntry() {
+        throw new UnsupportedOperationException("This is immutable map! Polls are not supported!");
+    }
+}
@@ -0,0 +1,646 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implementation of {@link ImmutableMap} for {@link String} keys backed by a compressed radix trie.
+ * <p>
+ * Every node of the trie is labeled with a part of a key, so prefix shared by many keys (like <code>service.db.</code>
+ * in <code>service.db.pool.size</code> and <code>service.db.url</code>) is stored only once. {@link #get(Object)}
+ * compares the key with labels on its path, so it takes <code>O(key length)</code> no matter how big the map is.
+ * <p>
+ * {@link #prefixMap(String)} returns all entries whose keys start with given prefix without copying them, and
+ * {@link #longestPrefixEntry(String)} finds the entry with the longest key that is a prefix of given text (like
+ * routing tables do). <code>*ToNew</code> methods copy only nodes on the path to changed key. Entries are iterated
+ * in the order of keys.
+ * <p>
+ * Keys cannot be <code>null</code>.
+ *
+ * @param <ValueT> Value type
+ */
+public final class ImmutableStringMap<ValueT> extends AbstractImmutableMap<String, ValueT> {
+    private static final long serialVersionUID = 1L;
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node<?>[] NO_CHILDREN = new Node<?>[0];
+    private static final ImmutableStringMap<?> EMPTY = new ImmutableStringMap<>(Node.leaf("", false, null), "");
+
+    /**
+     * Root of this map. Its label is ignored, because it is already a part of {@link #prefix}.
+     */
+    private final Node<ValueT> root;
+    /**
+     * Prefix of all keys of this map; it is not empty only for maps returned from {@link #prefixMap(String)}.
+     */
+    private final String prefix;
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <V> ImmutableStringMap<V> empty() {
+        return (ImmutableStringMap<V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <V> ImmutableStringMap<V> from(@NotNull final Map<String, V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map instanceof ImmutableStringMap) {
+            return (ImmutableStringMap<V>) map;
+        }
+        final String[] keys = new String[map.size()];
+        final Object[] values = new Object[map.size()];
+        int size = 0;
+        for (Entry<String, V> entry : map.entrySet()) {
+            keys[size] = requireNonNull(entry.getKey(), "Key cannot be null!");
+            values[size] = entry.getValue();
+            size++;
+        }
+        return build(keys, values);
+    }
+
+    @NotNull
+    public static <V> ImmutableStringMap<V> from(@NotNull final Class<V> valueClass,
+                                                 @NotNull final Object... keyValues) {
+        final Map<String, V> map = new HashMap<>();
+        KeyValues.forEachPair(String.class, valueClass, keyValues, map::put);
+        return from(map);
+    }
+
+    /**
+     * Create new empty {@link ImmutableMap.Builder} that builds {@link ImmutableStringMap}.
+     *
+     * @param <V> Value type
+     * @return new empty builder
+     */
+    @NotNull
+    public static <V> ImmutableMap.Builder<String, V> builder() {
+        return new HashMapBuilder<>(empty(), ImmutableStringMap::from);
+    }
+
+    /**
+     * Reads entries into lists and builds the trie from them. The last value of duplicated key wins.
+     */
+    static <V> ImmutableStringMap<V> read(final ImmutableMapSerialization.EntryReader<String, V> reader)
+            throws IOException, ClassNotFoundException {
+        final List<String> keys = new ArrayList<>(ImmutableMapSerialization.initialCapacity(reader.size()));
+        final List<Object> values = new ArrayList<>(ImmutableMapSerialization.initialCapacity(reader.size()));
+        for (int i = 0; i < reader.size(); i++) {
+            final Object key = reader.readKey();
+            if (!(key instanceof String)) {
+                throw new InvalidObjectException("Key of ImmutableStringMap has to be a String! Key=" + key);
+            }
+            keys.add((String) key);
+            values.add(reader.readValue());
+        }
+        return build(keys.toArray(new String[0]), values.toArray());
+    }
+
+    private ImmutableStringMap(@NotNull final Node<ValueT> root, @NotNull final String prefix) {
+        this.root = requireNonNull(root);
+        this.prefix = requireNonNull(prefix);
+    }
+
+    /**
+     * Builds trie at once, without copying any nodes. The last value of duplicated key wins.
+     */
+    private static <V> ImmutableStringMap<V> build(final String[] keys, final Object[] values) {
+        if (keys.length == 0) {
+            return empty();
+        }
+        // sort keys together with their values; sort is stable, so the last duplicated key stays the last one
+        final Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+        final String[] sortedKeys = new String[keys.length];
+        final Object[] sortedValues = new Object[keys.length];
+        int size = 0;
+        for (Integer index : order) {
+            if (size == 0 || !sortedKeys[size - 1].equals(keys[index])) {
+                size++;
+            }
+            sortedKeys[size - 1] = keys[index];
+            sortedValues[size - 1] = values[index];
+        }
+        final boolean hasValue = sortedKeys[0].isEmpty();
+        final Node<V> root = new Node<>(
+                "", hasValue, hasValue ? sortedValues[0] : null, NO_CHARS, noChildren(), size);
+        return new ImmutableStringMap<>(
+                root.withChildren(sortedKeys, sortedValues, hasValue ? 1 : 0, size, 0), "");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V>[] noChildren() {
+        return (Node<V>[]) NO_CHILDREN;
+    }
+
+    private static int commonPrefixLength(final String a, final int aFrom, final String b, final int bFrom) {
+        final int length = Math.min(a.length() - aFrom, b.length() - bFrom);
+        int i = 0;
+        while (i < length && a.charAt(aFrom + i) == b.charAt(bFrom + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns view of all entries whose keys start with given prefix. The view shares nodes with this map.
+     *
+     * @param prefix prefix of keys
+     * @return map with all entries that keys start with given prefix
+     */
+    @NotNull
+    public ImmutableStringMap<ValueT> prefixMap(@NotNull final String prefix) {
+        requireNonNull(prefix, "prefix cannot be null!");
+        if (!prefix.startsWith(this.prefix)) {
+            return this.prefix.startsWith(prefix) ? this : empty();
+        }
+        Node<ValueT> node = root;
+        int position = this.prefix.length();
+        while (position < prefix.length()) {
+            final Node<ValueT> child = node.child(prefix.charAt(position));
+            if (child == null) {
+                return empty();
+            }
+            final int remaining = prefix.length() - position;
+            if (remaining < child.label.length()) {
+                // prefix ends inside the label, so all keys of the child start with it
+                return child.label.regionMatches(0, prefix, position, remaining)
+                               ? new ImmutableStringMap<>(child, prefix + child.label.substring(remaining))
+                               : empty();
+            }
+            if (!prefix.regionMatches(position, child.label, 0, child.label.length())) {
+                return empty();
+            }
+            position += child.label.length();
+            node = child;
+        }
+        return node == root ? this : new ImmutableStringMap<>(node, prefix);
+    }
+
+    /**
+     * Finds entry with the longest key that is a prefix of given text.
+     * <p>
+     * <code>{"/": a, "/api/": b}.longestPrefixEntry("/api/users") // returns "/api/"=b</code>
+     *
+     * @param text text to match
+     * @return entry with the longest key that is a prefix of given text or <code>null</code> if there is none
+     */
+    public Entry<String, ValueT> longestPrefixEntry(@NotNull final String text) {
+        requireNonNull(text, "text cannot be null!");
+        if (!text.startsWith(prefix)) {
+            return null;
+        }
+        Node<ValueT> node = root;
+        int position = prefix.length();
+        Node<ValueT> longest = root.hasValue ? root : null;
+        int longestLength = position;
+        while (position < text.length()) {
+            final Node<ValueT> child = node.child(text.charAt(position));
+            if (child == null || !text.regionMatches(position, child.label, 0, child.label.length())) {
+                break;
+            }
+            position += child.label.length();
+            node = child;
+            if (node.hasValue) {
+                longest = node;
+                longestLength = position;
+            }
+        }
+        return longest != null ? new ImmutableMapEntry<>(text.substring(0, longestLength), longest.value) : null;
+    }
+
+    /**
+     * @return node of given key or <code>null</code> if there is no such key in this map
+     */
+    private Node<ValueT> find(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final String string = (String) key;
+        if (!string.startsWith(prefix)) {
+            return null;
+        }
+        Node<ValueT> node = root;
+        int position = prefix.length();
+        while (position < string.length()) {
+            node = node.child(string.charAt(position));
+            if (node == null || !string.regionMatches(position, node.label, 0, node.label.length())) {
+                return null;
+            }
+            position += node.label.length();
+        }
+        return node.hasValue ? node : null;
+    }
+
+    /**
+     * Returns root of the whole trie that has only entries of this map; maps returned from
+     * {@link #prefixMap(String)} have their root under a path of all characters of the prefix.
+     */
+    private Node<ValueT> fullRoot() {
+        if (prefix.isEmpty()) {
+            return root;
+        }
+        @SuppressWarnings("unchecked") final Node<ValueT>[] children = (Node<ValueT>[]) new Node<?>[1];
+        children[0] = root.withLabel(prefix);
+        return new Node<>("", false, null, new char[]{prefix.charAt(0)}, children, root.size);
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<String, ValueT> toBuilder() {
+        return new HashMapBuilder<>(this, ImmutableStringMap::from);
+    }
+
+    @NotNull
+    @Override
+    public ImmutableStringMap<ValueT> putToNew(final String key, final ValueT value) {
+        requireNonNull(key, "Key cannot be null!");
+        if (key.startsWith(prefix)) {
+            final Node<ValueT> newRoot = root.put(key, prefix.length(), value);
+            return newRoot == root ? this : new ImmutableStringMap<>(newRoot, prefix);
+        }
+        return new ImmutableStringMap<>(fullRoot().put(key, 0, value), "");
+    }
+
+    @NotNull
+    @Override
+    public ImmutableStringMap<ValueT> putAllToNew(@NotNull final Map<String, ValueT> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        ImmutableStringMap<ValueT> newMap = this;
+        for (Entry<String, ValueT> entry : map.entrySet()) {
+            newMap = newMap.putToNew(entry.getKey(), entry.getValue());
+        }
+        return newMap;
+    }
+
+    @NotNull
+    @Override
+    public ImmutableStringMap<ValueT> removeFromNew(final String key) {
+        if (key == null || !key.startsWith(prefix)) {
+            return this;
+        }
+        final Node<ValueT> newRoot = root.remove(key, prefix.length());
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot != null ? new ImmutableStringMap<>(newRoot, prefix) : empty();
+    }
+
+    @NotNull
+    @Override
+    public MapStatistics stats() {
+        final MapStatistics.Accumulator accumulator = new MapStatistics.Accumulator(this)
+                .size(size())
+                .bytes(MapStatistics.objectBytes(2, 0));
+        root.collectStatistics(accumulator, 0);
+        return accumulator.build();
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root.size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return find(key) != null;
+    }
+
+    @Override
+    public ValueT get(final Object key) {
+        final Node<ValueT> node = find(key);
+        return node != null ? node.value : null;
+    }
+
+    @Override
+    public ValueT getOrDefault(final Object key, final ValueT defaultValue) {
+        final Node<ValueT> node = find(key);
+        return node != null ? node.value : defaultValue;
+    }
+
+    @Override
+    public Set<Entry<String, ValueT>> entrySet() {
+        return new AbstractSet<Entry<String, ValueT>>() {
+            @Override
+            public Iterator<Entry<String, ValueT>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return root.size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                final Entry<?, ?> entry = (Entry<?, ?>) o;
+                final Node<ValueT> node = find(entry.getKey());
+                return node != null && Objects.equals(node.value, entry.getValue());
+            }
+        };
+    }
+
+    /**
+     * Visits nodes depth-first, so keys are returned in ascending order.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, ValueT>> {
+        private final Deque<Frame<ValueT>> stack = new ArrayDeque<>();
+        private final StringBuilder key = new StringBuilder(prefix);
+        private Entry<String, ValueT> next;
+
+        private EntryIterator() {
+            stack.push(new Frame<>(root, key.length()));
+            if (root.hasValue) {
+                next = new ImmutableMapEntry<>(key.toString(), root.value);
+            } else {
+                advance();
+            }
+        }
+
+        private void advance() {
+            while (!stack.isEmpty()) {
+                final Frame<ValueT> frame = stack.peek();
+                if (frame.nextChild == frame.node.children.length) {
+                    stack.pop();
+                    continue;
+                }
+                final Node<ValueT> child = frame.node.children[frame.nextChild++];
+                key.setLength(frame.keyLength);
+                key.append(child.label);
+                stack.push(new Frame<>(child, key.length()));
+                if (child.hasValue) {
+                    next = new ImmutableMapEntry<>(key.toString(), child.value);
+                    return;
+                }
+            }
+            next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, ValueT> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Entry<String, ValueT> current = next;
+            advance();
+            return current;
+        }
+    }
+
+    private static final class Frame<V> {
+        private final Node<V> node;
+        private final int keyLength;
+        private int nextChild;
+
+        private Frame(final Node<V> node, final int keyLength) {
+            this.node = node;
+            this.keyLength = keyLength;
+        }
+    }
+
+    /**
+     * Node of the trie. Label is the part of the key between parent and this node; labels of all children start with
+     * different characters, which are kept sorted in {@link #chars}.
+     *
+     * @param <V> Value type
+     */
+    private static final class Node<V> {
+        private final String label;
+        private final boolean hasValue;
+        private final V value;
+        private final char[] chars;
+        private final Node<V>[] children;
+        /**
+         * Number of entries in this node and all its descendants.
+         */
+        private final int size;
+
+        @SuppressWarnings("unchecked")
+        private Node(final String label,
+                     final boolean hasValue,
+                     final Object value,
+                     final char[] chars,
+                     final Node<V>[] children,
+                     final int size) {
+            this.label = label;
+            this.hasValue = hasValue;
+            this.value = (V) value;
+            this.chars = chars;
+            this.children = children;
+            this.size = size;
+        }
+
+        private static <V> Node<V> leaf(final String label, final boolean hasValue, final Object value) {
+            return new Node<>(label, hasValue, value, NO_CHARS, noChildren(), hasValue ? 1 : 0);
+        }
+
+        /**
+         * Builds node with given label over sorted keys <code>[from, to)</code> that all start with the path to
+         * this node and with first character of the label at <code>labelStart</code>.
+         */
+        private static <V> Node<V> build(final String[] keys,
+                                         final Object[] values,
+                                         final int from,
+                                         final int to,
+                                         final int labelStart) {
+            final String first = keys[from];
+            // keys are sorted, so the first and the last key have the shortest common prefix
+            final int end = labelStart + commonPrefixLength(first, labelStart, keys[to - 1], labelStart);
+            final boolean hasValue = first.length() == end;
+            final Node<V> node = new Node<>(first.substring(labelStart, end),
+                                            hasValue,
+                                            hasValue ? values[from] : null,
+                                            NO_CHARS,
+                                            noChildren(),
+                                            to - from);
+            return node.withChildren(keys, values, hasValue ? from + 1 : from, to, end);
+        }
+
+        /**
+         * @return copy of this node with children built from sorted keys <code>[from, to)</code>
+         */
+        private Node<V> withChildren(final String[] keys,
+                                     final Object[] values,
+                                     final int from,
+                                     final int to,
+                                     final int depth) {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (i == from || keys[i].charAt(depth) != keys[i - 1].charAt(depth)) {
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return this;
+            }
+            final char[] newChars = new char[count];
+            @SuppressWarnings("unchecked") final Node<V>[] newChildren = (Node<V>[]) new Node<?>[count];
+            int groupStart = from;
+            for (int child = 0; child < count; child++) {
+                final char c = keys[groupStart].charAt(depth);
+                int groupEnd = groupStart + 1;
+                while (groupEnd < to && keys[groupEnd].charAt(depth) == c) {
+                    groupEnd++;
+                }
+                newChars[child] = c;
+                newChildren[child] = build(keys, values, groupStart, groupEnd, depth);
+                groupStart = groupEnd;
+            }
+            return new Node<>(label, hasValue, value, newChars, newChildren, size);
+        }
+
+        private Node<V> child(final char c) {
+            final int index = Arrays.binarySearch(chars, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node<V> withLabel(final String newLabel) {
+            return new Node<>(newLabel, hasValue, value, chars, children, size);
+        }
+
+        private Node<V> withValue(final V newValue) {
+            return new Node<>(label, true, newValue, chars, children, hasValue ? size : size + 1);
+        }
+
+        private Node<V> withChild(final int index, final Node<V> child) {
+            final Node<V>[] newChildren = children.clone();
+            newChildren[index] = child;
+            return new Node<>(label, hasValue, value, chars, newChildren, size - children[index].size + child.size);
+        }
+
+        private Node<V> insertChild(final int index, final Node<V> child) {
+            final char[] newChars = new char[chars.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, index);
+            newChars[index] = child.label.charAt(0);
+            System.arraycopy(chars, index, newChars, index + 1, chars.length - index);
+            @SuppressWarnings("unchecked") final Node<V>[] newChildren = (Node<V>[]) new Node<?>[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildren[index] = child;
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            return new Node<>(label, hasValue, value, newChars, newChildren, size + child.size);
+        }
+
+        private Node<V> removeChild(final int index) {
+            final char[] newChars = new char[chars.length - 1];
+            System.arraycopy(chars, 0, newChars, 0, index);
+            System.arraycopy(chars, index + 1, newChars, index, newChars.length - index);
+            @SuppressWarnings("unchecked") final Node<V>[] newChildren = (Node<V>[]) new Node<?>[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, newChildren.length - index);
+            return new Node<>(label, hasValue, value, newChars, newChildren, size - children[index].size);
+        }
+
+        /**
+         * @return copy of this node with given key or this node if it already has given entry
+         */
+        private Node<V> put(final String key, final int position, final V newValue) {
+            if (position == key.length()) {
+                return hasValue && value == newValue ? this : withValue(newValue);
+            }
+            final int index = Arrays.binarySearch(chars, key.charAt(position));
+            if (index < 0) {
+                return insertChild(-index - 1, leaf(key.substring(position), true, newValue));
+            }
+            final Node<V> child = children[index];
+            final int common = commonPrefixLength(child.label, 0, key, position);
+            if (common == child.label.length()) {
+                final Node<V> newChild = child.put(key, position + common, newValue);
+                return newChild == child ? this : withChild(index, newChild);
+            }
+            // key leaves the label in the middle, so split the child into two nodes
+            final Node<V> split = Node.<V>leaf(child.label.substring(0, common), false, null)
+                                          .insertChild(0, child.withLabel(child.label.substring(common)));
+            return withChild(index, split.put(key, position + common, newValue));
+        }
+
+        /**
+         * @return copy of this node without given key, this node if there is no such key or <code>null</code> if
+         * this node would have no entries
+         */
+        private Node<V> remove(final String key, final int position) {
+            if (position == key.length()) {
+                if (!hasValue) {
+                    return this;
+                }
+                return children.length == 0
+                               ? null
+                               : new Node<>(label, false, null, chars, children, size - 1);
+            }
+            final int index = Arrays.binarySearch(chars, key.charAt(position));
+            if (index < 0) {
+                return this;
+            }
+            final Node<V> child = children[index];
+            if (!key.regionMatches(position, child.label, 0, child.label.length())) {
+                return this;
+            }
+            final Node<V> newChild = child.remove(key, position + child.label.length());
+            if (newChild == child) {
+                return this;
+            }
+            if (newChild == null) {
+                return !hasValue && children.length == 1 ? null : removeChild(index);
+            }
+            return withChild(index, newChild.compress());
+        }
+
+        /**
+         * Merges node without value with its only child, so there are no nodes that only split labels.
+         */
+        private Node<V> compress() {
+            if (hasValue || children.length != 1) {
+                return this;
+            }
+            return children[0].withLabel(label + children[0].label);
+        }
+
+        private void collectStatistics(final MapStatistics.Accumulator accumulator, final int depth) {
+            accumulator.node()
+                    .chain(depth)
+                    .entries(depth, hasValue ? 1 : 0)
+                    // label is counted as a Latin-1 string
+                    .bytes(MapStatistics.objectBytes(4, Integer.BYTES + 1)
+                                   + MapStatistics.objectBytes(1, Integer.BYTES + 2)
+                                   + MapStatistics.arrayBytes(label.length(), Byte.BYTES));
+            if (children.length > 0) {
+                // leaves share empty arrays
+                accumulator.bytes(MapStatistics.arrayBytes(chars.length, Character.BYTES)
+                                          + MapStatistics.arrayBytes(children.length, MapStatistics.REFERENCE_BYTES));
+            }
+            for (Node<V> child : children) {
+                child.collectStatistics(accumulator, depth + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable map with <code>int</code> keys and <code>long</code> values. Unlike
+ * <code>ImmutableMap&lt;Integer, Long&gt;</code> it does not box keys nor values.
+ * <p>
+ * Keys are kept sorted in a primitive array and values in a parallel array, so lookups are binary searches and
+ * entries are iterated in ascending order of keys. Every <code>*ToNew</code> method copies arrays, but
+ * {@link #putToNew(int, long)} of an existing key shares keys array with this map.
+ */
+public final class IntLongImmutableMap {
+    private static final IntLongImmutableMap EMPTY = new IntLongImmutableMap(new int[0], new long[0]);
+
+    private final int[] keys;
+    private final long[] values;
+
+    @NotNull
+    public static IntLongImmutableMap empty() {
+        return EMPTY;
+    }
+
+    @NotNull
+    public static IntLongImmutableMap from(@NotNull Map<Integer, Long> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map.isEmpty()) {
+            return empty();
+        }
+        final int[] keys = new int[map.size()];
+        int index = 0;
+        for (Integer key : map.keySet()) {
+            keys[index++] = requireNonNull(key, "Keys cannot be null!");
+        }
+        Arrays.sort(keys);
+        final long[] values = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = requireNonNull(map.get(keys[i]), "Values cannot be null!");
+        }
+        return new IntLongImmutableMap(keys, values);
+    }
+
+    private IntLongImmutableMap(@NotNull final int[] keys, @NotNull final long[] values) {
+        this.keys = requireNonNull(keys);
+        this.values = requireNonNull(values);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public boolean containsKey(final int key) {
+        return Arrays.binarySearch(keys, key) >= 0;
+    }
+
+    public boolean containsValue(final long value) {
+        for (long v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param key key to look for
+     * @return value for given key or <code>0</code> if there is no such key
+     * @see #getOrDefault(int, long)
+     */
+    public long get(final int key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * @param key          key to look for
+     * @param defaultValue value to return if there is no such key
+     * @return value for given key or <code>defaultValue</code> if there is no such key
+     */
+    public long getOrDefault(final int key, final long defaultValue) {
+        final int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    /**
+     * Calls given consumer for every entry in ascending order of keys.
+     *
+     * @param consumer consumer of entries
+     */
+    public void forEach(@NotNull final EntryConsumer consumer) {
+        requireNonNull(consumer, "consumer cannot be null!");
+        for (int i = 0; i < keys.length; i++) {
+            consumer.accept(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Create new map from this one that will contains given entry.
+     *
+     * @param key   entry key
+     * @param value entry value
+     * @return new map that has given entry
+     */
+    @NotNull
+    public IntLongImmutableMap putToNew(final int key, final long value) {
+        final int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            if (values[index] == value) {
+                return this;
+            }
+            final long[] newValues = values.clone();
+            newValues[index] = value;
+            return new IntLongImmutableMap(keys, newValues);
+        }
+        final int insertionPoint = -(index + 1);
+        final int[] newKeys = new int[keys.length + 1];
+        final long[] newValues = new long[values.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertionPoint);
+        System.arraycopy(values, 0, newValues, 0, insertionPoint);
+        newKeys[insertionPoint] = key;
+        newValues[insertionPoint] = value;
+        System.arraycopy(keys, insertionPoint, newKeys, insertionPoint + 1, keys.length - insertionPoint);
+        System.arraycopy(values, insertionPoint, newValues, insertionPoint + 1, values.length - insertionPoint);
+        return new IntLongImmutableMap(newKeys, newValues);
+    }
+
+    /**
+     * Create new map from this one that will contains all entries from given map. Values from given map replace
+     * values from this one.
+     *
+     * @param map a map to add to new map
+     * @return new map with entries from both maps
+     */
+    @NotNull
+    public IntLongImmutableMap putAllToNew(@NotNull final IntLongImmutableMap map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map.isEmpty()) {
+            return this;
+        }
+        // merge two sorted arrays
+        final int[] newKeys = new int[keys.length + map.keys.length];
+        final long[] newValues = new long[newKeys.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < keys.length || j < map.keys.length) {
+            if (j == map.keys.length || (i < keys.length && keys[i] < map.keys[j])) {
+                newKeys[size] = keys[i];
+                newValues[size++] = values[i++];
+            } else {
+                if (i < keys.length && keys[i] == map.keys[j]) {
+                    i++;
+                }
+                newKeys[size] = map.keys[j];
+                newValues[size++] = map.values[j++];
+            }
+        }
+        if (size == newKeys.length) {
+            return new IntLongImmutableMap(newKeys, newValues);
+        }
+        return new IntLongImmutableMap(Arrays.copyOf(newKeys, size), Arrays.copyOf(newValues, size));
+    }
+
+    /**
+     * Create new map from this one that will not contains given key.
+     *
+     * @param key key to remove from new map
+     * @return new map that has not entry with given key
+     */
+    @NotNull
+    public IntLongImmutableMap removeFromNew(final int key) {
+        final int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            return this;
+        }
+        if (keys.length == 1) {
+            return empty();
+        }
+        final int[] newKeys = new int[keys.length - 1];
+        final long[] newValues = new long[values.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+        return new IntLongImmutableMap(newKeys, newValues);
+    }
+
+    /**
+     * Coverts to Map that is mutable.
+     *
+     * @return new map that is mutable.
+     */
+    @NotNull
+    public Map<Integer, Long> toMutableMap() {
+        final Map<Integer, Long> map = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Returns {@link ImmutableMap} view of this map. Keys and values are boxed on every access, so use it only to pass
+     * this map to code that requires {@link Map}.
+     *
+     * @return view of this map
+     */
+    @NotNull
+    public ImmutableMap<Integer, Long> asMap() {
+        return new MapView(this);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final IntLongImmutableMap that = (IntLongImmutableMap) o;
+
+        if (!Arrays.equals(keys, that.keys)) return false;
+        return Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return asMap().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final StringJoiner joiner = new StringJoiner(", ", IntLongImmutableMap.class.getSimpleName() + "[", "]");
+        for (int i = 0; i < keys.length; i++) {
+            joiner.add(keys[i] + "=" + values[i]);
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Consumer of entries with <code>int</code> keys and <code>long</code> values.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, long value);
+    }
+
+    private static final class MapView extends AbstractImmutableMap<Integer, Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final IntLongImmutableMap map;
+
+        private MapView(final IntLongImmutableMap map) {
+            this.map = map;
+        }
+
+        @Override
+        public Long get(final Object key) {
+            if (!(key instanceof Integer)) {
+                return null;
+            }
+            final int index = Arrays.binarySearch(map.keys, (Integer) key);
+            return index >= 0 ? map.values[index] : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof Integer && map.containsKey((Integer) key);
+        }
+
+        @Override
+        public boolean containsValue(final Object value) {
+            return value instanceof Long && map.containsValue((Long) value);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        /**
+         * @throws NullPointerException if key or value is <code>null</code>
+         */
+        @NotNull
+        @Override
+        public ImmutableMap<Integer, Long> putToNew(final Integer key, final Long value) {
+            requireNonNull(key, "Keys cannot be null!");
+            requireNonNull(value, "Values cannot be null!");
+            return map.putToNew(key, value).asMap();
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<Integer, Long> putAllToNew(@NotNull final Map<Integer, Long> map) {
+            return this.map.putAllToNew(from(map)).asMap();
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<Integer, Long> removeFromNew(final Integer key) {
+            // there is never a null key, so there is nothing to remove
+            return key == null ? this : map.removeFromNew(key).asMap();
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap.Builder<Integer, Long> toBuilder() {
+            return new HashMapBuilder<>(this, newMap -> from(newMap).asMap());
+        }
+
+        @Override
+        public Set<Entry<Integer, Long>> entrySet() {
+            return new AbstractSet<Entry<Integer, Long>>() {
+                @Override
+                public Iterator<Entry<Integer, Long>> iterator() {
+                    return new Iterator<Entry<Integer, Long>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < map.keys.length;
+                        }
+
+                        @Override
+                        public Entry<Integer, Long> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            final Integer key = map.keys[index];
+                            final long value = map.values[index];
+                            index++;
+                            return new ImmutableMapEntry<>(key, value);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return map.size();
+                }
+            };
+        }
+    }
+}
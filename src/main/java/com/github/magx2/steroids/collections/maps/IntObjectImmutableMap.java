@@ -0,0 +1,358 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable map with <code>int</code> keys and object values. Unlike
+ * <code>ImmutableMap&lt;Integer, ValueT&gt;</code> it does not box keys.
+ * <p>
+ * Keys are kept sorted in a primitive array and values in a parallel array, so lookups are binary searches and
+ * entries are iterated in ascending order of keys. Every <code>*ToNew</code> method copies arrays, but
+ * {@link #putToNew(int, Object)} of an existing key shares keys array with this map.
+ *
+ * @param <ValueT> Value type
+ */
+public final class IntObjectImmutableMap<ValueT> {
+    private static final IntObjectImmutableMap<?> EMPTY = new IntObjectImmutableMap<>(new int[0], new Object[0]);
+
+    private final int[] keys;
+    private final Object[] values;
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <V> IntObjectImmutableMap<V> empty() {
+        return (IntObjectImmutableMap<V>) EMPTY;
+    }
+
+    @NotNull
+    public static <V> IntObjectImmutableMap<V> from(@NotNull Map<Integer, ? extends V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map.isEmpty()) {
+            return empty();
+        }
+        final int[] keys = new int[map.size()];
+        int index = 0;
+        for (Integer key : map.keySet()) {
+            keys[index++] = requireNonNull(key, "Keys cannot be null!");
+        }
+        Arrays.sort(keys);
+        final Object[] values = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = map.get(keys[i]);
+        }
+        return new IntObjectImmutableMap<>(keys, values);
+    }
+
+    private IntObjectImmutableMap(@NotNull final int[] keys, @NotNull final Object[] values) {
+        this.keys = requireNonNull(keys);
+        this.values = requireNonNull(values);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public boolean containsKey(final int key) {
+        return Arrays.binarySearch(keys, key) >= 0;
+    }
+
+    public boolean containsValue(final Object value) {
+        for (Object v : values) {
+            if (Objects.equals(v, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param key key to look for
+     * @return value for given key or <code>null</code> if there is no such key
+     */
+    public ValueT get(final int key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * @param key          key to look for
+     * @param defaultValue value to return if there is no such key
+     * @return value for given key or <code>defaultValue</code> if there is no such key
+     */
+    @SuppressWarnings("unchecked")
+    public ValueT getOrDefault(final int key, final ValueT defaultValue) {
+        final int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? (ValueT) values[index] : defaultValue;
+    }
+
+    /**
+     * Calls given consumer for every entry in ascending order of keys.
+     *
+     * @param consumer consumer of entries
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull final EntryConsumer<? super ValueT> consumer) {
+        requireNonNull(consumer, "consumer cannot be null!");
+        for (int i = 0; i < keys.length; i++) {
+            consumer.accept(keys[i], (ValueT) values[i]);
+        }
+    }
+
+    /**
+     * Create new map from this one that will contains given entry.
+     *
+     * @param key   entry key
+     * @param value entry value
+     * @return new map that has given entry
+     */
+    @NotNull
+    public IntObjectImmutableMap<ValueT> putToNew(final int key, final ValueT value) {
+        final int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            if (values[index] == value) {
+                return this;
+            }
+            final Object[] newValues = values.clone();
+            newValues[index] = value;
+            return new IntObjectImmutableMap<>(keys, newValues);
+        }
+        final int insertionPoint = -(index + 1);
+        final int[] newKeys = new int[keys.length + 1];
+        final Object[] newValues = new Object[values.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertionPoint);
+        System.arraycopy(values, 0, newValues, 0, insertionPoint);
+        newKeys[insertionPoint] = key;
+        newValues[insertionPoint] = value;
+        System.arraycopy(keys, insertionPoint, newKeys, insertionPoint + 1, keys.length - insertionPoint);
+        System.arraycopy(values, insertionPoint, newValues, insertionPoint + 1, values.length - insertionPoint);
+        return new IntObjectImmutableMap<>(newKeys, newValues);
+    }
+
+    /**
+     * Create new map from this one that will contains all entries from given map. Values from given map replace
+     * values from this one.
+     *
+     * @param map a map to add to new map
+     * @return new map with entries from both maps
+     */
+    @NotNull
+    public IntObjectImmutableMap<ValueT> putAllToNew(@NotNull final IntObjectImmutableMap<? extends ValueT> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map.isEmpty()) {
+            return this;
+        }
+        // merge two sorted arrays
+        final int[] newKeys = new int[keys.length + map.keys.length];
+        final Object[] newValues = new Object[newKeys.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < keys.length || j < map.keys.length) {
+            if (j == map.keys.length || (i < keys.length && keys[i] < map.keys[j])) {
+                newKeys[size] = keys[i];
+                newValues[size++] = values[i++];
+            } else {
+                if (i < keys.length && keys[i] == map.keys[j]) {
+                    i++;
+                }
+                newKeys[size] = map.keys[j];
+                newValues[size++] = map.values[j++];
+            }
+        }
+        if (size == newKeys.length) {
+            return new IntObjectImmutableMap<>(newKeys, newValues);
+        }
+        return new IntObjectImmutableMap<>(Arrays.copyOf(newKeys, size), Arrays.copyOf(newValues, size));
+    }
+
+    /**
+     * Create new map from this one that will not contains given key.
+     *
+     * @param key key to remove from new map
+     * @return new map that has not entry with given key
+     */
+    @NotNull
+    public IntObjectImmutableMap<ValueT> removeFromNew(final int key) {
+        final int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            return this;
+        }
+        if (keys.length == 1) {
+            return empty();
+        }
+        final int[] newKeys = new int[keys.length - 1];
+        final Object[] newValues = new Object[values.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+        return new IntObjectImmutableMap<>(newKeys, newValues);
+    }
+
+    /**
+     * Coverts to Map that is mutable.
+     *
+     * @return new map that is mutable.
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public Map<Integer, ValueT> toMutableMap() {
+        final Map<Integer, ValueT> map = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], (ValueT) values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Returns {@link ImmutableMap} view of this map. Keys are boxed on every access, so use it only to pass this map to
+     * code that requires {@link Map}.
+     *
+     * @return view of this map
+     */
+    @NotNull
+    public ImmutableMap<Integer, ValueT> asMap() {
+        return new MapView<>(this);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final IntObjectImmutableMap<?> that = (IntObjectImmutableMap<?>) o;
+
+        if (!Arrays.equals(keys, that.keys)) return false;
+        return Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return asMap().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final StringJoiner joiner = new StringJoiner(", ", IntObjectImmutableMap.class.getSimpleName() + "[", "]");
+        for (int i = 0; i < keys.length; i++) {
+            joiner.add(keys[i] + "=" + values[i]);
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Consumer of entries with <code>int</code> keys.
+     *
+     * @param <V> Value type
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    private static final class MapView<V> extends AbstractImmutableMap<Integer, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final IntObjectImmutableMap<V> map;
+
+        private MapView(final IntObjectImmutableMap<V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public V get(final Object key) {
+            return key instanceof Integer ? map.get((Integer) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof Integer && map.containsKey((Integer) key);
+        }
+
+        @Override
+        public boolean containsValue(final Object value) {
+            return map.containsValue(value);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        /**
+         * @throws NullPointerException if key is <code>null</code>
+         */
+        @NotNull
+        @Override
+        public ImmutableMap<Integer, V> putToNew(final Integer key, final V value) {
+            return map.putToNew(requireNonNull(key, "Keys cannot be null!"), value).asMap();
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<Integer, V> putAllToNew(@NotNull final Map<Integer, V> map) {
+            return this.map.putAllToNew(from(map)).asMap();
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<Integer, V> removeFromNew(final Integer key) {
+            // there is never a null key, so there is nothing to remove
+            return key == null ? this : map.removeFromNew(key).asMap();
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap.Builder<Integer, V> toBuilder() {
+            return new HashMapBuilder<>(this, newMap -> IntObjectImmutableMap.<V>from(newMap).asMap());
+        }
+
+        @Override
+        public Set<Entry<Integer, V>> entrySet() {
+            return new AbstractSet<Entry<Integer, V>>() {
+                @Override
+                public Iterator<Entry<Integer, V>> iterator() {
+                    return new Iterator<Entry<Integer, V>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < map.keys.length;
+                        }
+
+                        @SuppressWarnings("unchecked")
+                        @Override
+                        public Entry<Integer, V> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            final Integer key = map.keys[index];
+                            final V value = (V) map.values[index];
+                            index++;
+                            return new ImmutableMapEntry<>(key, value);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return map.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.util.function.BiConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Validates <code>key, value, key, value, ...</code> arrays used by <code>from(Class, Class, Object...)</code>
+ * factories.
+ */
+final class KeyValues {
+    /**
+     * This is an utils class. Never instantiate it.
+     */
+    private KeyValues() {
+    }
+
+    /**
+     * Checks types of all keys and values and passes every pair to given consumer.
+     *
+     * @param keyClass   class of keys
+     * @param valueClass class of values
+     * @param keyValues  array of <code>key, value, key, value, ...</code>
+     * @param consumer   consumer of casted pairs
+     * @param <K>        key type
+     * @param <V>        value type
+     * @throws IllegalArgumentException if number of items is not even or some item has bad type
+     */
+    static <K, V> void forEachPair(@NotNull final Class<K> keyClass,
+                                   @NotNull final Class<V> valueClass,
+                                   @NotNull final Object[] keyValues,
+                                   @NotNull final BiConsumer<K, V> consumer) {
+        requireNonNull(keyClass, "keyClass cannot be null!");
+        requireNonNull(valueClass, "valueClass cannot be null!");
+        requireNonNull(keyValues, "keyValues cannot be null!");
+        if (keyValues.length % 2 != 0) {
+            throw new IllegalArgumentException(
+                    "Number of items in `keyValues` needs to be even! " +
+                            "Got " + keyValues.length + " elements in list.");
+        }
+        for (int i = 0; i < keyValues.length - 1; i += 2) {
+            final Object key = keyValues[i];
+            final Object value = keyValues[i + 1];
+            if (!keyClass.isInstance(key)) {
+                throw new IllegalArgumentException(
+                        "Key at index " + i + " is not type of `" + keyClass.getCanonicalName() + "`! Key=" + key);
+            }
+            if (!valueClass.isInstance(value)) {
+                throw new IllegalArgumentException(
+                        "Value at index " + (i + 1) + " is not type of `" + valueClass.getCanonicalName() + "`! " +
+                                "Value=" + value);
+            }
+            consumer.accept(keyClass.cast(key), valueClass.cast(value));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Changes between two versions of a map.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ * @see ImmutableMap#diff(ImmutableMap)
+ */
+public final class MapDiff<KeyT, ValueT> {
+    private final ImmutableMap<KeyT, ValueT> added;
+    private final ImmutableMap<KeyT, ValueT> removed;
+    private final ImmutableMap<KeyT, ValueChange<ValueT>> changed;
+
+    /**
+     * Compares all entries of given maps. It takes <code>O(n)</code>, but it works for every {@link Map}.
+     *
+     * @param oldMap old version of the map
+     * @param newMap new version of the map
+     * @param <K>    Key type
+     * @param <V>    Value type
+     * @return changes that need to be done to old map to get new map
+     */
+    @NotNull
+    public static <K, V> MapDiff<K, V> between(@NotNull final Map<K, V> oldMap, @NotNull final Map<K, V> newMap) {
+        requireNonNull(oldMap, "oldMap cannot be null!");
+        requireNonNull(newMap, "newMap cannot be null!");
+        final Accumulator<K, V> accumulator = new Accumulator<>();
+        if (oldMap == newMap) {
+            return accumulator.build();
+        }
+        for (Map.Entry<K, V> entry : oldMap.entrySet()) {
+            if (newMap.containsKey(entry.getKey())) {
+                accumulator.changed(entry.getKey(), entry.getValue(), newMap.get(entry.getKey()));
+            } else {
+                accumulator.removed(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<K, V> entry : newMap.entrySet()) {
+            if (!oldMap.containsKey(entry.getKey())) {
+                accumulator.added(entry.getKey(), entry.getValue());
+            }
+        }
+        return accumulator.build();
+    }
+
+    private MapDiff(@NotNull final ImmutableMap<KeyT, ValueT> added,
+                    @NotNull final ImmutableMap<KeyT, ValueT> removed,
+                    @NotNull final ImmutableMap<KeyT, ValueChange<ValueT>> changed) {
+        this.added = requireNonNull(added);
+        this.removed = requireNonNull(removed);
+        this.changed = requireNonNull(changed);
+    }
+
+    /**
+     * @return entries with keys that are only in new map
+     */
+    @NotNull
+    public ImmutableMap<KeyT, ValueT> getAdded() {
+        return added;
+    }
+
+    /**
+     * @return entries with keys that are only in old map
+     */
+    @NotNull
+    public ImmutableMap<KeyT, ValueT> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return old and new values of keys that are in both maps, but have not equal values
+     */
+    @NotNull
+    public ImmutableMap<KeyT, ValueChange<ValueT>> getChanged() {
+        return changed;
+    }
+
+    /**
+     * @return <code>true</code> if both maps are equal
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final MapDiff<?, ?> mapDiff = (MapDiff<?, ?>) o;
+        return added.equals(mapDiff.added) && removed.equals(mapDiff.removed) && changed.equals(mapDiff.changed);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(added, removed, changed);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", MapDiff.class.getSimpleName() + "[", "]")
+                       .add("added=" + added)
+                       .add("removed=" + removed)
+                       .add("changed=" + changed)
+                       .toString();
+    }
+
+    /**
+     * Old and new value of a key.
+     *
+     * @param <V> Value type
+     */
+    public static final class ValueChange<V> {
+        private final V oldValue;
+        private final V newValue;
+
+        public ValueChange(final V oldValue, final V newValue) {
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        public V getOldValue() {
+            return oldValue;
+        }
+
+        public V getNewValue() {
+            return newValue;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final ValueChange<?> that = (ValueChange<?>) o;
+            return Objects.equals(oldValue, that.oldValue) && Objects.equals(newValue, that.newValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(oldValue, newValue);
+        }
+
+        @Override
+        public String toString() {
+            return oldValue + "->" + newValue;
+        }
+    }
+
+    /**
+     * Collects changes found by comparing two maps.
+     */
+    static final class Accumulator<K, V> {
+        private final ImmutableMap.Builder<K, V> added = ImmutableMap.builder();
+        private final ImmutableMap.Builder<K, V> removed = ImmutableMap.builder();
+        private final ImmutableMap.Builder<K, ValueChange<V>> changed = ImmutableMap.builder();
+
+        void added(final K key, final V value) {
+            added.put(key, value);
+        }
+
+        void removed(final K key, final V value) {
+            removed.put(key, value);
+        }
+
+        /**
+         * Records change of a key that is in both maps. Does nothing if values are equal.
+         */
+        void changed(final K key, final V oldValue, final V newValue) {
+            if (!Objects.equals(oldValue, newValue)) {
+                changed.put(key, new ValueChange<>(oldValue, newValue));
+            }
+        }
+
+        MapDiff<K, V> build() {
+            return new MapDiff<>(added.build(), removed.build(), changed.build());
+        }
+    }
+}
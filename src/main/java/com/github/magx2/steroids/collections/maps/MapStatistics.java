@@ -0,0 +1,241 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Describes internal structure of an {@link ImmutableMap}. Returned from {@link ImmutableMap#stats()}.
+ * <p>
+ * Use it to find maps that are degenerate (long chains of colliding keys, deep tries) or take too much memory.
+ * Memory is estimated for 64-bit JVM with compressed references and includes only the structure of the map, without
+ * keys and values.
+ */
+public final class MapStatistics {
+    static final int REFERENCE_BYTES = 4;
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int ALIGNMENT = 8;
+
+    private final String implementation;
+    private final int size;
+    private final int capacity;
+    private final int nodes;
+    private final int maxChainLength;
+    private final int[] depthHistogram;
+    private final long estimatedBytes;
+
+    private MapStatistics(@NotNull final String implementation,
+                          final int size,
+                          final int capacity,
+                          final int nodes,
+                          final int maxChainLength,
+                          @NotNull final int[] depthHistogram,
+                          final long estimatedBytes) {
+        this.implementation = requireNonNull(implementation);
+        this.size = size;
+        this.capacity = capacity;
+        this.nodes = nodes;
+        this.maxChainLength = maxChainLength;
+        this.depthHistogram = requireNonNull(depthHistogram);
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Estimates size of an object with given fields.
+     *
+     * @param references     number of reference fields
+     * @param primitiveBytes number of bytes of all primitive fields
+     * @return estimated size of the object in bytes
+     */
+    static long objectBytes(final int references, final int primitiveBytes) {
+        return align(OBJECT_HEADER_BYTES + (long) references * REFERENCE_BYTES + primitiveBytes);
+    }
+
+    /**
+     * Estimates size of an array.
+     *
+     * @param length       length of the array
+     * @param elementBytes size of one element in bytes
+     * @return estimated size of the array in bytes
+     */
+    static long arrayBytes(final int length, final int elementBytes) {
+        return align(ARRAY_HEADER_BYTES + (long) length * elementBytes);
+    }
+
+    private static long align(final long bytes) {
+        return (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * @return simple name of the class of described map
+     */
+    @NotNull
+    public String getImplementation() {
+        return implementation;
+    }
+
+    /**
+     * @return number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return number of slots or buckets of the hash table, <code>0</code> if map is not a hash table
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return <code>size / capacity</code> or <code>0</code> if map is not a hash table
+     */
+    public double getLoadFactor() {
+        return capacity == 0 ? 0 : (double) size / capacity;
+    }
+
+    /**
+     * @return number of objects that map is built of: trie or tree nodes, buckets with entries or arrays
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the highest number of keys that has to be compared with looked up key: the longest probe sequence of
+     * open addressing tables, the longest bucket, the biggest node of colliding keys in tries or the height of trees.
+     *
+     * @return the longest chain of compared keys
+     */
+    public int getMaxChainLength() {
+        return maxChainLength;
+    }
+
+    /**
+     * Returns number of entries at every depth of the trie or tree. Flat maps keep all entries at depth <code>0</code>.
+     *
+     * @return number of entries at depth given by an index
+     */
+    @NotNull
+    public int[] getDepthHistogram() {
+        return depthHistogram.clone();
+    }
+
+    /**
+     * @return depth of the deepest entry
+     */
+    public int getMaxDepth() {
+        return Math.max(0, depthHistogram.length - 1);
+    }
+
+    /**
+     * @return estimated number of bytes taken by the structure of the map, without keys and values
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final MapStatistics that = (MapStatistics) o;
+        return size == that.size
+                       && capacity == that.capacity
+                       && nodes == that.nodes
+                       && maxChainLength == that.maxChainLength
+                       && estimatedBytes == that.estimatedBytes
+                       && implementation.equals(that.implementation)
+                       && Arrays.equals(depthHistogram, that.depthHistogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(implementation, size, capacity, nodes, maxChainLength, estimatedBytes)
+                       + Arrays.hashCode(depthHistogram);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", MapStatistics.class.getSimpleName() + "[", "]")
+                       .add("implementation=" + implementation)
+                       .add("size=" + size)
+                       .add("capacity=" + capacity)
+                       .add("nodes=" + nodes)
+                       .add("maxChainLength=" + maxChainLength)
+                       .add("depthHistogram=" + Arrays.toString(depthHistogram))
+                       .add("estimatedBytes=" + estimatedBytes)
+                       .toString();
+    }
+
+    /**
+     * Collects statistics while walking through the structure of a map.
+     */
+    static final class Accumulator {
+        private final String implementation;
+        private int size;
+        private int capacity;
+        private int nodes;
+        private int maxChainLength;
+        private int[] depthHistogram = new int[1];
+        private long bytes;
+
+        Accumulator(@NotNull final Object map) {
+            this.implementation = map.getClass().getSimpleName();
+        }
+
+        Accumulator size(final int size) {
+            this.size = size;
+            return this;
+        }
+
+        Accumulator capacity(final int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        Accumulator node() {
+            nodes++;
+            return this;
+        }
+
+        Accumulator nodes(final int nodes) {
+            this.nodes += nodes;
+            return this;
+        }
+
+        Accumulator chain(final int length) {
+            maxChainLength = Math.max(maxChainLength, length);
+            return this;
+        }
+
+        Accumulator entries(final int depth, final int count) {
+            if (count == 0) {
+                return this;
+            }
+            if (depth >= depthHistogram.length) {
+                depthHistogram = Arrays.copyOf(depthHistogram, depth + 1);
+            }
+            depthHistogram[depth] += count;
+            return this;
+        }
+
+        Accumulator bytes(final long bytes) {
+            this.bytes += bytes;
+            return this;
+        }
+
+        MapStatistics build() {
+            return new MapStatistics(implementation, size, capacity, nodes, maxChainLength, depthHistogram, bytes);
+        }
+    }
+}
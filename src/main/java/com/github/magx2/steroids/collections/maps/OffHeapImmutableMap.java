@@ -0,0 +1,530 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implementation of {@link ImmutableMap} that keeps encoded keys and values in direct {@link ByteBuffer}s, outside of
+ * Java heap. Use it for very big, read-only maps that would otherwise live forever in old generation.
+ * <p>
+ * Entries are stored one after another as <code>[hash, key length, key, value length, value]</code> and are indexed
+ * by an open addressing table of <code>[hash, offset]</code> slots. Keys and values are decoded with given
+ * {@link Codec}s only when they are read, so every {@link #get(Object)} creates new objects. Every
+ * <code>*ToNew</code> method copies all entries (as bytes, without decoding them).
+ * <p>
+ * All entries have to fit in 2GB of encoded bytes.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ */
+public final class OffHeapImmutableMap<KeyT, ValueT> extends AbstractImmutableMap<KeyT, ValueT> {
+    private static final long serialVersionUID = 1L;
+
+    private static final int SLOT_BYTES = 2 * Integer.BYTES;
+    private static final int EMPTY_SLOT = -1;
+    private static final int NOT_FOUND = -1;
+    private static final int NULL_LENGTH = -1;
+    private static final int MIN_CAPACITY = 2;
+    /**
+     * Data and index of every empty map.
+     */
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocateDirect(0).asReadOnlyBuffer();
+
+    private final ByteBuffer data;
+    private final ByteBuffer index;
+    private final int size;
+    private final Codec<KeyT> keyCodec;
+    private final Codec<ValueT> valueCodec;
+
+    @NotNull
+    public static <K, V> OffHeapImmutableMap<K, V> empty(@NotNull final Codec<K> keyCodec,
+                                                         @NotNull final Codec<V> valueCodec) {
+        requireNonNull(keyCodec, "keyCodec cannot be null!");
+        requireNonNull(valueCodec, "valueCodec cannot be null!");
+        return new OffHeapImmutableMap<>(EMPTY_BUFFER, EMPTY_BUFFER, 0, keyCodec, valueCodec);
+    }
+
+    @NotNull
+    public static <K, V> OffHeapImmutableMap<K, V> from(@NotNull final Map<K, V> map,
+                                                        @NotNull final Codec<K> keyCodec,
+                                                        @NotNull final Codec<V> valueCodec) {
+        requireNonNull(map, "Given map cannot be null!");
+        requireNonNull(keyCodec, "keyCodec cannot be null!");
+        requireNonNull(valueCodec, "valueCodec cannot be null!");
+        final DataWriter writer = new DataWriter();
+        for (Entry<K, V> entry : map.entrySet()) {
+            writer.write(entry.getKey(), entry.getValue(), keyCodec, valueCodec);
+        }
+        return writer.build(keyCodec, valueCodec);
+    }
+
+    /**
+     * Create new empty {@link ImmutableMap.Builder} that builds {@link OffHeapImmutableMap}.
+     *
+     * @param keyCodec   codec of keys
+     * @param valueCodec codec of values
+     * @param <K>        Key type
+     * @param <V>        Value type
+     * @return new empty builder
+     */
+    @NotNull
+    public static <K, V> ImmutableMap.Builder<K, V> builder(@NotNull final Codec<K> keyCodec,
+                                                             @NotNull final Codec<V> valueCodec) {
+        return empty(keyCodec, valueCodec).toBuilder();
+    }
+
+    /**
+     * Reads entries into heap buffer and copies them to direct buffer at once. The last value of duplicated key wins.
+     */
+    static <K, V> OffHeapImmutableMap<K, V> read(@NotNull final Codec<K> keyCodec,
+                                                 @NotNull final Codec<V> valueCodec,
+                                                 final ImmutableMapSerialization.EntryReader<K, V> reader)
+            throws IOException, ClassNotFoundException {
+        requireNonNull(keyCodec, "keyCodec cannot be null!");
+        requireNonNull(valueCodec, "valueCodec cannot be null!");
+        final DataWriter writer = new DataWriter();
+        for (int i = 0; i < reader.size(); i++) {
+            final K key = reader.readKey();
+            writer.write(key, reader.readValue(), keyCodec, valueCodec);
+        }
+        return writer.build(keyCodec, valueCodec);
+    }
+
+    private OffHeapImmutableMap(@NotNull final ByteBuffer data,
+                                @NotNull final ByteBuffer index,
+                                final int size,
+                                @NotNull final Codec<KeyT> keyCodec,
+                                @NotNull final Codec<ValueT> valueCodec) {
+        this.data = requireNonNull(data);
+        this.index = requireNonNull(index);
+        this.size = size;
+        this.keyCodec = requireNonNull(keyCodec);
+        this.valueCodec = requireNonNull(valueCodec);
+    }
+
+    /**
+     * @return key codec and value codec
+     */
+    Codec<?>[] codecs() {
+        return new Codec<?>[]{keyCodec, valueCodec};
+    }
+
+    /**
+     * Returns smallest power of 2 that keeps load factor below <code>2/3</code>.
+     */
+    private static int capacityFor(final int size) {
+        final int minCapacity = Math.max(MIN_CAPACITY, size + (size >> 1) + 1);
+        return Integer.highestOneBit(minCapacity - 1) << 1;
+    }
+
+    private static int hash(final Object key) {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    private static int slot(final int hash, final int slots) {
+        final int h = hash * 0x9E3779B9;
+        return (h ^ h >>> 16) & (slots - 1);
+    }
+
+    private int slots() {
+        return index.capacity() / SLOT_BYTES;
+    }
+
+    /**
+     * Returns offset of entry with given key or {@link #NOT_FOUND}.
+     */
+    private int offsetOf(final Object key) {
+        if (size == 0) {
+            // empty map has no slots
+            return NOT_FOUND;
+        }
+        final int hash = hash(key);
+        final int mask = slots() - 1;
+        int slot = slot(hash, slots());
+        while (true) {
+            final int offset = index.getInt(slot * SLOT_BYTES + Integer.BYTES);
+            if (offset == EMPTY_SLOT) {
+                return NOT_FOUND;
+            }
+            if (index.getInt(slot * SLOT_BYTES) == hash && Objects.equals(keyAt(offset), key)) {
+                return offset;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private KeyT keyAt(final int offset) {
+        return decode(offset + Integer.BYTES, keyCodec);
+    }
+
+    private ValueT valueAt(final int offset) {
+        return decode(valueOffset(offset), valueCodec);
+    }
+
+    private int valueOffset(final int offset) {
+        return offset + 2 * Integer.BYTES + Math.max(data.getInt(offset + Integer.BYTES), 0);
+    }
+
+    private int entryLength(final int offset) {
+        final int valueOffset = valueOffset(offset);
+        return valueOffset - offset + Integer.BYTES + Math.max(data.getInt(valueOffset), 0);
+    }
+
+    /**
+     * Decodes value that starts with its length at given offset.
+     */
+    private <T> T decode(final int offset, final Codec<T> codec) {
+        final int length = data.getInt(offset);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        return codec.decode(slice(offset + Integer.BYTES, length));
+    }
+
+    /**
+     * Uses absolute positions only, because this map can be read by many threads at once.
+     */
+    private ByteBuffer slice(final int offset, final int length) {
+        final ByteBuffer slice = data.duplicate();
+        slice.limit(offset + length);
+        slice.position(offset);
+        return slice.slice();
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<KeyT, ValueT> toBuilder() {
+        return new HashMapBuilder<>(this, map -> from(map, keyCodec, valueCodec));
+    }
+
+    @NotNull
+    @Override
+    public OffHeapImmutableMap<KeyT, ValueT> putToNew(final KeyT key, final ValueT value) {
+        final int offset = offsetOf(key);
+        if (offset != NOT_FOUND && Objects.equals(valueAt(offset), value)) {
+            return this;
+        }
+        final byte[] keyBytes = DataWriter.encode(key, keyCodec);
+        final byte[] valueBytes = DataWriter.encode(value, valueCodec);
+        final Set<Integer> replacedOffsets = offset == NOT_FOUND
+                ? Collections.emptySet()
+                : Collections.singleton(offset);
+        final DataWriter writer = copyWithout(replacedOffsets, DataWriter.entryLength(keyBytes, valueBytes));
+        writer.write(hash(key), keyBytes, valueBytes);
+        return writer.build(keyCodec, valueCodec);
+    }
+
+    @NotNull
+    @Override
+    public OffHeapImmutableMap<KeyT, ValueT> putAllToNew(@NotNull final Map<KeyT, ValueT> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map.isEmpty()) {
+            return this;
+        }
+        final Set<Integer> replacedOffsets = new HashSet<>();
+        for (KeyT key : map.keySet()) {
+            final int offset = offsetOf(key);
+            if (offset != NOT_FOUND) {
+                replacedOffsets.add(offset);
+            }
+        }
+        // new entries are encoded first, so the new direct buffer is allocated only once with the exact length
+        final DataWriter newEntries = new DataWriter();
+        for (Entry<KeyT, ValueT> entry : map.entrySet()) {
+            newEntries.write(entry.getKey(), entry.getValue(), keyCodec, valueCodec);
+        }
+        final DataWriter writer = copyWithout(replacedOffsets, newEntries.length());
+        writer.append(newEntries);
+        return writer.build(keyCodec, valueCodec);
+    }
+
+    @NotNull
+    @Override
+    public OffHeapImmutableMap<KeyT, ValueT> removeFromNew(final KeyT key) {
+        final int offset = offsetOf(key);
+        if (offset == NOT_FOUND) {
+            return this;
+        }
+        return copyWithout(Collections.singleton(offset), 0).build(keyCodec, valueCodec);
+    }
+
+    /**
+     * Copies bytes of all entries, except the ones at <code>skipOffsets</code>, to new writer with direct buffer that
+     * has room for exactly <code>additionalBytes</code> more.
+     */
+    private DataWriter copyWithout(final Set<Integer> skipOffsets, final int additionalBytes) {
+        long bytes = (long) data.limit() + additionalBytes;
+        for (int offset : skipOffsets) {
+            bytes -= entryLength(offset);
+        }
+        final DataWriter writer = new DataWriter(DataWriter.checkLength(bytes));
+        for (int offset = 0; offset < data.limit(); offset += entryLength(offset)) {
+            if (!skipOffsets.contains(offset)) {
+                writer.copy(this, offset);
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Estimated bytes include direct buffers with encoded keys and values.
+     */
+    @NotNull
+    @Override
+    public MapStatistics stats() {
+        final int slots = slots();
+        final MapStatistics.Accumulator accumulator = new MapStatistics.Accumulator(this)
+                .size(size)
+                .capacity(slots)
+                .nodes(2)
+                .entries(0, size)
+                .bytes(MapStatistics.objectBytes(4, Integer.BYTES) + data.capacity() + index.capacity());
+        for (int slot = 0; slot < slots; slot++) {
+            if (index.getInt(slot * SLOT_BYTES + Integer.BYTES) != EMPTY_SLOT) {
+                // number of slots from the slot where the key wants to be to the slot where it is
+                accumulator.chain(((slot - slot(index.getInt(slot * SLOT_BYTES), slots)) & (slots - 1)) + 1);
+            }
+        }
+        return accumulator.build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return offsetOf(key) != NOT_FOUND;
+    }
+
+    @Override
+    public ValueT get(final Object key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    public ValueT getOrDefault(final Object key, final ValueT defaultValue) {
+        final int offset = offsetOf(key);
+        return offset != NOT_FOUND ? valueAt(offset) : defaultValue;
+    }
+
+    @Override
+    public Set<Entry<KeyT, ValueT>> entrySet() {
+        return new AbstractSet<Entry<KeyT, ValueT>>() {
+            @Override
+            public Iterator<Entry<KeyT, ValueT>> iterator() {
+                return new Iterator<Entry<KeyT, ValueT>>() {
+                    private int offset;
+
+                    @Override
+                    public boolean hasNext() {
+                        return offset < data.limit();
+                    }
+
+                    @Override
+                    public Entry<KeyT, ValueT> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final Entry<KeyT, ValueT> entry = new ImmutableMapEntry<>(keyAt(offset), valueAt(offset));
+                        offset += entryLength(offset);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                final Entry<?, ?> entry = (Entry<?, ?>) o;
+                final int offset = offsetOf(entry.getKey());
+                return offset != NOT_FOUND && Objects.equals(valueAt(offset), entry.getValue());
+            }
+        };
+    }
+
+    /**
+     * Writes entries one after another and then builds index for them.
+     * <p>
+     * Direct memory is allocated only for bytes that entries really take. When their length is known up front, they
+     * are written straight to direct buffer of that length. Otherwise they are collected in heap buffer that grows with
+     * written bytes and copied to direct buffer once, in {@link #build}.
+     */
+    private static final class DataWriter {
+        private static final int INITIAL_HEAP_BYTES = 256;
+        /**
+         * Some JVMs cannot allocate arrays of {@link Integer#MAX_VALUE} elements.
+         */
+        private static final int MAX_HEAP_BYTES = Integer.MAX_VALUE - 8;
+
+        private ByteBuffer buffer;
+        private int size;
+
+        /**
+         * Creates writer that collects entries in heap buffer.
+         */
+        private DataWriter() {
+            buffer = ByteBuffer.allocate(INITIAL_HEAP_BYTES);
+        }
+
+        /**
+         * Creates writer that writes entries straight to direct buffer of given number of bytes.
+         */
+        private DataWriter(final int bytes) {
+            buffer = ByteBuffer.allocateDirect(bytes);
+        }
+
+        private static int checkLength(final long bytes) {
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Entries of OffHeapImmutableMap cannot take more than "
+                                                        + Integer.MAX_VALUE + " bytes!");
+            }
+            return (int) bytes;
+        }
+
+        private static <T> byte[] encode(final T value, final Codec<T> codec) {
+            return value == null ? null : codec.encode(value);
+        }
+
+        private static int entryLength(final byte[] keyBytes, final byte[] valueBytes) {
+            return 3 * Integer.BYTES + length(keyBytes) + length(valueBytes);
+        }
+
+        private static int length(final byte[] bytes) {
+            return bytes == null ? 0 : bytes.length;
+        }
+
+        /**
+         * @return number of bytes written so far
+         */
+        private int length() {
+            return buffer.position();
+        }
+
+        private void ensureCapacity(final int additionalBytes) {
+            final long required = (long) buffer.position() + additionalBytes;
+            if (required <= buffer.capacity()) {
+                return;
+            }
+            checkLength(required);
+            if (buffer.isDirect()) {
+                throw new IllegalStateException("Direct buffer of OffHeapImmutableMap was allocated too small!");
+            }
+            final ByteBuffer newBuffer = ByteBuffer.allocate(
+                    (int) Math.min(MAX_HEAP_BYTES, Math.max(required, 2L * buffer.capacity())));
+            buffer.flip();
+            newBuffer.put(buffer);
+            buffer = newBuffer;
+        }
+
+        private <K, V> void write(final K key, final V value, final Codec<K> keyCodec, final Codec<V> valueCodec) {
+            write(hash(key), encode(key, keyCodec), encode(value, valueCodec));
+        }
+
+        private void write(final int hash, final byte[] keyBytes, final byte[] valueBytes) {
+            ensureCapacity(entryLength(keyBytes, valueBytes));
+            buffer.putInt(hash);
+            put(keyBytes);
+            put(valueBytes);
+            size++;
+        }
+
+        private void put(final byte[] bytes) {
+            if (bytes == null) {
+                buffer.putInt(NULL_LENGTH);
+            } else {
+                buffer.putInt(bytes.length);
+                buffer.put(bytes);
+            }
+        }
+
+        private void copy(final OffHeapImmutableMap<?, ?> map, final int offset) {
+            final int length = map.entryLength(offset);
+            ensureCapacity(length);
+            buffer.put(map.slice(offset, length));
+            size++;
+        }
+
+        /**
+         * Copies all entries of given writer to this one.
+         */
+        private void append(final DataWriter writer) {
+            ensureCapacity(writer.length());
+            final ByteBuffer bytes = writer.buffer.duplicate();
+            bytes.flip();
+            buffer.put(bytes);
+            size += writer.size;
+        }
+
+        private <K, V> OffHeapImmutableMap<K, V> build(final Codec<K> keyCodec, final Codec<V> valueCodec) {
+            ByteBuffer data = buffer;
+            buffer = null;
+            data.flip();
+            if (size == 0) {
+                return empty(keyCodec, valueCodec);
+            }
+            if (!data.isDirect()) {
+                // the only copy to direct memory, of exactly the bytes of entries
+                data = ByteBuffer.allocateDirect(data.limit()).put(data);
+                data.flip();
+            }
+            final int slots = capacityFor(size);
+            if (slots > Integer.MAX_VALUE / SLOT_BYTES) {
+                throw new IllegalStateException("OffHeapImmutableMap cannot have " + size + " entries!");
+            }
+            final ByteBuffer index = ByteBuffer.allocateDirect(slots * SLOT_BYTES);
+            for (int slot = 0; slot < slots; slot++) {
+                index.putInt(slot * SLOT_BYTES + Integer.BYTES, EMPTY_SLOT);
+            }
+            final OffHeapImmutableMap<K, V> map = new OffHeapImmutableMap<>(
+                    data.asReadOnlyBuffer(), index, size, keyCodec, valueCodec);
+            final Set<Integer> replacedOffsets = new HashSet<>();
+            for (int offset = 0; offset < data.limit(); offset += map.entryLength(offset)) {
+                final int hash = data.getInt(offset);
+                int slot = slot(hash, slots);
+                int replacedOffset;
+                while ((replacedOffset = index.getInt(slot * SLOT_BYTES + Integer.BYTES)) != EMPTY_SLOT) {
+                    if (index.getInt(slot * SLOT_BYTES) == hash
+                                && Objects.equals(map.keyAt(replacedOffset), map.keyAt(offset))) {
+                        replacedOffsets.add(replacedOffset);
+                        break;
+                    }
+                    slot = (slot + 1) & (slots - 1);
+                }
+                index.putInt(slot * SLOT_BYTES, hash);
+                index.putInt(slot * SLOT_BYTES + Integer.BYTES, offset);
+            }
+            if (!replacedOffsets.isEmpty()) {
+                // the same key was written more than once, so only its last entry is copied to new map
+                return map.copyWithout(replacedOffsets, 0).build(keyCodec, valueCodec);
+            }
+            return map;
+        }
+    }
+}
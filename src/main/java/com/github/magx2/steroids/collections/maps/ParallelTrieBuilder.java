@@ -0,0 +1,188 @@
+package com.github.magx2.steroids.collections.maps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+import static com.github.magx2.steroids.collections.maps.HashTrieNode.BIT_PARTITION_SIZE;
+import static com.github.magx2.steroids.collections.maps.HashTrieNode.hash;
+import static com.github.magx2.steroids.collections.maps.HashTrieNode.mask;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builds {@link HashTrieImmutableMap} on many threads of {@link ForkJoinPool}.
+ * <p>
+ * The first {@value HashTrieNode#BIT_PARTITION_SIZE} bits of the key hash choose the slot in the root node, so
+ * entries are split into 32 partitions by those bits (a counting sort that keeps the order of entries). Every partition
+ * is built as a separate sub trie on its own thread and the root node is assembled from them at the end. Keys are
+ * hashed only once and no entry is inserted twice. The trie is the same as the one built by putting entries one by
+ * one into {@link HashTrieImmutableMap.TrieBuilder}, so the last value of duplicated key wins.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+final class ParallelTrieBuilder<K, V> {
+    /**
+     * Below this number of entries (or with a pool of one thread) the map is built on the calling thread, because
+     * splitting the work costs more than it saves.
+     */
+    static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+    private static final int PARTITIONS = 1 << BIT_PARTITION_SIZE;
+    private static final int MIN_CHUNK_SIZE = 1 << 12;
+
+    private final Object[] entries;
+    private final int parallelism;
+    private final int[] hashes;
+    private final int[] order;
+    /**
+     * <code>partitionStarts[p]</code> is the index in {@link #order} of the first entry of partition <code>p</code>.
+     */
+    private final int[] partitionStarts = new int[PARTITIONS + 1];
+    private final HashTrieNode<?, ?>[] partitions = new HashTrieNode<?, ?>[PARTITIONS];
+    private final int[] partitionSizes = new int[PARTITIONS];
+
+    private ParallelTrieBuilder(final Object[] entries, final int parallelism) {
+        this.entries = entries;
+        this.parallelism = parallelism;
+        this.hashes = new int[entries.length];
+        this.order = new int[entries.length];
+    }
+
+    /**
+     * @param entries array of {@link Map.Entry}; it is not changed
+     */
+    static <K, V> HashTrieImmutableMap<K, V> build(final Object[] entries, final ForkJoinPool pool) {
+        if (entries.length < SEQUENTIAL_THRESHOLD || pool.getParallelism() == 1) {
+            final HashTrieImmutableMap.TrieBuilder<K, V> builder =
+                    new HashTrieImmutableMap.TrieBuilder<>(HashTrieNode.emptyNode(), 0);
+            for (Object element : entries) {
+                final Map.Entry<K, V> entry = entry(element);
+                builder.put(entry.getKey(), entry.getValue());
+            }
+            return builder.build();
+        }
+        final ParallelTrieBuilder<K, V> builder = new ParallelTrieBuilder<>(entries, pool.getParallelism());
+        final Callable<HashTrieImmutableMap<K, V>> build = builder::build;
+        return pool.invoke(ForkJoinTask.adapt(build));
+    }
+
+    /**
+     * Checks entries on the calling thread, so the exception is not wrapped by {@link ForkJoinTask}.
+     *
+     * @return given entries
+     */
+    static Object[] requireNonNullEntries(final Object[] entries) {
+        for (Object entry : entries) {
+            requireNonNull(entry, "Entry cannot be null!");
+        }
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map.Entry<K, V> entry(final Object entry) {
+        return (Map.Entry<K, V>) entry;
+    }
+
+    private HashTrieImmutableMap<K, V> build() {
+        final int chunks = Math.max(1, Math.min(parallelism * 4, entries.length / MIN_CHUNK_SIZE));
+        final int[][] counts = new int[chunks][PARTITIONS];
+        runAll(chunks, chunk -> hashChunk(chunk, chunks, counts[chunk]));
+        // counts become offsets, chunk by chunk inside every partition, so the scatter keeps the order of entries
+        int offset = 0;
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            partitionStarts[partition] = offset;
+            for (int[] chunkCounts : counts) {
+                final int count = chunkCounts[partition];
+                chunkCounts[partition] = offset;
+                offset += count;
+            }
+        }
+        partitionStarts[PARTITIONS] = offset;
+        runAll(chunks, chunk -> scatterChunk(chunk, chunks, counts[chunk]));
+        runAll(PARTITIONS, this::buildPartition);
+        return assemble();
+    }
+
+    private int chunkStart(final int chunk, final int chunks) {
+        return (int) ((long) entries.length * chunk / chunks);
+    }
+
+    private void hashChunk(final int chunk, final int chunks, final int[] counts) {
+        final int end = chunkStart(chunk + 1, chunks);
+        for (int i = chunkStart(chunk, chunks); i < end; i++) {
+            final int hash = hash(entry(entries[i]).getKey());
+            hashes[i] = hash;
+            counts[mask(hash, 0)]++;
+        }
+    }
+
+    private void scatterChunk(final int chunk, final int chunks, final int[] offsets) {
+        final int end = chunkStart(chunk + 1, chunks);
+        for (int i = chunkStart(chunk, chunks); i < end; i++) {
+            order[offsets[mask(hashes[i], 0)]++] = i;
+        }
+    }
+
+    private void buildPartition(final int partition) {
+        // nobody else sees this owner, so nodes of the partition are changed in place while it is built
+        final Object owner = new Object();
+        HashTrieNode<K, V> node = HashTrieNode.emptyNode();
+        int size = 0;
+        for (int i = partitionStarts[partition]; i < partitionStarts[partition + 1]; i++) {
+            final Map.Entry<K, V> entry = entry(entries[order[i]]);
+            final HashTrieNode.Details<V> details = new HashTrieNode.Details<>();
+            node = node.updated(owner, entry.getKey(), entry.getValue(), hashes[order[i]], BIT_PARTITION_SIZE,
+                    details);
+            if (details.isModified() && !details.isReplaced()) {
+                size++;
+            }
+        }
+        partitions[partition] = node;
+        partitionSizes[partition] = size;
+    }
+
+    /**
+     * Creates root node like {@link HashTrieNode#union} does: partitions with one entry are inlined into the root,
+     * others become its sub nodes.
+     */
+    private HashTrieImmutableMap<K, V> assemble() {
+        int dataMap = 0;
+        int nodeMap = 0;
+        int size = 0;
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            size += partitionSizes[partition];
+            if (partitionSizes[partition] == 1) {
+                dataMap |= HashTrieNode.bitpos(partition);
+            } else if (partitionSizes[partition] > 1) {
+                nodeMap |= HashTrieNode.bitpos(partition);
+            }
+        }
+        // entries go first, nodes are kept at the end in reversed order
+        final Object[] content = new Object[2 * Integer.bitCount(dataMap) + Integer.bitCount(nodeMap)];
+        int entriesLength = 0;
+        int nodesLength = 0;
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            if (partitionSizes[partition] == 1) {
+                content[entriesLength++] = partitions[partition].getKey(0);
+                content[entriesLength++] = partitions[partition].getValue(0);
+            } else if (partitionSizes[partition] > 1) {
+                content[content.length - 1 - nodesLength++] = partitions[partition];
+            }
+        }
+        final HashTrieNode<K, V> root = new HashTrieNode.BitmapIndexedNode<>(null, dataMap, nodeMap, content);
+        return new HashTrieImmutableMap.TrieBuilder<>(root, size).build();
+    }
+
+    private static void runAll(final int tasks, final IntConsumer task) {
+        final List<ForkJoinTask<?>> forks = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            final int index = i;
+            forks.add(ForkJoinTask.adapt(() -> task.accept(index)));
+        }
+        ForkJoinTask.invokeAll(forks);
+    }
+}
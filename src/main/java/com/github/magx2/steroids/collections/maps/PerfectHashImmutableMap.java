@@ -0,0 +1,645 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implementation of {@link ImmutableMap} for big static dictionaries that are built once and read many times.
+ * <p>
+ * While building, it computes a minimal perfect hash function of all keys (CHD - hash, displace and compress): keys
+ * are split into small buckets and every bucket gets a displacement that sends all its keys to free slots. Keys and
+ * values are kept in two arrays that are exactly as long as the map, with one <code>int</code> displacement per
+ * {@value #KEYS_PER_BUCKET} keys (8 bits per key). {@link #get(Object)} computes the slot from the hash code and its
+ * bucket displacement and checks only one key.
+ * <p>
+ * Keys with the same {@link Object#hashCode()} cannot be told apart by the perfect hash function, so all of them
+ * except one are kept in a small {@link CompactImmutableMap}. New keys added by {@link #putToNew(Object, Object)} also
+ * go there, until there are too many of them and the perfect hash function is built again. Building takes
+ * <code>O(n)</code>, so prefer {@link CompactImmutableMap} for maps that are changed.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ */
+public final class PerfectHashImmutableMap<KeyT, ValueT> extends AbstractImmutableMap<KeyT, ValueT> {
+    private static final long serialVersionUID = 1L;
+
+    private static final int KEYS_PER_BUCKET = 4;
+    /**
+     * Number of displacements tried for one bucket, before building starts again with another salt.
+     */
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+    private static final int MAX_ATTEMPTS = 32;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+    private static final PerfectHashImmutableMap<?, ?> EMPTY = new PerfectHashImmutableMap<>(
+            0, new int[1], new Object[0], new Object[0], CompactImmutableMap.empty(), 0);
+
+    private final int salt;
+    /**
+     * Displacement of every bucket. Negative displacement <code>~slot</code> is the slot of the only key of the
+     * bucket.
+     */
+    private final int[] displacements;
+    private final Object[] keys;
+    private final Object[] values;
+    /**
+     * Keys that are not in {@link #keys}: keys with duplicated hash codes and keys added after building.
+     */
+    private final CompactImmutableMap<KeyT, ValueT> overflow;
+    /**
+     * Size of {@link #overflow} right after building; only keys added later count towards building again.
+     */
+    private final int builtOverflow;
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K, V> PerfectHashImmutableMap<K, V> empty() {
+        return (PerfectHashImmutableMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K, V> PerfectHashImmutableMap<K, V> from(@NotNull Map<K, V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map instanceof PerfectHashImmutableMap) {
+            return (PerfectHashImmutableMap<K, V>) map;
+        }
+        final Object[] keys = new Object[map.size()];
+        final Object[] values = new Object[map.size()];
+        int size = 0;
+        for (Entry<K, V> entry : map.entrySet()) {
+            keys[size] = entry.getKey();
+            values[size] = entry.getValue();
+            size++;
+        }
+        return build(keys, values, size);
+    }
+
+    @NotNull
+    public static <K, V> PerfectHashImmutableMap<K, V> from(@NotNull Class<K> keyClass,
+                                                            @NotNull Class<V> valueClass,
+                                                            @NotNull Object... keyValues) {
+        final Map<K, V> map = new LinkedHashMap<>();
+        KeyValues.forEachPair(keyClass, valueClass, keyValues, map::put);
+        return from(map);
+    }
+
+    /**
+     * Create new empty {@link ImmutableMap.Builder} that builds {@link PerfectHashImmutableMap}.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return new empty builder
+     */
+    @NotNull
+    public static <K, V> ImmutableMap.Builder<K, V> builder() {
+        return new HashMapBuilder<>(empty(), PerfectHashImmutableMap::from);
+    }
+
+    /**
+     * Reads entries into {@link CompactImmutableMap}, where the last value of duplicated key wins, and builds perfect
+     * hash function of them.
+     */
+    static <K, V> PerfectHashImmutableMap<K, V> read(final ImmutableMapSerialization.EntryReader<K, V> reader)
+            throws IOException, ClassNotFoundException {
+        return from(CompactImmutableMap.read(reader));
+    }
+
+    private PerfectHashImmutableMap(final int salt,
+                                    @NotNull final int[] displacements,
+                                    @NotNull final Object[] keys,
+                                    @NotNull final Object[] values,
+                                    @NotNull final CompactImmutableMap<KeyT, ValueT> overflow,
+                                    final int builtOverflow) {
+        this.salt = salt;
+        this.displacements = requireNonNull(displacements);
+        this.keys = requireNonNull(keys);
+        this.values = requireNonNull(values);
+        this.overflow = requireNonNull(overflow);
+        this.builtOverflow = builtOverflow;
+    }
+
+    /**
+     * Builds perfect hash function of first <code>size</code> keys. Keys have to be distinct.
+     */
+    private static <K, V> PerfectHashImmutableMap<K, V> build(final Object[] keys,
+                                                              final Object[] values,
+                                                              final int size) {
+        if (size == 0) {
+            return empty();
+        }
+        final int[] hashes = new int[size];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = Objects.hashCode(keys[i]);
+        }
+        int salt = 0;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            final PerfectHashImmutableMap<K, V> map = tryBuild(salt, hashes, keys, values, size);
+            if (map != null) {
+                return map;
+            }
+            salt += GOLDEN_RATIO;
+        }
+        throw new IllegalStateException("Cannot build perfect hash function of " + size + " keys!");
+    }
+
+    /**
+     * @return new map or <code>null</code> if some bucket cannot be displaced with given salt
+     */
+    private static <K, V> PerfectHashImmutableMap<K, V> tryBuild(final int salt,
+                                                                 final int[] hashes,
+                                                                 final Object[] keys,
+                                                                 final Object[] values,
+                                                                 final int size) {
+        final int bucketCount = (size + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET;
+        // sort keys by buckets: keys of bucket b are order[bucketStart[b]] ... order[bucketStart[b] + bucketSize[b]]
+        final int[] bucketStart = new int[bucketCount + 1];
+        for (int i = 0; i < size; i++) {
+            bucketStart[bucket(salt, hashes[i], bucketCount) + 1]++;
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        final int[] order = new int[size];
+        final int[] bucketSize = new int[bucketCount];
+        for (int i = 0; i < size; i++) {
+            final int b = bucket(salt, hashes[i], bucketCount);
+            order[bucketStart[b] + bucketSize[b]++] = i;
+        }
+
+        // keys with duplicated hash codes always get the same slot, so move them to overflow
+        final Map<K, V> overflow = new LinkedHashMap<>();
+        int maxBucketSize = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            final int start = bucketStart[b];
+            int newSize = 0;
+            for (int i = 0; i < bucketSize[b]; i++) {
+                final int key = order[start + i];
+                if (hasHash(hashes, order, start, newSize, hashes[key])) {
+                    overflow.put(key(keys[key]), value(values[key]));
+                } else {
+                    order[start + newSize++] = key;
+                }
+            }
+            bucketSize[b] = newSize;
+            maxBucketSize = Math.max(maxBucketSize, newSize);
+        }
+        final int slotCount = size - overflow.size();
+
+        // place the biggest buckets first, while there are many free slots
+        final int[] bucketsBySize = sortBySize(bucketSize, maxBucketSize);
+        final int[] displacements = new int[bucketCount];
+        final long[] taken = new long[(slotCount + 63) >>> 6];
+        final int[] slots = new int[maxBucketSize];
+        final Object[] newKeys = new Object[slotCount];
+        final Object[] newValues = new Object[slotCount];
+        int freeSlot = 0;
+        for (int b : bucketsBySize) {
+            final int start = bucketStart[b];
+            if (bucketSize[b] == 1) {
+                // the only key can go to any free slot, so remember the slot instead of a displacement
+                while ((taken[freeSlot >>> 6] & 1L << freeSlot) != 0) {
+                    freeSlot++;
+                }
+                displacements[b] = ~freeSlot;
+                place(taken, freeSlot, order[start], keys, values, newKeys, newValues);
+                continue;
+            }
+            final int displacement =
+                    findDisplacement(salt, hashes, order, start, bucketSize[b], slotCount, taken, slots);
+            if (displacement < 0) {
+                return null;
+            }
+            displacements[b] = displacement;
+            for (int i = 0; i < bucketSize[b]; i++) {
+                place(taken, slots[i], order[start + i], keys, values, newKeys, newValues);
+            }
+        }
+        return new PerfectHashImmutableMap<>(
+                salt, displacements, newKeys, newValues, CompactImmutableMap.from(overflow), overflow.size());
+    }
+
+    private static boolean hasHash(final int[] hashes,
+                                   final int[] order,
+                                   final int start,
+                                   final int size,
+                                   final int hash) {
+        for (int i = 0; i < size; i++) {
+            if (hashes[order[start + i]] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return indexes of buckets that are not empty, from the biggest to the smallest one
+     */
+    private static int[] sortBySize(final int[] bucketSize, final int maxBucketSize) {
+        final int[] start = new int[maxBucketSize + 2];
+        for (int size : bucketSize) {
+            start[maxBucketSize - size + 1]++;
+        }
+        for (int i = 0; i <= maxBucketSize; i++) {
+            start[i + 1] += start[i];
+        }
+        final int[] sorted = new int[bucketSize.length - (start[maxBucketSize + 1] - start[maxBucketSize])];
+        for (int b = 0; b < bucketSize.length; b++) {
+            if (bucketSize[b] > 0) {
+                sorted[start[maxBucketSize - bucketSize[b]]++] = b;
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Finds displacement that sends all keys of the bucket to different free slots and writes these slots to
+     * <code>slots</code>.
+     *
+     * @return found displacement or <code>-1</code> if there is none
+     */
+    private static int findDisplacement(final int salt,
+                                        final int[] hashes,
+                                        final int[] order,
+                                        final int start,
+                                        final int size,
+                                        final int slotCount,
+                                        final long[] taken,
+                                        final int[] slots) {
+        nextDisplacement:
+        for (int displacement = 0; displacement < MAX_DISPLACEMENT; displacement++) {
+            for (int i = 0; i < size; i++) {
+                final int slot = slot(salt, hashes[order[start + i]], displacement, slotCount);
+                if ((taken[slot >>> 6] & 1L << slot) != 0) {
+                    continue nextDisplacement;
+                }
+                for (int j = 0; j < i; j++) {
+                    if (slots[j] == slot) {
+                        continue nextDisplacement;
+                    }
+                }
+                slots[i] = slot;
+            }
+            return displacement;
+        }
+        return -1;
+    }
+
+    private static void place(final long[] taken,
+                              final int slot,
+                              final int key,
+                              final Object[] keys,
+                              final Object[] values,
+                              final Object[] newKeys,
+                              final Object[] newValues) {
+        taken[slot >>> 6] |= 1L << slot;
+        newKeys[slot] = keys[key];
+        newValues[slot] = values[key];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K key(final Object key) {
+        return (K) key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V value(final Object value) {
+        return (V) value;
+    }
+
+    /**
+     * MurmurHash3 finalizer.
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * Maps hash uniformly to <code>[0, bound)</code> without division.
+     */
+    private static int reduce(final int hash, final int bound) {
+        return (int) (((hash & 0xFFFFFFFFL) * bound) >>> 32);
+    }
+
+    private static int bucket(final int salt, final int hash, final int bucketCount) {
+        return reduce(mix(hash ^ salt), bucketCount);
+    }
+
+    private static int slot(final int salt, final int hash, final int displacement, final int slotCount) {
+        return reduce(mix((hash ^ salt) + (displacement + 1) * GOLDEN_RATIO), slotCount);
+    }
+
+    /**
+     * @return slot of given key or <code>-1</code> if it is not in {@link #keys}
+     */
+    private int indexOf(final Object key) {
+        if (keys.length == 0) {
+            return -1;
+        }
+        final int hash = Objects.hashCode(key);
+        final int displacement = displacements[bucket(salt, hash, displacements.length)];
+        final int slot = displacement < 0 ? ~displacement : slot(salt, hash, displacement, keys.length);
+        return Objects.equals(keys[slot], key) ? slot : -1;
+    }
+
+    /**
+     * Rebuilds perfect hash function when too many keys were added after building.
+     */
+    private PerfectHashImmutableMap<KeyT, ValueT> withOverflow(final CompactImmutableMap<KeyT, ValueT> newOverflow) {
+        if (newOverflow.size() - builtOverflow > Math.max(KEYS_PER_BUCKET, keys.length >>> 3)) {
+            return from(new MapWithOverflow<>(keys, values, newOverflow, -1));
+        }
+        return new PerfectHashImmutableMap<>(salt, displacements, keys, values, newOverflow, builtOverflow);
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<KeyT, ValueT> toBuilder() {
+        return new HashMapBuilder<>(this, PerfectHashImmutableMap::from);
+    }
+
+    @NotNull
+    @Override
+    public PerfectHashImmutableMap<KeyT, ValueT> putToNew(final KeyT key, final ValueT value) {
+        final int index = indexOf(key);
+        if (index < 0) {
+            final CompactImmutableMap<KeyT, ValueT> newOverflow = overflow.putToNew(key, value);
+            return newOverflow == overflow ? this : withOverflow(newOverflow);
+        }
+        if (values[index] == value) {
+            return this;
+        }
+        // key set does not change, so perfect hash function can be shared
+        final Object[] newValues = values.clone();
+        newValues[index] = value;
+        return new PerfectHashImmutableMap<>(salt, displacements, keys, newValues, overflow, builtOverflow);
+    }
+
+    @NotNull
+    @Override
+    public PerfectHashImmutableMap<KeyT, ValueT> putAllToNew(@NotNull final Map<KeyT, ValueT> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map.isEmpty()) {
+            return this;
+        }
+        final Map<KeyT, ValueT> newMap = toMutableMap();
+        newMap.putAll(map);
+        return from(newMap);
+    }
+
+    @NotNull
+    @Override
+    public PerfectHashImmutableMap<KeyT, ValueT> removeFromNew(final KeyT key) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            return from(new MapWithOverflow<>(keys, values, overflow, index));
+        }
+        final CompactImmutableMap<KeyT, ValueT> newOverflow = overflow.removeFromNew(key);
+        return newOverflow == overflow
+                       ? this
+                       : new PerfectHashImmutableMap<>(salt, displacements, keys, values, newOverflow, builtOverflow);
+    }
+
+    @NotNull
+    @Override
+    public MapStatistics stats() {
+        final MapStatistics.Accumulator accumulator = new MapStatistics.Accumulator(this)
+                .size(size())
+                .capacity(keys.length)
+                .node()
+                .chain(keys.length > 0 ? 1 : 0)
+                .entries(0, keys.length)
+                .bytes(MapStatistics.objectBytes(4, 2 * Integer.BYTES)
+                               + MapStatistics.arrayBytes(displacements.length, Integer.BYTES)
+                               + 2 * MapStatistics.arrayBytes(keys.length, MapStatistics.REFERENCE_BYTES));
+        if (!overflow.isEmpty()) {
+            // key from overflow is compared with the key in its slot first
+            final MapStatistics overflowStats = overflow.stats();
+            accumulator.nodes(overflowStats.getNodes())
+                    .chain(1 + overflowStats.getMaxChainLength())
+                    .entries(1, overflow.size())
+                    .bytes(overflowStats.getEstimatedBytes());
+        }
+        return accumulator.build();
+    }
+
+    @Override
+    public int size() {
+        return keys.length + overflow.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0 || !overflow.isEmpty() && overflow.containsKey(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ValueT get(final Object key) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            return (ValueT) values[index];
+        }
+        return overflow.isEmpty() ? null : overflow.get(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ValueT getOrDefault(final Object key, final ValueT defaultValue) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            return (ValueT) values[index];
+        }
+        return overflow.isEmpty() ? defaultValue : overflow.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public Set<KeyT> keySet() {
+        return new AbstractSet<KeyT>() {
+            @Override
+            public Iterator<KeyT> iterator() {
+                return new SlotIterator<KeyT>() {
+                    @Override
+                    KeyT current(final KeyT key, final ValueT value) {
+                        return key;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return PerfectHashImmutableMap.this.size();
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<ValueT> values() {
+        return new AbstractCollection<ValueT>() {
+            @Override
+            public Iterator<ValueT> iterator() {
+                return new SlotIterator<ValueT>() {
+                    @Override
+                    ValueT current(final KeyT key, final ValueT value) {
+                        return value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return PerfectHashImmutableMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<KeyT, ValueT>> entrySet() {
+        return new AbstractSet<Entry<KeyT, ValueT>>() {
+            @Override
+            public Iterator<Entry<KeyT, ValueT>> iterator() {
+                return new SlotIterator<Entry<KeyT, ValueT>>() {
+                    @Override
+                    Entry<KeyT, ValueT> current(final KeyT key, final ValueT value) {
+                        return new ImmutableMapEntry<>(key, value);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return PerfectHashImmutableMap.this.size();
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                final Entry<?, ?> entry = (Entry<?, ?>) o;
+                final Object key = entry.getKey();
+                final int index = indexOf(key);
+                if (index >= 0) {
+                    return Objects.equals(values[index], entry.getValue());
+                }
+                return overflow.entrySet().contains(entry);
+            }
+        };
+    }
+
+    /**
+     * Iterates over all slots and then over {@link #overflow}.
+     *
+     * @param <T> type of returned elements
+     */
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        private final Iterator<Entry<KeyT, ValueT>> overflowIterator = overflow.entrySet().iterator();
+        private int index;
+
+        abstract T current(KeyT key, ValueT value);
+
+        @Override
+        public boolean hasNext() {
+            return index < keys.length || overflowIterator.hasNext();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (index < keys.length) {
+                final T current = current((KeyT) keys[index], (ValueT) values[index]);
+                index++;
+                return current;
+            }
+            final Entry<KeyT, ValueT> entry = overflowIterator.next();
+            return current(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Read-only view of slots and overflow of a map, without one slot. It is only a source of entries for building
+     * new map, so it does not copy them to any intermediate map.
+     */
+    private static final class MapWithOverflow<K, V> extends AbstractMap<K, V> {
+        private final Object[] keys;
+        private final Object[] values;
+        private final Map<K, V> overflow;
+        private final int skipIndex;
+
+        private MapWithOverflow(final Object[] keys,
+                                final Object[] values,
+                                final Map<K, V> overflow,
+                                final int skipIndex) {
+            this.keys = keys;
+            this.values = values;
+            this.overflow = overflow;
+            this.skipIndex = skipIndex;
+        }
+
+        @Override
+        public int size() {
+            return keys.length - (skipIndex >= 0 ? 1 : 0) + overflow.size();
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    final Iterator<Entry<K, V>> overflowIterator = overflow.entrySet().iterator();
+                    return new Iterator<Entry<K, V>>() {
+                        private int index = skipIndex == 0 ? 1 : 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < keys.length || overflowIterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<K, V> next() {
+                            if (index < keys.length) {
+                                final Entry<K, V> entry =
+                                        new ImmutableMapEntry<>(key(keys[index]), value(values[index]));
+                                index++;
+                                if (index == skipIndex) {
+                                    index++;
+                                }
+                                return entry;
+                            }
+                            return overflowIterator.next();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return MapWithOverflow.this.size();
+                }
+            };
+        }
+    }
+}
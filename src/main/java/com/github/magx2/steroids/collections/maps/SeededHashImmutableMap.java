@@ -0,0 +1,657 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implementation of {@link ImmutableMap} for keys that come from untrusted sources (HTTP headers, JSON fields etc.).
+ * <p>
+ * Every map created from scratch gets its own random seed. Keys that are {@link String}s are hashed with keyed SipHash,
+ * so nobody can prepare many keys that fall into the same bucket. Other keys (also other {@link CharSequence}s, because
+ * their <code>equals</code> does not have to compare chars) are hashed from their {@link Object#hashCode()} mixed with
+ * the seed; keys with equal hash codes still fall into the same bucket, so buckets with more than
+ * {@value #SORTED_BIN_THRESHOLD} keys of the same {@link Comparable} class are sorted and searched with binary search. Lookups stay <code>O(log n)</code> in the worst case.
+ * <p>
+ * Every <code>*ToNew</code> method copies the array of buckets, so use it for maps that are read often.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ */
+public final class SeededHashImmutableMap<KeyT, ValueT> extends AbstractImmutableMap<KeyT, ValueT> {
+    private static final long serialVersionUID = 1L;
+
+    private static final int SORTED_BIN_THRESHOLD = 8;
+    private static final int MIN_CAPACITY = 2;
+    private static final SecureRandom SEEDS = new SecureRandom();
+
+    private final long seed0;
+    private final long seed1;
+    /**
+     * Every bucket is <code>null</code>, a single {@link Node} or a {@link Bin}.
+     */
+    private final Object[] buckets;
+    private final int size;
+
+    @NotNull
+    public static <K, V> SeededHashImmutableMap<K, V> empty() {
+        return new SeededHashImmutableMap<>(SEEDS.nextLong(), SEEDS.nextLong(), new Object[MIN_CAPACITY], 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K, V> SeededHashImmutableMap<K, V> from(@NotNull Map<K, V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map instanceof SeededHashImmutableMap) {
+            return (SeededHashImmutableMap<K, V>) map;
+        }
+        final long seed0 = SEEDS.nextLong();
+        final long seed1 = SEEDS.nextLong();
+        final List<Node<K, V>> nodes = new ArrayList<>(map.size());
+        for (Entry<K, V> entry : map.entrySet()) {
+            final K key = entry.getKey();
+            nodes.add(new Node<>(hash(seed0, seed1, key), key, entry.getValue()));
+        }
+        return build(seed0, seed1, nodes);
+    }
+
+    @NotNull
+    public static <K, V> SeededHashImmutableMap<K, V> from(@NotNull Class<K> keyClass,
+                                                           @NotNull Class<V> valueClass,
+                                                           @NotNull Object... keyValues) {
+        final Map<K, V> map = new LinkedHashMap<>();
+        KeyValues.forEachPair(keyClass, valueClass, keyValues, map::put);
+        return from(map);
+    }
+
+    /**
+     * Create new empty {@link ImmutableMap.Builder} that builds {@link SeededHashImmutableMap}.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return new empty builder
+     */
+    @NotNull
+    public static <K, V> ImmutableMap.Builder<K, V> builder() {
+        return new HashMapBuilder<>(emptyMap(), SeededHashImmutableMap::from);
+    }
+
+    /**
+     * Reads entries straight into nodes of new map with new seed. The last value of duplicated key wins.
+     */
+    static <K, V> SeededHashImmutableMap<K, V> read(final ImmutableMapSerialization.EntryReader<K, V> reader)
+            throws IOException, ClassNotFoundException {
+        final long seed0 = SEEDS.nextLong();
+        final long seed1 = SEEDS.nextLong();
+        final List<Node<K, V>> nodes = new ArrayList<>(ImmutableMapSerialization.initialCapacity(reader.size()));
+        for (int i = 0; i < reader.size(); i++) {
+            final K key = reader.readKey();
+            nodes.add(new Node<>(hash(seed0, seed1, key), key, reader.readValue()));
+        }
+        return build(seed0, seed1, nodes);
+    }
+
+    private SeededHashImmutableMap(final long seed0,
+                                   final long seed1,
+                                   @NotNull final Object[] buckets,
+                                   final int size) {
+        this.seed0 = seed0;
+        this.seed1 = seed1;
+        this.buckets = requireNonNull(buckets);
+        this.size = size;
+    }
+
+    /**
+     * Nodes with equal keys are collapsed into one: it keeps the place of the first node and the value of the last.
+     */
+    private static <K, V> SeededHashImmutableMap<K, V> build(final long seed0,
+                                                             final long seed1,
+                                                             final List<Node<K, V>> nodes) {
+        final Object[] buckets = new Object[capacityFor(nodes.size())];
+        final int[] bucketSizes = new int[buckets.length];
+        for (Node<K, V> node : nodes) {
+            bucketSizes[node.hash & (buckets.length - 1)]++;
+        }
+        final int[] filled = new int[buckets.length];
+        int size = nodes.size();
+        for (Node<K, V> node : nodes) {
+            final int index = node.hash & (buckets.length - 1);
+            if (bucketSizes[index] == 1) {
+                buckets[index] = node;
+                continue;
+            }
+            if (buckets[index] == null) {
+                buckets[index] = new Node<?, ?>[bucketSizes[index]];
+            }
+            final Node<?, ?>[] bucket = (Node<?, ?>[]) buckets[index];
+            final int duplicate = indexOf(bucket, filled[index], node);
+            if (duplicate >= 0) {
+                bucket[duplicate] = node;
+                size--;
+            } else {
+                bucket[filled[index]++] = node;
+            }
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] instanceof Node[]) {
+                final Node<?, ?>[] bucket = (Node<?, ?>[]) buckets[i];
+                if (filled[i] == 1) {
+                    buckets[i] = bucket[0];
+                } else {
+                    buckets[i] = Bin.of(filled[i] == bucket.length ? bucket : Arrays.copyOf(bucket, filled[i]));
+                }
+            }
+        }
+        return new SeededHashImmutableMap<>(seed0, seed1, buckets, size);
+    }
+
+    /**
+     * @return index of node with the same key as given node among first <code>length</code> nodes or <code>-1</code>
+     */
+    private static int indexOf(final Node<?, ?>[] nodes, final int length, final Node<?, ?> node) {
+        for (int i = 0; i < length; i++) {
+            if (nodes[i].hash == node.hash && Objects.equals(nodes[i].key, node.key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns smallest power of 2 that keeps load factor below <code>3/4</code>.
+     */
+    private static int capacityFor(final int size) {
+        final int minCapacity = Math.max(MIN_CAPACITY, size + size / 3 + 1);
+        return Integer.highestOneBit(minCapacity - 1) << 1;
+    }
+
+    private static int hash(final long seed0, final long seed1, final Object key) {
+        final long hash;
+        if (key instanceof String) {
+            hash = SipHash.hash(seed0, seed1, (String) key);
+        } else {
+            hash = mix(Objects.hashCode(key) ^ seed0);
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Finalization step of MurmurHash3.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private int hash(final Object key) {
+        return hash(seed0, seed1, key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<KeyT, ValueT> findNode(final Object key) {
+        final int hash = hash(key);
+        final Object bucket = buckets[hash & (buckets.length - 1)];
+        if (bucket instanceof Node) {
+            final Node<KeyT, ValueT> node = (Node<KeyT, ValueT>) bucket;
+            return node.hash == hash && Objects.equals(node.key, key) ? node : null;
+        }
+        if (bucket instanceof Bin) {
+            return (Node<KeyT, ValueT>) ((Bin) bucket).find(hash, key);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Node<KeyT, ValueT>> nodes() {
+        final List<Node<KeyT, ValueT>> nodes = new ArrayList<>(size + 1);
+        for (Object bucket : buckets) {
+            if (bucket instanceof Node) {
+                nodes.add((Node<KeyT, ValueT>) bucket);
+            } else if (bucket instanceof Bin) {
+                for (Node<?, ?> node : ((Bin) bucket).nodes) {
+                    nodes.add((Node<KeyT, ValueT>) node);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Creates map with given bucket changed. Other buckets are shared with this map.
+     */
+    private SeededHashImmutableMap<KeyT, ValueT> withBucket(final int index,
+                                                           final List<Node<?, ?>> bucket,
+                                                           final int newSize) {
+        final Object[] newBuckets = buckets.clone();
+        if (bucket.isEmpty()) {
+            newBuckets[index] = null;
+        } else if (bucket.size() == 1) {
+            newBuckets[index] = bucket.get(0);
+        } else {
+            newBuckets[index] = Bin.of(bucket.toArray(new Node<?, ?>[0]));
+        }
+        return new SeededHashImmutableMap<>(seed0, seed1, newBuckets, newSize);
+    }
+
+    private List<Node<?, ?>> bucketNodes(final int index) {
+        final Object bucket = buckets[index];
+        if (bucket instanceof Node) {
+            return new ArrayList<>(Arrays.asList((Node<?, ?>) bucket));
+        }
+        if (bucket instanceof Bin) {
+            return new ArrayList<>(Arrays.asList(((Bin) bucket).nodes));
+        }
+        return new ArrayList<>();
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<KeyT, ValueT> toBuilder() {
+        return new HashMapBuilder<>(this, map -> {
+            final List<Node<KeyT, ValueT>> nodes = new ArrayList<>(map.size());
+            for (Entry<KeyT, ValueT> entry : map.entrySet()) {
+                nodes.add(new Node<>(hash(entry.getKey()), entry.getKey(), entry.getValue()));
+            }
+            return build(seed0, seed1, nodes);
+        });
+    }
+
+    @NotNull
+    @Override
+    public SeededHashImmutableMap<KeyT, ValueT> putToNew(final KeyT key, final ValueT value) {
+        final Node<KeyT, ValueT> current = findNode(key);
+        if (current != null && current.value == value) {
+            return this;
+        }
+        final Node<KeyT, ValueT> newNode = new Node<>(hash(key), key, value);
+        if (current == null && size + 1 > buckets.length - buckets.length / 4) {
+            final List<Node<KeyT, ValueT>> nodes = nodes();
+            nodes.add(newNode);
+            return build(seed0, seed1, nodes);
+        }
+        final int index = newNode.hash & (buckets.length - 1);
+        final List<Node<?, ?>> bucket = bucketNodes(index);
+        if (current != null) {
+            bucket.set(bucket.indexOf(current), newNode);
+        } else {
+            bucket.add(newNode);
+        }
+        return withBucket(index, bucket, current == null ? size + 1 : size);
+    }
+
+    @NotNull
+    @Override
+    public SeededHashImmutableMap<KeyT, ValueT> putAllToNew(@NotNull final Map<KeyT, ValueT> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map.isEmpty()) {
+            return this;
+        }
+        final Map<KeyT, ValueT> newMap = new HashMap<>(this);
+        newMap.putAll(map);
+        final List<Node<KeyT, ValueT>> nodes = new ArrayList<>(newMap.size());
+        for (Entry<KeyT, ValueT> entry : newMap.entrySet()) {
+            nodes.add(new Node<>(hash(entry.getKey()), entry.getKey(), entry.getValue()));
+        }
+        return build(seed0, seed1, nodes);
+    }
+
+    @NotNull
+    @Override
+    public SeededHashImmutableMap<KeyT, ValueT> removeFromNew(final KeyT key) {
+        final Node<KeyT, ValueT> current = findNode(key);
+        if (current == null) {
+            return this;
+        }
+        final int index = current.hash & (buckets.length - 1);
+        final List<Node<?, ?>> bucket = bucketNodes(index);
+        bucket.remove(current);
+        return withBucket(index, bucket, size - 1);
+    }
+
+    @NotNull
+    @Override
+    public MapStatistics stats() {
+        final MapStatistics.Accumulator accumulator = new MapStatistics.Accumulator(this)
+                .size(size)
+                .capacity(buckets.length)
+                .entries(0, size)
+                .bytes(MapStatistics.objectBytes(1, 2 * Long.BYTES + Integer.BYTES)
+                               + MapStatistics.arrayBytes(buckets.length, MapStatistics.REFERENCE_BYTES)
+                               + size * MapStatistics.objectBytes(2, Integer.BYTES));
+        for (Object bucket : buckets) {
+            if (bucket instanceof Node) {
+                accumulator.node().chain(1);
+            } else if (bucket instanceof Bin) {
+                final Bin bin = (Bin) bucket;
+                accumulator.node()
+                        .chain(bin.sortedKeyClass != null ? 32 - Integer.numberOfLeadingZeros(bin.nodes.length)
+                                       : bin.nodes.length)
+                        .bytes(MapStatistics.objectBytes(2, 0)
+                                       + MapStatistics.arrayBytes(bin.nodes.length, MapStatistics.REFERENCE_BYTES));
+            }
+        }
+        return accumulator.build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return findNode(key) != null;
+    }
+
+    @Override
+    public ValueT get(final Object key) {
+        final Node<KeyT, ValueT> node = findNode(key);
+        return node != null ? node.value : null;
+    }
+
+    @Override
+    public ValueT getOrDefault(final Object key, final ValueT defaultValue) {
+        final Node<KeyT, ValueT> node = findNode(key);
+        return node != null ? node.value : defaultValue;
+    }
+
+    @Override
+    public Set<KeyT> keySet() {
+        return new AbstractSet<KeyT>() {
+            @Override
+            public Iterator<KeyT> iterator() {
+                return new BucketIterator<KeyT>() {
+                    @Override
+                    KeyT current(final Node<KeyT, ValueT> node) {
+                        return node.key;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<ValueT> values() {
+        return new AbstractCollection<ValueT>() {
+            @Override
+            public Iterator<ValueT> iterator() {
+                return new BucketIterator<ValueT>() {
+                    @Override
+                    ValueT current(final Node<KeyT, ValueT> node) {
+                        return node.value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<KeyT, ValueT>> entrySet() {
+        return new AbstractSet<Entry<KeyT, ValueT>>() {
+            @Override
+            public Iterator<Entry<KeyT, ValueT>> iterator() {
+                return new BucketIterator<Entry<KeyT, ValueT>>() {
+                    @Override
+                    Entry<KeyT, ValueT> current(final Node<KeyT, ValueT> node) {
+                        return node;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                final Entry<?, ?> entry = (Entry<?, ?>) o;
+                final Node<KeyT, ValueT> node = findNode(entry.getKey());
+                return node != null && Objects.equals(node.value, entry.getValue());
+            }
+        };
+    }
+
+    /**
+     * Entry of the map with cached hash of its key.
+     */
+    private static final class Node<K, V> implements Entry<K, V> {
+        private final int hash;
+        private final K key;
+        private final V value;
+
+        private Node(final int hash, final K key, final V value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            throw new UnsupportedOperationException("This is immutable MapEntry!");
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) o;
+            return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Bucket with more than one node. If it has more than {@value #SORTED_BIN_THRESHOLD} nodes and all keys are of the
+     * same {@link Comparable} class, nodes are sorted by keys.
+     */
+    private static final class Bin {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static final Comparator<Node<?, ?>> KEY_ORDER = (node1, node2) ->
+                                                                        ((Comparable) node1.key).compareTo(node2.key);
+
+        private final Node<?, ?>[] nodes;
+        /**
+         * Class of all keys if nodes are sorted, otherwise <code>null</code>.
+         */
+        private final Class<?> sortedKeyClass;
+
+        private Bin(final Node<?, ?>[] nodes, final Class<?> sortedKeyClass) {
+            this.nodes = nodes;
+            this.sortedKeyClass = sortedKeyClass;
+        }
+
+        static Bin of(final Node<?, ?>[] nodes) {
+            final Class<?> keyClass = nodes.length > SORTED_BIN_THRESHOLD ? comparableKeyClass(nodes) : null;
+            if (keyClass != null) {
+                Arrays.sort(nodes, KEY_ORDER);
+            }
+            return new Bin(nodes, keyClass);
+        }
+
+        /**
+         * @return class of all keys if it is {@link Comparable}, otherwise <code>null</code>
+         */
+        private static Class<?> comparableKeyClass(final Node<?, ?>[] nodes) {
+            final Object firstKey = nodes[0].key;
+            if (!(firstKey instanceof Comparable)) {
+                return null;
+            }
+            for (Node<?, ?> node : nodes) {
+                if (node.key == null || node.key.getClass() != firstKey.getClass()) {
+                    return null;
+                }
+            }
+            return firstKey.getClass();
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<?, ?> find(final int hash, final Object key) {
+            if (sortedKeyClass == null || key == null || key.getClass() != sortedKeyClass) {
+                for (Node<?, ?> node : nodes) {
+                    if (node.hash == hash && Objects.equals(node.key, key)) {
+                        return node;
+                    }
+                }
+                return null;
+            }
+            final Comparable comparableKey = (Comparable) key;
+            int low = 0;
+            int high = nodes.length - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final int compare = comparableKey.compareTo(nodes[middle].key);
+                if (compare > 0) {
+                    low = middle + 1;
+                } else if (compare < 0) {
+                    high = middle - 1;
+                } else {
+                    return findAmongEqual(middle, comparableKey);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Keys that are equal by {@link Comparable#compareTo(Object)} do not have to be equal by
+         * {@link Object#equals(Object)}, so all of them have to be checked.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Node<?, ?> findAmongEqual(final int index, final Comparable key) {
+            for (int i = index; i >= 0 && key.compareTo(nodes[i].key) == 0; i--) {
+                if (key.equals(nodes[i].key)) {
+                    return nodes[i];
+                }
+            }
+            for (int i = index + 1; i < nodes.length && key.compareTo(nodes[i].key) == 0; i++) {
+                if (key.equals(nodes[i].key)) {
+                    return nodes[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Iterates over all nodes in all buckets.
+     *
+     * @param <T> type of returned elements
+     */
+    private abstract class BucketIterator<T> implements Iterator<T> {
+        private int bucketIndex;
+        private Node<?, ?>[] bin;
+        private int binIndex;
+        private Node<?, ?> next;
+
+        BucketIterator() {
+            advance();
+        }
+
+        abstract T current(Node<KeyT, ValueT> node);
+
+        private void advance() {
+            if (bin != null && binIndex < bin.length) {
+                next = bin[binIndex++];
+                return;
+            }
+            bin = null;
+            while (bucketIndex < buckets.length) {
+                final Object bucket = buckets[bucketIndex++];
+                if (bucket instanceof Node) {
+                    next = (Node<?, ?>) bucket;
+                    return;
+                }
+                if (bucket instanceof Bin) {
+                    bin = ((Bin) bucket).nodes;
+                    binIndex = 1;
+                    next = bin[0];
+                    return;
+                }
+            }
+            next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Node<KeyT, ValueT> node = (Node<KeyT, ValueT>) next;
+            advance();
+            return current(node);
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.github.magx2.steroids.collections.maps;
 
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.StringJoiner;
-import java.util.stream.Collectors;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 
 import static java.util.Collections.unmodifiableCollection;
 import static java.util.Collections.unmodifiableMap;
@@ -15,13 +24,16 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Simple implementation of {@link ImmutableMap} that is backed by {@link Map}.
+ * <p>
+ * {@link #entrySet()}, {@link #keySet()} and {@link #values()} are views of the backing map, so they are not copied.
  *
  * @param <KeyT>   Key type
  * @param <ValueT> Value type
  */
-public final class SimpleImmutableMap<KeyT, ValueT> implements ImmutableMap<KeyT, ValueT> {
+public final class SimpleImmutableMap<KeyT, ValueT> implements ImmutableMap<KeyT, ValueT>, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final Map<KeyT, ValueT> internalMap;
-    private Set<Entry<KeyT, ValueT>> entrySet;
 
     @NotNull
     public static <K, V> SimpleImmutableMap<K, V> from(@NotNull Map<K, V> map) {
@@ -32,38 +44,39 @@ public final class SimpleImmutableMap<KeyT, ValueT> implements ImmutableMap<KeyT
     public static <K, V> SimpleImmutableMap<K, V> from(@NotNull Class<K> keyClass,
                                                        @NotNull Class<V> valueClass,
                                                        @NotNull Object... keyValues) {
-        requireNonNull(keyClass, "keyClass cannot be null!");
-        requireNonNull(valueClass, "valueClass cannot be null!");
-        requireNonNull(keyValues, "keyValues cannot be null!");
-        if (keyValues.length % 2 != 0) {
-            throw new IllegalArgumentException(
-                    "Number of items in `keyValues` needs to be even! " +
-                            "Got " + keyValues.length + " elements in list.");
-        }
-        Map<K, V> newMap = new HashMap<>();
-        for (int i = 0; i < keyValues.length - 1; i += 2) {
-            final Object key = keyValues[i];
-            final Object value = keyValues[i + 1];
-            if (!keyClass.isInstance(key)) {
-                throw new IllegalArgumentException(
-                        "Key at index " + i + " is not type of `" + keyClass.getCanonicalName() + "`! Key=" + key);
-            }
-            if (!valueClass.isInstance(value)) {
-                throw new IllegalArgumentException(
-                        "Value at index " + (i + 1) + " is not type of `" + valueClass.getCanonicalName() + "`! " +
-                                "Value=" + value);
-            }
-            newMap.put(keyClass.cast(key), valueClass.cast(value));
-        }
+        final Map<K, V> newMap = new HashMap<>();
+        KeyValues.forEachPair(keyClass, valueClass, keyValues, newMap::put);
         return new SimpleImmutableMap<>(unmodifiableMap(newMap));
     }
 
+    /**
+     * Create new empty {@link ImmutableMap.Builder} that builds {@link SimpleImmutableMap}.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return new empty builder
+     */
+    @NotNull
+    public static <K, V> ImmutableMap.Builder<K, V> builder() {
+        return new Builder<>(new HashMap<>());
+    }
+
+    /**
+     * Reads entries straight into backing map.
+     */
+    static <K, V> SimpleImmutableMap<K, V> read(final ImmutableMapSerialization.EntryReader<K, V> reader)
+            throws IOException, ClassNotFoundException {
+        final Map<K, V> map = new HashMap<>(
+                (int) (ImmutableMapSerialization.initialCapacity(reader.size()) / 0.75f) + 1);
+        for (int i = 0; i < reader.size(); i++) {
+            final K key = reader.readKey();
+            map.put(key, reader.readValue());
+        }
+        return new SimpleImmutableMap<>(unmodifiableMap(map));
+    }
+
     private SimpleImmutableMap(@NotNull final Map<KeyT, ValueT> internalMap) {
         this.internalMap = requireNonNull(internalMap);
-        this.entrySet = internalMap.entrySet()
-                                .stream()
-                                .map(ImmutableMapEntry::fromMapEntry)
-                                .collect(Collectors.toSet());
     }
 
     @Override
@@ -71,12 +84,18 @@ public final class SimpleImmutableMap<KeyT, ValueT> implements ImmutableMap<KeyT
         return new HashMap<>(internalMap);
     }
 
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<KeyT, ValueT> toBuilder() {
+        return new Builder<>(new HashMap<>(internalMap));
+    }
+
     @NotNull
     @Override
     public ImmutableMap<KeyT, ValueT> putToNew(final KeyT key, final ValueT value) {
         final HashMap<KeyT, ValueT> newMap = new HashMap<>(internalMap);
         newMap.put(key, value);
-        return from(newMap);
+        return new SimpleImmutableMap<>(unmodifiableMap(newMap));
     }
 
     @NotNull
@@ -85,7 +104,24 @@ public final class SimpleImmutableMap<KeyT, ValueT> implements ImmutableMap<KeyT
         requireNonNull(map, "Given map cannot be null!");
         final HashMap<KeyT, ValueT> newMap = new HashMap<>(internalMap);
         newMap.putAll(map);
-        return from(newMap);
+        return new SimpleImmutableMap<>(unmodifiableMap(newMap));
+    }
+
+    @NotNull
+    @Override
+    public ImmutableMap<KeyT, ValueT> mergeToNew(@NotNull final Map<KeyT, ValueT> map,
+                                                 @NotNull final BinaryOperator<ValueT> conflictResolver) {
+        requireNonNull(map, "Given map cannot be null!");
+        requireNonNull(conflictResolver, "conflictResolver cannot be null!");
+        final HashMap<KeyT, ValueT> newMap = new HashMap<>(internalMap);
+        for (Entry<KeyT, ValueT> entry : map.entrySet()) {
+            final KeyT key = entry.getKey();
+            final ValueT value = internalMap.containsKey(key)
+                    ? conflictResolver.apply(internalMap.get(key), entry.getValue())
+                    : entry.getValue();
+            newMap.put(key, value);
+        }
+        return new SimpleImmutableMap<>(unmodifiableMap(newMap));
     }
 
     @NotNull
@@ -93,7 +129,40 @@ public final class SimpleImmutableMap<KeyT, ValueT> implements ImmutableMap<KeyT
     public ImmutableMap<KeyT, ValueT> removeFromNew(final KeyT key) {
         final HashMap<KeyT, ValueT> newMap = new HashMap<>(internalMap);
         newMap.remove(key);
-        return from(newMap);
+        return new SimpleImmutableMap<>(unmodifiableMap(newMap));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Internals of backing {@link HashMap} are not visible, so they are estimated as if it was created by copying
+     * constructor.
+     */
+    @NotNull
+    @Override
+    public MapStatistics stats() {
+        final int size = internalMap.size();
+        final int capacity = size == 0 ? 0 : Integer.highestOneBit((int) (size / 0.75f)) << 1;
+        final int[] buckets = new int[capacity];
+        for (KeyT key : internalMap.keySet()) {
+            final int hash = Objects.hashCode(key);
+            buckets[(hash ^ hash >>> 16) & (capacity - 1)]++;
+        }
+        final MapStatistics.Accumulator accumulator = new MapStatistics.Accumulator(this)
+                .size(size)
+                .capacity(capacity)
+                .entries(0, size)
+                .bytes(MapStatistics.objectBytes(1, 0)
+                               + MapStatistics.objectBytes(4, 0)
+                               + MapStatistics.objectBytes(4, 3 * Integer.BYTES + Float.BYTES)
+                               + MapStatistics.arrayBytes(capacity, MapStatistics.REFERENCE_BYTES)
+                               + size * MapStatistics.objectBytes(3, Integer.BYTES));
+        for (int bucket : buckets) {
+            if (bucket > 0) {
+                accumulator.node().chain(bucket);
+            }
+        }
+        return accumulator.build();
     }
 
     @Override
@@ -131,17 +200,176 @@ public final class SimpleImmutableMap<KeyT, ValueT> implements ImmutableMap<KeyT
         return unmodifiableCollection(internalMap.values());
     }
 
+    /**
+     * Returns view of entries of this map. Entries are wrapped in {@link ImmutableMapEntry} while iterating.
+     */
     @Override
     public Set<Entry<KeyT, ValueT>> entrySet() {
-        return entrySet;
+        return new AbstractSet<Entry<KeyT, ValueT>>() {
+            @Override
+            public Iterator<Entry<KeyT, ValueT>> iterator() {
+                final Iterator<Entry<KeyT, ValueT>> iterator = internalMap.entrySet().iterator();
+                return new Iterator<Entry<KeyT, ValueT>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<KeyT, ValueT> next() {
+                        return ImmutableMapEntry.fromMapEntry(iterator.next());
+                    }
+                };
+            }
+
+            /**
+             * Splits the same way as spliterator of the backing map, so parallel streams do not fall back to
+             * iterator that is copied in batches.
+             */
+            @Override
+            public Spliterator<Entry<KeyT, ValueT>> spliterator() {
+                return new EntrySpliterator<>(internalMap.entrySet().spliterator());
+            }
+
+            @Override
+            public int size() {
+                return internalMap.size();
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return internalMap.entrySet().contains(o);
+            }
+        };
+    }
+
+    private Object writeReplace() {
+        return new ImmutableMapSerialization.SerializationProxy(this);
+    }
+
+    private void readObject(final ObjectInputStream input) throws InvalidObjectException {
+        throw new InvalidObjectException("ImmutableMap can be deserialized only from its serialization proxy!");
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || internalMap.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return internalMap.hashCode();
     }
 
     @Override
     public String toString() {
         final StringJoiner joiner = new StringJoiner(", ", SimpleImmutableMap.class.getSimpleName() + "[", "]");
-        for (Map.Entry<KeyT, ValueT> entry : entrySet) {
+        for (Map.Entry<KeyT, ValueT> entry : internalMap.entrySet()) {
             joiner.add(entry.getKey() + "=" + entry.getValue());
         }
         return joiner.toString();
     }
+
+    /**
+     * Builder backed by {@link HashMap}. Map is copied only if builder is changed after {@link #build()}.
+     */
+    private static final class Builder<K, V> implements ImmutableMap.Builder<K, V> {
+        private Map<K, V> map;
+        private boolean shared;
+
+        private Builder(final Map<K, V> map) {
+            this.map = map;
+        }
+
+        private Map<K, V> mapToEdit() {
+            if (shared) {
+                map = new HashMap<>(map);
+                shared = false;
+            }
+            return map;
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap.Builder<K, V> put(final K key, final V value) {
+            mapToEdit().put(key, value);
+            return this;
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap.Builder<K, V> putAll(@NotNull final Map<? extends K, ? extends V> map) {
+            requireNonNull(map, "Given map cannot be null!");
+            mapToEdit().putAll(map);
+            return this;
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap.Builder<K, V> remove(final K key) {
+            mapToEdit().remove(key);
+            return this;
+        }
+
+        @Override
+        public V get(final Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @NotNull
+        @Override
+        public SimpleImmutableMap<K, V> build() {
+            shared = true;
+            return new SimpleImmutableMap<>(unmodifiableMap(map));
+        }
+    }
+
+    /**
+     * Wraps entries returned by spliterator of the backing map in {@link ImmutableMapEntry}.
+     */
+    private static final class EntrySpliterator<K, V> implements Spliterator<Entry<K, V>> {
+        private final Spliterator<Entry<K, V>> spliterator;
+
+        private EntrySpliterator(final Spliterator<Entry<K, V>> spliterator) {
+            this.spliterator = spliterator;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Entry<K, V>> action) {
+            requireNonNull(action, "action cannot be null!");
+            return spliterator.tryAdvance(entry -> action.accept(ImmutableMapEntry.fromMapEntry(entry)));
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super Entry<K, V>> action) {
+            requireNonNull(action, "action cannot be null!");
+            spliterator.forEachRemaining(entry -> action.accept(ImmutableMapEntry.fromMapEntry(entry)));
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> trySplit() {
+            final Spliterator<Entry<K, V>> prefix = spliterator.trySplit();
+            return prefix == null ? null : new EntrySpliterator<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return spliterator.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return spliterator.characteristics() | IMMUTABLE;
+        }
+    }
 }
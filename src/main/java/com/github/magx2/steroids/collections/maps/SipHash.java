@@ -0,0 +1,85 @@
+package com.github.magx2.steroids.collections.maps;
+
+/**
+ * Keyed hash function SipHash-1-3 over UTF-16 chars.
+ * <p>
+ * Without knowing the key nobody can find strings that have the same hash, which is not true for
+ * {@link String#hashCode()}.
+ */
+final class SipHash {
+    /**
+     * This is an utils class. Never instantiate it.
+     */
+    private SipHash() {
+    }
+
+    /**
+     * @param k0    first half of the key
+     * @param k1    second half of the key
+     * @param chars chars to hash
+     * @return hash of given chars
+     */
+    static long hash(final long k0, final long k1, final CharSequence chars) {
+        final State state = new State(k0, k1);
+        final int length = chars.length();
+        int index = 0;
+        for (; index + 4 <= length; index += 4) {
+            state.compress(chars.charAt(index)
+                                   | (long) chars.charAt(index + 1) << 16
+                                   | (long) chars.charAt(index + 2) << 32
+                                   | (long) chars.charAt(index + 3) << 48);
+        }
+        // the last block has got remaining chars and length in bytes in the highest byte
+        long last = (long) (2 * length) << 56;
+        for (int shift = 0; index < length; index++, shift += 16) {
+            last |= (long) chars.charAt(index) << shift;
+        }
+        state.compress(last);
+        return state.finish();
+    }
+
+    private static final class State {
+        private long v0;
+        private long v1;
+        private long v2;
+        private long v3;
+
+        private State(final long k0, final long k1) {
+            v0 = k0 ^ 0x736f6d6570736575L;
+            v1 = k1 ^ 0x646f72616e646f6dL;
+            v2 = k0 ^ 0x6c7967656e657261L;
+            v3 = k1 ^ 0x7465646279746573L;
+        }
+
+        private void compress(final long message) {
+            v3 ^= message;
+            round();
+            v0 ^= message;
+        }
+
+        private long finish() {
+            v2 ^= 0xff;
+            round();
+            round();
+            round();
+            return v0 ^ v1 ^ v2 ^ v3;
+        }
+
+        private void round() {
+            v0 += v1;
+            v1 = Long.rotateLeft(v1, 13);
+            v1 ^= v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3;
+            v3 = Long.rotateLeft(v3, 16);
+            v3 ^= v2;
+            v0 += v3;
+            v3 = Long.rotateLeft(v3, 21);
+            v3 ^= v0;
+            v2 += v1;
+            v1 = Long.rotateLeft(v1, 17);
+            v1 ^= v2;
+            v2 = Long.rotateLeft(v2, 32);
+        }
+    }
+}
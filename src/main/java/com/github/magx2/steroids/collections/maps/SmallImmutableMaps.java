@@ -0,0 +1,1538 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Field based implementations of {@link ImmutableMap} for maps with at most {@value #MAX_SIZE} entries.
+ * <p>
+ * Entries are kept in fields, so there is no array, no hash table and no object per entry. Lookups compare given key
+ * with every key one by one. {@link ImmutableMap#putToNew} promotes map to the next size class and
+ * {@link ImmutableMap#removeFromNew} demotes it to the previous one. Map with more than {@value #MAX_SIZE} entries
+ * is a {@link HashTrieImmutableMap}.
+ * <p>
+ * Entries are iterated in order in which they were added.
+ */
+final class SmallImmutableMaps {
+    static final int MAX_SIZE = 8;
+    private static final Map0<?, ?> EMPTY = new Map0<>();
+
+    /**
+     * This is an utils class. Never instantiate it.
+     */
+    private SmallImmutableMaps() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> ImmutableMap<K, V> empty() {
+        return (ImmutableMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Reads entries one by one into the next size class.
+     */
+    static <K, V> ImmutableMap<K, V> read(final ImmutableMapSerialization.EntryReader<K, V> reader)
+            throws IOException, ClassNotFoundException {
+        ImmutableMap<K, V> map = empty();
+        for (int i = 0; i < reader.size(); i++) {
+            final K key = reader.readKey();
+            map = map.putToNew(key, reader.readValue());
+        }
+        return map;
+    }
+
+    /**
+     * Copies given map into the smallest fitting implementation.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> ImmutableMap<K, V> copyOf(@NotNull final Map<K, V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map instanceof SmallMap) {
+            return (ImmutableMap<K, V>) map;
+        }
+        if (map.size() > MAX_SIZE) {
+            return HashTrieImmutableMap.from(map);
+        }
+        ImmutableMap<K, V> copy = empty();
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            copy = copy.putToNew(entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+
+    /**
+     * Base class for all small maps. Subclasses give access to entries by index.
+     */
+    abstract static class SmallMap<K, V> extends AbstractImmutableMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        abstract K keyAt(int index);
+
+        abstract V valueAt(int index);
+
+        /**
+         * @throws IllegalArgumentException if any key is duplicated
+         */
+        final SmallMap<K, V> requireDistinctKeys() {
+            final int size = size();
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    if (Objects.equals(keyAt(i), keyAt(j))) {
+                        throw new IllegalArgumentException("Duplicate key: " + keyAt(i));
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Keys are kept in fields and compared one by one.
+         */
+        @NotNull
+        @Override
+        public final MapStatistics stats() {
+            final int size = size();
+            return new MapStatistics.Accumulator(this)
+                    .size(size)
+                    .node()
+                    .chain(size)
+                    .entries(0, size)
+                    .bytes(MapStatistics.objectBytes(2 * size, 0))
+                    .build();
+        }
+
+        @Override
+        public final boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public final boolean containsValue(final Object value) {
+            final int size = size();
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(valueAt(i), value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @NotNull
+        @Override
+        public final ImmutableMap.Builder<K, V> toBuilder() {
+            return new HashMapBuilder<>(this, SmallImmutableMaps::copyOf);
+        }
+
+        @NotNull
+        @Override
+        public final ImmutableMap<K, V> putAllToNew(@NotNull final Map<K, V> map) {
+            requireNonNull(map, "Given map cannot be null!");
+            if (size() + map.size() > MAX_SIZE) {
+                return HashTrieImmutableMap.from(this).putAllToNew(map);
+            }
+            ImmutableMap<K, V> newMap = this;
+            for (Map.Entry<K, V> entry : map.entrySet()) {
+                newMap = newMap.putToNew(entry.getKey(), entry.getValue());
+            }
+            return newMap;
+        }
+
+        @Override
+        public final Set<K> keySet() {
+            return new AbstractSet<K>() {
+                @Override
+                public Iterator<K> iterator() {
+                    return new IndexIterator<K>() {
+                        @Override
+                        K current(final int index) {
+                            return keyAt(index);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return SmallMap.this.size();
+                }
+
+                @Override
+                public boolean contains(final Object o) {
+                    return containsKey(o);
+                }
+            };
+        }
+
+        @Override
+        public final Collection<V> values() {
+            return new AbstractCollection<V>() {
+                @Override
+                public Iterator<V> iterator() {
+                    return new IndexIterator<V>() {
+                        @Override
+                        V current(final int index) {
+                            return valueAt(index);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return SmallMap.this.size();
+                }
+            };
+        }
+
+        @Override
+        public final Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new IndexIterator<Entry<K, V>>() {
+                        @Override
+                        Entry<K, V> current(final int index) {
+                            return new ImmutableMapEntry<>(keyAt(index), valueAt(index));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return SmallMap.this.size();
+                }
+            };
+        }
+
+        @Override
+        public final int hashCode() {
+            int hashCode = 0;
+            final int size = size();
+            for (int i = 0; i < size; i++) {
+                hashCode += Objects.hashCode(keyAt(i)) ^ Objects.hashCode(valueAt(i));
+            }
+            return hashCode;
+        }
+
+        @Override
+        String name() {
+            return ImmutableMap.class.getSimpleName();
+        }
+
+        private abstract class IndexIterator<T> implements Iterator<T> {
+            private int index;
+
+            abstract T current(int index);
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current(index++);
+            }
+        }
+    }
+
+
+    static final class Map0<K, V> extends SmallMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return false;
+        }
+
+        @Override
+        public V get(final Object key) {
+            return null;
+        }
+
+        @Override
+        public V getOrDefault(final Object key, final V defaultValue) {
+            return defaultValue;
+        }
+
+        @Override
+        K keyAt(final int index) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        @Override
+        V valueAt(final int index) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> putToNew(final K key, final V value) {
+            return new Map1<>(key, value);
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> removeFromNew(final K key) {
+            return this;
+        }
+    }
+
+    static final class Map1<K, V> extends SmallMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final K k1;
+        private final V v1;
+
+        Map1(final K k1, final V v1) {
+            this.k1 = k1;
+            this.v1 = v1;
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return Objects.equals(key, k1);
+        }
+
+        @Override
+        public V get(final Object key) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            return null;
+        }
+
+        @Override
+        public V getOrDefault(final Object key, final V defaultValue) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            return defaultValue;
+        }
+
+        @Override
+        K keyAt(final int index) {
+            switch (index) {
+                case 0:
+                    return k1;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @Override
+        V valueAt(final int index) {
+            switch (index) {
+                case 0:
+                    return v1;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> putToNew(final K key, final V value) {
+            if (Objects.equals(key, k1)) {
+                return v1 == value ? this : new Map1<>(k1, value);
+            }
+            return new Map2<>(k1, v1, key, value);
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> removeFromNew(final K key) {
+            if (Objects.equals(key, k1)) {
+                return empty();
+            }
+            return this;
+        }
+    }
+
+    static final class Map2<K, V> extends SmallMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final K k1;
+        private final V v1;
+        private final K k2;
+        private final V v2;
+
+        Map2(final K k1, final V v1,
+             final K k2, final V v2) {
+            this.k1 = k1;
+            this.v1 = v1;
+            this.k2 = k2;
+            this.v2 = v2;
+        }
+
+        @Override
+        public int size() {
+            return 2;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return Objects.equals(key, k1)
+                   || Objects.equals(key, k2);
+        }
+
+        @Override
+        public V get(final Object key) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            return null;
+        }
+
+        @Override
+        public V getOrDefault(final Object key, final V defaultValue) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            return defaultValue;
+        }
+
+        @Override
+        K keyAt(final int index) {
+            switch (index) {
+                case 0:
+                    return k1;
+                case 1:
+                    return k2;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @Override
+        V valueAt(final int index) {
+            switch (index) {
+                case 0:
+                    return v1;
+                case 1:
+                    return v2;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> putToNew(final K key, final V value) {
+            if (Objects.equals(key, k1)) {
+                return v1 == value ? this : new Map2<>(k1, value, k2, v2);
+            }
+            if (Objects.equals(key, k2)) {
+                return v2 == value ? this : new Map2<>(k1, v1, k2, value);
+            }
+            return new Map3<>(k1, v1, k2, v2, key, value);
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> removeFromNew(final K key) {
+            if (Objects.equals(key, k1)) {
+                return new Map1<>(k2, v2);
+            }
+            if (Objects.equals(key, k2)) {
+                return new Map1<>(k1, v1);
+            }
+            return this;
+        }
+    }
+
+    static final class Map3<K, V> extends SmallMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final K k1;
+        private final V v1;
+        private final K k2;
+        private final V v2;
+        private final K k3;
+        private final V v3;
+
+        Map3(final K k1, final V v1,
+             final K k2, final V v2,
+             final K k3, final V v3) {
+            this.k1 = k1;
+            this.v1 = v1;
+            this.k2 = k2;
+            this.v2 = v2;
+            this.k3 = k3;
+            this.v3 = v3;
+        }
+
+        @Override
+        public int size() {
+            return 3;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return Objects.equals(key, k1)
+                   || Objects.equals(key, k2)
+                   || Objects.equals(key, k3);
+        }
+
+        @Override
+        public V get(final Object key) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            return null;
+        }
+
+        @Override
+        public V getOrDefault(final Object key, final V defaultValue) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            return defaultValue;
+        }
+
+        @Override
+        K keyAt(final int index) {
+            switch (index) {
+                case 0:
+                    return k1;
+                case 1:
+                    return k2;
+                case 2:
+                    return k3;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @Override
+        V valueAt(final int index) {
+            switch (index) {
+                case 0:
+                    return v1;
+                case 1:
+                    return v2;
+                case 2:
+                    return v3;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> putToNew(final K key, final V value) {
+            if (Objects.equals(key, k1)) {
+                return v1 == value ? this : new Map3<>(k1, value, k2, v2, k3, v3);
+            }
+            if (Objects.equals(key, k2)) {
+                return v2 == value ? this : new Map3<>(k1, v1, k2, value, k3, v3);
+            }
+            if (Objects.equals(key, k3)) {
+                return v3 == value ? this : new Map3<>(k1, v1, k2, v2, k3, value);
+            }
+            return new Map4<>(k1, v1, k2, v2, k3, v3, key, value);
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> removeFromNew(final K key) {
+            if (Objects.equals(key, k1)) {
+                return new Map2<>(k2, v2, k3, v3);
+            }
+            if (Objects.equals(key, k2)) {
+                return new Map2<>(k1, v1, k3, v3);
+            }
+            if (Objects.equals(key, k3)) {
+                return new Map2<>(k1, v1, k2, v2);
+            }
+            return this;
+        }
+    }
+
+    static final class Map4<K, V> extends SmallMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final K k1;
+        private final V v1;
+        private final K k2;
+        private final V v2;
+        private final K k3;
+        private final V v3;
+        private final K k4;
+        private final V v4;
+
+        Map4(final K k1, final V v1,
+             final K k2, final V v2,
+             final K k3, final V v3,
+             final K k4, final V v4) {
+            this.k1 = k1;
+            this.v1 = v1;
+            this.k2 = k2;
+            this.v2 = v2;
+            this.k3 = k3;
+            this.v3 = v3;
+            this.k4 = k4;
+            this.v4 = v4;
+        }
+
+        @Override
+        public int size() {
+            return 4;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return Objects.equals(key, k1)
+                   || Objects.equals(key, k2)
+                   || Objects.equals(key, k3)
+                   || Objects.equals(key, k4);
+        }
+
+        @Override
+        public V get(final Object key) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            if (Objects.equals(key, k4)) {
+                return v4;
+            }
+            return null;
+        }
+
+        @Override
+        public V getOrDefault(final Object key, final V defaultValue) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            if (Objects.equals(key, k4)) {
+                return v4;
+            }
+            return defaultValue;
+        }
+
+        @Override
+        K keyAt(final int index) {
+            switch (index) {
+                case 0:
+                    return k1;
+                case 1:
+                    return k2;
+                case 2:
+                    return k3;
+                case 3:
+                    return k4;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @Override
+        V valueAt(final int index) {
+            switch (index) {
+                case 0:
+                    return v1;
+                case 1:
+                    return v2;
+                case 2:
+                    return v3;
+                case 3:
+                    return v4;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> putToNew(final K key, final V value) {
+            if (Objects.equals(key, k1)) {
+                return v1 == value ? this : new Map4<>(k1, value, k2, v2, k3, v3, k4, v4);
+            }
+            if (Objects.equals(key, k2)) {
+                return v2 == value ? this : new Map4<>(k1, v1, k2, value, k3, v3, k4, v4);
+            }
+            if (Objects.equals(key, k3)) {
+                return v3 == value ? this : new Map4<>(k1, v1, k2, v2, k3, value, k4, v4);
+            }
+            if (Objects.equals(key, k4)) {
+                return v4 == value ? this : new Map4<>(k1, v1, k2, v2, k3, v3, k4, value);
+            }
+            return new Map5<>(k1, v1, k2, v2, k3, v3, k4, v4, key, value);
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> removeFromNew(final K key) {
+            if (Objects.equals(key, k1)) {
+                return new Map3<>(k2, v2, k3, v3, k4, v4);
+            }
+            if (Objects.equals(key, k2)) {
+                return new Map3<>(k1, v1, k3, v3, k4, v4);
+            }
+            if (Objects.equals(key, k3)) {
+                return new Map3<>(k1, v1, k2, v2, k4, v4);
+            }
+            if (Objects.equals(key, k4)) {
+                return new Map3<>(k1, v1, k2, v2, k3, v3);
+            }
+            return this;
+        }
+    }
+
+    static final class Map5<K, V> extends SmallMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final K k1;
+        private final V v1;
+        private final K k2;
+        private final V v2;
+        private final K k3;
+        private final V v3;
+        private final K k4;
+        private final V v4;
+        private final K k5;
+        private final V v5;
+
+        Map5(final K k1, final V v1,
+             final K k2, final V v2,
+             final K k3, final V v3,
+             final K k4, final V v4,
+             final K k5, final V v5) {
+            this.k1 = k1;
+            this.v1 = v1;
+            this.k2 = k2;
+            this.v2 = v2;
+            this.k3 = k3;
+            this.v3 = v3;
+            this.k4 = k4;
+            this.v4 = v4;
+            this.k5 = k5;
+            this.v5 = v5;
+        }
+
+        @Override
+        public int size() {
+            return 5;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return Objects.equals(key, k1)
+                   || Objects.equals(key, k2)
+                   || Objects.equals(key, k3)
+                   || Objects.equals(key, k4)
+                   || Objects.equals(key, k5);
+        }
+
+        @Override
+        public V get(final Object key) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            if (Objects.equals(key, k4)) {
+                return v4;
+            }
+            if (Objects.equals(key, k5)) {
+                return v5;
+            }
+            return null;
+        }
+
+        @Override
+        public V getOrDefault(final Object key, final V defaultValue) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            if (Objects.equals(key, k4)) {
+                return v4;
+            }
+            if (Objects.equals(key, k5)) {
+                return v5;
+            }
+            return defaultValue;
+        }
+
+        @Override
+        K keyAt(final int index) {
+            switch (index) {
+                case 0:
+                    return k1;
+                case 1:
+                    return k2;
+                case 2:
+                    return k3;
+                case 3:
+                    return k4;
+                case 4:
+                    return k5;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @Override
+        V valueAt(final int index) {
+            switch (index) {
+                case 0:
+                    return v1;
+                case 1:
+                    return v2;
+                case 2:
+                    return v3;
+                case 3:
+                    return v4;
+                case 4:
+                    return v5;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> putToNew(final K key, final V value) {
+            if (Objects.equals(key, k1)) {
+                return v1 == value ? this : new Map5<>(k1, value, k2, v2, k3, v3, k4, v4, k5, v5);
+            }
+            if (Objects.equals(key, k2)) {
+                return v2 == value ? this : new Map5<>(k1, v1, k2, value, k3, v3, k4, v4, k5, v5);
+            }
+            if (Objects.equals(key, k3)) {
+                return v3 == value ? this : new Map5<>(k1, v1, k2, v2, k3, value, k4, v4, k5, v5);
+            }
+            if (Objects.equals(key, k4)) {
+                return v4 == value ? this : new Map5<>(k1, v1, k2, v2, k3, v3, k4, value, k5, v5);
+            }
+            if (Objects.equals(key, k5)) {
+                return v5 == value ? this : new Map5<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, value);
+            }
+            return new Map6<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, key, value);
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> removeFromNew(final K key) {
+            if (Objects.equals(key, k1)) {
+                return new Map4<>(k2, v2, k3, v3, k4, v4, k5, v5);
+            }
+            if (Objects.equals(key, k2)) {
+                return new Map4<>(k1, v1, k3, v3, k4, v4, k5, v5);
+            }
+            if (Objects.equals(key, k3)) {
+                return new Map4<>(k1, v1, k2, v2, k4, v4, k5, v5);
+            }
+            if (Objects.equals(key, k4)) {
+                return new Map4<>(k1, v1, k2, v2, k3, v3, k5, v5);
+            }
+            if (Objects.equals(key, k5)) {
+                return new Map4<>(k1, v1, k2, v2, k3, v3, k4, v4);
+            }
+            return this;
+        }
+    }
+
+    static final class Map6<K, V> extends SmallMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final K k1;
+        private final V v1;
+        private final K k2;
+        private final V v2;
+        private final K k3;
+        private final V v3;
+        private final K k4;
+        private final V v4;
+        private final K k5;
+        private final V v5;
+        private final K k6;
+        private final V v6;
+
+        Map6(final K k1, final V v1,
+             final K k2, final V v2,
+             final K k3, final V v3,
+             final K k4, final V v4,
+             final K k5, final V v5,
+             final K k6, final V v6) {
+            this.k1 = k1;
+            this.v1 = v1;
+            this.k2 = k2;
+            this.v2 = v2;
+            this.k3 = k3;
+            this.v3 = v3;
+            this.k4 = k4;
+            this.v4 = v4;
+            this.k5 = k5;
+            this.v5 = v5;
+            this.k6 = k6;
+            this.v6 = v6;
+        }
+
+        @Override
+        public int size() {
+            return 6;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return Objects.equals(key, k1)
+                   || Objects.equals(key, k2)
+                   || Objects.equals(key, k3)
+                   || Objects.equals(key, k4)
+                   || Objects.equals(key, k5)
+                   || Objects.equals(key, k6);
+        }
+
+        @Override
+        public V get(final Object key) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            if (Objects.equals(key, k4)) {
+                return v4;
+            }
+            if (Objects.equals(key, k5)) {
+                return v5;
+            }
+            if (Objects.equals(key, k6)) {
+                return v6;
+            }
+            return null;
+        }
+
+        @Override
+        public V getOrDefault(final Object key, final V defaultValue) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            if (Objects.equals(key, k4)) {
+                return v4;
+            }
+            if (Objects.equals(key, k5)) {
+                return v5;
+            }
+            if (Objects.equals(key, k6)) {
+                return v6;
+            }
+            return defaultValue;
+        }
+
+        @Override
+        K keyAt(final int index) {
+            switch (index) {
+                case 0:
+                    return k1;
+                case 1:
+                    return k2;
+                case 2:
+                    return k3;
+                case 3:
+                    return k4;
+                case 4:
+                    return k5;
+                case 5:
+                    return k6;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @Override
+        V valueAt(final int index) {
+            switch (index) {
+                case 0:
+                    return v1;
+                case 1:
+                    return v2;
+                case 2:
+                    return v3;
+                case 3:
+                    return v4;
+                case 4:
+                    return v5;
+                case 5:
+                    return v6;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> putToNew(final K key, final V value) {
+            if (Objects.equals(key, k1)) {
+                return v1 == value ? this : new Map6<>(k1, value, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6);
+            }
+            if (Objects.equals(key, k2)) {
+                return v2 == value ? this : new Map6<>(k1, v1, k2, value, k3, v3, k4, v4, k5, v5, k6, v6);
+            }
+            if (Objects.equals(key, k3)) {
+                return v3 == value ? this : new Map6<>(k1, v1, k2, v2, k3, value, k4, v4, k5, v5, k6, v6);
+            }
+            if (Objects.equals(key, k4)) {
+                return v4 == value ? this : new Map6<>(k1, v1, k2, v2, k3, v3, k4, value, k5, v5, k6, v6);
+            }
+            if (Objects.equals(key, k5)) {
+                return v5 == value ? this : new Map6<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, value, k6, v6);
+            }
+            if (Objects.equals(key, k6)) {
+                return v6 == value ? this : new Map6<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, value);
+            }
+            return new Map7<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, key, value);
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> removeFromNew(final K key) {
+            if (Objects.equals(key, k1)) {
+                return new Map5<>(k2, v2, k3, v3, k4, v4, k5, v5, k6, v6);
+            }
+            if (Objects.equals(key, k2)) {
+                return new Map5<>(k1, v1, k3, v3, k4, v4, k5, v5, k6, v6);
+            }
+            if (Objects.equals(key, k3)) {
+                return new Map5<>(k1, v1, k2, v2, k4, v4, k5, v5, k6, v6);
+            }
+            if (Objects.equals(key, k4)) {
+                return new Map5<>(k1, v1, k2, v2, k3, v3, k5, v5, k6, v6);
+            }
+            if (Objects.equals(key, k5)) {
+                return new Map5<>(k1, v1, k2, v2, k3, v3, k4, v4, k6, v6);
+            }
+            if (Objects.equals(key, k6)) {
+                return new Map5<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5);
+            }
+            return this;
+        }
+    }
+
+    static final class Map7<K, V> extends SmallMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final K k1;
+        private final V v1;
+        private final K k2;
+        private final V v2;
+        private final K k3;
+        private final V v3;
+        private final K k4;
+        private final V v4;
+        private final K k5;
+        private final V v5;
+        private final K k6;
+        private final V v6;
+        private final K k7;
+        private final V v7;
+
+        Map7(final K k1, final V v1,
+             final K k2, final V v2,
+             final K k3, final V v3,
+             final K k4, final V v4,
+             final K k5, final V v5,
+             final K k6, final V v6,
+             final K k7, final V v7) {
+            this.k1 = k1;
+            this.v1 = v1;
+            this.k2 = k2;
+            this.v2 = v2;
+            this.k3 = k3;
+            this.v3 = v3;
+            this.k4 = k4;
+            this.v4 = v4;
+            this.k5 = k5;
+            this.v5 = v5;
+            this.k6 = k6;
+            this.v6 = v6;
+            this.k7 = k7;
+            this.v7 = v7;
+        }
+
+        @Override
+        public int size() {
+            return 7;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return Objects.equals(key, k1)
+                   || Objects.equals(key, k2)
+                   || Objects.equals(key, k3)
+                   || Objects.equals(key, k4)
+                   || Objects.equals(key, k5)
+                   || Objects.equals(key, k6)
+                   || Objects.equals(key, k7);
+        }
+
+        @Override
+        public V get(final Object key) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            if (Objects.equals(key, k4)) {
+                return v4;
+            }
+            if (Objects.equals(key, k5)) {
+                return v5;
+            }
+            if (Objects.equals(key, k6)) {
+                return v6;
+            }
+            if (Objects.equals(key, k7)) {
+                return v7;
+            }
+            return null;
+        }
+
+        @Override
+        public V getOrDefault(final Object key, final V defaultValue) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            if (Objects.equals(key, k4)) {
+                return v4;
+            }
+            if (Objects.equals(key, k5)) {
+                return v5;
+            }
+            if (Objects.equals(key, k6)) {
+                return v6;
+            }
+            if (Objects.equals(key, k7)) {
+                return v7;
+            }
+            return defaultValue;
+        }
+
+        @Override
+        K keyAt(final int index) {
+            switch (index) {
+                case 0:
+                    return k1;
+                case 1:
+                    return k2;
+                case 2:
+                    return k3;
+                case 3:
+                    return k4;
+                case 4:
+                    return k5;
+                case 5:
+                    return k6;
+                case 6:
+                    return k7;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @Override
+        V valueAt(final int index) {
+            switch (index) {
+                case 0:
+                    return v1;
+                case 1:
+                    return v2;
+                case 2:
+                    return v3;
+                case 3:
+                    return v4;
+                case 4:
+                    return v5;
+                case 5:
+                    return v6;
+                case 6:
+                    return v7;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> putToNew(final K key, final V value) {
+            if (Objects.equals(key, k1)) {
+                return v1 == value ? this : new Map7<>(k1, value, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7);
+            }
+            if (Objects.equals(key, k2)) {
+                return v2 == value ? this : new Map7<>(k1, v1, k2, value, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7);
+            }
+            if (Objects.equals(key, k3)) {
+                return v3 == value ? this : new Map7<>(k1, v1, k2, v2, k3, value, k4, v4, k5, v5, k6, v6, k7, v7);
+            }
+            if (Objects.equals(key, k4)) {
+                return v4 == value ? this : new Map7<>(k1, v1, k2, v2, k3, v3, k4, value, k5, v5, k6, v6, k7, v7);
+            }
+            if (Objects.equals(key, k5)) {
+                return v5 == value ? this : new Map7<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, value, k6, v6, k7, v7);
+            }
+            if (Objects.equals(key, k6)) {
+                return v6 == value ? this : new Map7<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, value, k7, v7);
+            }
+            if (Objects.equals(key, k7)) {
+                return v7 == value ? this : new Map7<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, value);
+            }
+            return new Map8<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7, key, value);
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> removeFromNew(final K key) {
+            if (Objects.equals(key, k1)) {
+                return new Map6<>(k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7);
+            }
+            if (Objects.equals(key, k2)) {
+                return new Map6<>(k1, v1, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7);
+            }
+            if (Objects.equals(key, k3)) {
+                return new Map6<>(k1, v1, k2, v2, k4, v4, k5, v5, k6, v6, k7, v7);
+            }
+            if (Objects.equals(key, k4)) {
+                return new Map6<>(k1, v1, k2, v2, k3, v3, k5, v5, k6, v6, k7, v7);
+            }
+            if (Objects.equals(key, k5)) {
+                return new Map6<>(k1, v1, k2, v2, k3, v3, k4, v4, k6, v6, k7, v7);
+            }
+            if (Objects.equals(key, k6)) {
+                return new Map6<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k7, v7);
+            }
+            if (Objects.equals(key, k7)) {
+                return new Map6<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6);
+            }
+            return this;
+        }
+    }
+
+    static final class Map8<K, V> extends SmallMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final K k1;
+        private final V v1;
+        private final K k2;
+        private final V v2;
+        private final K k3;
+        private final V v3;
+        private final K k4;
+        private final V v4;
+        private final K k5;
+        private final V v5;
+        private final K k6;
+        private final V v6;
+        private final K k7;
+        private final V v7;
+        private final K k8;
+        private final V v8;
+
+        Map8(final K k1, final V v1,
+             final K k2, final V v2,
+             final K k3, final V v3,
+             final K k4, final V v4,
+             final K k5, final V v5,
+             final K k6, final V v6,
+             final K k7, final V v7,
+             final K k8, final V v8) {
+            this.k1 = k1;
+            this.v1 = v1;
+            this.k2 = k2;
+            this.v2 = v2;
+            this.k3 = k3;
+            this.v3 = v3;
+            this.k4 = k4;
+            this.v4 = v4;
+            this.k5 = k5;
+            this.v5 = v5;
+            this.k6 = k6;
+            this.v6 = v6;
+            this.k7 = k7;
+            this.v7 = v7;
+            this.k8 = k8;
+            this.v8 = v8;
+        }
+
+        @Override
+        public int size() {
+            return 8;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return Objects.equals(key, k1)
+                   || Objects.equals(key, k2)
+                   || Objects.equals(key, k3)
+                   || Objects.equals(key, k4)
+                   || Objects.equals(key, k5)
+                   || Objects.equals(key, k6)
+                   || Objects.equals(key, k7)
+                   || Objects.equals(key, k8);
+        }
+
+        @Override
+        public V get(final Object key) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            if (Objects.equals(key, k4)) {
+                return v4;
+            }
+            if (Objects.equals(key, k5)) {
+                return v5;
+            }
+            if (Objects.equals(key, k6)) {
+                return v6;
+            }
+            if (Objects.equals(key, k7)) {
+                return v7;
+            }
+            if (Objects.equals(key, k8)) {
+                return v8;
+            }
+            return null;
+        }
+
+        @Override
+        public V getOrDefault(final Object key, final V defaultValue) {
+            if (Objects.equals(key, k1)) {
+                return v1;
+            }
+            if (Objects.equals(key, k2)) {
+                return v2;
+            }
+            if (Objects.equals(key, k3)) {
+                return v3;
+            }
+            if (Objects.equals(key, k4)) {
+                return v4;
+            }
+            if (Objects.equals(key, k5)) {
+                return v5;
+            }
+            if (Objects.equals(key, k6)) {
+                return v6;
+            }
+            if (Objects.equals(key, k7)) {
+                return v7;
+            }
+            if (Objects.equals(key, k8)) {
+                return v8;
+            }
+            return defaultValue;
+        }
+
+        @Override
+        K keyAt(final int index) {
+            switch (index) {
+                case 0:
+                    return k1;
+                case 1:
+                    return k2;
+                case 2:
+                    return k3;
+                case 3:
+                    return k4;
+                case 4:
+                    return k5;
+                case 5:
+                    return k6;
+                case 6:
+                    return k7;
+                case 7:
+                    return k8;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @Override
+        V valueAt(final int index) {
+            switch (index) {
+                case 0:
+                    return v1;
+                case 1:
+                    return v2;
+                case 2:
+                    return v3;
+                case 3:
+                    return v4;
+                case 4:
+                    return v5;
+                case 5:
+                    return v6;
+                case 6:
+                    return v7;
+                case 7:
+                    return v8;
+                default:
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> putToNew(final K key, final V value) {
+            if (Objects.equals(key, k1)) {
+                return v1 == value ? this : new Map8<>(
+                        k1, value, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k2)) {
+                return v2 == value ? this : new Map8<>(
+                        k1, v1, k2, value, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k3)) {
+                return v3 == value ? this : new Map8<>(
+                        k1, v1, k2, v2, k3, value, k4, v4, k5, v5, k6, v6, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k4)) {
+                return v4 == value ? this : new Map8<>(
+                        k1, v1, k2, v2, k3, v3, k4, value, k5, v5, k6, v6, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k5)) {
+                return v5 == value ? this : new Map8<>(
+                        k1, v1, k2, v2, k3, v3, k4, v4, k5, value, k6, v6, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k6)) {
+                return v6 == value ? this : new Map8<>(
+                        k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, value, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k7)) {
+                return v7 == value ? this : new Map8<>(
+                        k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, value, k8, v8);
+            }
+            if (Objects.equals(key, k8)) {
+                return v8 == value ? this : new Map8<>(
+                        k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7, k8, value);
+            }
+            return HashTrieImmutableMap.<K, V>builder()
+                    .put(k1, v1)
+                    .put(k2, v2)
+                    .put(k3, v3)
+                    .put(k4, v4)
+                    .put(k5, v5)
+                    .put(k6, v6)
+                    .put(k7, v7)
+                    .put(k8, v8)
+                    .put(key, value)
+                    .build();
+        }
+
+        @NotNull
+        @Override
+        public ImmutableMap<K, V> removeFromNew(final K key) {
+            if (Objects.equals(key, k1)) {
+                return new Map7<>(k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k2)) {
+                return new Map7<>(k1, v1, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k3)) {
+                return new Map7<>(k1, v1, k2, v2, k4, v4, k5, v5, k6, v6, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k4)) {
+                return new Map7<>(k1, v1, k2, v2, k3, v3, k5, v5, k6, v6, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k5)) {
+                return new Map7<>(k1, v1, k2, v2, k3, v3, k4, v4, k6, v6, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k6)) {
+                return new Map7<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k7, v7, k8, v8);
+            }
+            if (Objects.equals(key, k7)) {
+                return new Map7<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k8, v8);
+            }
+            if (Objects.equals(key, k8)) {
+                return new Map7<>(k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,1047 @@
+package com.github.magx2.steroids.collections.maps;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implementation of {@link ImmutableSortedMap} that is a persistent AVL tree.
+ * <p>
+ * {@link #putToNew(Object, Object)} and {@link #removeFromNew(Object)} copy only nodes on the path from root to the
+ * changed key, so they take <code>O(log n)</code> and all other nodes are shared with this map. Every node keeps the
+ * size of its subtree, so {@link #size()} of views takes <code>O(log n)</code> as well.
+ * <p>
+ * Views ({@link #subMap}, {@link #headMap}, {@link #tailMap}, {@link #descendingMap()}) share the tree with this map
+ * and do not copy anything. Entries returned from {@link #floorEntry(Object)}, {@link #ceilingEntry(Object)} and
+ * similar methods are tree nodes, not copies.
+ * <p>
+ * Like {@link TreeMap} it does not support <code>null</code> keys when natural ordering is used.
+ *
+ * @param <KeyT>   Key type
+ * @param <ValueT> Value type
+ */
+public final class TreeImmutableSortedMap<KeyT, ValueT> extends AbstractImmutableMap<KeyT, ValueT>
+        implements ImmutableSortedMap<KeyT, ValueT> {
+    private static final long serialVersionUID = 1L;
+
+    private static final TreeImmutableSortedMap<?, ?> EMPTY = new TreeImmutableSortedMap<>(null, null);
+
+    /**
+     * <code>null</code> means natural ordering.
+     */
+    private final Comparator<? super KeyT> comparator;
+    private final Node<KeyT, ValueT> root;
+    // bounds of the view in ascending order of the tree
+    private final boolean fromStart;
+    private final KeyT lo;
+    private final boolean loInclusive;
+    private final boolean toEnd;
+    private final KeyT hi;
+    private final boolean hiInclusive;
+    private final boolean descending;
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K extends Comparable<? super K>, V> TreeImmutableSortedMap<K, V> empty() {
+        return (TreeImmutableSortedMap<K, V>) EMPTY;
+    }
+
+    @NotNull
+    public static <K, V> TreeImmutableSortedMap<K, V> empty(@NotNull final Comparator<? super K> comparator) {
+        return new TreeImmutableSortedMap<>(requireNonNull(comparator, "comparator cannot be null!"), null);
+    }
+
+    /**
+     * Create new map with entries from given map. If given map is a {@link SortedMap} its comparator is used, otherwise
+     * keys are sorted in natural ordering.
+     *
+     * @param map map to copy
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return new map with entries from given map
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <K, V> TreeImmutableSortedMap<K, V> from(@NotNull final Map<K, V> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        if (map instanceof TreeImmutableSortedMap) {
+            final TreeImmutableSortedMap<K, V> treeMap = (TreeImmutableSortedMap<K, V>) map;
+            if (treeMap.isFullMap()) {
+                return treeMap;
+            }
+        }
+        final Comparator<? super K> comparator = map instanceof SortedMap
+                ? ((SortedMap<K, V>) map).comparator()
+                : null;
+        return new TreeImmutableSortedMap<K, V>(comparator, null).withEntries(map.entrySet());
+    }
+
+    @NotNull
+    public static <K, V> TreeImmutableSortedMap<K, V> from(@NotNull final Map<K, V> map,
+                                                           @NotNull final Comparator<? super K> comparator) {
+        requireNonNull(map, "Given map cannot be null!");
+        return TreeImmutableSortedMap.<K, V>empty(comparator).withEntries(map.entrySet());
+    }
+
+    /**
+     * Create new empty {@link ImmutableMap.Builder} that builds {@link TreeImmutableSortedMap} with natural ordering.
+     *
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return new empty builder
+     */
+    @NotNull
+    public static <K extends Comparable<? super K>, V> ImmutableMap.Builder<K, V> builder() {
+        return TreeImmutableSortedMap.<K, V>empty().toBuilder();
+    }
+
+    /**
+     * Reads entries that were written in order of given comparator and builds balanced tree of them without sorting.
+     */
+    static <K, V> TreeImmutableSortedMap<K, V> read(final Comparator<? super K> comparator,
+                                                    final ImmutableMapSerialization.EntryReader<K, V> reader)
+            throws IOException, ClassNotFoundException {
+        final TreeImmutableSortedMap<K, V> empty = new TreeImmutableSortedMap<>(comparator, null);
+        final List<Entry<K, V>> entries = new ArrayList<>(ImmutableMapSerialization.initialCapacity(reader.size()));
+        boolean sorted = true;
+        for (int i = 0; i < reader.size(); i++) {
+            final K key = reader.readKey();
+            sorted = sorted && (i == 0 || empty.compare(entries.get(i - 1).getKey(), key) < 0);
+            entries.add(new ImmutableMapEntry<>(key, reader.readValue()));
+        }
+        if (!sorted) {
+            // stream was not written by this class, so do not trust the order
+            return empty.withEntries(entries);
+        }
+        return empty.withRoot(buildBalanced(entries.toArray(), 0, entries.size()));
+    }
+
+    private TreeImmutableSortedMap(final Comparator<? super KeyT> comparator, final Node<KeyT, ValueT> root) {
+        this(comparator, root, true, null, false, true, null, false, false);
+    }
+
+    private TreeImmutableSortedMap(final Comparator<? super KeyT> comparator,
+                                   final Node<KeyT, ValueT> root,
+                                   final boolean fromStart,
+                                   final KeyT lo,
+                                   final boolean loInclusive,
+                                   final boolean toEnd,
+                                   final KeyT hi,
+                                   final boolean hiInclusive,
+                                   final boolean descending) {
+        this.comparator = comparator;
+        this.root = root;
+        this.fromStart = fromStart;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.toEnd = toEnd;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+        this.descending = descending;
+    }
+
+    private boolean isFullMap() {
+        return fromStart && toEnd && !descending;
+    }
+
+    /**
+     * Returns map with the same bounds as this one, but with different tree.
+     */
+    private TreeImmutableSortedMap<KeyT, ValueT> withRoot(final Node<KeyT, ValueT> newRoot) {
+        if (newRoot == root) {
+            return this;
+        }
+        return new TreeImmutableSortedMap<>(
+                comparator, newRoot, fromStart, lo, loInclusive, toEnd, hi, hiInclusive, descending);
+    }
+
+    /**
+     * Builds balanced tree from entries of this map and given entries. When keys are equal, the last value wins.
+     */
+    @SuppressWarnings("unchecked")
+    private TreeImmutableSortedMap<KeyT, ValueT> withEntries(final Collection<? extends Entry<KeyT, ValueT>> entries) {
+        final List<Entry<KeyT, ValueT>> sorted = new ArrayList<>(size(root) + entries.size());
+        addAll(root, sorted);
+        sorted.addAll(entries);
+        // stable sort keeps later entries after earlier ones with equal keys
+        sorted.sort((e1, e2) -> compare(e1.getKey(), e2.getKey()));
+        final Object[] unique = new Object[sorted.size()];
+        int size = 0;
+        for (Entry<KeyT, ValueT> entry : sorted) {
+            if (size > 0 && compare(((Entry<KeyT, ValueT>) unique[size - 1]).getKey(), entry.getKey()) == 0) {
+                unique[size - 1] = entry;
+            } else {
+                unique[size++] = entry;
+            }
+        }
+        return withRoot(buildBalanced(unique, 0, size));
+    }
+
+    /**
+     * Adds all nodes of given tree in ascending order, ignoring bounds of any view.
+     */
+    private static <K, V> void addAll(final Node<K, V> node, final List<Entry<K, V>> entries) {
+        if (node != null) {
+            addAll(node.left, entries);
+            entries.add(node);
+            addAll(node.right, entries);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V> buildBalanced(final Object[] sortedEntries, final int from, final int to) {
+        if (from >= to) {
+            return null;
+        }
+        final int middle = (from + to) >>> 1;
+        final Entry<K, V> entry = (Entry<K, V>) sortedEntries[middle];
+        return new Node<>(entry.getKey(), entry.getValue(),
+                buildBalanced(sortedEntries, from, middle),
+                buildBalanced(sortedEntries, middle + 1, to));
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(final Object key1, final Object key2) {
+        return comparator == null
+                ? ((Comparable<Object>) key1).compareTo(key2)
+                : comparator.compare((KeyT) key1, (KeyT) key2);
+    }
+
+    // ---- bounds ----
+
+    private boolean tooLow(final Object key) {
+        if (fromStart) {
+            return false;
+        }
+        final int c = compare(key, lo);
+        return c < 0 || (c == 0 && !loInclusive);
+    }
+
+    private boolean tooHigh(final Object key) {
+        if (toEnd) {
+            return false;
+        }
+        final int c = compare(key, hi);
+        return c > 0 || (c == 0 && !hiInclusive);
+    }
+
+    private boolean inRange(final Object key) {
+        return !tooLow(key) && !tooHigh(key);
+    }
+
+    /**
+     * Checks if key is in range of this view or is equal to one of exclusive bounds.
+     */
+    private boolean inClosedRange(final Object key) {
+        return (fromStart || compare(key, lo) >= 0) && (toEnd || compare(hi, key) >= 0);
+    }
+
+    private boolean inRange(final Object key, final boolean inclusive) {
+        return inclusive ? inRange(key) : inClosedRange(key);
+    }
+
+    // ---- tree search ----
+
+    private Node<KeyT, ValueT> findNode(final Object key) {
+        Node<KeyT, ValueT> node = root;
+        while (node != null) {
+            final int c = compare(key, node.key);
+            if (c == 0) {
+                return node;
+            }
+            node = c < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private Node<KeyT, ValueT> ceilingNode(final Object key, final boolean inclusive) {
+        Node<KeyT, ValueT> best = null;
+        Node<KeyT, ValueT> node = root;
+        while (node != null) {
+            final int c = compare(key, node.key);
+            if (c == 0 && inclusive) {
+                return node;
+            }
+            if (c < 0) {
+                best = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best;
+    }
+
+    private Node<KeyT, ValueT> floorNode(final Object key, final boolean inclusive) {
+        Node<KeyT, ValueT> best = null;
+        Node<KeyT, ValueT> node = root;
+        while (node != null) {
+            final int c = compare(key, node.key);
+            if (c == 0 && inclusive) {
+                return node;
+            }
+            if (c > 0) {
+                best = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns number of keys in the tree that are lower than given key (or equal to it if <code>inclusive</code>).
+     */
+    private int countLower(final Object key, final boolean inclusive) {
+        int count = 0;
+        Node<KeyT, ValueT> node = root;
+        while (node != null) {
+            final int c = compare(key, node.key);
+            if (c < 0 || (c == 0 && !inclusive)) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    // ---- navigation in ascending order of the tree, restricted to bounds ----
+
+    private Node<KeyT, ValueT> absLowest() {
+        Node<KeyT, ValueT> node = root;
+        if (fromStart) {
+            while (node != null && node.left != null) {
+                node = node.left;
+            }
+        } else {
+            node = ceilingNode(lo, loInclusive);
+        }
+        return node == null || tooHigh(node.key) ? null : node;
+    }
+
+    private Node<KeyT, ValueT> absHighest() {
+        Node<KeyT, ValueT> node = root;
+        if (toEnd) {
+            while (node != null && node.right != null) {
+                node = node.right;
+            }
+        } else {
+            node = floorNode(hi, hiInclusive);
+        }
+        return node == null || tooLow(node.key) ? null : node;
+    }
+
+    private Node<KeyT, ValueT> absCeiling(final Object key, final boolean inclusive) {
+        if (tooLow(key)) {
+            return absLowest();
+        }
+        final Node<KeyT, ValueT> node = ceilingNode(key, inclusive);
+        return node == null || tooHigh(node.key) ? null : node;
+    }
+
+    private Node<KeyT, ValueT> absFloor(final Object key, final boolean inclusive) {
+        if (tooHigh(key)) {
+            return absHighest();
+        }
+        final Node<KeyT, ValueT> node = floorNode(key, inclusive);
+        return node == null || tooLow(node.key) ? null : node;
+    }
+
+    // ---- persistent changes ----
+
+    private Node<KeyT, ValueT> inserted(final Node<KeyT, ValueT> node, final KeyT key, final ValueT value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        final int c = compare(key, node.key);
+        if (c < 0) {
+            final Node<KeyT, ValueT> left = inserted(node.left, key, value);
+            return left == node.left ? node : balanced(node.key, node.value, left, node.right);
+        }
+        if (c > 0) {
+            final Node<KeyT, ValueT> right = inserted(node.right, key, value);
+            return right == node.right ? node : balanced(node.key, node.value, node.left, right);
+        }
+        if (node.value == value) {
+            return node;
+        }
+        return new Node<>(node.key, value, node.left, node.right);
+    }
+
+    private Node<KeyT, ValueT> removed(final Node<KeyT, ValueT> node, final Object key) {
+        if (node == null) {
+            return null;
+        }
+        final int c = compare(key, node.key);
+        if (c < 0) {
+            final Node<KeyT, ValueT> left = removed(node.left, key);
+            return left == node.left ? node : balanced(node.key, node.value, left, node.right);
+        }
+        if (c > 0) {
+            final Node<KeyT, ValueT> right = removed(node.right, key);
+            return right == node.right ? node : balanced(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<KeyT, ValueT> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balanced(successor.key, successor.value, node.left, removedLowest(node.right));
+    }
+
+    private static <K, V> Node<K, V> removedLowest(final Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balanced(node.key, node.value, removedLowest(node.left), node.right);
+    }
+
+    /**
+     * Creates node with given children and restores AVL invariant with at most two rotations.
+     */
+    private static <K, V> Node<K, V> balanced(final K key,
+                                              final V value,
+                                              final Node<K, V> left,
+                                              final Node<K, V> right) {
+        final int leftHeight = height(left);
+        final int rightHeight = height(right);
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+            }
+            final Node<K, V> pivot = left.right;
+            return new Node<>(pivot.key, pivot.value,
+                    new Node<>(left.key, left.value, left.left, pivot.left),
+                    new Node<>(key, value, pivot.right, right));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+            }
+            final Node<K, V> pivot = right.left;
+            return new Node<>(pivot.key, pivot.value,
+                    new Node<>(key, value, left, pivot.left),
+                    new Node<>(right.key, right.value, pivot.right, right.right));
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    private static int height(final Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(final Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <K> K keyOrNull(final Entry<K, ?> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+
+    private static <K> K keyOrThrow(final Entry<K, ?> entry) {
+        if (entry == null) {
+            throw new NoSuchElementException();
+        }
+        return entry.getKey();
+    }
+
+    // ---- ImmutableMap ----
+
+    @NotNull
+    @Override
+    public Map<KeyT, ValueT> toMutableMap() {
+        return new TreeMap<>(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Builder of a view builds map with all entries of the view, but without its bounds.
+     */
+    @NotNull
+    @Override
+    public ImmutableMap.Builder<KeyT, ValueT> toBuilder() {
+        final Comparator<? super KeyT> comparator = comparator();
+        return new HashMapBuilder<>(this, map -> comparator == null ? from(map) : from(map, comparator));
+    }
+
+    @NotNull
+    @Override
+    public TreeImmutableSortedMap<KeyT, ValueT> putToNew(final KeyT key, final ValueT value) {
+        if (!inRange(key)) {
+            throw new IllegalArgumentException("key out of range");
+        }
+        return withRoot(inserted(root, key, value));
+    }
+
+    @NotNull
+    @Override
+    public TreeImmutableSortedMap<KeyT, ValueT> putAllToNew(@NotNull final Map<KeyT, ValueT> map) {
+        requireNonNull(map, "Given map cannot be null!");
+        for (KeyT key : map.keySet()) {
+            if (!inRange(key)) {
+                throw new IllegalArgumentException("key out of range");
+            }
+        }
+        if (map.size() > size(root) / 8) {
+            // rebuilding whole tree is cheaper than many inserts
+            return withEntries(map.entrySet());
+        }
+        Node<KeyT, ValueT> newRoot = root;
+        for (Entry<KeyT, ValueT> entry : map.entrySet()) {
+            newRoot = inserted(newRoot, entry.getKey(), entry.getValue());
+        }
+        return withRoot(newRoot);
+    }
+
+    @NotNull
+    @Override
+    public TreeImmutableSortedMap<KeyT, ValueT> removeFromNew(final KeyT key) {
+        if (!inRange(key)) {
+            return this;
+        }
+        return withRoot(removed(root, key));
+    }
+
+    // ---- Map ----
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sub map views describe the whole tree they are views of.
+     */
+    @NotNull
+    @Override
+    public MapStatistics stats() {
+        final MapStatistics.Accumulator accumulator = new MapStatistics.Accumulator(this)
+                .size(size(root))
+                .chain(root != null ? root.height : 0)
+                .bytes(MapStatistics.objectBytes(4, 4));
+        collectStatistics(root, 0, accumulator);
+        return accumulator.build();
+    }
+
+    private static void collectStatistics(final Node<?, ?> node,
+                                          final int depth,
+                                          final MapStatistics.Accumulator accumulator) {
+        if (node == null) {
+            return;
+        }
+        accumulator.node().entries(depth, 1).bytes(MapStatistics.objectBytes(4, 2 * Integer.BYTES));
+        collectStatistics(node.left, depth + 1, accumulator);
+        collectStatistics(node.right, depth + 1, accumulator);
+    }
+
+    @Override
+    public int size() {
+        if (fromStart && toEnd) {
+            return size(root);
+        }
+        final int upper = toEnd ? size(root) : countLower(hi, hiInclusive);
+        final int lower = fromStart ? 0 : countLower(lo, !loInclusive);
+        return Math.max(0, upper - lower);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return fromStart && toEnd ? root == null : absLowest() == null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return inRange(key) && findNode(key) != null;
+    }
+
+    @Override
+    public ValueT get(final Object key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    public ValueT getOrDefault(final Object key, final ValueT defaultValue) {
+        if (!inRange(key)) {
+            return defaultValue;
+        }
+        final Node<KeyT, ValueT> node = findNode(key);
+        return node != null ? node.value : defaultValue;
+    }
+
+    @Override
+    public NavigableSet<KeyT> keySet() {
+        return navigableKeySet();
+    }
+
+    @Override
+    public Collection<ValueT> values() {
+        return new AbstractCollection<ValueT>() {
+            @Override
+            public Iterator<ValueT> iterator() {
+                final Iterator<Node<KeyT, ValueT>> nodes = new NodeIterator();
+                return new Iterator<ValueT>() {
+                    @Override
+                    public boolean hasNext() {
+                        return nodes.hasNext();
+                    }
+
+                    @Override
+                    public ValueT next() {
+                        return nodes.next().value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TreeImmutableSortedMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<KeyT, ValueT>> entrySet() {
+        return new AbstractSet<Entry<KeyT, ValueT>>() {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            @Override
+            public Iterator<Entry<KeyT, ValueT>> iterator() {
+                return (Iterator) new NodeIterator();
+            }
+
+            @Override
+            public int size() {
+                return TreeImmutableSortedMap.this.size();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return TreeImmutableSortedMap.this.isEmpty();
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                final Entry<?, ?> entry = (Entry<?, ?>) o;
+                if (!inRange(entry.getKey())) {
+                    return false;
+                }
+                final Node<KeyT, ValueT> node = findNode(entry.getKey());
+                return node != null && Objects.equals(node.value, entry.getValue());
+            }
+        };
+    }
+
+    // ---- NavigableMap ----
+
+    @Override
+    public Comparator<? super KeyT> comparator() {
+        return descending ? Collections.reverseOrder(comparator) : comparator;
+    }
+
+    @Override
+    public KeyT firstKey() {
+        return keyOrThrow(firstEntry());
+    }
+
+    @Override
+    public KeyT lastKey() {
+        return keyOrThrow(lastEntry());
+    }
+
+    @Override
+    public Entry<KeyT, ValueT> firstEntry() {
+        return descending ? absHighest() : absLowest();
+    }
+
+    @Override
+    public Entry<KeyT, ValueT> lastEntry() {
+        return descending ? absLowest() : absHighest();
+    }
+
+    @Override
+    public Entry<KeyT, ValueT> lowerEntry(final KeyT key) {
+        return descending ? absCeiling(key, false) : absFloor(key, false);
+    }
+
+    @Override
+    public KeyT lowerKey(final KeyT key) {
+        return keyOrNull(lowerEntry(key));
+    }
+
+    @Override
+    public Entry<KeyT, ValueT> floorEntry(final KeyT key) {
+        return descending ? absCeiling(key, true) : absFloor(key, true);
+    }
+
+    @Override
+    public KeyT floorKey(final KeyT key) {
+        return keyOrNull(floorEntry(key));
+    }
+
+    @Override
+    public Entry<KeyT, ValueT> ceilingEntry(final KeyT key) {
+        return descending ? absFloor(key, true) : absCeiling(key, true);
+    }
+
+    @Override
+    public KeyT ceilingKey(final KeyT key) {
+        return keyOrNull(ceilingEntry(key));
+    }
+
+    @Override
+    public Entry<KeyT, ValueT> higherEntry(final KeyT key) {
+        return descending ? absFloor(key, false) : absCeiling(key, false);
+    }
+
+    @Override
+    public KeyT higherKey(final KeyT key) {
+        return keyOrNull(higherEntry(key));
+    }
+
+    @NotNull
+    @Override
+    public TreeImmutableSortedMap<KeyT, ValueT> descendingMap() {
+        return new TreeImmutableSortedMap<>(
+                comparator, root, fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+    }
+
+    @Override
+    public NavigableSet<KeyT> navigableKeySet() {
+        return new KeySet<>(this);
+    }
+
+    @Override
+    public NavigableSet<KeyT> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    @NotNull
+    @Override
+    public TreeImmutableSortedMap<KeyT, ValueT> subMap(final KeyT fromKey,
+                                                       final boolean fromInclusive,
+                                                       final KeyT toKey,
+                                                       final boolean toInclusive) {
+        if (descending) {
+            return view(false, toKey, toInclusive, false, fromKey, fromInclusive);
+        }
+        return view(false, fromKey, fromInclusive, false, toKey, toInclusive);
+    }
+
+    @NotNull
+    @Override
+    public TreeImmutableSortedMap<KeyT, ValueT> headMap(final KeyT toKey, final boolean inclusive) {
+        if (descending) {
+            return view(false, toKey, inclusive, true, null, false);
+        }
+        return view(true, null, false, false, toKey, inclusive);
+    }
+
+    @NotNull
+    @Override
+    public TreeImmutableSortedMap<KeyT, ValueT> tailMap(final KeyT fromKey, final boolean inclusive) {
+        if (descending) {
+            return view(true, null, false, false, fromKey, inclusive);
+        }
+        return view(false, fromKey, inclusive, true, null, false);
+    }
+
+    /**
+     * Creates view with given bounds (in ascending order of the tree). Missing bound is taken from this view.
+     */
+    private TreeImmutableSortedMap<KeyT, ValueT> view(final boolean newFromStart,
+                                                      final KeyT newLo,
+                                                      final boolean newLoInclusive,
+                                                      final boolean newToEnd,
+                                                      final KeyT newHi,
+                                                      final boolean newHiInclusive) {
+        if (!newFromStart && !newToEnd && compare(newLo, newHi) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        if (!newFromStart && !inRange(newLo, newLoInclusive)) {
+            throw new IllegalArgumentException("fromKey out of range");
+        }
+        if (!newToEnd && !inRange(newHi, newHiInclusive)) {
+            throw new IllegalArgumentException("toKey out of range");
+        }
+        return new TreeImmutableSortedMap<>(
+                comparator,
+                root,
+                newFromStart && fromStart,
+                newFromStart ? lo : newLo,
+                newFromStart ? loInclusive : newLoInclusive,
+                newToEnd && toEnd,
+                newToEnd ? hi : newHi,
+                newToEnd ? hiInclusive : newHiInclusive,
+                descending);
+    }
+
+    /**
+     * Iterates over nodes of the tree that are in bounds of the map, in order of the map. Keeps only the path from
+     * root to the current node.
+     */
+    private final class NodeIterator implements Iterator<Node<KeyT, ValueT>> {
+        private final boolean reversed;
+        private final Node<KeyT, ValueT>[] stack;
+        private int depth;
+
+        @SuppressWarnings("unchecked")
+        private NodeIterator() {
+            this.reversed = descending;
+            this.stack = (Node<KeyT, ValueT>[]) new Node<?, ?>[height(root)];
+            Node<KeyT, ValueT> node = root;
+            while (node != null) {
+                if (reversed ? tooHigh(node.key) : tooLow(node.key)) {
+                    node = reversed ? node.left : node.right;
+                } else {
+                    stack[depth++] = node;
+                    node = reversed ? node.right : node.left;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (depth == 0) {
+                return false;
+            }
+            final KeyT key = stack[depth - 1].key;
+            return reversed ? !tooLow(key) : !tooHigh(key);
+        }
+
+        @Override
+        public Node<KeyT, ValueT> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Node<KeyT, ValueT> current = stack[--depth];
+            Node<KeyT, ValueT> node = reversed ? current.left : current.right;
+            while (node != null) {
+                stack[depth++] = node;
+                node = reversed ? node.right : node.left;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Node of the tree. It is also an entry of the map, so navigation methods can return it without copying.
+     */
+    private static final class Node<K, V> implements Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final Node<K, V> left;
+        private final Node<K, V> right;
+        private final int height;
+        private final int size;
+
+        private Node(final K key, final V value, final Node<K, V> left, final Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            throw new UnsupportedOperationException("This is immutable map! Puts are not supported!");
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) o;
+            return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Navigable key set of the map. All methods delegate to the map.
+     */
+    private static final class KeySet<K> extends AbstractSet<K> implements NavigableSet<K> {
+        private final TreeImmutableSortedMap<K, ?> map;
+
+        private KeySet(final TreeImmutableSortedMap<K, ?> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            final Iterator<? extends Entry<K, ?>> entries = map.entrySet().iterator();
+            return new Iterator<K>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public K next() {
+                    return entries.next().getKey();
+                }
+            };
+        }
+
+        @Override
+        public Iterator<K> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return map.containsKey(o);
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return map.comparator();
+        }
+
+        @Override
+        public K first() {
+            return map.firstKey();
+        }
+
+        @Override
+        public K last() {
+            return map.lastKey();
+        }
+
+        @Override
+        public K lower(final K k) {
+            return map.lowerKey(k);
+        }
+
+        @Override
+        public K floor(final K k) {
+            return map.floorKey(k);
+        }
+
+        @Override
+        public K ceiling(final K k) {
+            return map.ceilingKey(k);
+        }
+
+        @Override
+        public K higher(final K k) {
+            return map.higherKey(k);
+        }
+
+        @Override
+        public K pollFirst() {
+            throw new UnsupportedOperationException("This is immutable set! Polls are not supported!");
+        }
+
+        @Override
+        public K pollLast() {
+            throw new UnsupportedOperationException("This is immutable set! Polls are not supported!");
+        }
+
+        @Override
+        public boolean add(final K k) {
+            throw new UnsupportedOperationException("This is immutable set! Adds are not supported!");
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            throw new UnsupportedOperationException("This is immutable set! Removes are not supported!");
+        }
+
+        @Override
+        public NavigableSet<K> descendingSet() {
+            return map.descendingKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> subSet(final K fromElement,
+                                      final boolean fromInclusive,
+                                      final K toElement,
+                                      final boolean toInclusive) {
+            return map.subMap(fromElement, fromInclusive, toElement, toInclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> headSet(final K toElement, final boolean inclusive) {
+            return map.headMap(toElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> tailSet(final K fromElement, final boolean inclusive) {
+            return map.tailMap(fromElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> subSet(final K fromElement, final K toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public NavigableSet<K> headSet(final K toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public NavigableSet<K> tailSet(final K fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.magx2.steroids.collections.sets;
+
+import com.github.magx2.steroids.collections.maps.HashTrieImmutableMap;
+import com.github.magx2.steroids.collections.maps.ImmutableMap;
+
+import javax.validation.constraints.NotNull;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ImmutableSet} backed by persistent hash trie (the same one as {@link HashTrieImmutableMap}).
+ * <p>
+ * {@link #addToNew(Object)} and {@link #removeFromNew(Object)} copy only <code>O(log32 n)</code> nodes on the path to
+ * changed element. All other nodes are shared between old and new set.
+ *
+ * @param <T> Element type
+ */
+public final class HashTrieImmutableSet<T> extends AbstractSet<T> implements ImmutableSet<T> {
+    private static final HashTrieImmutableSet<?> EMPTY = new HashTrieImmutableSet<>(HashTrieImmutableMap.empty());
+    private static final Object PRESENT = Boolean.TRUE;
+
+    private final HashTrieImmutableMap<T, Object> map;
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <T> HashTrieImmutableSet<T> empty() {
+        return (HashTrieImmutableSet<T>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static <T> HashTrieImmutableSet<T> from(@NotNull final Collection<? extends T> elements) {
+        requireNonNull(elements, "Given collection cannot be null!");
+        if (elements instanceof HashTrieImmutableSet) {
+            return (HashTrieImmutableSet<T>) elements;
+        }
+        return HashTrieImmutableSet.<T>empty().addAllToNew(elements);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs") // elements are only read, so nothing can be stored in the array
+    @NotNull
+    public static <T> HashTrieImmutableSet<T> of(@NotNull final T... elements) {
+        requireNonNull(elements, "Given elements cannot be null!");
+        return HashTrieImmutableSet.<T>empty().addAllToNew(Arrays.asList(elements));
+    }
+
+    private HashTrieImmutableSet(@NotNull final HashTrieImmutableMap<T, Object> map) {
+        this.map = requireNonNull(map);
+    }
+
+    @Override
+    @NotNull
+    public Set<T> toMutableSet() {
+        return new HashSet<>(this);
+    }
+
+    @Override
+    @NotNull
+    public HashTrieImmutableSet<T> addToNew(final T element) {
+        return withMap(map.putToNew(element, PRESENT));
+    }
+
+    @Override
+    @NotNull
+    public HashTrieImmutableSet<T> addAllToNew(@NotNull final Collection<? extends T> elements) {
+        requireNonNull(elements, "Given collection cannot be null!");
+        final ImmutableMap.Builder<T, Object> builder = map.toBuilder();
+        for (T element : elements) {
+            builder.put(element, PRESENT);
+        }
+        return withMap((HashTrieImmutableMap<T, Object>) builder.build());
+    }
+
+    @Override
+    @NotNull
+    public HashTrieImmutableSet<T> removeFromNew(final T element) {
+        return withMap(map.removeFromNew(element));
+    }
+
+    private HashTrieImmutableSet<T> withMap(final HashTrieImmutableMap<T, Object> newMap) {
+        if (newMap == map) {
+            return this;
+        }
+        return newMap.isEmpty() ? empty() : new HashTrieImmutableSet<>(newMap);
+    }
+
+    @Override
+    public boolean contains(final Object element) {
+        return map.containsKey(element);
+    }
+
+    @Override
+    @NotNull
+    public Iterator<T> iterator() {
+        return map.keySet().iterator();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean add(final T element) {
+        return ImmutableSet.super.add(element);
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> elements) {
+        return ImmutableSet.super.addAll(elements);
+    }
+
+    @Override
+    public boolean remove(final Object element) {
+        return ImmutableSet.super.remove(element);
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> elements) {
+        return ImmutableSet.super.removeAll(elements);
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> elements) {
+        return ImmutableSet.super.retainAll(elements);
+    }
+
+    @Override
+    public void clear() {
+        ImmutableSet.super.clear();
+    }
+
+    @Override
+    public String toString() {
+        return HashTrieImmutableSet.class.getSimpleName() + super.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.magx2.steroids.collections.sets;
+
+import javax.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * A set that cannot be modified after creation.
+ *
+ * @param <T> Element type
+ */
+public interface ImmutableSet<T> extends Set<T> {
+    /**
+     * Coverts to Set that is mutable.
+     * <p>
+     * Original set still cannot be changed.
+     *
+     * @return new set that is mutable.
+     */
+    @NotNull
+    Set<T> toMutableSet();
+
+    /**
+     * Create new {@link ImmutableSet} from this one with given element.
+     *
+     * @param element element to add
+     * @return new {@link ImmutableSet} that has given element
+     */
+    @NotNull
+    ImmutableSet<T> addToNew(final T element);
+
+    /**
+     * Create new {@link ImmutableSet} from this one with all given elements.
+     *
+     * @param elements elements to add
+     * @return new {@link ImmutableSet} that has given elements
+     */
+    @NotNull
+    ImmutableSet<T> addAllToNew(@NotNull Collection<? extends T> elements);
+
+    /**
+     * Create new {@link ImmutableSet} from this one without given element.
+     *
+     * @param element element to remove
+     * @return new {@link ImmutableSet} that has not given element
+     */
+    @NotNull
+    ImmutableSet<T> removeFromNew(final T element);
+
+    /**
+     * @param <T> Element type
+     * @return empty set
+     */
+    @NotNull
+    static <T> ImmutableSet<T> of() {
+        return HashTrieImmutableSet.empty();
+    }
+
+    /**
+     * @param elements elements of new set
+     * @param <T>      Element type
+     * @return set with given elements
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // elements are only read, so nothing can be stored in the array
+    @NotNull
+    static <T> ImmutableSet<T> of(final T... elements) {
+        return HashTrieImmutableSet.of(elements);
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     * @see ImmutableSet#addToNew
+     */
+    @Override
+    default boolean add(final T element) {
+        throw new UnsupportedOperationException("This is immutable set! Adds are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     * @see ImmutableSet#addAllToNew
+     */
+    @Override
+    default boolean addAll(final Collection<? extends T> elements) {
+        throw new UnsupportedOperationException("This is immutable set! Add all are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     * @see ImmutableSet#removeFromNew
+     */
+    @Override
+    default boolean remove(final Object element) {
+        throw new UnsupportedOperationException("This is immutable set! Removes are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    default boolean removeAll(final Collection<?> elements) {
+        throw new UnsupportedOperationException("This is immutable set! Removes are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    default boolean retainAll(final Collection<?> elements) {
+        throw new UnsupportedOperationException("This is immutable set! Removes are not supported!");
+    }
+
+    /**
+     * This method is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    default void clear() {
+        throw new UnsupportedOperationException("This is immutable set! Clear is not supported!");
+    }
+}
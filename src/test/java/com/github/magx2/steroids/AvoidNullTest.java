@@ -1,10 +1,18 @@
 package com.github.magx2.steroids;
 
+import com.github.magx2.steroids.collections.lists.ImmutableList;
+import com.github.magx2.steroids.collections.maps.ImmutableMap;
+import com.github.magx2.steroids.collections.maps.ImmutableSortedMap;
+import com.github.magx2.steroids.collections.maps.TreeImmutableSortedMap;
+import com.github.magx2.steroids.collections.sets.ImmutableSet;
 import org.assertj.core.api.ThrowableAssert;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.AbstractMap;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -15,6 +23,11 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
@@ -297,4 +310,305 @@ class AvoidNullTest {
         // then
         assertThat(orDefault).isEmpty();
     }
+
+    @Test
+    @DisplayName("should return first non null argument of fixed arity `firstNonNull`")
+    void firstNonNullFixedArity() {
+        // when
+        final String two = AvoidNull.firstNonNull(null, "2");
+        final String three = AvoidNull.firstNonNull(null, null, "3");
+        final String four = AvoidNull.firstNonNull(null, null, null, "4");
+        final String five = AvoidNull.firstNonNull(null, null, null, null, "5");
+
+        // then
+        assertThat(two).isEqualTo("2");
+        assertThat(three).isEqualTo("3");
+        assertThat(four).isEqualTo("4");
+        assertThat(five).isEqualTo("5");
+        assertThat(AvoidNull.firstNonNull("1", null, "3", null, "5")).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("should throw `NullPointerException` if all arguments of fixed arity `firstNonNull` were null")
+    void firstNonNullFixedArityNulls() {
+        // when
+        ThrowableAssert.ThrowingCallable when = () -> AvoidNull.firstNonNull(null, null, null, null, null);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Everything was null!")
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("should return `Optional` of first non null argument of fixed arity `tryFirstNonNull`")
+    void tryFirstNonNullFixedArity() {
+        // when
+        final Optional<String> two = AvoidNull.tryFirstNonNull(null, "2");
+        final Optional<String> three = AvoidNull.tryFirstNonNull(null, null, "3");
+        final Optional<String> four = AvoidNull.tryFirstNonNull(null, null, null, "4");
+        final Optional<String> five = AvoidNull.tryFirstNonNull(null, null, null, null, "5");
+        final Optional<String> empty = AvoidNull.tryFirstNonNull(null, null, null, null, null);
+
+        // then
+        assertThat(two).contains("2");
+        assertThat(three).contains("3");
+        assertThat(four).contains("4");
+        assertThat(five).contains("5");
+        assertThat(empty).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should return given collections if they are not null")
+    void orEmpty() {
+        // given
+        final List<String> list = asList("1", "2");
+        final Set<String> set = new HashSet<>(list);
+        final Map<String, Integer> map = new HashMap<>();
+        final ImmutableMap<String, Integer> immutableMap = ImmutableMap.of("k", 1);
+
+        // when
+        final List<String> orEmptyList = AvoidNull.orEmpty(list);
+        final Set<String> orEmptySet = AvoidNull.orEmpty(set);
+        final Map<String, Integer> orEmptyMap = AvoidNull.orEmpty(map);
+        final ImmutableMap<String, Integer> orEmptyImmutableMap = AvoidNull.orEmpty(immutableMap);
+
+        // then
+        assertThat(orEmptyList).isSameAs(list);
+        assertThat(orEmptySet).isSameAs(set);
+        assertThat(orEmptyMap).isSameAs(map);
+        assertThat(orEmptyImmutableMap).isSameAs(immutableMap);
+    }
+
+    @Test
+    @DisplayName("should return shared empty collections if passed null")
+    void orEmptyNull() {
+        // when
+        final Collection<String> collection = AvoidNull.orEmpty((Collection<String>) null);
+        final List<String> list = AvoidNull.orEmpty((List<String>) null);
+        final Set<String> set = AvoidNull.orEmpty((Set<String>) null);
+        final SortedSet<String> sortedSet = AvoidNull.orEmpty((SortedSet<String>) null);
+        final Map<String, Integer> map = AvoidNull.orEmpty((Map<String, Integer>) null);
+        final SortedMap<String, Integer> sortedMap = AvoidNull.orEmpty((SortedMap<String, Integer>) null);
+        final ImmutableList<String> immutableList = AvoidNull.orEmpty((ImmutableList<String>) null);
+        final ImmutableSet<String> immutableSet = AvoidNull.orEmpty((ImmutableSet<String>) null);
+        final ImmutableMap<String, Integer> immutableMap = AvoidNull.orEmpty((ImmutableMap<String, Integer>) null);
+        final ImmutableSortedMap<String, Integer> immutableSortedMap =
+                AvoidNull.orEmpty((ImmutableSortedMap<String, Integer>) null);
+
+        // then
+        assertThat(collection).isEmpty();
+        assertThat(list).isEmpty();
+        assertThat(set).isEmpty();
+        assertThat(sortedSet).isEmpty();
+        assertThat(map).isEmpty();
+        assertThat(sortedMap).isEmpty();
+        assertThat(immutableList).isEmpty();
+        assertThat(immutableSet).isEmpty();
+        assertThat(immutableMap).isEmpty();
+        assertThat(immutableSortedMap).isEmpty();
+        assertThat(AvoidNull.orEmpty((List<String>) null)).isSameAs(list);
+        assertThat(AvoidNull.orEmpty((Map<String, Integer>) null)).isSameAs(map);
+        assertThat(AvoidNull.orEmpty((ImmutableMap<String, Integer>) null)).isSameAs(immutableMap);
+    }
+
+    @Test
+    @DisplayName("should return given ImmutableSortedMap with comparator and keys that are not Comparable")
+    void orEmptyComparatorSortedMap() {
+        // given
+        final ImmutableSortedMap<int[], String> map =
+                TreeImmutableSortedMap.<int[], String>empty(Comparator.comparingInt(key -> key[0]))
+                        .putToNew(new int[]{1}, "v1");
+
+        // when
+        final ImmutableSortedMap<int[], String> orEmpty = AvoidNull.orEmpty(map);
+        final ImmutableSortedMap<int[], String> orEmptyNull =
+                AvoidNull.orEmpty((ImmutableSortedMap<int[], String>) null);
+
+        // then
+        assertThat(orEmpty).isSameAs(map);
+        assertThat(orEmptyNull).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should return unmodifiable empty list if passed null")
+    void orEmptyUnmodifiable() {
+        // given
+        final List<String> list = AvoidNull.orEmpty((List<String>) null);
+
+        // when
+        ThrowableAssert.ThrowingCallable when = () -> list.add("x");
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should not call suppliers after the first non null value")
+    void firstNonNullLazy() {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+
+        // when
+        final String firstNonNull = AvoidNull.firstNonNullLazy(
+                () -> null,
+                null,
+                () -> "x",
+                () -> "y" + calls.incrementAndGet());
+
+        // then
+        assertThat(firstNonNull).isEqualTo("x");
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("should throw `NullPointerException` if all suppliers returned null")
+    void firstNonNullLazyNulls() {
+        // when
+        ThrowableAssert.ThrowingCallable when = () -> AvoidNull.firstNonNullLazy(() -> null, () -> null);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Everything was null!")
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("should return `Optional` of first non null value from suppliers")
+    void tryFirstNonNullLazy() {
+        // when
+        final Optional<String> firstNonNull = AvoidNull.tryFirstNonNullLazy(() -> null, () -> "x");
+        final Optional<String> empty = AvoidNull.tryFirstNonNullLazy(() -> null, () -> null);
+
+        // then
+        assertThat(firstNonNull).contains("x");
+        assertThat(empty).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should ask next source only when previous one completed with null or failed")
+    void firstNonNullAsync() throws Exception {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("Cache is down!"));
+
+        // when
+        final CompletableFuture<String> future = AvoidNull.firstNonNullAsync(
+                () -> CompletableFuture.completedFuture(null),
+                () -> failed,
+                () -> CompletableFuture.supplyAsync(() -> "x"),
+                () -> CompletableFuture.completedFuture("y" + calls.incrementAndGet()));
+
+        // then
+        assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("x");
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("should complete with `NullPointerException` if all sources completed with null or failed")
+    void firstNonNullAsyncNulls() {
+        // given
+        final IllegalStateException failure = new IllegalStateException("Database is down!");
+
+        // when
+        final CompletableFuture<String> future = AvoidNull.firstNonNullAsync(
+                () -> CompletableFuture.completedFuture(null),
+                () -> {
+                    throw failure;
+                });
+
+        // then
+        final Throwable error = future.handle((value, e) -> e).join();
+        assertThat(error)
+                .hasMessage("Everything was null!")
+                .isInstanceOf(NullPointerException.class);
+        assertThat(error.getSuppressed()).containsExactly(failure);
+    }
+
+    @Test
+    @DisplayName("should ask next source when previous one did not complete within hedge delay")
+    void firstNonNullAsyncHedged() throws Exception {
+        // given
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final CompletableFuture<String> slow = new CompletableFuture<>();
+
+        // when
+        final CompletableFuture<String> future = AvoidNull.firstNonNullAsync(Duration.ofMillis(10), scheduler,
+                () -> slow,
+                () -> CompletableFuture.completedFuture("x"));
+
+        // then
+        try {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("x");
+            assertThat(slow).isCancelled();
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should not ask next source when previous one completed within hedge delay")
+    void firstNonNullAsyncHedgedInTime() throws Exception {
+        // given
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final AtomicInteger calls = new AtomicInteger();
+
+        // when
+        final CompletableFuture<String> future = AvoidNull.firstNonNullAsync(Duration.ofMinutes(1), scheduler,
+                () -> CompletableFuture.completedFuture("x"),
+                () -> CompletableFuture.completedFuture("y" + calls.incrementAndGet()));
+
+        // then
+        try {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("x");
+            assertThat(calls).hasValue(0);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should return result of getters applied one after another")
+    void get() {
+        // given
+        final Map.Entry<String, String> entry = new AbstractMap.SimpleEntry<>("key", " value ");
+
+        // when
+        final String value = AvoidNull.get(entry, Map.Entry::getValue, "default");
+
+        // then
+        assertThat(value).isEqualTo(" value ");
+        assertThat(AvoidNull.get(entry, Map.Entry::getValue, String::trim, "default")).isEqualTo("value");
+        assertThat(AvoidNull.get(entry, Map.Entry::getValue, String::trim, String::length, -1)).isEqualTo(5);
+        assertThat(AvoidNull.get(entry, Map.Entry::getValue, String::trim, String::length, Integer::toBinaryString,
+                "default")).isEqualTo("101");
+        assertThat(AvoidNull.get(entry, Map.Entry::getValue, String::trim, String::length, Integer::toBinaryString,
+                String::length, -1)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should return default value and not call next getters if any object on the path is null")
+    void getNull() {
+        // given
+        final Map.Entry<String, String> entry = new AbstractMap.SimpleEntry<>("key", null);
+        final AtomicInteger calls = new AtomicInteger();
+
+        // when
+        final Integer length = AvoidNull.get(entry, Map.Entry::getValue, value -> {
+            calls.incrementAndGet();
+            return value.length();
+        }, -1);
+
+        // then
+        assertThat(length).isEqualTo(-1);
+        assertThat(calls).hasValue(0);
+        assertThat(AvoidNull.get((Map.Entry<String, String>) null, Map.Entry::getValue, "default"))
+                .isEqualTo("default");
+        assertThat(AvoidNull.get(entry, Map.Entry::getValue, "default")).isEqualTo("default");
+    }
 }
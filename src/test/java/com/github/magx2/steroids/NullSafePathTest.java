@@ -0,0 +1,101 @@
+package com.github.magx2.steroids;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NullSafePathTest {
+    private static final NullSafePath<Order, Integer> LENGTH =
+            NullSafePath.of(Order::getCustomer).then(Customer::getName).then(String::length);
+
+    @Test
+    @DisplayName("should return result of the last getter")
+    void get() {
+        // given
+        final Order root = new Order(new Customer("value"));
+
+        // when
+        final Integer length = LENGTH.get(root);
+
+        // then
+        assertThat(length).isEqualTo(5);
+        assertThat(LENGTH.getOrDefault(root, -1)).isEqualTo(5);
+        assertThat(LENGTH.tryGet(root)).contains(5);
+        assertThat(LENGTH.length()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should return `null` when any object on the path is `null`")
+    void nullOnPath() {
+        // given
+        final Order root = new Order(null);
+
+        // when
+        final Integer length = LENGTH.get(root);
+
+        // then
+        assertThat(length).isNull();
+        assertThat(LENGTH.getOrDefault(root, -1)).isEqualTo(-1);
+        assertThat(LENGTH.tryGet(root)).isEmpty();
+        assertThat(LENGTH.get(null)).isNull();
+        assertThat(LENGTH.getOrDefault(new Order(new Customer(null)), -1)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("should not change path when creating longer one")
+    void then() {
+        // given
+        final NullSafePath<String, String> trim = NullSafePath.of(String::trim);
+
+        // when
+        final NullSafePath<String, Integer> length = trim.then(String::length);
+
+        // then
+        assertThat(trim.get(" x ")).isEqualTo("x");
+        assertThat(trim.length()).isEqualTo(1);
+        assertThat(length.get(" x ")).isEqualTo(1);
+        assertThat(length.length()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should throw exception when getter is `null`")
+    void nullGetter() {
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> NullSafePath.of((Function<String, String>) null);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("getter cannot be null!")
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    private static final class Order {
+        private final Customer customer;
+
+        Order(final Customer customer) {
+            this.customer = customer;
+        }
+
+        Customer getCustomer() {
+            return customer;
+        }
+    }
+
+    private static final class Customer {
+        private final String name;
+
+        Customer(final String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+}
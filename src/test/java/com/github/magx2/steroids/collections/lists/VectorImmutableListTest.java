@@ -0,0 +1,206 @@
+package com.github.magx2.steroids.collections.lists;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VectorImmutableListTest {
+    @Test
+    @DisplayName("should create VectorImmutableList from collection")
+    void from() {
+        // given
+        final List<Integer> list = range(1000);
+
+        // when
+        final VectorImmutableList<Integer> immutableList = VectorImmutableList.from(list);
+
+        // then
+        assertThat(immutableList).hasSize(1000);
+        assertThat(immutableList).containsExactlyElementsOf(list);
+        assertThat(immutableList.get(0)).isEqualTo(0);
+        assertThat(immutableList.get(999)).isEqualTo(999);
+        assertThat(immutableList.toArray()).isEqualTo(list.toArray());
+        assertThat(immutableList).isEqualTo(list);
+        assertThat(immutableList.hashCode()).isEqualTo(list.hashCode());
+    }
+
+    @Test
+    @DisplayName("should create new immutable list and add element at the end")
+    void addToNew() {
+        // given
+        final VectorImmutableList<Integer> sourceList = VectorImmutableList.from(range(32));
+
+        // when
+        final VectorImmutableList<Integer> newList = sourceList.addToNew(32);
+
+        // then
+        assertThat(newList).containsExactlyElementsOf(range(33));
+        assertThat(sourceList).containsExactlyElementsOf(range(32));
+    }
+
+    @Test
+    @DisplayName("should add elements to list bigger than one level of trie")
+    void addToNewManyElements() {
+        // given
+        VectorImmutableList<Integer> immutableList = VectorImmutableList.empty();
+
+        // when
+        for (int i = 0; i < 40_000; i++) {
+            immutableList = immutableList.addToNew(i);
+        }
+
+        // then
+        assertThat(immutableList).containsExactlyElementsOf(range(40_000));
+    }
+
+    @Test
+    @DisplayName("should create new immutable list and add all elements at the end")
+    void addAllToNew() {
+        // given
+        final VectorImmutableList<Integer> sourceList = VectorImmutableList.from(range(10));
+
+        // when
+        final VectorImmutableList<Integer> newList = sourceList.addAllToNew(range(100).subList(10, 100));
+
+        // then
+        assertThat(newList).containsExactlyElementsOf(range(100));
+        assertThat(sourceList).containsExactlyElementsOf(range(10));
+    }
+
+    @Test
+    @DisplayName("should create new immutable list and set element at given index")
+    void setToNew() {
+        // given
+        final VectorImmutableList<Integer> sourceList = VectorImmutableList.from(range(100));
+
+        // when
+        final VectorImmutableList<Integer> newList = sourceList.setToNew(5, -5).setToNew(99, -99);
+
+        // then
+        assertThat(newList.get(5)).isEqualTo(-5);
+        assertThat(newList.get(99)).isEqualTo(-99);
+        assertThat(newList.get(6)).isEqualTo(6);
+        assertThat(sourceList).containsExactlyElementsOf(range(100));
+    }
+
+    @Test
+    @DisplayName("should create new immutable list without last element")
+    void removeLastFromNew() {
+        // given
+        final VectorImmutableList<Integer> sourceList = VectorImmutableList.from(range(1057));
+
+        // when
+        VectorImmutableList<Integer> newList = sourceList;
+        for (int i = 0; i < 1050; i++) {
+            newList = newList.removeFromNew(newList.size() - 1);
+        }
+
+        // then
+        assertThat(newList).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(sourceList).containsExactlyElementsOf(range(1057));
+    }
+
+    @Test
+    @DisplayName("should create new immutable list without element at given index")
+    void removeFromNew() {
+        // given
+        final VectorImmutableList<String> sourceList = VectorImmutableList.of("a", "b", "c");
+
+        // when
+        final VectorImmutableList<String> newList = sourceList.removeFromNew(1);
+
+        // then
+        assertThat(newList).containsExactly("a", "c");
+        assertThat(sourceList).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    @DisplayName("should throw `IndexOutOfBoundsException` if index is out of range")
+    void getOutOfRange() {
+        // given
+        final VectorImmutableList<String> immutableList = VectorImmutableList.of("a", "b");
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> immutableList.get(2);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Index: 2, Size: 2")
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("should create mutable list")
+    void toMutableList() {
+        // given
+        final VectorImmutableList<String> immutableList = VectorImmutableList.of("a", "b");
+
+        // when
+        final List<String> mutableList = immutableList.toMutableList();
+        mutableList.add("c");
+
+        // then
+        assertThat(mutableList).containsExactly("a", "b", "c");
+        assertThat(immutableList).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("should throw `UnsupportedOperationException` on add")
+    void add() {
+        // given
+        final VectorImmutableList<String> immutableList = VectorImmutableList.of("a", "b");
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> immutableList.add("c");
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("This is immutable list! Adds are not supported!")
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should throw `UnsupportedOperationException` on set")
+    void set() {
+        // given
+        final VectorImmutableList<String> immutableList = VectorImmutableList.of("a", "b");
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> immutableList.set(0, "c");
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("This is immutable list! Sets are not supported!")
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should print list")
+    void toStringTest() {
+        // given
+        final ImmutableList<String> immutableList = ImmutableList.of("a", "b");
+
+        // when
+        final String string = immutableList.toString();
+
+        // then
+        assertThat(string).isEqualTo("VectorImmutableList[a, b]");
+    }
+
+    private static List<Integer> range(final int size) {
+        final List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}
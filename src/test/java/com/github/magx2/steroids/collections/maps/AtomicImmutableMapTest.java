@@ -0,0 +1,210 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AtomicImmutableMapTest {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("should put, remove and compute entries")
+    void updates() {
+        // given
+        final AtomicImmutableMap<String, Integer> atomicMap = AtomicImmutableMap.empty();
+        final ImmutableMap<String, Integer> snapshot = atomicMap.putAndGet("k1", 1);
+
+        // when
+        atomicMap.putAndGet("k2", 2);
+        atomicMap.computeToNew("k1", (key, value) -> value + 10);
+        atomicMap.computeToNew("k3", (key, value) -> value == null ? 3 : value);
+        atomicMap.removeAndGet("k2");
+
+        // then
+        assertThat(atomicMap.get()).containsOnly(
+                ImmutableMapEntry.of("k1", 11),
+                ImmutableMapEntry.of("k3", 3));
+        assertThat(snapshot).containsOnly(ImmutableMapEntry.of("k1", 1));
+    }
+
+    @Test
+    @DisplayName("should remove key when computed value is `null`")
+    void computeToNewNull() {
+        // given
+        final AtomicImmutableMap<String, Integer> atomicMap = AtomicImmutableMap.of(ImmutableMap.of("k1", 1));
+
+        // when
+        final ImmutableMap<String, Integer> map = atomicMap.computeToNew("k1", (key, value) -> null);
+
+        // then
+        assertThat(map).isEmpty();
+        assertThat(atomicMap.get()).isSameAs(map);
+    }
+
+    @Test
+    @DisplayName("should not lose any update when many threads are writing")
+    void concurrentUpdates() throws Exception {
+        // given
+        final AtomicImmutableMap<Integer, Integer> atomicMap = AtomicImmutableMap.empty();
+        final int threads = 8;
+        final int updatesPerThread = 10_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < updatesPerThread; j++) {
+                    atomicMap.computeToNew(j % 10, (key, value) -> value == null ? 1 : value + 1);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(atomicMap.get()).hasSize(10);
+        assertThat(atomicMap.get().values()).containsOnly(threads * updatesPerThread / 10);
+    }
+
+    @Test
+    @DisplayName("should return published map with the change when many threads are writing")
+    void concurrentPutAndGet() throws Exception {
+        // given
+        final AtomicImmutableMap<Integer, Integer> atomicMap = AtomicImmutableMap.empty();
+        final int threads = 8;
+        final int updatesPerThread = 1_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        final List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final int thread = i;
+            futures.add(executor.submit(() -> {
+                boolean allContainChange = true;
+                for (int j = 0; j < updatesPerThread; j++) {
+                    final int key = thread * updatesPerThread + j;
+                    final ImmutableMap<Integer, Integer> published = atomicMap.putAndGet(key, key);
+                    allContainChange &= published.containsKey(key);
+                }
+                return allContainChange;
+            }));
+        }
+        final List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(results).containsOnly(true);
+        assertThat(atomicMap.get()).hasSize(threads * updatesPerThread);
+    }
+
+    @Test
+    @DisplayName("should park interrupted writer and give it its result")
+    void interruptedWriter() throws Exception {
+        // given
+        final AtomicImmutableMap<String, Integer> atomicMap = AtomicImmutableMap.empty();
+        final CountDownLatch combining = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger combinerInvocations = new AtomicInteger();
+        final Thread combiner = new Thread(() -> atomicMap.update(map -> {
+            if (combinerInvocations.incrementAndGet() == 1) {
+                // other change makes compare-and-set fail, so this writer becomes the combiner
+                atomicMap.set(map.putToNew("other", 0));
+            } else {
+                combining.countDown();
+                await(release);
+            }
+            return map.putToNew("combiner", 1);
+        }));
+        combiner.start();
+        combining.await();
+        final AtomicInteger writerInvocations = new AtomicInteger();
+        final AtomicReference<ImmutableMap<String, Integer>> writerResult = new AtomicReference<>();
+        final AtomicBoolean writerInterrupted = new AtomicBoolean();
+        final Thread writer = new Thread(() -> {
+            writerResult.set(atomicMap.update(map -> {
+                if (writerInvocations.incrementAndGet() == 1) {
+                    atomicMap.set(map.putToNew("other", 2));
+                }
+                return map.putToNew("writer", 3);
+            }));
+            writerInterrupted.set(Thread.currentThread().isInterrupted());
+        });
+        writer.start();
+        awaitState(writer, Thread.State.WAITING);
+
+        // when
+        writer.interrupt();
+        Thread.sleep(50);
+        final long cpuTime = THREADS.getThreadCpuTime(writer.getId());
+        Thread.sleep(200);
+        final long spinningTime = THREADS.getThreadCpuTime(writer.getId()) - cpuTime;
+        release.countDown();
+        combiner.join();
+        writer.join();
+
+        // then
+        assertThat(spinningTime).isLessThan(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(writerResult.get()).containsEntry("writer", 3);
+        assertThat(writerInterrupted).isTrue();
+        assertThat(atomicMap.get()).containsEntry("combiner", 1).containsEntry("writer", 3);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Waits until given thread is in given state.
+     */
+    private static void awaitState(final Thread thread, final Thread.State state) throws InterruptedException {
+        Thread.sleep(50);
+        while (thread.getState() != state) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    @DisplayName("should throw exception from update function and keep current map")
+    void updateFailure() {
+        // given
+        final AtomicImmutableMap<String, Integer> atomicMap = AtomicImmutableMap.of(ImmutableMap.of("k1", 1));
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> atomicMap.update(map -> {
+            throw new IllegalStateException("failure");
+        });
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("failure")
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(atomicMap.get()).containsOnly(ImmutableMapEntry.of("k1", 1));
+    }
+}
@@ -0,0 +1,237 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactImmutableMapTest {
+    @Test
+    @DisplayName("should create CompactImmutableMap from map")
+    void fromMap() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        map.put("k1", 1);
+        map.put("k2", 2);
+        map.put("k3", 3);
+
+        // when
+        final CompactImmutableMap<String, Integer> immutableMap = CompactImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap).hasSize(3);
+        assertThat(immutableMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 3));
+        assertThat(immutableMap.containsKey("k1")).isTrue();
+        assertThat(immutableMap.containsKey("some key")).isFalse();
+        assertThat(immutableMap.containsValue(1)).isTrue();
+        assertThat(immutableMap.containsValue(99)).isFalse();
+        assertThat(immutableMap.get("k1")).isEqualTo(1);
+        assertThat(immutableMap.get("some key")).isNull();
+        assertThat(immutableMap.keySet()).containsExactlyInAnyOrder("k1", "k2", "k3");
+        assertThat(immutableMap.values()).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(immutableMap).isEqualTo(map);
+        assertThat(immutableMap.hashCode()).isEqualTo(map.hashCode());
+    }
+
+    @Test
+    @DisplayName("should create CompactImmutableMap from key values and keep last value of duplicated key")
+    void fromList() {
+        // when
+        final CompactImmutableMap<String, Integer> immutableMap = CompactImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k1", 3);
+
+        // then
+        assertThat(immutableMap).hasSize(2);
+        assertThat(immutableMap).containsOnly(
+                ImmutableMapEntry.of("k1", 3),
+                ImmutableMapEntry.of("k2", 2));
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and put into it entry")
+    void putToNew() {
+        // given
+        final CompactImmutableMap<String, Integer> sourceMap = CompactImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putToNew("k4", 4).putToNew("k1", 11);
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 11),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 3),
+                ImmutableMapEntry.of("k4", 4));
+        assertThat(sourceMap).doesNotContainKey("k4");
+        assertThat(sourceMap).containsEntry("k1", 1);
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and put into it all entries from map")
+    void putAllToNew() {
+        // given
+        final CompactImmutableMap<String, Integer> sourceMap = CompactImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+        final Map<String, Integer> addMap = new HashMap<>();
+        addMap.put("k3", 33);
+        addMap.put("k4", 4);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putAllToNew(addMap);
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 33),
+                ImmutableMapEntry.of("k4", 4));
+        assertThat(sourceMap).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and remove given key")
+    void removeFromNew() {
+        // given
+        final CompactImmutableMap<String, Integer> sourceMap = CompactImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.removeFromNew("k1");
+
+        // then
+        assertThat(sourceMap).containsAllEntriesOf(newMap);
+        assertThat(newMap).doesNotContainKey("k1");
+        assertThat(newMap).hasSize(2);
+        assertThat(sourceMap).containsEntry("k1", 1);
+    }
+
+    @Test
+    @DisplayName("should find all keys after many removals")
+    void manyRemovals() {
+        // given
+        CompactImmutableMap<Integer, Integer> map = CompactImmutableMap.empty();
+        for (int i = 0; i < 1_000; i++) {
+            map = map.putToNew(i * 64, i);
+        }
+
+        // when
+        for (int i = 0; i < 1_000; i += 3) {
+            map = map.removeFromNew(i * 64);
+        }
+
+        // then
+        assertThat(map).hasSize(666);
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 3 == 0) {
+                assertThat(map).doesNotContainKey(i * 64);
+            } else {
+                assertThat(map).containsEntry(i * 64, i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should support `null` key and value")
+    void nullKeyAndValue() {
+        // when
+        final ImmutableMap<String, Integer> map = CompactImmutableMap.<String, Integer>empty()
+                                                          .putToNew(null, 1)
+                                                          .putToNew("k", null);
+
+        // then
+        assertThat(map).containsKey(null);
+        assertThat(map.get(null)).isEqualTo(1);
+        assertThat(map).containsKey("k");
+        assertThat(map.get("k")).isNull();
+        assertThat(map.keySet()).containsExactlyInAnyOrder(null, "k");
+        assertThat(map.removeFromNew(null)).containsOnlyKeys("k");
+    }
+
+    @Test
+    @DisplayName("should build CompactImmutableMap with builder")
+    void builder() {
+        // when
+        final ImmutableMap<String, Integer> map = CompactImmutableMap.<String, Integer>builder()
+                                                          .put("k1", 1)
+                                                          .put("k2", 2)
+                                                          .remove("k1")
+                                                          .build();
+
+        // then
+        assertThat(map).isInstanceOf(CompactImmutableMap.class);
+        assertThat(map).containsOnly(ImmutableMapEntry.of("k2", 2));
+    }
+
+    @Test
+    @DisplayName("should have proper `toString()`")
+    void toStringValue() {
+        // given
+        final CompactImmutableMap<String, Integer> immutableMap = CompactImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1);
+
+        // when
+        final String toString = immutableMap.toString();
+
+        // then
+        assertThat(toString).isEqualTo("CompactImmutableMap[k1=1]");
+    }
+
+    @Test
+    @DisplayName("should throw `UnsupportedOperationException` when putting entry")
+    void put() {
+        // given
+        final CompactImmutableMap<String, Integer> map = CompactImmutableMap.empty();
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> map.put("k", 0);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should describe table in statistics")
+    void stats() {
+        // given
+        final CompactImmutableMap<String, Integer> map = CompactImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final MapStatistics stats = map.stats();
+
+        // then
+        assertThat(stats.getSize()).isEqualTo(3);
+        assertThat(stats.getCapacity()).isEqualTo(8);
+        assertThat(stats.getLoadFactor()).isEqualTo(3.0 / 8);
+        assertThat(stats.getNodes()).isEqualTo(1);
+        assertThat(stats.getMaxChainLength()).isBetween(1, 3);
+        assertThat(stats.getDepthHistogram()).containsExactly(3);
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnumImmutableMapTest {
+    @Test
+    @DisplayName("should create EnumImmutableMap from map")
+    void fromMap() {
+        // given
+        final Map<DayOfWeek, Integer> map = new EnumMap<>(DayOfWeek.class);
+        map.put(MONDAY, 1);
+        map.put(FRIDAY, 5);
+        map.put(SUNDAY, null);
+
+        // when
+        final EnumImmutableMap<DayOfWeek, Integer> immutableMap = EnumImmutableMap.from(DayOfWeek.class, map);
+
+        // then
+        assertThat(immutableMap).hasSize(3);
+        assertThat(immutableMap.get(MONDAY)).isEqualTo(1);
+        assertThat(immutableMap.get(TUESDAY)).isNull();
+        assertThat(immutableMap.get("MONDAY")).isNull();
+        assertThat(immutableMap.containsKey(SUNDAY)).isTrue();
+        assertThat(immutableMap.containsKey(TUESDAY)).isFalse();
+        assertThat(immutableMap.containsValue(null)).isTrue();
+        assertThat(immutableMap).isEqualTo(map);
+        assertThat(immutableMap.hashCode()).isEqualTo(map.hashCode());
+    }
+
+    @Test
+    @DisplayName("should iterate in order of enum constants")
+    void iterationOrder() {
+        // given
+        final EnumImmutableMap<DayOfWeek, Integer> immutableMap = EnumImmutableMap.from(
+                DayOfWeek.class, Integer.class,
+                SUNDAY, 7,
+                MONDAY, 1,
+                FRIDAY, 5);
+
+        // when
+        final Map<DayOfWeek, Integer> newMap = immutableMap.putToNew(TUESDAY, 2);
+
+        // then
+        assertThat(newMap.keySet()).containsExactly(MONDAY, TUESDAY, FRIDAY, SUNDAY);
+        assertThat(newMap.values()).containsExactly(1, 2, 5, 7);
+        assertThat(newMap).hasToString("EnumImmutableMap[MONDAY=1, TUESDAY=2, FRIDAY=5, SUNDAY=7]");
+    }
+
+    @Test
+    @DisplayName("should create new immutable maps with put and removed entries")
+    void putToNewAndRemoveFromNew() {
+        // given
+        final EnumImmutableMap<DayOfWeek, Integer> sourceMap = EnumImmutableMap.<DayOfWeek, Integer>empty(
+                DayOfWeek.class)
+                .putToNew(MONDAY, 1)
+                .putToNew(FRIDAY, 5);
+
+        // when
+        final ImmutableMap<DayOfWeek, Integer> newMap = sourceMap.putToNew(MONDAY, 11)
+                .putToNew(SUNDAY, 7)
+                .removeFromNew(FRIDAY)
+                .removeFromNew(TUESDAY);
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of(MONDAY, 11),
+                ImmutableMapEntry.of(SUNDAY, 7));
+        assertThat(sourceMap).containsOnly(
+                ImmutableMapEntry.of(MONDAY, 1),
+                ImmutableMapEntry.of(FRIDAY, 5));
+    }
+
+    @Test
+    @DisplayName("should return the same map if nothing changed")
+    void sameMap() {
+        // given
+        final EnumImmutableMap<DayOfWeek, Integer> sourceMap = EnumImmutableMap.<DayOfWeek, Integer>empty(
+                DayOfWeek.class)
+                .putToNew(MONDAY, 1);
+
+        // when
+        final ImmutableMap<DayOfWeek, Integer> putMap = sourceMap.putToNew(MONDAY, 1);
+        final ImmutableMap<DayOfWeek, Integer> removedMap = sourceMap.removeFromNew(FRIDAY);
+
+        // then
+        assertThat(putMap).isSameAs(sourceMap);
+        assertThat(removedMap).isSameAs(sourceMap);
+    }
+}
@@ -0,0 +1,539 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashTrieImmutableMapTest {
+    @Test
+    @DisplayName("should create HashTrieImmutableMap from map")
+    void fromMap() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        map.put("k1", 1);
+        map.put("k2", 2);
+        map.put("k3", 3);
+
+        // when
+        final HashTrieImmutableMap<String, Integer> immutableMap = HashTrieImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap).hasSize(3);
+        assertThat(immutableMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 3));
+        assertThat(immutableMap.containsKey("k1")).isTrue();
+        assertThat(immutableMap.containsKey("some key")).isFalse();
+        assertThat(immutableMap.containsValue(1)).isTrue();
+        assertThat(immutableMap.containsValue(99)).isFalse();
+        assertThat(immutableMap.get("k1")).isEqualTo(1);
+        assertThat(immutableMap.get("some key")).isNull();
+        assertThat(immutableMap.keySet()).containsExactlyInAnyOrder("k1", "k2", "k3");
+        assertThat(immutableMap.values()).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(immutableMap).isEqualTo(map);
+        assertThat(immutableMap.hashCode()).isEqualTo(map.hashCode());
+    }
+
+    @Test
+    @DisplayName("should create HashTrieImmutableMap from key values")
+    void fromList() {
+        // when
+        final HashTrieImmutableMap<String, Integer> immutableMap = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // then
+        assertThat(immutableMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 3));
+    }
+
+    @Test
+    @DisplayName("should throw `IllegalArgumentException` if one of the values has bad type")
+    void fromListBadClassOfValue() {
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> HashTrieImmutableMap.from(
+                String.class, Integer.class, "k1", 1, "k2", "2");
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Value at index 3 is not type of `java.lang.Integer`! Value=2")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and put into it entry")
+    void putToNew() {
+        // given
+        final HashTrieImmutableMap<String, Integer> sourceMap = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putToNew("k4", 4);
+
+        // then
+        assertThat(newMap).containsAllEntriesOf(sourceMap);
+        assertThat(newMap).containsEntry("k4", 4);
+        assertThat(newMap).hasSize(4);
+        assertThat(sourceMap).doesNotContainKey("k4");
+        assertThat(sourceMap).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("should replace value of existing key")
+    void putToNewExistingKey() {
+        // given
+        final HashTrieImmutableMap<String, Integer> sourceMap = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putToNew("k1", 11);
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 11),
+                ImmutableMapEntry.of("k2", 2));
+        assertThat(sourceMap).containsEntry("k1", 1);
+    }
+
+    @Test
+    @DisplayName("should return same map if entry is already in it")
+    void putToNewSameEntry() {
+        // given
+        final Integer value = 1;
+        final HashTrieImmutableMap<String, Integer> sourceMap = HashTrieImmutableMap.<String, Integer>empty()
+                                                                       .putToNew("k1", value);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putToNew("k1", value);
+
+        // then
+        assertThat(newMap).isSameAs(sourceMap);
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and put into it all entries from map")
+    void putAllToNew() {
+        // given
+        final HashTrieImmutableMap<String, Integer> sourceMap = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+        final Map<String, Integer> addMap = new HashMap<>();
+        addMap.put("k4", 4);
+        addMap.put("k5", 5);
+        addMap.put("k6", 6);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putAllToNew(addMap);
+
+        // then
+        assertThat(newMap).containsAllEntriesOf(sourceMap);
+        assertThat(newMap).containsAllEntriesOf(addMap);
+        assertThat(newMap).hasSize(6);
+        assertThat(sourceMap).doesNotContainKeys(addMap.keySet().toArray(new String[0]));
+    }
+
+    @Test
+    @DisplayName("should throw `NullPointerException` if given map is null")
+    void putAllToNewNull() {
+        // given
+        final HashTrieImmutableMap<String, Integer> sourceMap = HashTrieImmutableMap.empty();
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> sourceMap.putAllToNew(null);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and remove given key")
+    void removeFromNew() {
+        // given
+        final HashTrieImmutableMap<String, Integer> sourceMap = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.removeFromNew("k1");
+
+        // then
+        assertThat(sourceMap).containsAllEntriesOf(newMap);
+        assertThat(newMap).doesNotContainKey("k1");
+        assertThat(newMap).hasSize(2);
+        assertThat(sourceMap).containsEntry("k1", 1);
+    }
+
+    @Test
+    @DisplayName("should return same map if removed key is not in it")
+    void removeFromNewMissingKey() {
+        // given
+        final HashTrieImmutableMap<String, Integer> sourceMap = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.removeFromNew("k2");
+
+        // then
+        assertThat(newMap).isSameAs(sourceMap);
+    }
+
+    @Test
+    @DisplayName("should keep every version of map when having many entries")
+    void manyEntries() {
+        // given
+        final Map<Integer, Integer> expected = new HashMap<>();
+        HashTrieImmutableMap<Integer, Integer> map = HashTrieImmutableMap.empty();
+        for (int i = 0; i < 10_000; i++) {
+            map = map.putToNew(i, i);
+            expected.put(i, i);
+        }
+        final HashTrieImmutableMap<Integer, Integer> fullMap = map;
+
+        // when
+        for (int i = 0; i < 10_000; i += 2) {
+            map = map.removeFromNew(i);
+        }
+
+        // then
+        assertThat(fullMap).isEqualTo(expected);
+        assertThat(map).hasSize(5_000);
+        assertThat(map.keySet()).allMatch(key -> key % 2 == 1);
+    }
+
+    @Test
+    @DisplayName("should support keys with the same hash code")
+    void hashCollisions() {
+        // given
+        final CollidingKey k1 = new CollidingKey("k1");
+        final CollidingKey k2 = new CollidingKey("k2");
+        final CollidingKey k3 = new CollidingKey("k3");
+
+        // when
+        final ImmutableMap<CollidingKey, Integer> map = HashTrieImmutableMap.<CollidingKey, Integer>empty()
+                                                                .putToNew(k1, 1)
+                                                                .putToNew(k2, 2)
+                                                                .putToNew(k3, 3)
+                                                                .removeFromNew(k2);
+
+        // then
+        assertThat(map).containsOnly(
+                ImmutableMapEntry.of(k1, 1),
+                ImmutableMapEntry.of(k3, 3));
+    }
+
+    @Test
+    @DisplayName("should support `null` key and value")
+    void nullKeyAndValue() {
+        // when
+        final ImmutableMap<String, Integer> map = HashTrieImmutableMap.<String, Integer>empty()
+                                                          .putToNew(null, 1)
+                                                          .putToNew("k", null);
+
+        // then
+        assertThat(map).containsKey(null);
+        assertThat(map.get(null)).isEqualTo(1);
+        assertThat(map).containsKey("k");
+        assertThat(map.get("k")).isNull();
+    }
+
+    @Test
+    @DisplayName("should apply all mutations in one new map")
+    void withMutations() {
+        // given
+        final HashTrieImmutableMap<String, Integer> sourceMap = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.withMutations(builder -> builder
+                                                                                      .put("k4", 4)
+                                                                                      .put("k1", 11)
+                                                                                      .remove("k2"));
+
+        // then
+        assertThat(newMap).isInstanceOf(HashTrieImmutableMap.class);
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 11),
+                ImmutableMapEntry.of("k3", 3),
+                ImmutableMapEntry.of("k4", 4));
+        assertThat(sourceMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 3));
+    }
+
+    @Test
+    @DisplayName("should not change built map when builder is used after build")
+    void builderUsedAfterBuild() {
+        // given
+        final ImmutableMap.Builder<Integer, Integer> builder = HashTrieImmutableMap.builder();
+        for (int i = 0; i < 1_000; i++) {
+            builder.put(i, i);
+        }
+        final ImmutableMap<Integer, Integer> firstMap = builder.build();
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            builder.put(i, -i);
+        }
+        builder.remove(0);
+        final ImmutableMap<Integer, Integer> secondMap = builder.build();
+
+        // then
+        assertThat(firstMap).hasSize(1_000);
+        assertThat(firstMap.get(1)).isEqualTo(1);
+        assertThat(firstMap).containsKey(0);
+        assertThat(secondMap).hasSize(999);
+        assertThat(secondMap.get(1)).isEqualTo(-1);
+        assertThat(secondMap).doesNotContainKey(0);
+        assertThat(builder.size()).isEqualTo(999);
+    }
+
+    @Test
+    @DisplayName("should create mutable map that is not connected with immutable map")
+    void toMutableMap() {
+        // given
+        final HashTrieImmutableMap<String, Integer> immutableMap = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final Map<String, Integer> mutableMap = immutableMap.toMutableMap();
+
+        // then
+        assertThat(mutableMap).containsExactlyInAnyOrderEntriesOf(immutableMap);
+        mutableMap.put("k4", 4);
+        assertThat(mutableMap).containsEntry("k4", 4);
+        assertThat(immutableMap).doesNotContainKey("k4");
+    }
+
+    @Test
+    @DisplayName("should have proper `toString()`")
+    void toStringValue() {
+        // given
+        final HashTrieImmutableMap<String, Integer> immutableMap = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1);
+
+        // when
+        final String toString = immutableMap.toString();
+
+        // then
+        assertThat(toString).isEqualTo("HashTrieImmutableMap[k1=1]");
+    }
+
+    @Test
+    @DisplayName("should throw `UnsupportedOperationException` when putting entry")
+    void put() {
+        // given
+        final HashTrieImmutableMap<String, Integer> map = HashTrieImmutableMap.empty();
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> map.put("k", 0);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should throw `UnsupportedOperationException` when removing key")
+    void remove() {
+        // given
+        final HashTrieImmutableMap<String, Integer> map = HashTrieImmutableMap.empty();
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> map.remove("k");
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should throw `UnsupportedOperationException` when clearing map ")
+    void clear() {
+        // given
+        final HashTrieImmutableMap<String, Integer> map = HashTrieImmutableMap.empty();
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = map::clear;
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should merge two hash trie maps")
+    void mergeToNew() {
+        // given
+        final Map<Integer, Integer> baseMap = new HashMap<>();
+        final Map<Integer, Integer> overridesMap = new HashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            baseMap.put(i, i);
+            overridesMap.put(i + 500, -i);
+        }
+        final HashTrieImmutableMap<Integer, Integer> base = HashTrieImmutableMap.from(baseMap);
+        final HashTrieImmutableMap<Integer, Integer> overrides = HashTrieImmutableMap.from(overridesMap);
+
+        // when
+        final HashTrieImmutableMap<Integer, Integer> newMap = base.mergeToNew(overrides, (v1, v2) -> v1 * 1_000 + v2);
+
+        // then
+        assertThat(newMap).hasSize(1_500);
+        assertThat(newMap.get(0)).isEqualTo(0);
+        assertThat(newMap.get(600)).isEqualTo(600 * 1_000 - 100);
+        assertThat(newMap.get(1_400)).isEqualTo(-900);
+        assertThat(base).isEqualTo(baseMap);
+        assertThat(overrides).isEqualTo(overridesMap);
+    }
+
+    @Test
+    @DisplayName("should return the same map if merged map does not change anything")
+    void mergeToNewWithoutChanges() {
+        // given
+        final HashTrieImmutableMap<String, Integer> map = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2);
+        final HashTrieImmutableMap<String, Integer> subMap = map.removeFromNew("k1");
+
+        // when
+        final HashTrieImmutableMap<String, Integer> newMap = map.mergeToNew(subMap, (v1, v2) -> v1);
+
+        // then
+        assertThat(newMap).isSameAs(map);
+    }
+
+    @Test
+    @DisplayName("should put all entries from other hash trie map")
+    void putAllToNewFromHashTrieMap() {
+        // given
+        final HashTrieImmutableMap<String, Integer> map = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2);
+        final HashTrieImmutableMap<String, Integer> otherMap = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "k2", 22,
+                "k3", 33);
+
+        // when
+        final HashTrieImmutableMap<String, Integer> newMap = map.putAllToNew(otherMap);
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 22),
+                ImmutableMapEntry.of("k3", 33));
+    }
+
+    @Test
+    @DisplayName("should split entries into parts with exact sizes")
+    void spliterator() {
+        // given
+        final Map<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, i);
+        }
+        final HashTrieImmutableMap<Integer, Integer> immutableMap = HashTrieImmutableMap.from(map);
+        final Spliterator<Map.Entry<Integer, Integer>> spliterator = immutableMap.entrySet().spliterator();
+
+        // when
+        final Spliterator<Map.Entry<Integer, Integer>> prefix = spliterator.trySplit();
+
+        // then
+        assertThat(prefix).isNotNull();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+        assertThat(spliterator.hasCharacteristics(Spliterator.IMMUTABLE | Spliterator.DISTINCT)).isTrue();
+        assertThat(prefix.estimateSize() + spliterator.estimateSize()).isEqualTo(10_000);
+        assertThat(prefix.estimateSize()).isBetween(4_000L, 6_000L);
+        final long prefixSize = prefix.estimateSize();
+        final long[] count = new long[1];
+        prefix.forEachRemaining(entry -> count[0]++);
+        assertThat(count[0]).isEqualTo(prefixSize);
+        assertThat(immutableMap.entrySet().parallelStream().mapToLong(Map.Entry::getKey).sum())
+                .isEqualTo(10_000L * 9_999 / 2);
+    }
+
+    static final class CollidingKey {
+        private final String name;
+
+        CollidingKey(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return name.equals(((CollidingKey) o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @Test
+    @DisplayName("should describe trie with colliding keys in statistics")
+    void stats() {
+        // given
+        final ImmutableMap<String, Integer> map = HashTrieImmutableMap.from(
+                String.class, Integer.class,
+                "Aa", 1,
+                "BB", 2,
+                "k3", 3);
+
+        // when
+        final MapStatistics stats = map.stats();
+
+        // then
+        assertThat(stats.getImplementation()).isEqualTo("HashTrieImmutableMap");
+        assertThat(stats.getSize()).isEqualTo(3);
+        assertThat(stats.getMaxChainLength()).isEqualTo(2);
+        assertThat(Arrays.stream(stats.getDepthHistogram()).sum()).isEqualTo(3);
+        assertThat(stats.getMaxDepth()).isEqualTo(7);
+        assertThat(stats.getEstimatedBytes()).isPositive();
+    }
+}
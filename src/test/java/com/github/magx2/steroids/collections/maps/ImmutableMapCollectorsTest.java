@@ -0,0 +1,84 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.github.magx2.steroids.collections.maps.ImmutableMapCollectors.toImmutableMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImmutableMapCollectorsTest {
+    @Test
+    @DisplayName("should collect stream into immutable map")
+    void toImmutableMapTest() {
+        // when
+        final ImmutableMap<String, Integer> immutableMap = Stream.of("a", "bb", "ccc")
+                                                                 .collect(toImmutableMap(s -> s, String::length));
+
+        // then
+        assertThat(immutableMap).containsOnly(
+                ImmutableMapEntry.of("a", 1),
+                ImmutableMapEntry.of("bb", 2),
+                ImmutableMapEntry.of("ccc", 3));
+    }
+
+    @Test
+    @DisplayName("should throw `IllegalStateException` if two elements have the same key")
+    void toImmutableMapDuplicatedKey() {
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> Stream.of("a", "bb", "a")
+                                                                  .collect(toImmutableMap(s -> s, String::length));
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Duplicate key `a`! Values=1, 1")
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("should merge values of elements with the same key")
+    void toImmutableMapWithMergeFunction() {
+        // when
+        final ImmutableMap<Integer, String> immutableMap = Stream.of("a", "bb", "c", "dd")
+                                                                 .collect(toImmutableMap(
+                                                                         String::length,
+                                                                         s -> s,
+                                                                         (s1, s2) -> s1 + s2));
+
+        // then
+        assertThat(immutableMap).containsOnly(
+                ImmutableMapEntry.of(1, "ac"),
+                ImmutableMapEntry.of(2, "bbdd"));
+    }
+
+    @Test
+    @DisplayName("should collect parallel stream into the same map as `Collectors.toMap`")
+    void toImmutableMapParallel() {
+        // given
+        final Map<Integer, String> expectedMap = IntStream.range(0, 100_000)
+                                                          .boxed()
+                                                          .collect(Collectors.toMap(
+                                                                  i -> i % 1000,
+                                                                  String::valueOf,
+                                                                  (s1, s2) -> s1 + "," + s2));
+
+        // when
+        final ImmutableMap<Integer, String> immutableMap = IntStream.range(0, 100_000)
+                                                                    .boxed()
+                                                                    .parallel()
+                                                                    .collect(toImmutableMap(
+                                                                            i -> i % 1000,
+                                                                            String::valueOf,
+                                                                            (s1, s2) -> s1 + "," + s2));
+
+        // then
+        assertThat(immutableMap).isEqualTo(expectedMap);
+    }
+}
@@ -4,6 +4,10 @@ import org.assertj.core.api.ThrowableAssert;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -103,4 +107,24 @@ class ImmutableMapEntryTest {
                 .hasNoCause()
                 .isInstanceOf(UnsupportedOperationException.class);
     }
+
+    @Test
+    @DisplayName("should serialize and deserialize entry")
+    void serialization() throws Exception {
+        // given
+        final ImmutableMapEntry<String, String> entry = new ImmutableMapEntry<>("k", "v");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(entry);
+        }
+
+        // when
+        final Object deserialized;
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = input.readObject();
+        }
+
+        // then
+        assertThat(deserialized).isEqualTo(entry);
+    }
 }
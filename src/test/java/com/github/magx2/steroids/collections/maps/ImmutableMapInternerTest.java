@@ -0,0 +1,68 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImmutableMapInternerTest {
+    @Test
+    @DisplayName("should return the same instance for equal maps")
+    void intern() {
+        // given
+        final ImmutableMapInterner interner = ImmutableMapInterner.create();
+        final ImmutableMap<String, Integer> map1 = HashTrieImmutableMap.from(String.class, Integer.class, "k1", 1);
+        final ImmutableMap<String, Integer> map2 = SimpleImmutableMap.from(String.class, Integer.class, "k1", 1);
+        final ImmutableMap<String, Integer> map3 = HashTrieImmutableMap.from(String.class, Integer.class, "k1", 2);
+
+        // when
+        final ImmutableMap<String, Integer> canonical1 = interner.intern(map1);
+        final ImmutableMap<String, Integer> canonical2 = interner.intern(map2);
+        final ImmutableMap<String, Integer> canonical3 = interner.intern(map3);
+
+        // then
+        assertThat(canonical1).isSameAs(map1);
+        assertThat(canonical2).isSameAs(map1);
+        assertThat(canonical3).isSameAs(map3);
+        assertThat(interner.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should share equal values between canonical maps")
+    void internValues() {
+        // given
+        final ImmutableMapInterner interner = ImmutableMapInterner.withValues();
+        final String value1 = new String("value");
+        final String value2 = new String("value");
+
+        // when
+        final ImmutableMap<String, String> canonical1 = interner.intern(
+                HashTrieImmutableMap.from(String.class, String.class, "k1", value1));
+        final ImmutableMap<String, String> canonical2 = interner.intern(
+                HashTrieImmutableMap.from(String.class, String.class, "k2", value2).putToNew("k3", null));
+
+        // then
+        assertThat(canonical1.get("k1")).isSameAs(value1);
+        assertThat(canonical2.get("k2")).isSameAs(value1);
+        assertThat(canonical2).containsKey("k3");
+        assertThat(interner.internValue(new String("value"))).isSameAs(value1);
+    }
+
+    @Test
+    @DisplayName("should throw `IllegalStateException` when interning value in interner without values")
+    void internValueWithoutValues() {
+        // given
+        final ImmutableMapInterner interner = ImmutableMapInterner.create();
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> interner.internValue("value");
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("This interner does not intern values!")
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
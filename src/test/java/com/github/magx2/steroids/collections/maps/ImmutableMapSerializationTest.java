@@ -0,0 +1,297 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImmutableMapSerializationTest {
+    static Stream<ImmutableMap<String, Integer>> maps() {
+        return Stream.of(
+                fill(HashTrieImmutableMap.empty(), 1_000),
+                fill(CompactImmutableMap.empty(), 1_000),
+                fill(SeededHashImmutableMap.empty(), 1_000),
+                PerfectHashImmutableMap.from(fill(HashTrieImmutableMap.empty(), 1_000)),
+                SimpleImmutableMap.from(fill(HashTrieImmutableMap.empty(), 1_000)),
+                fill(SmallImmutableMaps.empty(), 0),
+                fill(SmallImmutableMaps.empty(), 5),
+                fill(TreeImmutableSortedMap.empty(), 1_000),
+                fill(ImmutableStringMap.empty(), 1_000),
+                fill(OffHeapImmutableMap.empty(Codecs.STRING, Codecs.INTEGER), 1_000));
+    }
+
+    private static ImmutableMap<String, Integer> fill(ImmutableMap<String, Integer> map, final int size) {
+        for (int i = 0; i < size; i++) {
+            map = map.putToNew("key" + i, i);
+        }
+        return map;
+    }
+
+    /**
+     * Writes stream by hand, so it can contain what {@link ImmutableMap#writeTo} never writes.
+     */
+    private static byte[] stream(final int kind, final int size, final Object... keyValues) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(1);
+        output.writeByte(kind);
+        output.writeInt(size);
+        for (int i = 0; i < keyValues.length; i += 2) {
+            final byte[] key = Codecs.STRING.encode((String) keyValues[i]);
+            output.writeInt(key.length);
+            output.write(key);
+            final byte[] value = Codecs.INTEGER.encode((Integer) keyValues[i + 1]);
+            output.writeInt(value.length);
+            output.write(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ImmutableMap<String, Integer> read(final byte[] bytes) throws IOException {
+        return ImmutableMap.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes)), Codecs.STRING, Codecs.INTEGER);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T javaRoundTrip(final Object object) throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(object);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) input.readObject();
+        }
+    }
+
+    private static ImmutableMap<String, Integer> dataRoundTrip(final ImmutableMap<String, Integer> map)
+            throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        map.writeTo(new DataOutputStream(bytes), Codecs.STRING, Codecs.INTEGER);
+        return ImmutableMap.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), Codecs.STRING, Codecs.INTEGER);
+    }
+
+    @ParameterizedTest
+    @MethodSource("maps")
+    @DisplayName("should read the same implementation with Java serialization")
+    void javaSerialization(final ImmutableMap<String, Integer> map) throws Exception {
+        // when
+        final ImmutableMap<String, Integer> deserialized = javaRoundTrip(map);
+
+        // then
+        assertThat(deserialized).isEqualTo(map);
+        assertThat(deserialized).isExactlyInstanceOf(map.getClass());
+    }
+
+    @ParameterizedTest
+    @MethodSource("maps")
+    @DisplayName("should read the same implementation from DataInput")
+    void dataSerialization(final ImmutableMap<String, Integer> map) throws Exception {
+        // when
+        final ImmutableMap<String, Integer> deserialized = dataRoundTrip(map);
+
+        // then
+        assertThat(deserialized).isEqualTo(map);
+        assertThat(deserialized).isExactlyInstanceOf(map.getClass());
+    }
+
+    @Test
+    @DisplayName("should serialize null key and null values")
+    void nulls() throws Exception {
+        // given
+        final ImmutableMap<String, Integer> map = HashTrieImmutableMap.<String, Integer>empty()
+                                                          .putToNew(null, 1)
+                                                          .putToNew("k", null);
+
+        // when
+        final ImmutableMap<String, Integer> java = javaRoundTrip(map);
+        final ImmutableMap<String, Integer> data = dataRoundTrip(map);
+
+        // then
+        assertThat(java).isEqualTo(map);
+        assertThat(data).isEqualTo(map);
+    }
+
+    @Test
+    @DisplayName("should serialize EnumImmutableMap")
+    void enumMap() throws Exception {
+        // given
+        final ImmutableMap<DayOfWeek, String> map = EnumImmutableMap.<DayOfWeek, String>empty(DayOfWeek.class)
+                                                            .putToNew(DayOfWeek.MONDAY, "mon")
+                                                            .putToNew(DayOfWeek.FRIDAY, null);
+
+        // when
+        final ImmutableMap<DayOfWeek, String> deserialized = javaRoundTrip(map);
+
+        // then
+        assertThat(deserialized).isEqualTo(map);
+        assertThat(deserialized).isExactlyInstanceOf(EnumImmutableMap.class);
+    }
+
+    @Test
+    @DisplayName("should keep comparator of TreeImmutableSortedMap")
+    void treeComparator() throws Exception {
+        // given
+        final TreeImmutableSortedMap<String, Integer> map =
+                (TreeImmutableSortedMap<String, Integer>) fill(TreeImmutableSortedMap.empty(), 100);
+
+        // when
+        final TreeImmutableSortedMap<String, Integer> deserialized = javaRoundTrip(map.descendingMap());
+
+        // then
+        assertThat(new ArrayList<>(deserialized.keySet())).isEqualTo(new ArrayList<>(map.descendingMap().keySet()));
+    }
+
+    @Test
+    @DisplayName("should not write TreeImmutableSortedMap with comparator to DataOutput")
+    void treeComparatorData() {
+        // given
+        final TreeImmutableSortedMap<String, Integer> map =
+                (TreeImmutableSortedMap<String, Integer>) fill(TreeImmutableSortedMap.empty(), 10);
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> dataRoundTrip(map.descendingMap());
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Comparator of TreeImmutableSortedMap cannot be written to DataOutput! "
+                                    + "Use natural ordering.")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should throw exception when stream does not contain ImmutableMap")
+    void corruptedStream() {
+        // given
+        final byte[] bytes = {1, 99};
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> ImmutableMap.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes)), Codecs.STRING, Codecs.INTEGER);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Unknown kind of ImmutableMap: 99")
+                .isInstanceOf(StreamCorruptedException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5, 7, 8, 9, 10})
+    @DisplayName("should keep the last value of duplicated key")
+    void duplicatedKeys(final int kind) throws Exception {
+        // given
+        final byte[] bytes = stream(kind, 4, "7", 0, "8", 1, "7", 2, "7", 3);
+
+        // when
+        final ImmutableMap<String, Integer> map = read(bytes);
+
+        // then
+        assertThat(map).hasSize(2);
+        assertThat(map).containsEntry("7", 3);
+        assertThat(map).containsEntry("8", 1);
+        assertThat(map.entrySet()).hasSize(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5, 7, 8, 9, 10})
+    @DisplayName("should not trust size read from stream")
+    void malformedSize(final int kind) throws Exception {
+        // given
+        final byte[] bytes = stream(kind, Integer.MAX_VALUE, "7", 0);
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> read(bytes);
+
+        // then
+        assertThatThrownBy(when).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    @DisplayName("should not trust length of encoded value read from stream")
+    void malformedLength() throws Exception {
+        // given
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.write(stream(1, 1));
+        output.writeInt(0x7ffffff7);
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> read(bytes.toByteArray());
+
+        // then
+        assertThatThrownBy(when).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    @DisplayName("should not initialize class of enum keys before it is checked")
+    void notEnumKeys() throws Exception {
+        // given
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(1);
+        output.writeByte(6);
+        output.writeUTF(NotEnum.class.getName());
+        output.writeInt(0);
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> read(bytes.toByteArray());
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Class of keys is not an enum! Class=" + NotEnum.class)
+                .isInstanceOf(InvalidObjectException.class);
+        assertThat(NotEnumInitialization.initialized).isFalse();
+    }
+
+    @Test
+    @DisplayName("should not read null key of ImmutableStringMap")
+    void nullStringKey() throws Exception {
+        // given
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.write(stream(10, 1));
+        output.writeInt(-1);
+        output.writeInt(-1);
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> read(bytes.toByteArray());
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Key of ImmutableStringMap has to be a String! Key=null")
+                .isInstanceOf(InvalidObjectException.class);
+    }
+
+    private static final class NotEnumInitialization {
+        private static boolean initialized;
+    }
+
+    private static final class NotEnum {
+        static {
+            NotEnumInitialization.initialized = true;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImmutableStringMapTest {
+    private final ImmutableStringMap<Integer> config = ImmutableStringMap.from(
+            Integer.class,
+            "service.db.pool.size", 10,
+            "service.db.url", 1,
+            "service.http.port", 8080,
+            "service", 0,
+            "other", 5);
+
+    @Test
+    @DisplayName("should create ImmutableStringMap from map")
+    void fromMap() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        map.put("k1", 1);
+        map.put("k2", 2);
+        map.put("k", 3);
+        map.put("", 4);
+
+        // when
+        final ImmutableStringMap<Integer> immutableMap = ImmutableStringMap.from(map);
+
+        // then
+        assertThat(immutableMap).hasSize(4);
+        assertThat(immutableMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k", 3),
+                ImmutableMapEntry.of("", 4));
+        assertThat(immutableMap.containsKey("k1")).isTrue();
+        assertThat(immutableMap.containsKey("k3")).isFalse();
+        assertThat(immutableMap.containsKey(1)).isFalse();
+        assertThat(immutableMap.get("k")).isEqualTo(3);
+        assertThat(immutableMap.get("k12")).isNull();
+        assertThat(immutableMap.keySet()).containsExactly("", "k", "k1", "k2");
+        assertThat(immutableMap).isEqualTo(map);
+        assertThat(immutableMap.hashCode()).isEqualTo(map.hashCode());
+    }
+
+    @Test
+    @DisplayName("should iterate over keys in ascending order")
+    void order() {
+        // when
+        final Iterable<String> keys = config.keySet();
+
+        // then
+        assertThat(keys).containsExactly(
+                "other", "service", "service.db.pool.size", "service.db.url", "service.http.port");
+    }
+
+    @Test
+    @DisplayName("should return all entries with given prefix")
+    void prefixMap() {
+        // when
+        final ImmutableStringMap<Integer> db = config.prefixMap("service.d");
+
+        // then
+        assertThat(db).containsOnly(
+                ImmutableMapEntry.of("service.db.pool.size", 10),
+                ImmutableMapEntry.of("service.db.url", 1));
+        assertThat(db.get("service.db.url")).isEqualTo(1);
+        assertThat(db.get("service.http.port")).isNull();
+        assertThat(db.prefixMap("service.db.p")).containsOnlyKeys("service.db.pool.size");
+        assertThat(db.prefixMap("service")).isSameAs(db);
+        assertThat(config.prefixMap("service")).hasSize(4);
+        assertThat(config.prefixMap("")).isSameAs(config);
+        assertThat(config.prefixMap("service.x")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should put entries to and remove them from map with prefix")
+    void changePrefixMap() {
+        // given
+        final ImmutableStringMap<Integer> db = config.prefixMap("service.db.");
+
+        // when
+        final ImmutableStringMap<Integer> newMap = db.putToNew("service.db.user", 2)
+                                                       .putToNew("other", 6)
+                                                       .removeFromNew("service.db.url");
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("service.db.pool.size", 10),
+                ImmutableMapEntry.of("service.db.user", 2),
+                ImmutableMapEntry.of("other", 6));
+        assertThat(db).hasSize(2);
+        assertThat(config).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("should find entry with the longest key that is a prefix of given text")
+    void longestPrefixEntry() {
+        // given
+        final ImmutableStringMap<String> routes = ImmutableStringMap.from(
+                String.class,
+                "/", "root",
+                "/api/", "api",
+                "/api/users/", "users");
+
+        // when
+        final Map.Entry<String, String> entry = routes.longestPrefixEntry("/api/orders/1");
+
+        // then
+        assertThat(entry).isEqualTo(ImmutableMapEntry.of("/api/", "api"));
+        assertThat(routes.longestPrefixEntry("/api/users/1").getValue()).isEqualTo("users");
+        assertThat(routes.longestPrefixEntry("/static")).isEqualTo(ImmutableMapEntry.of("/", "root"));
+        assertThat(routes.longestPrefixEntry("static")).isNull();
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and put into it entry")
+    void putToNew() {
+        // when
+        final ImmutableStringMap<Integer> newMap = config.putToNew("service.db.user", 2)
+                                                         .putToNew("service.d", 3)
+                                                         .putToNew("other", 55);
+
+        // then
+        assertThat(newMap).hasSize(7);
+        assertThat(newMap).containsEntry("service.db.user", 2);
+        assertThat(newMap).containsEntry("service.d", 3);
+        assertThat(newMap).containsEntry("other", 55);
+        assertThat(newMap).containsEntry("service.db.url", 1);
+        assertThat(config).doesNotContainKey("service.db.user");
+        assertThat(config).containsEntry("other", 5);
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and remove given key")
+    void removeFromNew() {
+        // when
+        final ImmutableStringMap<Integer> newMap = config.removeFromNew("service")
+                                                         .removeFromNew("service.db.url")
+                                                         .removeFromNew("unknown");
+
+        // then
+        assertThat(newMap).containsOnlyKeys("service.db.pool.size", "service.http.port", "other");
+        assertThat(newMap.stats().getNodes())
+                .isEqualTo(ImmutableStringMap.from(newMap.toMutableMap()).stats().getNodes());
+        assertThat(config).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("should support `null` value")
+    void nullValue() {
+        // when
+        final ImmutableStringMap<Integer> map = ImmutableStringMap.<Integer>empty().putToNew("k", null);
+
+        // then
+        assertThat(map).containsKey("k");
+        assertThat(map.get("k")).isNull();
+        assertThat(map.getOrDefault("k", 1)).isNull();
+        assertThat(map.getOrDefault("x", 1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should throw exception when putting `null` key")
+    void nullKey() {
+        // given
+        final ImmutableStringMap<Integer> map = ImmutableStringMap.empty();
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> map.putToNew(null, 1);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Key cannot be null!")
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("should build ImmutableStringMap with builder")
+    void builder() {
+        // when
+        final ImmutableMap<String, Integer> map = ImmutableStringMap.<Integer>builder()
+                                                          .put("k1", 1)
+                                                          .put("k2", 2)
+                                                          .remove("k1")
+                                                          .build();
+
+        // then
+        assertThat(map).isInstanceOf(ImmutableStringMap.class);
+        assertThat(map).containsOnly(ImmutableMapEntry.of("k2", 2));
+    }
+
+    @Test
+    @DisplayName("should store shared prefix once")
+    void stats() {
+        // when
+        final MapStatistics stats = config.stats();
+
+        // then
+        // root, "other", "service", ".", "db.", "pool.size", "url", "http.port"
+        assertThat(stats.getNodes()).isEqualTo(8);
+        assertThat(stats.getSize()).isEqualTo(5);
+        assertThat(stats.getMaxDepth()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntLongImmutableMapTest {
+    @Test
+    @DisplayName("should create IntLongImmutableMap from map")
+    void fromMap() {
+        // given
+        final Map<Integer, Long> map = new HashMap<>();
+        map.put(1, 10L);
+        map.put(2, 20L);
+
+        // when
+        final IntLongImmutableMap immutableMap = IntLongImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap.size()).isEqualTo(2);
+        assertThat(immutableMap.get(1)).isEqualTo(10L);
+        assertThat(immutableMap.get(3)).isZero();
+        assertThat(immutableMap.getOrDefault(3, -1L)).isEqualTo(-1L);
+        assertThat(immutableMap.containsKey(3)).isFalse();
+        assertThat(immutableMap.containsValue(20L)).isTrue();
+        assertThat(immutableMap.asMap()).isEqualTo(map);
+        assertThat(immutableMap.asMap().hashCode()).isEqualTo(map.hashCode());
+    }
+
+    @Test
+    @DisplayName("should create new maps with put and removed keys")
+    void putToNewAndRemoveFromNew() {
+        // given
+        final IntLongImmutableMap sourceMap = IntLongImmutableMap.empty().putToNew(1, 1L).putToNew(2, 2L);
+
+        // when
+        final IntLongImmutableMap newMap = sourceMap.putToNew(1, 11L).removeFromNew(2).putToNew(3, 3L);
+
+        // then
+        assertThat(newMap.toMutableMap()).containsOnly(
+                ImmutableMapEntry.of(1, 11L),
+                ImmutableMapEntry.of(3, 3L));
+        assertThat(sourceMap.get(1)).isEqualTo(1L);
+        assertThat(newMap).isEqualTo(IntLongImmutableMap.from(newMap.toMutableMap()));
+    }
+
+    @Test
+    @DisplayName("should sum values without boxing")
+    void forEach() {
+        // given
+        final IntLongImmutableMap map = IntLongImmutableMap.empty().putToNew(1, 10L).putToNew(2, 20L);
+        final long[] sum = {0};
+
+        // when
+        map.forEach((key, value) -> sum[0] += key * value);
+
+        // then
+        assertThat(sum[0]).isEqualTo(50L);
+    }
+}
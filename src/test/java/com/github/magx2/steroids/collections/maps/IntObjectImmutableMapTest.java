@@ -0,0 +1,129 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntObjectImmutableMapTest {
+    @Test
+    @DisplayName("should create IntObjectImmutableMap from map")
+    void fromMap() {
+        // given
+        final Map<Integer, String> map = new HashMap<>();
+        map.put(3, "v3");
+        map.put(1, "v1");
+        map.put(2, "v2");
+
+        // when
+        final IntObjectImmutableMap<String> immutableMap = IntObjectImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap.size()).isEqualTo(3);
+        assertThat(immutableMap.get(1)).isEqualTo("v1");
+        assertThat(immutableMap.get(4)).isNull();
+        assertThat(immutableMap.getOrDefault(4, "default")).isEqualTo("default");
+        assertThat(immutableMap.containsKey(2)).isTrue();
+        assertThat(immutableMap.containsKey(4)).isFalse();
+        assertThat(immutableMap.containsValue("v3")).isTrue();
+        assertThat(immutableMap.toMutableMap()).isEqualTo(map);
+    }
+
+    @Test
+    @DisplayName("should create new maps with put and removed keys")
+    void putToNewAndRemoveFromNew() {
+        // given
+        final IntObjectImmutableMap<String> sourceMap = IntObjectImmutableMap.<String>empty()
+                                                                .putToNew(2, "v2")
+                                                                .putToNew(1, "v1");
+
+        // when
+        final IntObjectImmutableMap<String> newMap = sourceMap.putToNew(3, "v3")
+                                                             .putToNew(1, "v11")
+                                                             .removeFromNew(2);
+
+        // then
+        assertThat(newMap.toMutableMap()).containsOnly(
+                ImmutableMapEntry.of(1, "v11"),
+                ImmutableMapEntry.of(3, "v3"));
+        assertThat(sourceMap.toMutableMap()).containsOnly(
+                ImmutableMapEntry.of(1, "v1"),
+                ImmutableMapEntry.of(2, "v2"));
+    }
+
+    @Test
+    @DisplayName("should create new map with entries from both maps")
+    void putAllToNew() {
+        // given
+        final IntObjectImmutableMap<String> sourceMap = IntObjectImmutableMap.<String>empty()
+                                                                .putToNew(1, "v1")
+                                                                .putToNew(3, "v3");
+        final IntObjectImmutableMap<String> addMap = IntObjectImmutableMap.<String>empty()
+                                                             .putToNew(2, "v2")
+                                                             .putToNew(3, "v33");
+
+        // when
+        final IntObjectImmutableMap<String> newMap = sourceMap.putAllToNew(addMap);
+
+        // then
+        assertThat(newMap.toMutableMap()).containsOnly(
+                ImmutableMapEntry.of(1, "v1"),
+                ImmutableMapEntry.of(2, "v2"),
+                ImmutableMapEntry.of(3, "v33"));
+    }
+
+    @Test
+    @DisplayName("should iterate over entries in ascending order of keys")
+    void forEach() {
+        // given
+        final IntObjectImmutableMap<String> map = IntObjectImmutableMap.<String>empty()
+                                                          .putToNew(3, "v3")
+                                                          .putToNew(-1, "v-1")
+                                                          .putToNew(2, "v2");
+        final List<String> entries = new ArrayList<>();
+
+        // when
+        map.forEach((key, value) -> entries.add(key + "=" + value));
+
+        // then
+        assertThat(entries).containsExactly("-1=v-1", "2=v2", "3=v3");
+    }
+
+    @Test
+    @DisplayName("should expose map as ImmutableMap")
+    void asMap() {
+        // given
+        final IntObjectImmutableMap<String> map = IntObjectImmutableMap.<String>empty()
+                                                          .putToNew(1, "v1")
+                                                          .putToNew(2, "v2");
+
+        // when
+        final ImmutableMap<Integer, String> immutableMap = map.asMap();
+
+        // then
+        assertThat(immutableMap).containsExactly(
+                ImmutableMapEntry.of(1, "v1"),
+                ImmutableMapEntry.of(2, "v2"));
+        assertThat(immutableMap.get("1")).isNull();
+        assertThat(immutableMap.putToNew(3, "v3")).containsEntry(3, "v3");
+        assertThat(immutableMap).isEqualTo(map.toMutableMap());
+    }
+
+    @Test
+    @DisplayName("should have proper `toString()`")
+    void toStringValue() {
+        // given
+        final IntObjectImmutableMap<String> map = IntObjectImmutableMap.<String>empty().putToNew(1, "v1");
+
+        // when
+        final String toString = map.toString();
+
+        // then
+        assertThat(toString).isEqualTo("IntObjectImmutableMap[1=v1]");
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongObjectImmutableMapTest {
+    @Test
+    @DisplayName("should create LongObjectImmutableMap from map")
+    void fromMap() {
+        // given
+        final Map<Long, String> map = new HashMap<>();
+        map.put(3L, "v3");
+        map.put(1L, "v1");
+        map.put(2L, "v2");
+
+        // when
+        final LongObjectImmutableMap<String> immutableMap = LongObjectImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap.size()).isEqualTo(3);
+        assertThat(immutableMap.get(1L)).isEqualTo("v1");
+        assertThat(immutableMap.get(4L)).isNull();
+        assertThat(immutableMap.getOrDefault(4L, "default")).isEqualTo("default");
+        assertThat(immutableMap.containsKey(2L)).isTrue();
+        assertThat(immutableMap.containsKey(4L)).isFalse();
+        assertThat(immutableMap.containsValue("v3")).isTrue();
+        assertThat(immutableMap.toMutableMap()).isEqualTo(map);
+    }
+
+    @Test
+    @DisplayName("should create new maps with put and removed keys")
+    void putToNewAndRemoveFromNew() {
+        // given
+        final LongObjectImmutableMap<String> sourceMap = LongObjectImmutableMap.<String>empty()
+                                                                 .putToNew(2L, "v2")
+                                                                 .putToNew(1L, "v1");
+
+        // when
+        final LongObjectImmutableMap<String> newMap = sourceMap.putToNew(3L, "v3")
+                                                              .putToNew(1L, "v11")
+                                                              .removeFromNew(2L);
+
+        // then
+        assertThat(newMap.toMutableMap()).containsOnly(
+                ImmutableMapEntry.of(1L, "v11"),
+                ImmutableMapEntry.of(3L, "v3"));
+        assertThat(sourceMap.toMutableMap()).containsOnly(
+                ImmutableMapEntry.of(1L, "v1"),
+                ImmutableMapEntry.of(2L, "v2"));
+    }
+
+    @Test
+    @DisplayName("should create new map with entries from both maps")
+    void putAllToNew() {
+        // given
+        final LongObjectImmutableMap<String> sourceMap = LongObjectImmutableMap.<String>empty()
+                                                                 .putToNew(1L, "v1")
+                                                                 .putToNew(3L, "v3");
+        final LongObjectImmutableMap<String> addMap = LongObjectImmutableMap.<String>empty()
+                                                              .putToNew(2L, "v2")
+                                                              .putToNew(3L, "v33");
+
+        // when
+        final LongObjectImmutableMap<String> newMap = sourceMap.putAllToNew(addMap);
+
+        // then
+        assertThat(newMap.toMutableMap()).containsOnly(
+                ImmutableMapEntry.of(1L, "v1"),
+                ImmutableMapEntry.of(2L, "v2"),
+                ImmutableMapEntry.of(3L, "v33"));
+    }
+
+    @Test
+    @DisplayName("should iterate over entries in ascending order of keys")
+    void forEach() {
+        // given
+        final LongObjectImmutableMap<String> map = LongObjectImmutableMap.<String>empty()
+                                                           .putToNew(3L, "v3")
+                                                           .putToNew(Long.MIN_VALUE, "v-min")
+                                                           .putToNew(2L, "v2");
+        final List<String> entries = new ArrayList<>();
+
+        // when
+        map.forEach((key, value) -> entries.add(key + "=" + value));
+
+        // then
+        assertThat(entries).containsExactly(Long.MIN_VALUE + "=v-min", "2=v2", "3=v3");
+    }
+
+    @Test
+    @DisplayName("should expose map as ImmutableMap")
+    void asMap() {
+        // given
+        final LongObjectImmutableMap<String> map = LongObjectImmutableMap.<String>empty()
+                                                           .putToNew(1L, "v1")
+                                                           .putToNew(2L, "v2");
+
+        // when
+        final ImmutableMap<Long, String> immutableMap = map.asMap();
+
+        // then
+        assertThat(immutableMap).containsExactly(
+                ImmutableMapEntry.of(1L, "v1"),
+                ImmutableMapEntry.of(2L, "v2"));
+        assertThat(immutableMap.get(1)).isNull();
+        assertThat(immutableMap.putToNew(3L, "v3")).containsEntry(3L, "v3");
+        assertThat(immutableMap).isEqualTo(map.toMutableMap());
+    }
+
+    @Test
+    @DisplayName("should not put `null` key to ImmutableMap view")
+    void asMapNullKey() {
+        // given
+        final ImmutableMap<Long, String> immutableMap = LongObjectImmutableMap.<String>empty()
+                                                                .putToNew(1L, "v1")
+                                                                .asMap();
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> immutableMap.putToNew(null, "v");
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Keys cannot be null!")
+                .isInstanceOf(NullPointerException.class);
+        assertThat(immutableMap.removeFromNew(null)).isSameAs(immutableMap);
+    }
+
+    @Test
+    @DisplayName("should have proper `toString()`")
+    void toStringValue() {
+        // given
+        final LongObjectImmutableMap<String> map = LongObjectImmutableMap.<String>empty().putToNew(1L, "v1");
+
+        // when
+        final String toString = map.toString();
+
+        // then
+        assertThat(toString).isEqualTo("LongObjectImmutableMap[1=v1]");
+    }
+}
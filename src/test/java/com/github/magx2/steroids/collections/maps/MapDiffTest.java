@@ -0,0 +1,72 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MapDiffTest {
+    @Test
+    @DisplayName("should find added, removed and changed entries")
+    void diff() {
+        // given
+        final ImmutableMap<String, Integer> oldMap = SimpleImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+        final ImmutableMap<String, Integer> newMap = SimpleImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 22,
+                "k4", 4);
+
+        // when
+        final MapDiff<String, Integer> diff = oldMap.diff(newMap);
+
+        // then
+        assertThat(diff.getAdded()).containsOnly(ImmutableMapEntry.of("k4", 4));
+        assertThat(diff.getRemoved()).containsOnly(ImmutableMapEntry.of("k3", 3));
+        assertThat(diff.getChanged()).containsOnly(ImmutableMapEntry.of("k2", new MapDiff.ValueChange<>(2, 22)));
+        assertThat(diff.isEmpty()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should be empty for equal maps")
+    void emptyDiff() {
+        // given
+        final ImmutableMap<String, Integer> oldMap = ImmutableMap.of("k1", 1, "k2", 2);
+        final ImmutableMap<String, Integer> newMap = CompactImmutableMap.from(oldMap);
+
+        // when
+        final MapDiff<String, Integer> diff = oldMap.diff(newMap);
+
+        // then
+        assertThat(diff.isEmpty()).isTrue();
+        assertThat(diff.getAdded()).isEmpty();
+        assertThat(diff.getRemoved()).isEmpty();
+        assertThat(diff.getChanged()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should find the same changes in hash tries that share structure")
+    void hashTrieDiff() {
+        // given
+        HashTrieImmutableMap<Integer, Integer> oldMap = HashTrieImmutableMap.empty();
+        for (int i = 0; i < 10_000; i++) {
+            oldMap = oldMap.putToNew(i, i);
+        }
+        final HashTrieImmutableMap<Integer, Integer> newMap = oldMap.putToNew(5, -5)
+                                                                   .removeFromNew(7)
+                                                                   .putToNew(10_000, 10_000);
+
+        // when
+        final MapDiff<Integer, Integer> diff = oldMap.diff(newMap);
+
+        // then
+        assertThat(diff).isEqualTo(MapDiff.between(oldMap.toMutableMap(), newMap.toMutableMap()));
+        assertThat(diff.getAdded()).containsOnly(ImmutableMapEntry.of(10_000, 10_000));
+        assertThat(diff.getRemoved()).containsOnly(ImmutableMapEntry.of(7, 7));
+        assertThat(diff.getChanged()).containsOnly(ImmutableMapEntry.of(5, new MapDiff.ValueChange<>(5, -5)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MapStatisticsTest {
+    @Test
+    @DisplayName("should estimate sizes of objects and arrays aligned to 8 bytes")
+    void estimatedBytes() {
+        // when
+        final long emptyObject = MapStatistics.objectBytes(0, 0);
+        final long objectWithReferences = MapStatistics.objectBytes(2, Integer.BYTES);
+        final long array = MapStatistics.arrayBytes(3, MapStatistics.REFERENCE_BYTES);
+
+        // then
+        assertThat(emptyObject).isEqualTo(16);
+        assertThat(objectWithReferences).isEqualTo(24);
+        assertThat(array).isEqualTo(32);
+    }
+
+    @Test
+    @DisplayName("should return equal statistics for maps with the same structure")
+    void equalStatistics() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("k" + i, i);
+        }
+
+        // when
+        final MapStatistics stats1 = HashTrieImmutableMap.from(map).stats();
+        final MapStatistics stats2 = HashTrieImmutableMap.from(map).stats();
+
+        // then
+        assertThat(stats1).isEqualTo(stats2);
+        assertThat(stats1.hashCode()).isEqualTo(stats2.hashCode());
+        assertThat(stats1.getNodes()).isGreaterThan(1);
+        assertThat(stats1.getCapacity()).isZero();
+        assertThat(stats1.getLoadFactor()).isZero();
+    }
+}
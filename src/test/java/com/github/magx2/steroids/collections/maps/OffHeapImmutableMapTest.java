@@ -0,0 +1,94 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapImmutableMapTest {
+    @Test
+    @DisplayName("should create OffHeapImmutableMap from map")
+    void fromMap() {
+        // given
+        final Map<String, Long> map = new HashMap<>();
+        for (long i = 0; i < 1_000; i++) {
+            map.put("k" + i, i);
+        }
+
+        // when
+        final OffHeapImmutableMap<String, Long> immutableMap = OffHeapImmutableMap.from(
+                map, Codecs.STRING, Codecs.LONG);
+
+        // then
+        assertThat(immutableMap).hasSize(1_000);
+        assertThat(immutableMap.get("k10")).isEqualTo(10L);
+        assertThat(immutableMap.get("some key")).isNull();
+        assertThat(immutableMap.get(10)).isNull();
+        assertThat(immutableMap.containsKey("k999")).isTrue();
+        assertThat(immutableMap.containsKey("k1000")).isFalse();
+        assertThat(immutableMap.toMutableMap()).isEqualTo(map);
+        assertThat(immutableMap).isEqualTo(map);
+        assertThat(immutableMap.hashCode()).isEqualTo(map.hashCode());
+    }
+
+    @Test
+    @DisplayName("should create new immutable maps with put and removed entries")
+    void putToNewAndRemoveFromNew() {
+        // given
+        final OffHeapImmutableMap<String, Integer> sourceMap = OffHeapImmutableMap.empty(Codecs.STRING, Codecs.INTEGER)
+                                                                       .putToNew("k1", 1)
+                                                                       .putToNew("k2", 2);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putToNew("k1", 11)
+                                                             .putToNew("k3", 3)
+                                                             .removeFromNew("k2");
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 11),
+                ImmutableMapEntry.of("k3", 3));
+        assertThat(sourceMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2));
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and put into it all entries from map")
+    void putAllToNew() {
+        // given
+        final OffHeapImmutableMap<String, Integer> sourceMap = OffHeapImmutableMap.empty(Codecs.STRING, Codecs.INTEGER)
+                                                                       .putToNew("k1", 1)
+                                                                       .putToNew("k2", 2);
+        final Map<String, Integer> addMap = new HashMap<>();
+        addMap.put("k2", 22);
+        addMap.put("k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putAllToNew(addMap);
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 22),
+                ImmutableMapEntry.of("k3", 3));
+    }
+
+    @Test
+    @DisplayName("should support `null` key and value")
+    void nullKeyAndValue() {
+        // when
+        final ImmutableMap<String, Integer> map = OffHeapImmutableMap.empty(Codecs.STRING, Codecs.INTEGER)
+                                                          .putToNew(null, 1)
+                                                          .putToNew("k", null);
+
+        // then
+        assertThat(map.get(null)).isEqualTo(1);
+        assertThat(map).containsKey("k");
+        assertThat(map.get("k")).isNull();
+        assertThat(map.removeFromNew(null)).containsOnlyKeys("k");
+    }
+}
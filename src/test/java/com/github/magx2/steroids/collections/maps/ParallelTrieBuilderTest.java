@@ -0,0 +1,136 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelTrieBuilderTest {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("should build the same trie as sequential builder")
+    void bigMap() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            map.put("key-" + i, i);
+        }
+
+        // when
+        final ImmutableMap<String, Integer> immutableMap = ImmutableMap.parallelFrom(map, pool);
+
+        // then
+        assertThat(immutableMap).isInstanceOf(HashTrieImmutableMap.class);
+        assertThat(immutableMap).isEqualTo(map);
+        assertThat(immutableMap.hashCode()).isEqualTo(map.hashCode());
+        final HashTrieImmutableMap<String, Integer> sequentialMap = HashTrieImmutableMap.from(map);
+        assertThat(immutableMap.stats()).isEqualTo(sequentialMap.stats());
+        assertThat(immutableMap.diff(sequentialMap).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should create map from small map on calling thread")
+    void smallMap() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        map.put("k1", 1);
+        map.put("k2", 2);
+        map.put(null, 3);
+
+        // when
+        final ImmutableMap<String, Integer> immutableMap = ImmutableMap.parallelFrom(map);
+
+        // then
+        assertThat(immutableMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of(null, 3));
+    }
+
+    @Test
+    @DisplayName("should keep value of the last entry with duplicated key")
+    void duplicatedKeys() {
+        // given
+        final List<Map.Entry<Integer, Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            entries.add(ImmutableMapEntry.of(i % 10_000, i));
+        }
+
+        // when
+        final ImmutableMap<Integer, Integer> map = ImmutableMap.parallelFrom(entries, pool);
+
+        // then
+        assertThat(map).hasSize(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(map).containsEntry(i, 40_000 + i);
+        }
+    }
+
+    @Test
+    @DisplayName("should create map from parallel stream")
+    void stream() {
+        // when
+        final ImmutableMap<Integer, String> map = ImmutableMap.parallelFrom(
+                IntStream.range(0, 20_000).parallel().mapToObj(i -> ImmutableMapEntry.of(i, "v" + i)),
+                pool);
+
+        // then
+        assertThat(map).hasSize(20_000);
+        assertThat(map).containsEntry(0, "v0");
+        assertThat(map).containsEntry(19_999, "v19999");
+        assertThat(map).doesNotContainKey(20_000);
+    }
+
+    @Test
+    @DisplayName("should keep keys with the same hash code")
+    void collidingKeys() {
+        // given
+        final List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            entries.add(ImmutableMapEntry.of("Aa" + i, i));
+            entries.add(ImmutableMapEntry.of("BB" + i, -i));
+        }
+
+        // when
+        final ImmutableMap<String, Integer> map = ImmutableMap.parallelFrom(entries, pool);
+
+        // then
+        assertThat(map).hasSize(20_000);
+        assertThat(map).containsEntry("Aa7", 7);
+        assertThat(map).containsEntry("BB7", -7);
+        assertThat(map.removeFromNew("Aa7")).doesNotContainKey("Aa7").containsEntry("BB7", -7);
+    }
+
+    @Test
+    @DisplayName("should throw exception when entry is `null`")
+    void nullEntry() {
+        // given
+        final List<Map.Entry<String, Integer>> entries = Arrays.asList(ImmutableMapEntry.of("k1", 1), null);
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> ImmutableMap.parallelFrom(entries, pool);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Entry cannot be null!")
+                .isInstanceOf(NullPointerException.class);
+    }
+}
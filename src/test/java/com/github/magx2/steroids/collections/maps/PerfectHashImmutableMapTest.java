@@ -0,0 +1,258 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PerfectHashImmutableMapTest {
+    @Test
+    @DisplayName("should create PerfectHashImmutableMap from map")
+    void fromMap() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        map.put("k1", 1);
+        map.put("k2", 2);
+        map.put("k3", 3);
+
+        // when
+        final PerfectHashImmutableMap<String, Integer> immutableMap = PerfectHashImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap).hasSize(3);
+        assertThat(immutableMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 3));
+        assertThat(immutableMap.containsKey("k1")).isTrue();
+        assertThat(immutableMap.containsKey("some key")).isFalse();
+        assertThat(immutableMap.containsValue(1)).isTrue();
+        assertThat(immutableMap.containsValue(99)).isFalse();
+        assertThat(immutableMap.get("k1")).isEqualTo(1);
+        assertThat(immutableMap.get("some key")).isNull();
+        assertThat(immutableMap.keySet()).containsExactlyInAnyOrder("k1", "k2", "k3");
+        assertThat(immutableMap.values()).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(immutableMap).isEqualTo(map);
+        assertThat(immutableMap.hashCode()).isEqualTo(map.hashCode());
+    }
+
+    @Test
+    @DisplayName("should find all keys of big map")
+    void bigMap() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            map.put("sku-" + i, i);
+        }
+
+        // when
+        final PerfectHashImmutableMap<String, Integer> immutableMap = PerfectHashImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap).isEqualTo(map);
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(immutableMap.get("sku-" + i)).isEqualTo(i);
+        }
+        assertThat(immutableMap.get("sku--1")).isNull();
+    }
+
+    @Test
+    @DisplayName("should create PerfectHashImmutableMap from key values and keep last value of duplicated key")
+    void fromList() {
+        // when
+        final PerfectHashImmutableMap<String, Integer> immutableMap = PerfectHashImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k1", 3);
+
+        // then
+        assertThat(immutableMap).hasSize(2);
+        assertThat(immutableMap).containsOnly(
+                ImmutableMapEntry.of("k1", 3),
+                ImmutableMapEntry.of("k2", 2));
+    }
+
+    @Test
+    @DisplayName("should keep keys with the same hash code")
+    void collidingKeys() {
+        // given
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        // when
+        final PerfectHashImmutableMap<String, Integer> map = PerfectHashImmutableMap.from(
+                String.class, Integer.class,
+                "Aa", 1,
+                "BB", 2,
+                "k", 3);
+
+        // then
+        assertThat(map).containsOnly(
+                ImmutableMapEntry.of("Aa", 1),
+                ImmutableMapEntry.of("BB", 2),
+                ImmutableMapEntry.of("k", 3));
+        assertThat(map.stats().getDepthHistogram()).containsExactly(2, 1);
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and put into it entry")
+    void putToNew() {
+        // given
+        final PerfectHashImmutableMap<String, Integer> sourceMap = PerfectHashImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putToNew("k4", 4).putToNew("k1", 11);
+
+        // then
+        assertThat(newMap).isInstanceOf(PerfectHashImmutableMap.class);
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 11),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 3),
+                ImmutableMapEntry.of("k4", 4));
+        assertThat(sourceMap).doesNotContainKey("k4");
+        assertThat(sourceMap).containsEntry("k1", 1);
+    }
+
+    @Test
+    @DisplayName("should build perfect hash function again after many puts")
+    void manyPuts() {
+        // given
+        PerfectHashImmutableMap<Integer, Integer> map = PerfectHashImmutableMap.empty();
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            map = map.putToNew(i, i);
+        }
+
+        // then
+        assertThat(map).hasSize(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(map).containsEntry(i, i);
+        }
+        assertThat(map.stats().getCapacity()).isGreaterThan(800);
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and put into it all entries from map")
+    void putAllToNew() {
+        // given
+        final PerfectHashImmutableMap<String, Integer> sourceMap = PerfectHashImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+        final Map<String, Integer> map = new HashMap<>();
+        map.put("k3", 33);
+        map.put("k4", 4);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putAllToNew(map);
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 33),
+                ImmutableMapEntry.of("k4", 4));
+        assertThat(sourceMap).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and remove given key")
+    void removeFromNew() {
+        // given
+        final PerfectHashImmutableMap<String, Integer> sourceMap = PerfectHashImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.removeFromNew("k1");
+
+        // then
+        assertThat(sourceMap).containsAllEntriesOf(newMap);
+        assertThat(newMap).doesNotContainKey("k1");
+        assertThat(newMap).hasSize(2);
+        assertThat(sourceMap).containsEntry("k1", 1);
+        assertThat(sourceMap.removeFromNew("some key")).isSameAs(sourceMap);
+    }
+
+    @Test
+    @DisplayName("should support `null` key and value")
+    void nullKeyAndValue() {
+        // when
+        final ImmutableMap<String, Integer> map = PerfectHashImmutableMap.<String, Integer>empty()
+                                                          .putToNew(null, 1)
+                                                          .putToNew("k", null);
+
+        // then
+        assertThat(map).containsKey(null);
+        assertThat(map.get(null)).isEqualTo(1);
+        assertThat(map).containsKey("k");
+        assertThat(map.get("k")).isNull();
+        assertThat(map.keySet()).containsExactlyInAnyOrder(null, "k");
+        assertThat(map.removeFromNew(null)).containsOnlyKeys("k");
+    }
+
+    @Test
+    @DisplayName("should build PerfectHashImmutableMap with builder")
+    void builder() {
+        // when
+        final ImmutableMap<String, Integer> map = PerfectHashImmutableMap.<String, Integer>builder()
+                                                          .put("k1", 1)
+                                                          .put("k2", 2)
+                                                          .remove("k1")
+                                                          .build();
+
+        // then
+        assertThat(map).isInstanceOf(PerfectHashImmutableMap.class);
+        assertThat(map).containsOnly(ImmutableMapEntry.of("k2", 2));
+    }
+
+    @Test
+    @DisplayName("should throw `UnsupportedOperationException` when putting entry")
+    void put() {
+        // given
+        final PerfectHashImmutableMap<String, Integer> map = PerfectHashImmutableMap.empty();
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> map.put("k", 0);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should describe slots in statistics")
+    void stats() {
+        // given
+        final PerfectHashImmutableMap<String, Integer> map = PerfectHashImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final MapStatistics stats = map.stats();
+
+        // then
+        assertThat(stats.getSize()).isEqualTo(3);
+        assertThat(stats.getCapacity()).isEqualTo(3);
+        assertThat(stats.getLoadFactor()).isEqualTo(1.0);
+        assertThat(stats.getMaxChainLength()).isEqualTo(1);
+        assertThat(stats.getDepthHistogram()).containsExactly(3);
+    }
+}
@@ -0,0 +1,216 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeededHashImmutableMapTest {
+    @Test
+    @DisplayName("should create SeededHashImmutableMap from map")
+    void fromMap() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        map.put("k1", 1);
+        map.put("k2", 2);
+        map.put(null, 3);
+
+        // when
+        final SeededHashImmutableMap<String, Integer> immutableMap = SeededHashImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap).hasSize(3);
+        assertThat(immutableMap.get("k1")).isEqualTo(1);
+        assertThat(immutableMap.get(null)).isEqualTo(3);
+        assertThat(immutableMap.get("some key")).isNull();
+        assertThat(immutableMap.containsKey("some key")).isFalse();
+        assertThat(immutableMap.keySet()).containsExactlyInAnyOrder("k1", "k2", null);
+        assertThat(immutableMap.values()).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(immutableMap).isEqualTo(map);
+        assertThat(immutableMap.hashCode()).isEqualTo(map.hashCode());
+    }
+
+    @Test
+    @DisplayName("should create new immutable maps with put and removed entries")
+    void putToNewAndRemoveFromNew() {
+        // given
+        final SeededHashImmutableMap<String, Integer> sourceMap = SeededHashImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putToNew("k3", 3)
+                .putToNew("k1", 11)
+                .removeFromNew("k2");
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 11),
+                ImmutableMapEntry.of("k3", 3));
+        assertThat(sourceMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2));
+    }
+
+    @Test
+    @DisplayName("should find all keys that have the same hash code")
+    void collidingKeys() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < 1 << 10; i++) {
+            map.put(collidingKey(i, 10), i);
+        }
+
+        // when
+        final SeededHashImmutableMap<String, Integer> immutableMap = SeededHashImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap).isEqualTo(map);
+        for (int i = 0; i < 1 << 10; i++) {
+            assertThat(immutableMap.get(collidingKey(i, 10))).isEqualTo(i);
+        }
+        assertThat(immutableMap.get(collidingKey(0, 11))).isNull();
+    }
+
+    @Test
+    @DisplayName("should find keys with the same hash code that are equal by compareTo but not by equals")
+    void comparableKeysInconsistentWithEquals() {
+        // given
+        final Map<Key, Integer> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(new Key(i), i);
+        }
+
+        // when
+        final ImmutableMap<Key, Integer> immutableMap = SeededHashImmutableMap.from(map)
+                .putToNew(new Key(100), 100)
+                .removeFromNew(new Key(0));
+
+        // then
+        assertThat(immutableMap).hasSize(100);
+        assertThat(immutableMap.get(new Key(0))).isNull();
+        for (int i = 1; i <= 100; i++) {
+            assertThat(immutableMap.get(new Key(i))).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("should build map with the same seed")
+    void toBuilder() {
+        // given
+        final SeededHashImmutableMap<String, Integer> sourceMap = SeededHashImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.withMutations(builder -> builder
+                                                                                      .put("k3", 3)
+                                                                                      .remove("k1"));
+
+        // then
+        assertThat(newMap).isInstanceOf(SeededHashImmutableMap.class);
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 3));
+    }
+
+    @Test
+    @DisplayName("should find CharSequence keys by their equals and hashCode")
+    void caseInsensitiveKeys() {
+        // given
+        final Map<CaseInsensitive, Integer> map = new HashMap<>();
+        map.put(new CaseInsensitive("Content-Type"), 1);
+        map.put(new CaseInsensitive("Accept"), 2);
+
+        // when
+        final SeededHashImmutableMap<CaseInsensitive, Integer> immutableMap = SeededHashImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap.get(new CaseInsensitive("content-type"))).isEqualTo(1);
+        assertThat(immutableMap.get(new CaseInsensitive("ACCEPT"))).isEqualTo(2);
+    }
+
+    /**
+     * Strings made of "Aa" and "BB" blocks have the same {@link String#hashCode()}.
+     */
+    private static String collidingKey(final int index, final int blocks) {
+        final StringBuilder key = new StringBuilder();
+        for (int block = 0; block < blocks; block++) {
+            key.append((index >>> block & 1) == 0 ? "Aa" : "BB");
+        }
+        return key.toString();
+    }
+
+    /**
+     * All keys have the same hash code and are ordered only by <code>value / 10</code>.
+     */
+    private static final class Key implements Comparable<Key> {
+        private final int value;
+
+        private Key(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(final Key other) {
+            return Integer.compare(value / 10, other.value / 10);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Key && ((Key) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+    }
+
+    /**
+     * Equal to other instances that have the same chars ignoring case.
+     */
+    private static final class CaseInsensitive implements CharSequence {
+        private final String value;
+
+        private CaseInsensitive(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int length() {
+            return value.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return value.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new CaseInsensitive(value.substring(start, end));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof CaseInsensitive && ((CaseInsensitive) o).value.equalsIgnoreCase(value);
+        }
+
+        @Override
+        public int hashCode() {
+            return value.toLowerCase(Locale.ROOT).hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+}
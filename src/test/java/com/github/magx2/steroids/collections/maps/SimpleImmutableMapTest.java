@@ -8,6 +8,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -127,6 +128,31 @@ class SimpleImmutableMapTest {
         assertThat(sourceMap).doesNotContainKeys(addMap.keySet().toArray(new String[0]));
     }
 
+    @Test
+    @DisplayName("should create new immutable map and merge into it entries from given map")
+    void mergeToNew() {
+        // given
+        final SimpleImmutableMap<String, Integer> sourceMap = SimpleImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2);
+        final Map<String, Integer> mergeMap = new HashMap<>();
+        mergeMap.put("k2", 20);
+        mergeMap.put("k3", 30);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.mergeToNew(mergeMap, Integer::sum);
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 22),
+                ImmutableMapEntry.of("k3", 30));
+        assertThat(sourceMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2));
+    }
+
     @Test
     @DisplayName("should throw `NullPointerException` if given map is null")
     void putAllToNewNull() {
@@ -165,6 +191,49 @@ class SimpleImmutableMapTest {
         assertThat(sourceMap).containsEntry("k1", 1);
     }
 
+    @Test
+    @DisplayName("should apply all mutations in one new map")
+    void withMutations() {
+        // given
+        final SimpleImmutableMap<String, Integer> sourceMap = SimpleImmutableMap.from(
+                String.class, Integer.class,
+                "k1", 1,
+                "k2", 2,
+                "k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.withMutations(builder -> builder
+                                                                                      .put("k4", 4)
+                                                                                      .put("k1", 11)
+                                                                                      .remove("k2"));
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 11),
+                ImmutableMapEntry.of("k3", 3),
+                ImmutableMapEntry.of("k4", 4));
+        assertThat(sourceMap).containsOnly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 2),
+                ImmutableMapEntry.of("k3", 3));
+    }
+
+    @Test
+    @DisplayName("should not change built map when builder is used after build")
+    void builderUsedAfterBuild() {
+        // given
+        final ImmutableMap.Builder<String, Integer> builder = SimpleImmutableMap.<String, Integer>builder()
+                                                                      .put("k1", 1);
+        final ImmutableMap<String, Integer> firstMap = builder.build();
+
+        // when
+        final ImmutableMap<String, Integer> secondMap = builder.put("k2", 2).remove("k1").build();
+
+        // then
+        assertThat(firstMap).containsOnly(ImmutableMapEntry.of("k1", 1));
+        assertThat(secondMap).containsOnly(ImmutableMapEntry.of("k2", 2));
+    }
+
     @Test
     @DisplayName("should throw `IllegalArgumentException` if there are not odd number of parameters in `keyValues`")
     void fromListNotEven() {
@@ -277,6 +346,23 @@ class SimpleImmutableMapTest {
         assertThat(map).isEmpty();
     }
 
+    @Test
+    @DisplayName("should return entry set that is a view of the map and cannot be changed")
+    void entrySet() {
+        // given
+        final SimpleImmutableMap<String, Integer> map = fromMap();
+
+        // when
+        final Set<Map.Entry<String, Integer>> entrySet = map.entrySet();
+
+        // then
+        assertThat(entrySet).hasSize(3);
+        assertThat(entrySet.contains(ImmutableMapEntry.of("k1", 1))).isTrue();
+        assertThat(entrySet.contains(ImmutableMapEntry.of("k1", 2))).isFalse();
+        assertThat(entrySet.iterator().next()).isInstanceOf(ImmutableMapEntry.class);
+        assertThatThrownBy(entrySet::clear).isInstanceOf(UnsupportedOperationException.class);
+    }
+
     @Test
     @DisplayName("should throw `UnsupportedOperationException` when putting entry")
     void put() {
@@ -336,4 +422,22 @@ class SimpleImmutableMapTest {
                 .hasNoCause()
                 .isInstanceOf(UnsupportedOperationException.class);
     }
+
+    @Test
+    @DisplayName("should be equal to other maps with the same entries")
+    void equalsAndHashCode() {
+        // given
+        final Map<String, Integer> map = new HashMap<>();
+        map.put("k1", 1);
+        map.put("k2", 2);
+
+        // when
+        final SimpleImmutableMap<String, Integer> immutableMap = SimpleImmutableMap.from(map);
+
+        // then
+        assertThat(immutableMap).isEqualTo(map);
+        assertThat(immutableMap).isEqualTo(HashTrieImmutableMap.from(map));
+        assertThat(immutableMap).isNotEqualTo(SimpleImmutableMap.from(String.class, Integer.class, "k1", 1));
+        assertThat(immutableMap.hashCode()).isEqualTo(map.hashCode());
+    }
 }
@@ -0,0 +1,167 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SmallImmutableMapsTest {
+    @ParameterizedTest(name = "[{index}]should create map with `of` method")
+    @MethodSource
+    void of(Supplier<ImmutableMap<Integer, String>> supplier, int size) {
+        // when
+        final ImmutableMap<Integer, String> map = supplier.get();
+
+        // then
+        assertThat(map).hasSize(size);
+        for (int i = 1; i <= size; i++) {
+            assertThat(map).containsEntry(i, "v" + i);
+        }
+        assertThat(map).doesNotContainKey(size + 1);
+        assertThat(map.keySet()).containsExactly(Stream.iterate(1, i -> i + 1).limit(size).toArray(Integer[]::new));
+    }
+
+    @SuppressWarnings("unused") // It's used by parametrized test
+    static Stream<Object[]> of() {
+        return Stream.of(
+                new Object[]{(Supplier<ImmutableMap<Integer, String>>) ImmutableMap::of, 0},
+                new Object[]{(Supplier<ImmutableMap<Integer, String>>) () -> ImmutableMap.of(
+                        1, "v1"), 1},
+                new Object[]{(Supplier<ImmutableMap<Integer, String>>) () -> ImmutableMap.of(
+                        1, "v1", 2, "v2"), 2},
+                new Object[]{(Supplier<ImmutableMap<Integer, String>>) () -> ImmutableMap.of(
+                        1, "v1", 2, "v2", 3, "v3"), 3},
+                new Object[]{(Supplier<ImmutableMap<Integer, String>>) () -> ImmutableMap.of(
+                        1, "v1", 2, "v2", 3, "v3", 4, "v4"), 4},
+                new Object[]{(Supplier<ImmutableMap<Integer, String>>) () -> ImmutableMap.of(
+                        1, "v1", 2, "v2", 3, "v3", 4, "v4", 5, "v5"), 5},
+                new Object[]{(Supplier<ImmutableMap<Integer, String>>) () -> ImmutableMap.of(
+                        1, "v1", 2, "v2", 3, "v3", 4, "v4", 5, "v5", 6, "v6"), 6},
+                new Object[]{(Supplier<ImmutableMap<Integer, String>>) () -> ImmutableMap.of(
+                        1, "v1", 2, "v2", 3, "v3", 4, "v4", 5, "v5", 6, "v6", 7, "v7"), 7},
+                new Object[]{(Supplier<ImmutableMap<Integer, String>>) () -> ImmutableMap.of(
+                        1, "v1", 2, "v2", 3, "v3", 4, "v4", 5, "v5", 6, "v6", 7, "v7", 8, "v8"), 8});
+    }
+
+    @Test
+    @DisplayName("should throw `IllegalArgumentException` if keys are duplicated")
+    void duplicatedKeys() {
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> ImmutableMap.of("k1", 1, "k2", 2, "k1", 3);
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("Duplicate key: k1")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should promote map to next size when putting new key")
+    void putToNew() {
+        // given
+        ImmutableMap<Integer, Integer> map = ImmutableMap.of();
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            map = map.putToNew(i, i);
+        }
+
+        // then
+        assertThat(map).hasSize(10);
+        assertThat(map).isInstanceOf(HashTrieImmutableMap.class);
+        for (int i = 0; i < 10; i++) {
+            assertThat(map).containsEntry(i, i);
+        }
+    }
+
+    @Test
+    @DisplayName("should replace value of existing key and keep order of entries")
+    void putToNewExistingKey() {
+        // given
+        final ImmutableMap<String, Integer> sourceMap = ImmutableMap.of("k1", 1, "k2", 2, "k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putToNew("k2", 22);
+
+        // then
+        assertThat(newMap).containsExactly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k2", 22),
+                ImmutableMapEntry.of("k3", 3));
+        assertThat(sourceMap).containsEntry("k2", 2);
+    }
+
+    @Test
+    @DisplayName("should demote map to previous size when removing key")
+    void removeFromNew() {
+        // given
+        final ImmutableMap<String, Integer> sourceMap = ImmutableMap.of("k1", 1, "k2", 2, "k3", 3);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.removeFromNew("k2");
+
+        // then
+        assertThat(newMap).containsExactly(
+                ImmutableMapEntry.of("k1", 1),
+                ImmutableMapEntry.of("k3", 3));
+        assertThat(sourceMap).hasSize(3);
+        assertThat(newMap.removeFromNew("k1").removeFromNew("k3")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should create new immutable map and put into it all entries from map")
+    void putAllToNew() {
+        // given
+        final ImmutableMap<String, Integer> sourceMap = ImmutableMap.of("k1", 1);
+        final Map<String, Integer> addMap = new HashMap<>();
+        addMap.put("k1", 11);
+        addMap.put("k2", 2);
+
+        // when
+        final ImmutableMap<String, Integer> newMap = sourceMap.putAllToNew(addMap);
+
+        // then
+        assertThat(newMap).containsOnly(
+                ImmutableMapEntry.of("k1", 11),
+                ImmutableMapEntry.of("k2", 2));
+    }
+
+    @Test
+    @DisplayName("should be equal to map with the same entries")
+    void equalsAndHashCode() {
+        // given
+        final Map<String, Integer> expected = new HashMap<>();
+        expected.put("k1", 1);
+        expected.put("k2", 2);
+
+        // when
+        final ImmutableMap<String, Integer> map = ImmutableMap.of("k1", 1, "k2", 2);
+
+        // then
+        assertThat(map).isEqualTo(expected);
+        assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+    }
+
+    @Test
+    @DisplayName("should have proper `toString()`")
+    void toStringValue() {
+        // given
+        final ImmutableMap<String, Integer> map = ImmutableMap.of("k1", 1, "k2", 2);
+
+        // when
+        final String toString = map.toString();
+
+        // then
+        assertThat(toString).isEqualTo("ImmutableMap[k1=1, k2=2]");
+    }
+}
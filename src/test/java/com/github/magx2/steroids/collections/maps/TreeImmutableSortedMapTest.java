@@ -0,0 +1,181 @@
+package com.github.magx2.steroids.collections.maps;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TreeImmutableSortedMapTest {
+    private static TreeImmutableSortedMap<Integer, String> map(int... keys) {
+        TreeImmutableSortedMap<Integer, String> map = TreeImmutableSortedMap.empty();
+        for (int key : keys) {
+            map = map.putToNew(key, "v" + key);
+        }
+        return map;
+    }
+
+    @Test
+    @DisplayName("should create TreeImmutableSortedMap from map and keep keys sorted")
+    void fromMap() {
+        // given
+        final Map<Integer, String> map = new HashMap<>();
+        map.put(3, "v3");
+        map.put(1, "v1");
+        map.put(2, "v2");
+
+        // when
+        final TreeImmutableSortedMap<Integer, String> immutableMap = TreeImmutableSortedMap.from(map);
+
+        // then
+        assertThat(immutableMap).containsExactly(
+                ImmutableMapEntry.of(1, "v1"),
+                ImmutableMapEntry.of(2, "v2"),
+                ImmutableMapEntry.of(3, "v3"));
+        assertThat(immutableMap.firstKey()).isEqualTo(1);
+        assertThat(immutableMap.lastKey()).isEqualTo(3);
+        assertThat(immutableMap).isEqualTo(map);
+        assertThat(immutableMap.hashCode()).isEqualTo(map.hashCode());
+    }
+
+    @Test
+    @DisplayName("should use comparator of given sorted map")
+    void fromSortedMap() {
+        // given
+        final TreeMap<Integer, String> map = new TreeMap<>(Comparator.reverseOrder());
+        map.put(1, "v1");
+        map.put(2, "v2");
+
+        // when
+        final TreeImmutableSortedMap<Integer, String> immutableMap = TreeImmutableSortedMap.from(map);
+
+        // then
+        assertThat(immutableMap.keySet()).containsExactly(2, 1);
+        assertThat(immutableMap.putToNew(3, "v3").firstKey()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should create new maps with put and removed keys and keep source map unchanged")
+    void putToNewAndRemoveFromNew() {
+        // given
+        final TreeImmutableSortedMap<Integer, String> sourceMap = map(5, 1, 3);
+
+        // when
+        final TreeImmutableSortedMap<Integer, String> newMap = sourceMap.putToNew(2, "v2")
+                                                                        .putToNew(5, "v55")
+                                                                        .removeFromNew(1);
+
+        // then
+        assertThat(newMap).containsExactly(
+                ImmutableMapEntry.of(2, "v2"),
+                ImmutableMapEntry.of(3, "v3"),
+                ImmutableMapEntry.of(5, "v55"));
+        assertThat(sourceMap.keySet()).containsExactly(1, 3, 5);
+        assertThat(sourceMap.removeFromNew(4)).isSameAs(sourceMap);
+    }
+
+    @Test
+    @DisplayName("should find floor, ceiling, lower and higher entries")
+    void navigation() {
+        // given
+        final TreeImmutableSortedMap<Integer, String> map = map(10, 20, 30);
+
+        // then
+        assertThat(map.floorKey(20)).isEqualTo(20);
+        assertThat(map.floorKey(25)).isEqualTo(20);
+        assertThat(map.floorKey(5)).isNull();
+        assertThat(map.ceilingKey(25)).isEqualTo(30);
+        assertThat(map.ceilingEntry(35)).isNull();
+        assertThat(map.lowerKey(20)).isEqualTo(10);
+        assertThat(map.higherKey(20)).isEqualTo(30);
+        assertThat(map.floorEntry(25)).isEqualTo(ImmutableMapEntry.of(20, "v20"));
+    }
+
+    @Test
+    @DisplayName("should return views restricted to given range")
+    void views() {
+        // given
+        final TreeImmutableSortedMap<Integer, String> map = map(1, 2, 3, 4, 5, 6);
+
+        // when
+        final ImmutableSortedMap<Integer, String> subMap = map.subMap(2, 5);
+
+        // then
+        assertThat(subMap.keySet()).containsExactly(2, 3, 4);
+        assertThat(subMap).hasSize(3);
+        assertThat(subMap.containsKey(5)).isFalse();
+        assertThat(subMap.floorKey(10)).isEqualTo(4);
+        assertThat(subMap.headMap(3).keySet()).containsExactly(2);
+        assertThat(map.tailMap(5, false).keySet()).containsExactly(6);
+        assertThat(map.headMap(2, true).keySet()).containsExactly(1, 2);
+        assertThat(subMap.putToNew(3, "x").keySet()).containsExactly(2, 3, 4);
+        assertThat(subMap.putToNew(3, "x").get(3)).isEqualTo("x");
+    }
+
+    @Test
+    @DisplayName("should throw `IllegalArgumentException` when putting key outside of view range")
+    void putToNewOutOfRange() {
+        // given
+        final ImmutableSortedMap<Integer, String> subMap = map(1, 2, 3).headMap(2);
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> subMap.putToNew(3, "v3");
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("key out of range")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should return descending view")
+    void descendingMap() {
+        // given
+        final TreeImmutableSortedMap<Integer, String> map = map(1, 2, 3, 4);
+
+        // when
+        final ImmutableSortedMap<Integer, String> descendingMap = map.descendingMap();
+
+        // then
+        assertThat(descendingMap.keySet()).containsExactly(4, 3, 2, 1);
+        assertThat(descendingMap.firstKey()).isEqualTo(4);
+        assertThat(descendingMap.higherKey(3)).isEqualTo(2);
+        assertThat(descendingMap.headMap(2).keySet()).containsExactly(4, 3);
+        assertThat(descendingMap.descendingMap().keySet()).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("should throw `UnsupportedOperationException` when polling entry")
+    void pollFirstEntry() {
+        // given
+        final TreeImmutableSortedMap<Integer, String> map = map(1);
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = map::pollFirstEntry;
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should have proper `toString()`")
+    void toStringValue() {
+        // given
+        final TreeImmutableSortedMap<Integer, String> map = map(2, 1);
+
+        // when
+        final String toString = map.toString();
+
+        // then
+        assertThat(toString).isEqualTo("TreeImmutableSortedMap[1=v1, 2=v2]");
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.magx2.steroids.collections.sets;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashTrieImmutableSetTest {
+    @Test
+    @DisplayName("should create HashTrieImmutableSet from collection")
+    void from() {
+        // given
+        final Set<String> set = new HashSet<>(Arrays.asList("a", "b", "c"));
+
+        // when
+        final HashTrieImmutableSet<String> immutableSet = HashTrieImmutableSet.from(Arrays.asList("a", "b", "c", "a"));
+
+        // then
+        assertThat(immutableSet).hasSize(3);
+        assertThat(immutableSet).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(immutableSet.contains("a")).isTrue();
+        assertThat(immutableSet.contains("d")).isFalse();
+        assertThat(immutableSet).isEqualTo(set);
+        assertThat(immutableSet.hashCode()).isEqualTo(set.hashCode());
+    }
+
+    @Test
+    @DisplayName("should create new immutable set and add element to it")
+    void addToNew() {
+        // given
+        final HashTrieImmutableSet<String> sourceSet = HashTrieImmutableSet.of("a", "b");
+
+        // when
+        final HashTrieImmutableSet<String> newSet = sourceSet.addToNew("c");
+
+        // then
+        assertThat(newSet).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(sourceSet).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    @DisplayName("should return same set if added element is already in it")
+    void addToNewExistingElement() {
+        // given
+        final HashTrieImmutableSet<String> sourceSet = HashTrieImmutableSet.of("a", "b");
+
+        // when
+        final HashTrieImmutableSet<String> newSet = sourceSet.addToNew("a");
+
+        // then
+        assertThat(newSet).isSameAs(sourceSet);
+    }
+
+    @Test
+    @DisplayName("should create new immutable set and add all elements to it")
+    void addAllToNew() {
+        // given
+        final HashTrieImmutableSet<String> sourceSet = HashTrieImmutableSet.of("a", "b");
+
+        // when
+        final HashTrieImmutableSet<String> newSet = sourceSet.addAllToNew(Arrays.asList("b", "c", "d"));
+
+        // then
+        assertThat(newSet).containsExactlyInAnyOrder("a", "b", "c", "d");
+        assertThat(sourceSet).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    @DisplayName("should create new immutable set and remove element from it")
+    void removeFromNew() {
+        // given
+        final HashTrieImmutableSet<String> sourceSet = HashTrieImmutableSet.of("a", "b");
+
+        // when
+        final HashTrieImmutableSet<String> newSet = sourceSet.removeFromNew("a");
+
+        // then
+        assertThat(newSet).containsExactly("b");
+        assertThat(sourceSet).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    @DisplayName("should create mutable set")
+    void toMutableSet() {
+        // given
+        final HashTrieImmutableSet<String> immutableSet = HashTrieImmutableSet.of("a", "b");
+
+        // when
+        final Set<String> mutableSet = immutableSet.toMutableSet();
+        mutableSet.add("c");
+
+        // then
+        assertThat(mutableSet).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(immutableSet).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    @DisplayName("should throw `UnsupportedOperationException` on add")
+    void add() {
+        // given
+        final HashTrieImmutableSet<String> immutableSet = HashTrieImmutableSet.of("a", "b");
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> immutableSet.add("c");
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("This is immutable set! Adds are not supported!")
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("should throw `UnsupportedOperationException` on remove")
+    void remove() {
+        // given
+        final HashTrieImmutableSet<String> immutableSet = HashTrieImmutableSet.of("a", "b");
+
+        // when
+        final ThrowableAssert.ThrowingCallable when = () -> immutableSet.remove("a");
+
+        // then
+        assertThatThrownBy(when)
+                .hasNoCause()
+                .hasMessage("This is immutable set! Removes are not supported!")
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}